@@ -0,0 +1,115 @@
+-- Paper search latency check on a synthetic 100K-paper corpus
+--
+-- Compares the old LIKE '%term%' search with the search_vector full-text search and the
+-- trigram title fallback. Runs in a scratch schema; requires the
+-- 20250815120000_add_paper_full_text_search migration (for answer42.paper_search_document).
+--
+-- Usage: psql "$DATABASE_URL" -f scripts/search-benchmark/paper-search-benchmark.sql
+--
+-- Targets (warm cache): full-text search of one user's library < 20 ms, across all
+-- papers < 50 ms, trigram fallback < 100 ms. The LIKE baseline is a sequential scan that
+-- detoasts every body and grows linearly with the corpus.
+
+\timing on
+SET search_path = search_bench, answer42, public;
+
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+
+CREATE TABLE search_bench.papers (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    title TEXT,
+    paper_abstract TEXT,
+    text_content TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    search_vector tsvector
+);
+
+-- 100 users with 1,000 papers each; bodies of ~30-60 KB built from a 200-word vocabulary
+CREATE TEMP TABLE vocabulary AS
+SELECT array_agg(w) AS words FROM (
+    SELECT unnest(string_to_array(
+        'neural network transformer attention graph protein folding genome sequencing vaccine '
+        'immune response climate model carbon emission ocean temperature quantum entanglement '
+        'qubit error correction reinforcement learning policy gradient reward agent language '
+        'model embedding retrieval augmented generation benchmark dataset evaluation metric '
+        'bayesian inference posterior sampling markov chain monte carlo variational autoencoder '
+        'diffusion image segmentation detection convolution pooling recurrent memory cell '
+        'battery electrolyte lithium cathode anode solar perovskite efficiency catalyst enzyme '
+        'metabolism bacteria antibiotic resistance microbiome cancer tumor mutation therapy '
+        'clinical trial cohort randomized placebo outcome survival regression causal effect '
+        'econometric inflation labor market policy welfare education inequality migration '
+        'urban transport network traffic routing optimization scheduling heuristic genetic '
+        'algorithm complexity graph coloring matching flow cut spectral clustering manifold '
+        'topology persistent homology sheaf category functor algebra geometry curvature '
+        'robot manipulation grasping locomotion control estimation kalman filter slam lidar '
+        'camera calibration stereo depth point cloud mesh rendering shader simulation fluid '
+        'turbulence combustion plasma fusion tokamak magnetic confinement galaxy cosmology '
+        'dark matter gravitational wave neutrino detector collider higgs boson symmetry '
+        'superconductor lattice phonon spin magnon topological insulator semiconductor '
+        'transistor lithography photonics laser fiber spectroscopy microscopy crystal', ' ')) AS w
+) v;
+
+INSERT INTO search_bench.papers (user_id, title, paper_abstract, text_content, created_at)
+SELECT
+    ('00000000-0000-0000-0000-' || lpad((g % 100)::text, 12, '0'))::uuid,
+    initcap(array_to_string(ARRAY(SELECT words[1 + floor(random() * 200)::int] FROM generate_series(1, 8)), ' ')),
+    array_to_string(ARRAY(SELECT words[1 + floor(random() * 200)::int] FROM generate_series(1, 180)), ' '),
+    repeat(array_to_string(ARRAY(SELECT words[1 + floor(random() * 200)::int] FROM generate_series(1, 600)), ' ') || ' ',
+           5 + (g % 6)),
+    now() - (g || ' minutes')::interval
+FROM generate_series(1, 100000) g, vocabulary;
+
+UPDATE search_bench.papers
+SET search_vector = answer42.paper_search_document(title, paper_abstract, text_content);
+
+CREATE INDEX ON search_bench.papers USING gin (search_vector);
+CREATE INDEX ON search_bench.papers USING gin (title gin_trgm_ops);
+CREATE INDEX ON search_bench.papers (user_id);
+VACUUM ANALYZE search_bench.papers;
+
+-- Baseline: what PaperRepository.searchPapersByUser ran before
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM search_bench.papers p
+WHERE p.user_id = '00000000-0000-0000-0000-000000000042'
+  AND (p.title LIKE '%entanglement%' OR p.paper_abstract LIKE '%entanglement%' OR p.text_content LIKE '%entanglement%')
+ORDER BY p.created_at DESC LIMIT 20;
+
+-- Ranked prefix search of one user's library
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM search_bench.papers p
+WHERE p.user_id = '00000000-0000-0000-0000-000000000042'
+  AND p.search_vector @@ to_tsquery('english', 'quantum:* & entangl:*')
+ORDER BY ts_rank_cd(p.search_vector, to_tsquery('english', 'quantum:* & entangl:*')) DESC, p.created_at DESC
+LIMIT 20;
+
+-- Ranked prefix search across all papers
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM search_bench.papers p
+WHERE p.search_vector @@ to_tsquery('english', 'perovskite:* & catalyst:* & lithium:*')
+ORDER BY ts_rank_cd(p.search_vector, to_tsquery('english', 'perovskite:* & catalyst:* & lithium:*')) DESC, p.created_at DESC
+LIMIT 20;
+
+-- Count query used for paging
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM search_bench.papers p
+WHERE p.user_id = '00000000-0000-0000-0000-000000000042'
+  AND p.search_vector @@ to_tsquery('english', 'quantum:* & entangl:*');
+
+-- Trigram fallback for a typo
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM search_bench.papers p
+WHERE p.user_id = '00000000-0000-0000-0000-000000000042' AND 'entanglment' <% p.title
+ORDER BY word_similarity('entanglment', p.title) DESC
+LIMIT 20;
+
+-- Highlighting one page of results
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id, ts_headline('english', coalesce(nullif(p.paper_abstract, ''), p.title),
+       to_tsquery('english', 'quantum:* & entangl:*'),
+       'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2')
+FROM search_bench.papers p
+WHERE p.id IN (SELECT id FROM search_bench.papers WHERE user_id = '00000000-0000-0000-0000-000000000042' LIMIT 20);
+
+DROP SCHEMA search_bench CASCADE;
@@ -68,6 +68,7 @@ public class MultiAgentPipelineJobConfig {
      * @param citationVerifierTasklet Step 7.5: Citation verification and validation
      * @param qualityTasklet Step 8: Quality assessment and validation
      * @param parametersValidator Validates required job parameters before execution
+     * @param creditListener Commits the run's credit reservation on completion, releases it otherwise
      * @return Configured Spring Batch job ready for execution
      */
     @Bean
@@ -82,9 +83,11 @@ public class MultiAgentPipelineJobConfig {
                                  PerplexityResearchTasklet researchTasklet,
                                  RelatedPaperDiscoveryTasklet discoveryTasklet,
                                  QualityCheckerTasklet qualityTasklet,
-                                 MultiAgentJobParametersValidator parametersValidator) {
+                                 MultiAgentJobParametersValidator parametersValidator,
+                                 PipelineCreditListener creditListener) {
         return new JobBuilder("paperProcessingJob", jobRepository)
             .validator(parametersValidator)
+            .listener(creditListener)
             .start(paperExtractionStep(jobRepository, transactionManager, paperProcessorTasklet))
             .next(metadataEnhancementStep(jobRepository, transactionManager, metadataTasklet))
             .next(contentSummarizationStep(jobRepository, transactionManager, summarizerTasklet))
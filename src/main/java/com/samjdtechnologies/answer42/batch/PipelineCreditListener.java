@@ -0,0 +1,54 @@
+package com.samjdtechnologies.answer42.batch;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.stereotype.Component;
+
+import com.samjdtechnologies.answer42.service.CreditService;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Settles the credit reservation a pipeline run was launched with: a completed run commits
+ * it, any other outcome returns the credits to the user.
+ */
+@Component
+public class PipelineCreditListener implements JobExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelineCreditListener.class);
+
+    public static final String RESERVATION_PARAMETER = "creditReservationId";
+
+    private final CreditService creditService;
+
+    public PipelineCreditListener(CreditService creditService) {
+        this.creditService = creditService;
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        String reservationId = jobExecution.getJobParameters().getString(RESERVATION_PARAMETER);
+        if (reservationId == null) {
+            return;
+        }
+
+        try {
+            UUID id = UUID.fromString(reservationId);
+            if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
+                creditService.commitReservation(id);
+            } else {
+                LoggingUtil.info(LOG, "afterJob", "Pipeline ended with status %s, releasing credits",
+                    jobExecution.getStatus());
+                creditService.releaseReservation(id);
+            }
+        } catch (Exception e) {
+            // The reservation expires and is released by the credit service
+            LoggingUtil.error(LOG, "afterJob", 
+                "Failed to settle credit reservation " + reservationId, e);
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.samjdtechnologies.answer42.batch.tasklets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +14,11 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 
 import com.samjdtechnologies.answer42.model.agent.AgentResult;
+import com.samjdtechnologies.answer42.model.db.AgentTask;
+import com.samjdtechnologies.answer42.model.enums.AgentType;
+import com.samjdtechnologies.answer42.model.interfaces.AIAgent;
+import com.samjdtechnologies.answer42.model.pipeline.DeadlineExceededException;
+import com.samjdtechnologies.answer42.service.pipeline.PipelineDeadline;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
@@ -116,6 +125,55 @@ public abstract class BaseAgentTasklet implements Tasklet {
         }
     }
     
+    /**
+     * Extracts the pipeline deadline from job parameters, or null if the job has none.
+     */
+    protected Instant getDeadline(ChunkContext chunkContext) {
+        Object deadlineParam = chunkContext.getStepContext().getJobParameters().get("deadline");
+        if (deadlineParam instanceof Long) {
+            return Instant.ofEpochMilli((Long) deadlineParam);
+        }
+        if (deadlineParam != null) {
+            try {
+                return Instant.ofEpochMilli(Long.parseLong(deadlineParam.toString().trim()));
+            } catch (NumberFormatException e) {
+                LoggingUtil.warn(LOG, "getDeadline", "Ignoring invalid deadline parameter: %s", deadlineParam);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Runs the task on the agent under the job's deadline and waits for the result no longer
+     * than the deadline allows. On timeout the agent's work is cancelled and the step fails.
+     */
+    protected AgentResult awaitAgentResult(AIAgent agent, AgentTask task, ChunkContext chunkContext) throws Exception {
+        task.setDeadline(getDeadline(chunkContext));
+        return awaitAgentResult(agent.getAgentType(), task, chunkContext, () -> agent.process(task));
+    }
+    
+    /**
+     * Starts the agent work for a task and waits for its result no longer than the job's
+     * deadline allows. The caller is responsible for setting the deadline on the task(s).
+     */
+    protected AgentResult awaitAgentResult(AgentType agentType, AgentTask task, ChunkContext chunkContext,
+                                           Supplier<CompletableFuture<AgentResult>> work) throws Exception {
+        Instant deadline = getDeadline(chunkContext);
+        
+        CompletableFuture<AgentResult> future = work.get();
+        if (deadline == null) {
+            return future.get();
+        }
+        
+        try {
+            return future.get(PipelineDeadline.remaining(deadline).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException(
+                String.format("Pipeline deadline passed while %s was processing task %s", agentType, task.getId()), e);
+        }
+    }
+    
     /**
      * Gets previous step result from execution context.
      */
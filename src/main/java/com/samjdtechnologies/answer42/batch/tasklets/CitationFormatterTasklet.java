@@ -5,7 +5,6 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -64,8 +63,7 @@ public class CitationFormatterTasklet extends BaseAgentTasklet {
             AgentTask citationTask = createCitationFormatterTask(paperId, textContent, title, userId);
 
             // Execute citation formatting using the agent
-            CompletableFuture<AgentResult> future = citationFormatterAgent.process(citationTask);
-            AgentResult agentResult = future.get(); // Wait for completion
+            AgentResult agentResult = awaitAgentResult(citationFormatterAgent, citationTask, chunkContext);
 
             if (!agentResult.isSuccess()) {
                 throw new RuntimeException("Citation formatting failed: " + agentResult.getErrorMessage());
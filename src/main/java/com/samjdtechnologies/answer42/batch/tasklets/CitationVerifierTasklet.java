@@ -5,7 +5,6 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -57,8 +56,7 @@ public class CitationVerifierTasklet extends BaseAgentTasklet {
             AgentTask verificationTask = createCitationVerifierTask(paperId, userId);
 
             // Execute citation verification using the agent
-            CompletableFuture<AgentResult> future = citationVerifierAgent.process(verificationTask);
-            AgentResult agentResult = future.get(); // Wait for completion
+            AgentResult agentResult = awaitAgentResult(citationVerifierAgent, verificationTask, chunkContext);
 
             if (!agentResult.isSuccess()) {
                 LoggingUtil.warn(LOG, "execute", "Citation verification failed for paper %s: %s", 
@@ -5,7 +5,6 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -65,8 +64,7 @@ public class ConceptExplainerTasklet extends BaseAgentTasklet {
             AgentTask conceptTask = createConceptExplainerTask(paperId, textContent, title, abstractText, userId);
 
             // Execute concept explanation using the agent
-            CompletableFuture<AgentResult> future = conceptExplainerAgent.process(conceptTask);
-            AgentResult agentResult = future.get(); // Wait for completion
+            AgentResult agentResult = awaitAgentResult(conceptExplainerAgent, conceptTask, chunkContext);
 
             if (!agentResult.isSuccess()) {
                 throw new RuntimeException("Concept explanation failed: " + agentResult.getErrorMessage());
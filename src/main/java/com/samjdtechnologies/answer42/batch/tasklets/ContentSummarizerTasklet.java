@@ -16,20 +16,31 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.samjdtechnologies.answer42.model.agent.AgentResult;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.service.agent.ContentSummarizerAgent;
+import com.samjdtechnologies.answer42.service.agent.ContentSummarizerFallbackAgent;
+import com.samjdtechnologies.answer42.service.pipeline.HedgedRequestExecutor;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Spring Batch tasklet for content summarization using ContentSummarizerAgent.
  * Integrates with the multi-agent pipeline to provide comprehensive summarization.
+ * With hedging enabled, a summary that runs past the provider's p95 latency is also
+ * requested from the local Ollama fallback agent and the first successful summary is kept.
  */
 @Component
 public class ContentSummarizerTasklet extends BaseAgentTasklet {
 
     private final ContentSummarizerAgent contentSummarizerAgent;
+    private final ContentSummarizerFallbackAgent contentSummarizerFallbackAgent;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
 
-    public ContentSummarizerTasklet(ContentSummarizerAgent contentSummarizerAgent) {
+    public ContentSummarizerTasklet(ContentSummarizerAgent contentSummarizerAgent,
+                                    ContentSummarizerFallbackAgent contentSummarizerFallbackAgent,
+                                    HedgedRequestExecutor hedgedRequestExecutor) {
         this.contentSummarizerAgent = contentSummarizerAgent;
+        this.contentSummarizerFallbackAgent = contentSummarizerFallbackAgent;
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
     }
 
     @Override
@@ -56,7 +67,7 @@ public class ContentSummarizerTasklet extends BaseAgentTasklet {
             LoggingUtil.info(LOG, "execute", "Extracted text content: %d characters", textContent.length());
 
             // Generate multiple summary types
-            Map<String, AgentResult> summaryResults = generateAllSummaryTypes(paperId, textContent, userId);
+            Map<String, AgentResult> summaryResults = generateAllSummaryTypes(paperId, textContent, userId, chunkContext);
 
             // Create combined result
             AgentResult combinedResult = createCombinedSummaryResult(paperId, summaryResults);
@@ -76,7 +87,8 @@ public class ContentSummarizerTasklet extends BaseAgentTasklet {
     /**
      * Generates all summary types using the ContentSummarizerAgent.
      */
-    private Map<String, AgentResult> generateAllSummaryTypes(UUID paperId, String textContent, UUID userId) {
+    private Map<String, AgentResult> generateAllSummaryTypes(UUID paperId, String textContent, UUID userId,
+                                                             ChunkContext chunkContext) {
         Map<String, AgentResult> results = new HashMap<>();
         String[] summaryTypes = {"brief", "standard", "detailed"};
 
@@ -88,9 +100,10 @@ public class ContentSummarizerTasklet extends BaseAgentTasklet {
                 // Create agent task for this summary type
                 AgentTask summaryTask = createSummarizerTask(paperId, textContent, summaryType, userId);
 
-                // Execute summarization using the agent
-                CompletableFuture<AgentResult> future = contentSummarizerAgent.process(summaryTask);
-                AgentResult result = future.get(); // Wait for completion
+                // Execute summarization using the agent, hedged with the local fallback if slow
+                AgentResult result = canHedge() ?
+                    awaitHedgedSummary(paperId, textContent, summaryType, userId, summaryTask, chunkContext) :
+                    awaitAgentResult(contentSummarizerAgent, summaryTask, chunkContext);
 
                 results.put(summaryType, result);
 
@@ -115,6 +128,34 @@ public class ContentSummarizerTasklet extends BaseAgentTasklet {
         return results;
     }
 
+    private boolean canHedge() {
+        return hedgedRequestExecutor.isEnabled()
+            && contentSummarizerFallbackAgent != null && contentSummarizerFallbackAgent.canProcess();
+    }
+
+    /**
+     * Runs the summary on the primary agent and, once it is slower than usual, on the Ollama
+     * fallback agent as well. Each agent gets its own task; unsuccessful results count as
+     * failures so a failed primary does not beat a hedge that is still working.
+     */
+    private AgentResult awaitHedgedSummary(UUID paperId, String textContent, String summaryType, UUID userId,
+                                           AgentTask summaryTask, ChunkContext chunkContext) throws Exception {
+        Instant deadline = getDeadline(chunkContext);
+        AgentTask hedgeTask = createSummarizerTask(paperId, textContent, summaryType, userId);
+        summaryTask.setDeadline(deadline);
+        hedgeTask.setDeadline(deadline);
+
+        return awaitAgentResult(contentSummarizerAgent.getAgentType(), summaryTask, chunkContext,
+            () -> hedgedRequestExecutor.execute(summaryType + " summary",
+                contentSummarizerAgent.getProvider(), () -> successOnly(contentSummarizerAgent.process(summaryTask)),
+                AIProvider.OLLAMA, () -> successOnly(contentSummarizerFallbackAgent.process(hedgeTask))));
+    }
+
+    private static CompletableFuture<AgentResult> successOnly(CompletableFuture<AgentResult> future) {
+        return future.thenCompose(result -> result.isSuccess() ? CompletableFuture.completedFuture(result) :
+            CompletableFuture.failedFuture(new IllegalStateException(result.getErrorMessage())));
+    }
+
     /**
      * Creates an agent task for summarization.
      */
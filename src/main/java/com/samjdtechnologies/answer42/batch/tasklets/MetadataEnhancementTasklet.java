@@ -8,7 +8,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -66,8 +65,7 @@ public class MetadataEnhancementTasklet extends BaseAgentTasklet {
             AgentTask task = createMetadataEnhancementTask(paperId, paper, paperResult, userId);
 
             // Execute with MetadataEnhancementAgent
-            CompletableFuture<AgentResult> resultFuture = metadataAgent.process(task);
-            AgentResult result = resultFuture.get();
+            AgentResult result = awaitAgentResult(metadataAgent, task, chunkContext);
 
             if (!result.isSuccess()) {
                 LoggingUtil.warn(LOG, "execute", 
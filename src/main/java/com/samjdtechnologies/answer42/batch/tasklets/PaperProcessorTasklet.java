@@ -8,7 +8,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -67,8 +66,7 @@ public class PaperProcessorTasklet extends BaseAgentTasklet {
             AgentTask task = createPaperProcessingTask(paperId, textContent, userId);
 
             // Execute with PaperProcessorAgent
-            CompletableFuture<AgentResult> resultFuture = paperProcessorAgent.process(task);
-            AgentResult result = resultFuture.get();
+            AgentResult result = awaitAgentResult(paperProcessorAgent, task, chunkContext);
 
             if (!result.isSuccess()) {
                 throw new RuntimeException("Paper processing failed: " + result.getErrorMessage());
@@ -2,7 +2,6 @@ package com.samjdtechnologies.answer42.batch.tasklets;
 
 import java.time.Instant;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -51,8 +50,7 @@ public class PerplexityResearchTasklet extends BaseAgentTasklet {
             AgentTask researchTask = createResearchAgentTask(paperId, userId, paperResult, summaryResult);
 
             // Execute research using PerplexityResearchAgent
-            CompletableFuture<AgentResult> future = researchAgent.process(researchTask);
-            AgentResult result = future.get(); // Wait for completion
+            AgentResult result = awaitAgentResult(researchAgent, researchTask, chunkContext);
 
             if (result.isSuccess()) {
                 LoggingUtil.info(LOG, "execute", "Successfully completed Perplexity research for paper %s", paperId);
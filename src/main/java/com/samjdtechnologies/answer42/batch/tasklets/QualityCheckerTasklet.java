@@ -5,7 +5,6 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -63,7 +62,7 @@ public class QualityCheckerTasklet extends BaseAgentTasklet {
 
             // Perform quality checking on all generated content
             AgentResult qualityResult = performQualityChecking(paperId, originalContent, 
-                summaryResult, conceptResult, userId);
+                summaryResult, conceptResult, userId, chunkContext);
 
             if (!qualityResult.isSuccess()) {
                 LoggingUtil.warn(LOG, "execute", "Quality checking completed with issues: %s", 
@@ -87,7 +86,7 @@ public class QualityCheckerTasklet extends BaseAgentTasklet {
      */
     private AgentResult performQualityChecking(UUID paperId, String originalContent,
                                               AgentResult summaryResult, AgentResult conceptResult,
-                                              UUID userId) {
+                                              UUID userId, ChunkContext chunkContext) {
         
         try {
             LoggingUtil.info(LOG, "performQualityChecking", 
@@ -98,8 +97,7 @@ public class QualityCheckerTasklet extends BaseAgentTasklet {
                 summaryResult, conceptResult, userId);
 
             // Execute quality checking using the agent
-            CompletableFuture<AgentResult> future = qualityCheckerAgent.process(qualityTask);
-            AgentResult agentResult = future.get(); // Wait for completion
+            AgentResult agentResult = awaitAgentResult(qualityCheckerAgent, qualityTask, chunkContext);
 
             if (agentResult.isSuccess()) {
                 LoggingUtil.info(LOG, "performQualityChecking", 
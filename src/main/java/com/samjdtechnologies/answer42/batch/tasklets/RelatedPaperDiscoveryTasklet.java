@@ -2,7 +2,6 @@ package com.samjdtechnologies.answer42.batch.tasklets;
 
 import java.time.Instant;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -51,8 +50,7 @@ public class RelatedPaperDiscoveryTasklet extends BaseAgentTasklet {
             AgentTask discoveryTask = createDiscoveryAgentTask(paperId, userId, paperResult, summaryResult);
 
             // Execute discovery using RelatedPaperDiscoveryAgent
-            CompletableFuture<AgentResult> future = discoveryAgent.process(discoveryTask);
-            AgentResult result = future.get(); // Wait for completion
+            AgentResult result = awaitAgentResult(discoveryAgent, discoveryTask, chunkContext);
 
             if (result.isSuccess()) {
                 LoggingUtil.info(LOG, "execute", "Successfully completed related paper discovery for paper %s", paperId);
@@ -1,5 +1,7 @@
 package com.samjdtechnologies.answer42.config;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.anthropic.AnthropicChatModel;
@@ -25,10 +27,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.RestClient;
 
 import com.samjdtechnologies.answer42.model.db.User;
 import com.samjdtechnologies.answer42.model.db.UserPreferences;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.service.UserPreferencesService;
+import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
+import com.samjdtechnologies.answer42.service.pipeline.DeadlineAwareRequestFactory;
+import com.samjdtechnologies.answer42.service.pipeline.RateLimitHeaderInterceptor;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 import io.micrometer.observation.Observation;
@@ -90,6 +97,24 @@ public class AIConfig {
     @Value("${spring.ai.perplexity.chat.options.model:sonar-pro}")
     private String perplexityModel;
     
+    @Value("${spring.ai.anthropic.http.connect-timeout:120s}")
+    private Duration anthropicConnectTimeout;
+    
+    @Value("${spring.ai.anthropic.http.read-timeout:600s}")
+    private Duration anthropicReadTimeout;
+    
+    @Value("${spring.ai.openai.http.connect-timeout:300s}")
+    private Duration openaiConnectTimeout;
+    
+    @Value("${spring.ai.openai.http.read-timeout:1200s}")
+    private Duration openaiReadTimeout;
+    
+    @Value("${spring.ai.perplexity.http.connect-timeout:300s}")
+    private Duration perplexityConnectTimeout;
+    
+    @Value("${spring.ai.perplexity.http.read-timeout:1800s}")
+    private Duration perplexityReadTimeout;
+    
     @Value("${spring.ai.ollama.base-url:http://localhost:11434}")
     private String ollamaBaseUrl;
     
@@ -103,6 +128,7 @@ public class AIConfig {
     private double ollamaTemperature;
     
     private final UserPreferencesService userPreferencesService;
+    private final APIRateLimiter apiRateLimiter;
     
     // Current user-specific API keys (cached after login)
     private String currentOpenaiApiKey;
@@ -114,9 +140,11 @@ public class AIConfig {
      * Initializes API keys to system defaults from properties.
      * 
      * @param userPreferencesService service for accessing user preferences including API keys
+     * @param apiRateLimiter rate limiter fed with the providers' rate-limit response headers
      */
-    public AIConfig(UserPreferencesService userPreferencesService) {
+    public AIConfig(UserPreferencesService userPreferencesService, APIRateLimiter apiRateLimiter) {
         this.userPreferencesService = userPreferencesService;
+        this.apiRateLimiter = apiRateLimiter;
         
         // Initialize with system defaults
         this.currentOpenaiApiKey = openaiApiKey;
@@ -248,6 +276,43 @@ public class AIConfig {
         }
     }
     
+    /**
+     * Gets the configured chat model name of a provider.
+     * 
+     * @param provider The AI provider
+     * @return The model name from the provider's chat options
+     */
+    public String getModelName(AIProvider provider) {
+        switch (provider) {
+            case ANTHROPIC:
+                return anthropicModel;
+            case OPENAI:
+                return openaiModel;
+            case PERPLEXITY:
+                return perplexityModel;
+            case OLLAMA:
+                return ollamaModel;
+            default:
+                throw new IllegalArgumentException("Unknown provider: " + provider);
+        }
+    }
+    
+    /**
+     * Estimates the cost of a request to a provider's configured model.
+     * Local Ollama models cost nothing per token.
+     * 
+     * @param provider The AI provider
+     * @param promptTokens Number of prompt tokens
+     * @param completionTokens Number of completion tokens
+     * @return Estimated cost in USD
+     */
+    public double estimateCost(AIProvider provider, long promptTokens, long completionTokens) {
+        if (provider == AIProvider.OLLAMA) {
+            return 0.0;
+        }
+        return calculateCost(getModelName(provider), promptTokens, completionTokens);
+    }
+    
     /**
      * Calculates the estimated cost based on model pricing and token usage.
      * Prices are approximate and based on standard API pricing as of 2024.
@@ -257,7 +322,7 @@ public class AIConfig {
      * @param completionTokens Number of completion tokens
      * @return Estimated cost in USD
      */
-    private double calculateCost(String modelName, long promptTokens, long completionTokens) {
+    public double calculateCost(String modelName, long promptTokens, long completionTokens) {
         double promptCostPer1K = 0.0;
         double completionCostPer1K = 0.0;
         
@@ -423,10 +488,29 @@ public class AIConfig {
      * 
      * @return An AnthropicApi client for making requests to Anthropic's services
      */
-    @SuppressWarnings("deprecation")
     @Bean
     public AnthropicApi anthropicApi() {
-        return new AnthropicApi(getAnthropicKey());
+        return AnthropicApi.builder()
+            .apiKey(getAnthropicKey())
+            .restClientBuilder(providerRestClient(AIProvider.ANTHROPIC, anthropicConnectTimeout, anthropicReadTimeout))
+            .build();
+    }
+    
+    /**
+     * Creates a RestClient builder that reports the provider's rate-limit response headers
+     * to the APIRateLimiter, so its limits track the live quota. Its timeouts shrink to the
+     * time left until the pipeline deadline of the calling thread.
+     * 
+     * @param provider The AI provider the client talks to
+     * @param connectTimeout The configured connect timeout for the provider
+     * @param readTimeout The configured read timeout for the provider
+     * @return A RestClient.Builder with the rate-limit header interceptor installed
+     */
+    private RestClient.Builder providerRestClient(AIProvider provider, Duration connectTimeout, Duration readTimeout) {
+        return RestClient.builder()
+            .requestFactory(new DeadlineAwareRequestFactory(connectTimeout, readTimeout))
+            .requestInterceptor(new RateLimitHeaderInterceptor(
+                (uri, snapshot) -> apiRateLimiter.updateFromHeaders(provider, snapshot)));
     }
     
     /**
@@ -505,6 +589,7 @@ public class AIConfig {
         return OpenAiApi.builder()
             .apiKey(apiKey)
             .baseUrl(openaiBaseUrl)
+            .restClientBuilder(providerRestClient(AIProvider.OPENAI, openaiConnectTimeout, openaiReadTimeout))
             .build();
     }
     
@@ -526,6 +611,7 @@ public class AIConfig {
             .apiKey(apiKey)
             .baseUrl(perplexityBaseUrl)
             .completionsPath(perplexityCompletionsPath)
+            .restClientBuilder(providerRestClient(AIProvider.PERPLEXITY, perplexityConnectTimeout, perplexityReadTimeout))
             .build();
     }
     
@@ -62,6 +62,9 @@ public class DatabaseConfig {
     @Value("${spring.jpa.hibernate.ddl-auto}")
     private String hibernateDdlAuto;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     /**
      * Configures and creates a HikariCP configuration with connection properties
      * from application.properties.
@@ -85,6 +88,8 @@ public class DatabaseConfig {
         
         // Add additional data source properties
         config.addDataSourceProperty("ApplicationName", "answer42");
+        // Turns Hibernate's JDBC insert batches into multi-row inserts. Parameters in the
+        // JDBC URL take precedence, so a DATABASE_URL must not set it to false
         config.addDataSourceProperty("reWriteBatchedInserts", "true");
         config.addDataSourceProperty("useUnicode", "true");
         config.addDataSourceProperty("characterEncoding", "UTF-8");
@@ -130,6 +135,13 @@ public class DatabaseConfig {
         jpaProperties.put("hibernate.jdbc.lob.non_contextual_creation", "true");
         jpaProperties.put("hibernate.jdbc.time_zone", "UTC");
         
+        // Send pipeline writes (tags, citations, sections, ...) as JDBC batches; IDs are
+        // generated client-side, so inserts can be batched, and ordering groups them per table
+        jpaProperties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+        jpaProperties.put("hibernate.order_inserts", "true");
+        jpaProperties.put("hibernate.order_updates", "true");
+        jpaProperties.put("hibernate.jdbc.batch_versioned_data", "true");
+        
         // Add connection information explicitly for Hibernate
         jpaProperties.put("hibernate.connection.driver_class", driverClassName);
         jpaProperties.put("hibernate.connection.url", jdbcUrl);
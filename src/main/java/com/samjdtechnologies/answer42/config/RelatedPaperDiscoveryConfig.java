@@ -1,14 +1,17 @@
 package com.samjdtechnologies.answer42.config;
 
+import java.time.Duration;
+
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
+import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
 import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
 import com.samjdtechnologies.answer42.repository.DiscoveredPaperRepository;
 import com.samjdtechnologies.answer42.repository.PaperRelationshipRepository;
@@ -16,6 +19,7 @@ import com.samjdtechnologies.answer42.repository.PaperRepository;
 import com.samjdtechnologies.answer42.service.agent.RelatedPaperDiscoveryAgent;
 import com.samjdtechnologies.answer42.service.discovery.DiscoveryCoordinator;
 import com.samjdtechnologies.answer42.service.discovery.cache.DiscoveryCache;
+import com.samjdtechnologies.answer42.service.discovery.cache.ExternalApiResponseCache;
 import com.samjdtechnologies.answer42.service.discovery.ratelimit.APIRateLimitManager;
 import com.samjdtechnologies.answer42.service.discovery.sources.CrossrefDiscoveryService;
 import com.samjdtechnologies.answer42.service.discovery.sources.PerplexityDiscoveryService;
@@ -24,6 +28,8 @@ import com.samjdtechnologies.answer42.service.discovery.synthesis.AISynthesisEng
 import com.samjdtechnologies.answer42.service.helpers.SemanticScholarApiHelper;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
+import com.samjdtechnologies.answer42.service.pipeline.DeadlineAwareRequestFactory;
+import com.samjdtechnologies.answer42.service.pipeline.RateLimitHeaderInterceptor;
 
 /**
  * Configuration class for the Related Paper Discovery Agent and all its dependencies.
@@ -85,6 +91,7 @@ public class RelatedPaperDiscoveryConfig {
      * @param perplexityService Perplexity API discovery service
      * @param synthesisEngine AI synthesis and ranking engine
      * @param threadConfig Thread configuration for async execution
+     * @param discoveryCache Cache that also coalesces concurrent discovery requests
      * @return Configured DiscoveryCoordinator
      */
     @Bean
@@ -93,14 +100,16 @@ public class RelatedPaperDiscoveryConfig {
             SemanticScholarDiscoveryService semanticScholarService,
             PerplexityDiscoveryService perplexityService,
             AISynthesisEngine synthesisEngine,
-            ThreadConfig threadConfig) {
+            ThreadConfig threadConfig,
+            DiscoveryCache discoveryCache) {
         
         return new DiscoveryCoordinator(
             crossrefService,
             semanticScholarService,
             perplexityService,
             synthesisEngine,
-            threadConfig
+            threadConfig,
+            discoveryCache
         );
     }
 
@@ -108,16 +117,18 @@ public class RelatedPaperDiscoveryConfig {
      * Creates the Crossref Discovery Service for citation network analysis.
      * Handles forward/backward citations, author networks, and venue discovery.
      * 
-     * @param restTemplate HTTP client for API calls
+     * @param externalApiResponseCache Shared response cache for API calls
+     * @param apiRateLimitManager Central per-source pacing for API calls
      * @param threadConfig Thread configuration for async execution
      * @return Configured CrossrefDiscoveryService
      */
     @Bean
     public CrossrefDiscoveryService crossrefDiscoveryService(
-            RestTemplate discoveryRestTemplate,
+            ExternalApiResponseCache externalApiResponseCache,
+            APIRateLimitManager apiRateLimitManager,
             ThreadConfig threadConfig) {
         
-        return new CrossrefDiscoveryService(discoveryRestTemplate, threadConfig);
+        return new CrossrefDiscoveryService(externalApiResponseCache, apiRateLimitManager, threadConfig);
     }
 
     /**
@@ -170,44 +181,91 @@ public class RelatedPaperDiscoveryConfig {
      * 
      * @param memoryRepository Repository for persistent cache storage
      * @param objectMapper JSON serialization mapper
+     * @param eventPublisher Publisher for background refresh notifications
      * @return Configured DiscoveryCache
      */
     @Bean
     public DiscoveryCache discoveryCache(
             AgentMemoryStoreRepository memoryRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
         
-        return new DiscoveryCache(memoryRepository, objectMapper);
+        return new DiscoveryCache(memoryRepository, objectMapper, eventPublisher);
     }
 
     /**
      * Creates the Semantic Scholar API Helper for structured API access.
      * Handles authentication, request formatting, and response parsing.
      * 
-     * @param restTemplate HTTP client for API calls
+     * @param externalApiResponseCache Shared response cache for API calls
+     * @param apiRateLimitManager Central per-source pacing for API calls
+     * @param discoveryRestTemplate HTTP client for uncached batch lookups
      * @return Configured SemanticScholarApiHelper
      */
     @Bean
-    public SemanticScholarApiHelper semanticScholarApiHelper(RestTemplate discoveryRestTemplate) {
-        return new SemanticScholarApiHelper(discoveryRestTemplate);
+    public SemanticScholarApiHelper semanticScholarApiHelper(
+            ExternalApiResponseCache externalApiResponseCache,
+            APIRateLimitManager apiRateLimitManager,
+            RestTemplate discoveryRestTemplate) {
+        return new SemanticScholarApiHelper(externalApiResponseCache, apiRateLimitManager, discoveryRestTemplate);
+    }
+
+    /**
+     * Creates the shared response cache for Crossref and Semantic Scholar requests.
+     * Raw responses are reused across papers and users and revalidated with ETag /
+     * Last-Modified once their per-endpoint TTL has passed.
+     * 
+     * @param discoveryRestTemplate HTTP client for API calls
+     * @param memoryRepository Repository for persistent cache storage
+     * @param objectMapper JSON mapper for binding cached bodies
+     * @return Configured ExternalApiResponseCache
+     */
+    @Bean
+    public ExternalApiResponseCache externalApiResponseCache(
+            RestTemplate discoveryRestTemplate,
+            AgentMemoryStoreRepository memoryRepository,
+            ObjectMapper objectMapper) {
+        
+        return new ExternalApiResponseCache(discoveryRestTemplate, memoryRepository, objectMapper);
     }
 
     /**
      * Creates a REST template configured for external API calls.
-     * Includes timeout settings and error handling for discovery services.
+     * Includes timeout settings and error handling for discovery services, and reports
+     * rate-limit response headers to the APIRateLimitManager. Timeouts shrink to the
+     * pipeline deadline of the calling thread.
      * 
+     * @param apiRateLimitManager Central per-source pacing fed with live quota headers
      * @return Configured RestTemplate
      */
     @Bean
-    public RestTemplate discoveryRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(30000); // 30 seconds
-        factory.setReadTimeout(60000);    // 60 seconds
+    public RestTemplate discoveryRestTemplate(APIRateLimitManager apiRateLimitManager) {
+        DeadlineAwareRequestFactory factory = new DeadlineAwareRequestFactory(
+            Duration.ofSeconds(30), Duration.ofSeconds(60));
         
         RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(new RateLimitHeaderInterceptor((uri, snapshot) -> {
+            DiscoverySource source = discoverySourceForHost(uri.getHost());
+            if (source != null) {
+                apiRateLimitManager.updateFromHeaders(source, snapshot);
+            }
+        }));
         return restTemplate;
     }
 
+    private static DiscoverySource discoverySourceForHost(String host) {
+        if (host == null) {
+            return null;
+        }
+        if (host.endsWith("crossref.org")) {
+            return DiscoverySource.CROSSREF;
+        }
+        if (host.endsWith("semanticscholar.org")) {
+            return DiscoverySource.SEMANTIC_SCHOLAR;
+        }
+        return null;
+    }
+
     // ============================================================================
     // Static Configuration Methods
     // ============================================================================
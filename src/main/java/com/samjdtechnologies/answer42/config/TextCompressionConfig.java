@@ -0,0 +1,37 @@
+package com.samjdtechnologies.answer42.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import com.samjdtechnologies.answer42.util.CompressedText;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Applies the compressed text storage settings. Entities compress in their setters, where
+ * no beans are available, so the settings live in {@link CompressedText} itself.
+ */
+@Configuration
+public class TextCompressionConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TextCompressionConfig.class);
+
+    @Value("${text.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${text.compression.threshold-chars:8192}")
+    private int thresholdChars;
+
+    @Value("${text.compression.level:6}")
+    private int level;
+
+    @PostConstruct
+    public void init() {
+        CompressedText.configure(enabled, thresholdChars, level);
+        LoggingUtil.info(LOG, "init", "Compressed text storage %s (threshold %d chars, level %d)",
+            enabled ? "enabled" : "disabled", thresholdChars, level);
+    }
+}
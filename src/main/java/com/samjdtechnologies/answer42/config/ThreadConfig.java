@@ -10,6 +10,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import com.samjdtechnologies.answer42.service.pipeline.PipelineDeadline;
+
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -35,6 +37,7 @@ public class ThreadConfig {
 
     /**
      * Configures and creates a thread pool task executor for asynchronous task execution.
+     * Submitted tasks inherit the pipeline deadline of the submitting thread.
      * 
      * @return an Executor instance configured with thread pool settings from application properties
      */
@@ -45,6 +48,7 @@ public class ThreadConfig {
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(25);
+        executor.setTaskDecorator(PipelineDeadline::propagate);
         executor.setWaitForTasksToCompleteOnShutdown(executionAwaitTermination);
         // Parse duration string to seconds
         long terminationSeconds = parseDurationToSeconds(executionAwaitTerminationPeriod);
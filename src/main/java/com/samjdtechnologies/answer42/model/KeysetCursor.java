@@ -0,0 +1,24 @@
+package com.samjdtechnologies.answer42.model;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Position in a list sorted newest first by (created_at, id), for keyset pagination.
+ *
+ * The next page holds the rows strictly before this position, so the database seeks to it
+ * through the index however deep the page is, where an OFFSET query reads and discards every
+ * skipped row. The id breaks ties between rows created in the same instant.
+ *
+ * @param createdAt creation time of the last row already shown
+ * @param id ID of the last row already shown
+ */
+public record KeysetCursor(ZonedDateTime createdAt, UUID id) {
+
+    /**
+     * Position before the newest row, i.e. the start of the list.
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(
+        ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC), new UUID(-1L, -1L));
+}
@@ -21,6 +21,7 @@ public class RetryStatistics {
     private long successfulOperations;
     private long successfulRetries;
     private long failedOperations;
+    private long deniedRetries;
     private double overallSuccessRate;
     private double retrySuccessRate;
     private Duration uptime;
@@ -29,8 +30,8 @@ public class RetryStatistics {
     @Override
     public String toString() {
         return String.format(
-            "RetryStatistics{attempts=%d, retries=%d, successfulOps=%d, successfulRetries=%d, failed=%d, overallSuccess=%.2f%%, retrySuccess=%.2f%%, uptime=%s, agents=%d}",
-            totalAttempts, totalRetries, successfulOperations, successfulRetries, failedOperations, 
+            "RetryStatistics{attempts=%d, retries=%d, successfulOps=%d, successfulRetries=%d, failed=%d, deniedRetries=%d, overallSuccess=%.2f%%, retrySuccess=%.2f%%, uptime=%s, agents=%d}",
+            totalAttempts, totalRetries, successfulOperations, successfulRetries, failedOperations, deniedRetries,
             overallSuccessRate * 100, retrySuccessRate * 100, uptime, trackedAgents
         );
     }
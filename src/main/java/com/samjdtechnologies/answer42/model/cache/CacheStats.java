@@ -26,11 +26,21 @@ public class CacheStats {
     private Instant newestEntry;
     private double memoryUsageMB;
     
+    // Weight-bound metrics (in-memory tier)
+    private long weightedSizeBytes;
+    private long maxWeightBytes;
+    private long evictionWeightBytes;
+    private double memoryHitRate;
+    
     // Performance metrics
     private long hitCount;
     private long missCount;
     private long evictionCount;
     private long errorCount;
+    private long coalescedCount;
+    private long staleHitCount;
+    private long refreshCount;
+    private int inFlightCount;
     
     // Efficiency metrics
     private double averageResponseTimeMs;
@@ -77,6 +87,14 @@ public class CacheStats {
         return ((double) validEntries / maxCapacity) * 100.0;
     }
 
+    /**
+     * Calculate in-memory weight utilization (weighted size / weight budget) as percentage.
+     */
+    public double getWeightUtilization() {
+        if (maxWeightBytes == 0) return 0.0;
+        return ((double) weightedSizeBytes / maxWeightBytes) * 100.0;
+    }
+
     /**
      * Calculate eviction rate (evictions per hour).
      */
@@ -104,7 +122,8 @@ public class CacheStats {
         // Composite score based on multiple factors
         double hitRateScore = getHitRate() / 100.0;
         double errorRateScore = Math.max(0.0, 1.0 - (getErrorRate() / 100.0));
-        double utilizationScore = Math.min(1.0, getCacheUtilization(1000) / 80.0); // Target 80% utilization
+        double utilization = maxWeightBytes > 0 ? getWeightUtilization() : getCacheUtilization(1000);
+        double utilizationScore = Math.min(1.0, utilization / 80.0); // Target 80% utilization
         double efficiencyScore = Math.min(1.0, cacheEfficiency);
         
         // Weighted average
@@ -140,11 +159,12 @@ public class CacheStats {
      */
     public String getSummary() {
         return String.format(
-            "Cache: %d entries (%.1f%% valid), %.1f%% hit rate, %.1f MB memory, Grade: %s",
+            "Cache: %d entries (%.1f%% valid), %.1f%% hit rate, %.1f MB memory (%.1f%% of budget), Grade: %s",
             totalEntries,
             (double) validEntries / Math.max(1, totalEntries) * 100,
             getHitRate(),
             memoryUsageMB,
+            getWeightUtilization(),
             getPerformanceGrade()
         );
     }
@@ -162,13 +182,19 @@ public class CacheStats {
             (double) validEntries / Math.max(1, totalEntries) * 100));
         report.append(String.format("Expired Entries: %,d (%.1f%%)\n", expiredEntries, getExpiredRatio()));
         report.append(String.format("Memory Usage: %.2f MB\n", memoryUsageMB));
+        report.append(String.format("Weight Budget: %.2f MB (%.1f%% used)\n", 
+            maxWeightBytes / (1024.0 * 1024.0), getWeightUtilization()));
         
         // Performance metrics
         report.append(String.format("\nPerformance:\n"));
         report.append(String.format("Hit Rate: %.2f%% (%,d hits)\n", getHitRate(), hitCount));
         report.append(String.format("Miss Rate: %.2f%% (%,d misses)\n", getMissRate(), missCount));
-        report.append(String.format("Eviction Count: %,d (%.1f/hour)\n", evictionCount, getEvictionRate()));
+        report.append(String.format("Memory Tier Hit Rate: %.2f%%\n", memoryHitRate));
+        report.append(String.format("Eviction Count: %,d (%.1f/hour, %.2f MB evicted)\n", 
+            evictionCount, getEvictionRate(), evictionWeightBytes / (1024.0 * 1024.0)));
         report.append(String.format("Error Rate: %.2f%% (%,d errors)\n", getErrorRate(), errorCount));
+        report.append(String.format("Coalesced Requests: %,d (%d in flight)\n", coalescedCount, inFlightCount));
+        report.append(String.format("Stale Hits: %,d (%,d background refreshes)\n", staleHitCount, refreshCount));
         
         // Efficiency metrics
         report.append(String.format("\nEfficiency:\n"));
@@ -208,8 +234,8 @@ public class CacheStats {
             recommendations.append("- High error rate detected. Investigate serialization/deserialization issues.\n");
         }
         
-        if (memoryUsageMB > 500.0) {
-            recommendations.append("- High memory usage. Consider implementing size-based eviction.\n");
+        if (getWeightUtilization() > 95.0 && getEvictionRate() > 100.0) {
+            recommendations.append("- Weight budget saturated. Consider raising the in-memory weight limit.\n");
         }
         
         if (averageAccessCount < 2.0) {
@@ -230,7 +256,11 @@ public class CacheStats {
         private final AtomicLong hitCount = new AtomicLong(0);
         private final AtomicLong missCount = new AtomicLong(0);
         private final AtomicLong evictionCount = new AtomicLong(0);
+        private final AtomicLong evictionWeightBytes = new AtomicLong(0);
         private final AtomicLong errorCount = new AtomicLong(0);
+        private final AtomicLong coalescedCount = new AtomicLong(0);
+        private final AtomicLong staleHitCount = new AtomicLong(0);
+        private final AtomicLong refreshCount = new AtomicLong(0);
         private final AtomicLong totalOperations = new AtomicLong(0);
         private volatile Instant lastResetTime = Instant.now();
 
@@ -248,15 +278,41 @@ public class CacheStats {
             evictionCount.incrementAndGet();
         }
 
+        public void recordEviction(long weightBytes) {
+            evictionCount.incrementAndGet();
+            evictionWeightBytes.addAndGet(weightBytes);
+        }
+
         public void recordError() {
             errorCount.incrementAndGet();
         }
 
+        /**
+         * A stale hit is still a hit for hit-rate purposes; it is also counted separately.
+         */
+        public void recordStaleHit() {
+            staleHitCount.incrementAndGet();
+            recordHit();
+        }
+
+        public void recordRefresh() {
+            refreshCount.incrementAndGet();
+        }
+
+        public void recordCoalesced() {
+            coalescedCount.incrementAndGet();
+            totalOperations.incrementAndGet();
+        }
+
         public void reset() {
             hitCount.set(0);
             missCount.set(0);
             evictionCount.set(0);
+            evictionWeightBytes.set(0);
             errorCount.set(0);
+            coalescedCount.set(0);
+            staleHitCount.set(0);
+            refreshCount.set(0);
             totalOperations.set(0);
             lastResetTime = Instant.now();
         }
@@ -266,7 +322,11 @@ public class CacheStats {
                 .hitCount(hitCount.get())
                 .missCount(missCount.get())
                 .evictionCount(evictionCount.get())
+                .evictionWeightBytes(evictionWeightBytes.get())
                 .errorCount(errorCount.get())
+                .coalescedCount(coalescedCount.get())
+                .staleHitCount(staleHitCount.get())
+                .refreshCount(refreshCount.get())
                 .totalOperations(totalOperations.get())
                 .lastResetTime(lastResetTime);
         }
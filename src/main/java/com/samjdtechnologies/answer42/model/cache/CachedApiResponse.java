@@ -0,0 +1,52 @@
+package com.samjdtechnologies.answer42.model.cache;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Raw external API response body kept by the response cache, together with the
+ * validators needed to revalidate it with a conditional request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachedApiResponse {
+
+    private String endpointId;
+    private String body;
+    private String etag;
+    private String lastModified;
+    private Instant fetchedAt;
+    private Instant expiresAt;
+
+    public boolean isFresh() {
+        return isFresh(Instant.now());
+    }
+
+    public boolean isFresh(Instant now) {
+        return expiresAt != null && now.isBefore(expiresAt);
+    }
+
+    /**
+     * Whether the origin gave us a validator to send back in a conditional request.
+     */
+    public boolean isRevalidatable() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Approximate heap footprint in bytes (UTF-16 body plus small fixed overhead).
+     */
+    public long estimateSizeBytes() {
+        long size = 128;
+        if (body != null) {
+            size += body.length() * 2L;
+        }
+        return size;
+    }
+}
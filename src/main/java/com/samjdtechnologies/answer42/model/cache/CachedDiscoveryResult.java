@@ -20,7 +20,8 @@ public class CachedDiscoveryResult {
     
     private RelatedPaperDiscoveryResult result;
     private Instant cachedAt;
-    private Instant expiresAt;
+    private Instant staleAt;   // soft TTL: served, but refreshed in the background
+    private Instant expiresAt; // hard TTL: no longer served
     private int accessCount;
     private Instant lastAccessAt;
     private long sizeBytes;
@@ -54,9 +55,13 @@ public class CachedDiscoveryResult {
     }
 
     /**
-     * Check if cache entry is stale (> 80% of TTL consumed).
+     * Check if cache entry is stale (past its soft TTL, or > 80% of TTL consumed 
+     * when no soft TTL was recorded).
      */
     public boolean isStale() {
+        if (staleAt != null) {
+            return Instant.now().isAfter(staleAt);
+        }
         long totalTtl = java.time.Duration.between(cachedAt, expiresAt).getSeconds();
         long consumed = getAgeSeconds();
         return consumed > (totalTtl * 0.8);
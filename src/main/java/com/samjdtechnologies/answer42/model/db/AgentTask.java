@@ -17,6 +17,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -67,6 +68,10 @@ public class AgentTask {
     @Column(name = "completed_at")
     private Instant completedAt;
 
+    // Deadline of the pipeline job the task belongs to; not persisted, null when unbounded
+    @Transient
+    private Instant deadline;
+
     // Helper methods for task lifecycle management
     public void markStarted() {
         this.startedAt = Instant.now();
@@ -12,6 +12,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -20,6 +21,8 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Entity representing an analysis task for a paper.
@@ -45,12 +48,16 @@ public class AnalysisTask {
     @Column(name = "id")
     private UUID id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paper_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Paper paper;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
     
     @Enumerated(EnumType.STRING)
@@ -73,6 +80,8 @@ public class AnalysisTask {
     
     @OneToOne
     @JoinColumn(name = "task_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AnalysisResult result;
     
     /**
@@ -0,0 +1,94 @@
+package com.samjdtechnologies.answer42.model.db;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.samjdtechnologies.answer42.model.db.CreditTransaction.OperationType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * CreditReservation represents credits held from a user's balance while an operation runs.
+ * The credits leave the balance when the reservation is made; committing it records the
+ * debit, releasing it returns them.
+ */
+@Entity
+@Table(name = "credit_reservations", schema = "answer42")
+@Data
+@NoArgsConstructor
+public class CreditReservation {
+    
+    public enum Status {
+        HELD,       // Credits taken off the balance, operation still running
+        COMMITTED,  // Operation finished, debit recorded
+        RELEASED    // Operation failed or expired, credits returned
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+    
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Column(name = "amount")
+    private Integer amount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type")
+    private OperationType operationType;
+    
+    @Column(name = "description")
+    private String description;
+    
+    @Column(name = "reference_id")
+    private String referenceId;
+    
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+    
+    @Column(name = "expires_at")
+    private ZonedDateTime expiresAt;
+    
+    @Column(name = "settled_at")
+    private ZonedDateTime settledAt;
+    
+    
+    /**
+     * Constructor for a new reservation in the HELD state.
+     * 
+     * @param userId The ID of the user whose credits are held
+     * @param amount The number of credits held
+     * @param operationType The type of operation the credits are for
+     * @param description A human-readable description, used for the debit on commit
+     * @param referenceId An optional reference ID to link to other entities
+     * @param expiresAt When the hold is released if it has not been settled
+     */
+    public CreditReservation(UUID userId, Integer amount, OperationType operationType,
+                             String description, String referenceId, ZonedDateTime expiresAt) {
+        this.userId = userId;
+        this.amount = amount;
+        this.status = Status.HELD;
+        this.operationType = operationType;
+        this.description = description;
+        this.referenceId = referenceId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -32,6 +32,7 @@ public class CreditTransaction {
         SUMMARY_GENERATION,  // Credits used for generating summaries
         STUDY_GUIDE,         // Credits used for creating study guides
         RESEARCH,            // Credits used for research with Perplexity
+        AI_CHAT,             // Credits used for AI chat and Q&A sessions
         MANUAL_ADJUSTMENT,   // Manual adjustment by admin
         ROLLOVER,            // Credits rolled over from previous month
         REFERRAL_BONUS,      // Credits earned from referrals
@@ -12,6 +12,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.samjdtechnologies.answer42.util.CompressedText;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -22,6 +23,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.NoArgsConstructor;
 
 /**
@@ -62,6 +64,14 @@ public class Paper {
     @Column(name = "text_content", columnDefinition = "text")
     private String textContent;
 
+    // Set instead of text_content when compressed text storage is enabled, see CompressedText
+    @Column(name = "text_content_compressed")
+    private byte[] textContentCompressed;
+
+    // Decompressed on first access
+    @Transient
+    private String textContentInflated;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "metadata", columnDefinition = "jsonb")
     private JsonNode metadata;
@@ -121,6 +131,12 @@ public class Paper {
     @Column(name = "summary_detailed", columnDefinition = "text")
     private String summaryDetailed;
 
+    @Column(name = "summary_detailed_compressed")
+    private byte[] summaryDetailedCompressed;
+
+    @Transient
+    private String summaryDetailedInflated;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "glossart", columnDefinition = "jsonb")
     private JsonNode glossary;
@@ -267,11 +283,32 @@ public class Paper {
     }
 
     public String getTextContent() {
+        if (textContent == null && textContentCompressed != null) {
+            if (textContentInflated == null) {
+                textContentInflated = CompressedText.decompress(textContentCompressed);
+            }
+            return textContentInflated;
+        }
         return textContent;
     }
 
     public void setTextContent(String textContent) {
-        this.textContent = textContent;
+        if (CompressedText.shouldCompress(textContent)) {
+            this.textContentCompressed = CompressedText.compress(textContent);
+            this.textContentInflated = textContent;
+            this.textContent = null;
+        } else {
+            this.textContentCompressed = null;
+            this.textContentInflated = null;
+            this.textContent = textContent;
+        }
+    }
+
+    /**
+     * Whether the text content is stored compressed, i.e. the text_content column is empty.
+     */
+    public boolean isTextContentCompressed() {
+        return textContentCompressed != null;
     }
 
     public JsonNode getMetadata() {
@@ -403,11 +440,32 @@ public class Paper {
     }
 
     public String getSummaryDetailed() {
+        if (summaryDetailed == null && summaryDetailedCompressed != null) {
+            if (summaryDetailedInflated == null) {
+                summaryDetailedInflated = CompressedText.decompress(summaryDetailedCompressed);
+            }
+            return summaryDetailedInflated;
+        }
         return summaryDetailed;
     }
 
     public void setSummaryDetailed(String summaryDetailed) {
-        this.summaryDetailed = summaryDetailed;
+        if (CompressedText.shouldCompress(summaryDetailed)) {
+            this.summaryDetailedCompressed = CompressedText.compress(summaryDetailed);
+            this.summaryDetailedInflated = summaryDetailed;
+            this.summaryDetailed = null;
+        } else {
+            this.summaryDetailedCompressed = null;
+            this.summaryDetailedInflated = null;
+            this.summaryDetailed = summaryDetailed;
+        }
+    }
+
+    /**
+     * Whether the detailed summary is stored compressed.
+     */
+    public boolean isSummaryDetailedCompressed() {
+        return summaryDetailedCompressed != null;
     }
 
     public JsonNode getGlossary() {
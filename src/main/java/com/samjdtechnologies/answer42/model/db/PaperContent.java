@@ -3,8 +3,11 @@ package com.samjdtechnologies.answer42.model.db;
 import java.time.Instant;
 import java.util.UUID;
 
+import com.samjdtechnologies.answer42.util.CompressedText;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,10 +16,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Entity representing paper content storage.
@@ -37,13 +43,26 @@ public class PaperContent {
     @Column(name = "paper_id", nullable = false)
     private UUID paperId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paper_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Paper paper;
 
-    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    // Null when the content is stored compressed, see CompressedText
+    @Column(name = "content", columnDefinition = "TEXT")
     private String content;
 
+    @Column(name = "content_compressed")
+    @ToString.Exclude
+    private byte[] contentCompressed;
+
+    // Decompressed on first access
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String contentInflated;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
@@ -53,7 +72,36 @@ public class PaperContent {
     // Constructor for creating new content
     public PaperContent(UUID paperId, String content) {
         this.paperId = paperId;
-        this.content = content;
+        setContent(content);
+    }
+
+    public String getContent() {
+        if (content == null && contentCompressed != null) {
+            if (contentInflated == null) {
+                contentInflated = CompressedText.decompress(contentCompressed);
+            }
+            return contentInflated;
+        }
+        return content;
+    }
+
+    public void setContent(String content) {
+        if (CompressedText.shouldCompress(content)) {
+            this.contentCompressed = CompressedText.compress(content);
+            this.contentInflated = content;
+            this.content = null;
+        } else {
+            this.contentCompressed = null;
+            this.contentInflated = null;
+            this.content = content;
+        }
+    }
+
+    /**
+     * Whether the content is stored compressed, i.e. the content column is empty.
+     */
+    public boolean isContentCompressed() {
+        return contentCompressed != null;
     }
 
     @PrePersist
@@ -5,43 +5,63 @@ import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Junction entity representing paper-tag relationships.
+ *
+ * The key is assigned by the caller, so the entity reports whether it is new itself;
+ * otherwise saveAll would merge each row, costing a SELECT before every INSERT.
  */
 @Entity
 @Table(name = "paper_tags", schema = "answer42")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PaperTag {
+public class PaperTag implements Persistable<PaperTag.PaperTagId> {
 
     @EmbeddedId
     private PaperTagId id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paper_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Paper paper;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tag_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Tag tag;
 
     @Column(name = "created_at")
     private Instant createdAt;
 
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
     // Constructor for creating new paper-tag relationship
     public PaperTag(UUID paperId, UUID tagId) {
         this.id = new PaperTagId(paperId, tagId);
@@ -52,6 +72,17 @@ public class PaperTag {
         createdAt = Instant.now();
     }
 
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        newEntity = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
     /**
      * Composite primary key for PaperTag entity.
      */
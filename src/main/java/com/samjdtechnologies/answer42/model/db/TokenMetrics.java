@@ -63,6 +63,10 @@ public class TokenMetrics {
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
     
+    // When the row was inserted, set by the database; rollups are compacted by this time
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "metadata", columnDefinition = "jsonb")
     private String metadata;
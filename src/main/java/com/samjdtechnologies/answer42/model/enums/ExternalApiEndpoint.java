@@ -0,0 +1,39 @@
+package com.samjdtechnologies.answer42.model.enums;
+
+import java.time.Duration;
+
+/**
+ * External scholarly API endpoints whose raw responses are shared through the
+ * response cache. Each endpoint carries the source it belongs to and how long a
+ * response stays fresh before it has to be revalidated.
+ */
+public enum ExternalApiEndpoint {
+    CROSSREF_WORKS_QUERY("crossref-works-query", DiscoverySource.CROSSREF, Duration.ofHours(24)),
+    SEMANTIC_SCHOLAR_SEARCH("s2-search", DiscoverySource.SEMANTIC_SCHOLAR, Duration.ofHours(12)),
+    SEMANTIC_SCHOLAR_RECOMMENDATIONS("s2-recommendations", DiscoverySource.SEMANTIC_SCHOLAR, Duration.ofHours(24)),
+    SEMANTIC_SCHOLAR_CITATIONS("s2-citations", DiscoverySource.SEMANTIC_SCHOLAR, Duration.ofHours(24)),
+    SEMANTIC_SCHOLAR_REFERENCES("s2-references", DiscoverySource.SEMANTIC_SCHOLAR, Duration.ofDays(7)),
+    SEMANTIC_SCHOLAR_PAPER("s2-paper", DiscoverySource.SEMANTIC_SCHOLAR, Duration.ofDays(7));
+
+    private final String endpointId;
+    private final DiscoverySource source;
+    private final Duration ttl;
+
+    ExternalApiEndpoint(String endpointId, DiscoverySource source, Duration ttl) {
+        this.endpointId = endpointId;
+        this.source = source;
+        this.ttl = ttl;
+    }
+
+    public String getEndpointId() {
+        return endpointId;
+    }
+
+    public DiscoverySource getSource() {
+        return source;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
@@ -0,0 +1,55 @@
+package com.samjdtechnologies.answer42.model.enums;
+
+/**
+ * Enumeration of provider routing strategies for agents.
+ * Each strategy weighs tail latency, token cost, error rate and rate-limit load
+ * when the provider router picks a provider for a request.
+ */
+public enum RoutingStrategy {
+    PINNED("Always use the agent's own provider", 0.0, 0.0, 0.0, 0.0),
+    LATENCY("Prefer the provider with the lowest tail latency", 0.6, 0.1, 0.2, 0.1),
+    COST("Prefer the cheapest provider", 0.1, 0.6, 0.2, 0.1),
+    BALANCED("Balance latency, cost, errors and load", 0.35, 0.25, 0.25, 0.15);
+
+    private final String description;
+    private final double latencyWeight;
+    private final double costWeight;
+    private final double errorWeight;
+    private final double loadWeight;
+
+    RoutingStrategy(String description, double latencyWeight, double costWeight,
+                    double errorWeight, double loadWeight) {
+        this.description = description;
+        this.latencyWeight = latencyWeight;
+        this.costWeight = costWeight;
+        this.errorWeight = errorWeight;
+        this.loadWeight = loadWeight;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getLatencyWeight() {
+        return latencyWeight;
+    }
+
+    public double getCostWeight() {
+        return costWeight;
+    }
+
+    public double getErrorWeight() {
+        return errorWeight;
+    }
+
+    public double getLoadWeight() {
+        return loadWeight;
+    }
+
+    /**
+     * Check if requests may be routed away from the agent's own provider.
+     */
+    public boolean allowsRouting() {
+        return this != PINNED;
+    }
+}
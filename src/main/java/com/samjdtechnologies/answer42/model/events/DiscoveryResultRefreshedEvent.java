@@ -0,0 +1,32 @@
+package com.samjdtechnologies.answer42.model.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+
+import lombok.Getter;
+
+/**
+ * Spring Application Event published when a background refresh replaces a stale
+ * cached discovery result with a fresher one.
+ */
+@Getter
+public class DiscoveryResultRefreshedEvent extends ApplicationEvent {
+
+    private final UUID paperId;
+    private final String configHash;
+    private final RelatedPaperDiscoveryResult result;
+    private final Instant eventTimestamp;
+
+    public DiscoveryResultRefreshedEvent(Object source, UUID paperId, String configHash,
+            RelatedPaperDiscoveryResult result) {
+        super(source);
+        this.paperId = paperId;
+        this.configHash = configHash;
+        this.result = result;
+        this.eventTimestamp = Instant.now();
+    }
+}
@@ -0,0 +1,42 @@
+package com.samjdtechnologies.answer42.model.paper;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of a paper for lists, grids and dashboard cards.
+ *
+ * Carries only the columns those render, so listing papers never reads the text content,
+ * summaries or jsonb analysis columns. Load the full Paper by ID when a single paper is
+ * opened. Built by the constructor expressions in PaperRepository; field order matters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaperSummary {
+
+    /** Characters of the text content (or abstract) included as a preview. */
+    public static final int PREVIEW_LENGTH = 301;
+
+    private UUID id;
+    private String title;
+    private List<String> authors;
+    private String journal;
+    private Integer year;
+    private String doi;
+    private String status;
+    private String processingStatus;
+    private String filePath;
+    private String fileType;
+    private Long fileSize;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime updatedAt;
+    private String preview;
+}
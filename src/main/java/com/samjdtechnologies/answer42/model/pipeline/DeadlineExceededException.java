@@ -0,0 +1,15 @@
+package com.samjdtechnologies.answer42.model.pipeline;
+
+/**
+ * Exception thrown when pipeline work is abandoned because the job's deadline has passed.
+ */
+public class DeadlineExceededException extends PipelineException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
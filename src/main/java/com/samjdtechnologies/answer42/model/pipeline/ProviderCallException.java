@@ -0,0 +1,21 @@
+package com.samjdtechnologies.answer42.model.pipeline;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+
+/**
+ * Exception thrown when an agent's call to an AI provider fails. Carries the provider that
+ * was actually called, which differs from the agent's own when the request was routed.
+ */
+public class ProviderCallException extends PipelineException {
+
+    private final AIProvider provider;
+
+    public ProviderCallException(AIProvider provider, String message, Throwable cause) {
+        super(message, cause);
+        this.provider = provider;
+    }
+
+    public AIProvider getProvider() {
+        return provider;
+    }
+}
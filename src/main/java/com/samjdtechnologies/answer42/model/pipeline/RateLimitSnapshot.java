@@ -0,0 +1,198 @@
+package com.samjdtechnologies.answer42.model.pipeline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live quota state reported by an API in its rate-limit response headers.
+ * Understands Retry-After, the OpenAI style x-ratelimit-* headers, Anthropic's
+ * anthropic-ratelimit-* headers and Crossref's x-rate-limit-limit / x-rate-limit-interval.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitSnapshot {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private Instant observedAt;
+    private Duration retryAfter;
+    private Integer requestLimit;
+    private Integer remainingRequests;
+    private Instant requestsResetAt;
+    private Integer remainingTokens;
+    private Instant tokensResetAt;
+    private Duration limitWindow;
+
+    /**
+     * Parse the rate-limit headers of a response. Unknown or malformed headers are ignored.
+     */
+    public static RateLimitSnapshot fromHeaders(HttpHeaders headers, Instant now) {
+        return RateLimitSnapshot.builder()
+            .observedAt(now)
+            .retryAfter(parseRetryAfter(headers, now))
+            .requestLimit(firstInt(headers, "x-ratelimit-limit-requests", "anthropic-ratelimit-requests-limit",
+                "x-ratelimit-limit", "x-rate-limit-limit"))
+            .remainingRequests(firstInt(headers, "x-ratelimit-remaining-requests",
+                "anthropic-ratelimit-requests-remaining", "x-ratelimit-remaining", "x-rate-limit-remaining"))
+            .requestsResetAt(firstReset(headers, now, "x-ratelimit-reset-requests",
+                "anthropic-ratelimit-requests-reset", "x-ratelimit-reset", "x-rate-limit-reset"))
+            .remainingTokens(firstInt(headers, "x-ratelimit-remaining-tokens", "anthropic-ratelimit-tokens-remaining"))
+            .tokensResetAt(firstReset(headers, now, "x-ratelimit-reset-tokens", "anthropic-ratelimit-tokens-reset"))
+            .limitWindow(parseDuration(headers.getFirst("x-rate-limit-interval")))
+            .build();
+    }
+
+    /**
+     * Whether the response carried any rate-limit information at all.
+     */
+    public boolean isEmpty() {
+        return retryAfter == null && requestLimit == null && remainingRequests == null
+            && requestsResetAt == null && remainingTokens == null && tokensResetAt == null;
+    }
+
+    /**
+     * The instant before which no further request should be sent, or null if the quota
+     * is not exhausted. Retry-After wins; otherwise an exhausted request or token quota
+     * pauses until its reset time.
+     */
+    public Instant getPauseUntil() {
+        Instant pauseUntil = null;
+        if (retryAfter != null && observedAt != null) {
+            pauseUntil = observedAt.plus(retryAfter);
+        }
+        if (remainingRequests != null && remainingRequests <= 0) {
+            pauseUntil = later(pauseUntil, requestsResetAt);
+        }
+        if (remainingTokens != null && remainingTokens <= 0) {
+            pauseUntil = later(pauseUntil, tokensResetAt);
+        }
+        return pauseUntil;
+    }
+
+    /**
+     * Sustained request rate advertised by the API, or null if it did not state a window.
+     */
+    public Double getRequestsPerSecond() {
+        if (requestLimit == null || requestLimit <= 0 || limitWindow == null || limitWindow.isZero()) {
+            return null;
+        }
+        return requestLimit / (limitWindow.toMillis() / 1000.0);
+    }
+
+    private static Instant later(Instant current, Instant candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static Duration parseRetryAfter(HttpHeaders headers, Instant now) {
+        String retryAfterMs = headers.getFirst("retry-after-ms");
+        if (retryAfterMs != null) {
+            try {
+                return Duration.ofMillis((long) Double.parseDouble(retryAfterMs.trim()));
+            } catch (NumberFormatException e) {
+                // fall through to Retry-After
+            }
+        }
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(retryAfter.trim()) * 1000));
+        } catch (NumberFormatException e) {
+            // HTTP-date form
+            try {
+                Instant until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return until.isAfter(now) ? Duration.between(now, until) : Duration.ZERO;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static Integer firstInt(HttpHeaders headers, String... names) {
+        for (String name : names) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                try {
+                    return (int) Double.parseDouble(value.trim());
+                } catch (NumberFormatException ignored) {
+                    // try the next header
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Instant firstReset(HttpHeaders headers, Instant now, String... names) {
+        for (String name : names) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                Instant reset = parseReset(value.trim(), now);
+                if (reset != null) {
+                    return reset;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reset values come as an RFC 3339 timestamp (Anthropic), a Go style duration such as
+     * "6m0s" (OpenAI), epoch seconds, or seconds from now.
+     */
+    private static Instant parseReset(String value, Instant now) {
+        try {
+            double number = Double.parseDouble(value);
+            return number >= EPOCH_SECONDS_THRESHOLD
+                ? Instant.ofEpochMilli((long) (number * 1000))
+                : now.plusMillis((long) (number * 1000));
+        } catch (NumberFormatException e) {
+            // not a plain number
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            // not a timestamp
+        }
+        Duration duration = parseDuration(value);
+        return duration != null ? now.plus(duration) : null;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return matched ? Duration.ofMillis((long) millis) : null;
+    }
+}
@@ -63,6 +63,21 @@ public interface AgentMemoryStoreRepository extends JpaRepository<AgentMemorySto
     @Query("DELETE FROM AgentMemoryStore a WHERE a.key LIKE :pattern")
     int deleteByKeyPattern(@Param("pattern") String pattern);
 
+    /**
+     * Delete at most {@code limit} entries under a key prefix not updated since the cutoff.
+     * Rows locked by other transactions are skipped rather than waited for.
+     *
+     * @return the deleted rows as JSON, for archiving
+     */
+    @Query(nativeQuery = true,
+           value = "DELETE FROM answer42.agent_memory_store a WHERE a.ctid = ANY(ARRAY(" +
+                   "SELECT m.ctid FROM answer42.agent_memory_store m " +
+                   "WHERE starts_with(m.key, :prefix) AND m.updated_at < :cutoff " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)) " +
+                   "RETURNING CAST(to_jsonb(a) AS text)")
+    List<String> deleteByKeyPrefixUpdatedBefore(@Param("prefix") String prefix, @Param("cutoff") Instant cutoff,
+                                                @Param("limit") int limit);
+
     // Processed papers specific queries
     default Optional<AgentMemoryStore> findProcessedPapersMemory() {
         return findByKey(AgentMemoryStore.buildProcessedPapersKey());
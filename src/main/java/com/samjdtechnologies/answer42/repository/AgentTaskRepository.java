@@ -5,7 +5,6 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -56,9 +55,19 @@ public interface AgentTaskRepository extends JpaRepository<AgentTask, String> {
     List<AgentTask> findCompletedTasksForPaper(@Param("paperId") String paperId);
 
     // Cleanup operations
-    @Modifying
-    @Query("DELETE FROM AgentTask t WHERE t.createdAt < :cutoff AND t.status IN ('completed', 'failed')")
-    int deleteCompletedTasksOlderThan(@Param("cutoff") Instant cutoff);
+    /**
+     * Delete at most {@code limit} completed or failed tasks created before the cutoff.
+     * Rows locked by other transactions are skipped rather than waited for.
+     *
+     * @return the deleted rows as JSON, for archiving
+     */
+    @Query(nativeQuery = true,
+           value = "DELETE FROM answer42.tasks t WHERE t.ctid = ANY(ARRAY(" +
+                   "SELECT o.ctid FROM answer42.tasks o " +
+                   "WHERE o.created_at < :cutoff AND o.status IN ('completed', 'failed') " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)) " +
+                   "RETURNING CAST(to_jsonb(t) AS text)")
+    List<String> deleteCompletedTasksOlderThan(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 
     // Task timeout detection
     @Query("SELECT t FROM AgentTask t WHERE t.status = 'processing' AND t.startedAt < :timeoutThreshold")
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,11 +22,13 @@ public interface AnalysisResultRepository extends JpaRepository<AnalysisResult,
     
     /**
      * Find analysis result by paper ID and analysis type.
+     * The paper is fetched with the result, as chat sessions show its title.
      * 
      * @param paperId the ID of the paper
      * @param analysisType the type of analysis
      * @return an Optional containing the analysis result if found
      */
+    @EntityGraph(attributePaths = "paper")
     Optional<AnalysisResult> findByPaperIdAndAnalysisType(UUID paperId, AnalysisType analysisType);
     
     /**
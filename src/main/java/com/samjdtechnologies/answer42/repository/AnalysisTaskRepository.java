@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +18,15 @@ import com.samjdtechnologies.answer42.model.enums.AnalysisType;
 @Repository
 public interface AnalysisTaskRepository extends JpaRepository<AnalysisTask, UUID> {
     
+    /**
+     * Find a task by ID together with its paper and user, for processing it.
+     * 
+     * @param id the ID of the task
+     * @return an Optional containing the task if found
+     */
+    @EntityGraph(attributePaths = {"paper", "user"})
+    Optional<AnalysisTask> findWithPaperAndUserById(UUID id);
+    
     /**
      * Find a task by paper ID and analysis type.
      * 
@@ -0,0 +1,76 @@
+package com.samjdtechnologies.answer42.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Deletes old Spring Batch job metadata (the answer42.BATCH_* tables).
+ *
+ * Spring Batch owns these tables and has no entities for them, so the statements are
+ * native. A job execution and everything recorded under it is deleted children first;
+ * a job instance goes once its last execution is gone. Must be called in a transaction.
+ */
+@Repository
+public class BatchJobMetadataRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Delete at most {@code limit} finished job executions that ended before the cutoff,
+     * with their step executions, contexts and parameters. Executions locked by a running
+     * job are skipped rather than waited for.
+     *
+     * @param cutoff executions that ended before this time are deleted; Spring Batch stores
+     *               local times
+     * @param limit the maximum number of job executions to delete
+     * @return the deleted job execution rows as JSON, for archiving
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> deleteJobExecutionsEndedBefore(LocalDateTime cutoff, int limit) {
+        List<Object[]> executions = entityManager.createNativeQuery(
+                "SELECT job_execution_id, job_instance_id FROM answer42.batch_job_execution " +
+                "WHERE end_time < :cutoff AND status NOT IN ('STARTING', 'STARTED', 'STOPPING') " +
+                "ORDER BY job_execution_id LIMIT :limit FOR UPDATE SKIP LOCKED")
+            .setParameter("cutoff", cutoff)
+            .setParameter("limit", limit)
+            .getResultList();
+        if (executions.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> executionIds = new ArrayList<>(executions.size());
+        List<Long> instanceIds = new ArrayList<>(executions.size());
+        for (Object[] row : executions) {
+            executionIds.add(((Number) row[0]).longValue());
+            instanceIds.add(((Number) row[1]).longValue());
+        }
+
+        execute("DELETE FROM answer42.batch_step_execution_context WHERE step_execution_id IN (" +
+                "SELECT step_execution_id FROM answer42.batch_step_execution WHERE job_execution_id IN (:ids))",
+                executionIds);
+        execute("DELETE FROM answer42.batch_step_execution WHERE job_execution_id IN (:ids)", executionIds);
+        execute("DELETE FROM answer42.batch_job_execution_context WHERE job_execution_id IN (:ids)", executionIds);
+        execute("DELETE FROM answer42.batch_job_execution_params WHERE job_execution_id IN (:ids)", executionIds);
+        List<String> deleted = entityManager.createNativeQuery(
+                "DELETE FROM answer42.batch_job_execution e WHERE e.job_execution_id IN (:ids) " +
+                "RETURNING CAST(to_jsonb(e) AS text)")
+            .setParameter("ids", executionIds)
+            .getResultList();
+        execute("DELETE FROM answer42.batch_job_instance i WHERE i.job_instance_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM answer42.batch_job_execution e " +
+                "WHERE e.job_instance_id = i.job_instance_id)",
+                instanceIds);
+        return deleted;
+    }
+
+    private void execute(String sql, List<Long> ids) {
+        entityManager.createNativeQuery(sql).setParameter("ids", ids).executeUpdate();
+    }
+}
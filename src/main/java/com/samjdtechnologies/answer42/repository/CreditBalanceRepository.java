@@ -1,5 +1,6 @@
 package com.samjdtechnologies.answer42.repository;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,11 +8,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.samjdtechnologies.answer42.model.db.CreditBalance;
 
 /**
  * Repository for accessing credit balance data.
+ *
+ * Balance changes are single conditional UPDATE statements that return the new balance, so
+ * concurrent operations for the same user can neither oversell credits nor lose an update,
+ * and the row lock is held for one statement rather than a read-check-write round trip.
+ * They return empty when the condition fails or the user has no balance row yet.
  */
 @Repository
 public interface CreditBalanceRepository extends JpaRepository<CreditBalance, UUID> {
@@ -49,4 +56,82 @@ public interface CreditBalanceRepository extends JpaRepository<CreditBalance, UU
      */
     @Query("SELECT COALESCE(cb.usedThisPeriod, 0) FROM CreditBalance cb WHERE cb.userId = :userId")
     Integer getUsedThisPeriod(@Param("userId") UUID userId);
+    
+    /**
+     * Take credits off a user's balance and count them as used, if the balance covers them.
+     * 
+     * @param userId the user ID
+     * @param amount the number of credits to use
+     * @return the balance after the debit, or empty if the balance is too low
+     */
+    @Transactional
+    @Query(value = "UPDATE answer42.credit_balances " +
+           "SET balance = balance - :amount, used_this_period = used_this_period + :amount, updated_at = now() " +
+           "WHERE user_id = :userId AND balance >= :amount RETURNING balance",
+           nativeQuery = true)
+    Optional<Integer> debitIfSufficient(@Param("userId") UUID userId, @Param("amount") int amount);
+    
+    /**
+     * Take credits off a user's balance to hold them for a reservation, if the balance
+     * covers them. They are counted as used when the reservation is committed.
+     * 
+     * @param userId the user ID
+     * @param amount the number of credits to hold
+     * @return the balance after the hold, or empty if the balance is too low
+     */
+    @Transactional
+    @Query(value = "UPDATE answer42.credit_balances " +
+           "SET balance = balance - :amount, updated_at = now() " +
+           "WHERE user_id = :userId AND balance >= :amount RETURNING balance",
+           nativeQuery = true)
+    Optional<Integer> holdIfSufficient(@Param("userId") UUID userId, @Param("amount") int amount);
+    
+    /**
+     * Count held credits as used once their reservation is committed.
+     * 
+     * @param userId the user ID
+     * @param amount the number of credits held
+     * @return the current balance
+     */
+    @Transactional
+    @Query(value = "UPDATE answer42.credit_balances " +
+           "SET used_this_period = used_this_period + :amount, updated_at = now() " +
+           "WHERE user_id = :userId RETURNING balance",
+           nativeQuery = true)
+    Optional<Integer> recordUsage(@Param("userId") UUID userId, @Param("amount") int amount);
+    
+    /**
+     * Add credits to a user's balance.
+     * 
+     * @param userId the user ID
+     * @param amount the number of credits to add
+     * @return the balance after the credit
+     */
+    @Transactional
+    @Query(value = "UPDATE answer42.credit_balances " +
+           "SET balance = balance + :amount, updated_at = now() " +
+           "WHERE user_id = :userId RETURNING balance",
+           nativeQuery = true)
+    Optional<Integer> credit(@Param("userId") UUID userId, @Param("amount") int amount);
+    
+    /**
+     * Start a new credit period if the current one has ended: keep up to the rollover limit
+     * of the balance, add the monthly credits and reset the usage counter.
+     * 
+     * @param userId the user ID
+     * @param rolloverLimit the most credits carried over from the ended period
+     * @param monthlyCredits the credits granted for the new period
+     * @param nextResetDate the end of the new period
+     * @return the new balance, or empty if the current period has not ended
+     */
+    @Transactional
+    @Query(value = "UPDATE answer42.credit_balances " +
+           "SET balance = LEAST(balance, :rolloverLimit) + :monthlyCredits, used_this_period = 0, " +
+           "next_reset_date = :nextResetDate, updated_at = now() " +
+           "WHERE user_id = :userId AND next_reset_date < now() RETURNING balance",
+           nativeQuery = true)
+    Optional<Integer> renewIfDue(@Param("userId") UUID userId,
+                                 @Param("rolloverLimit") int rolloverLimit,
+                                 @Param("monthlyCredits") int monthlyCredits,
+                                 @Param("nextResetDate") ZonedDateTime nextResetDate);
 }
@@ -0,0 +1,57 @@
+package com.samjdtechnologies.answer42.repository;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.samjdtechnologies.answer42.model.db.CreditReservation;
+import com.samjdtechnologies.answer42.model.db.CreditReservation.Status;
+
+/**
+ * Repository for accessing credit reservation data.
+ */
+@Repository
+public interface CreditReservationRepository extends JpaRepository<CreditReservation, UUID> {
+    
+    /**
+     * Move a reservation out of one status, if it is still in it. Settling a reservation
+     * claims it this way first, so it is committed or released exactly once even when the
+     * job listener and the expiry sweep race.
+     * 
+     * @param id the reservation ID
+     * @param from the status the reservation must be in
+     * @param to the new status
+     * @param settledAt when the reservation was settled
+     * @return 1 if the reservation moved, 0 if it was not in the expected status
+     */
+    @Modifying
+    @Query("UPDATE CreditReservation r SET r.status = :to, r.settledAt = :settledAt " +
+           "WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") Status from,
+                   @Param("to") Status to,
+                   @Param("settledAt") ZonedDateTime settledAt);
+    
+    /**
+     * Release every reservation still held after its expiry time and return its credits to
+     * the balance, in one statement so a hold is never released without its refund.
+     * 
+     * @return the number of balances credited
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "WITH expired AS (" +
+           "UPDATE answer42.credit_reservations SET status = 'RELEASED', settled_at = now() " +
+           "WHERE status = 'HELD' AND expires_at < now() RETURNING user_id, amount) " +
+           "UPDATE answer42.credit_balances b SET balance = b.balance + e.total, updated_at = now() " +
+           "FROM (SELECT user_id, SUM(amount) AS total FROM expired GROUP BY user_id) e " +
+           "WHERE b.user_id = e.user_id",
+           nativeQuery = true)
+    int releaseExpired();
+}
@@ -110,12 +110,6 @@ public interface DiscoveredPaperRepository extends JpaRepository<DiscoveredPaper
     @Query("SELECT dp FROM DiscoveredPaper dp WHERE dp.isDuplicate = true")
     List<DiscoveredPaper> findAllDuplicates();
 
-    @Query("SELECT dp FROM DiscoveredPaper dp WHERE dp.discoveredAt < :cutoff AND dp.lastAccessedAt IS NULL")
-    List<DiscoveredPaper> findNeverAccessedOlderThan(@Param("cutoff") ZonedDateTime cutoff);
-
-    @Query("SELECT dp FROM DiscoveredPaper dp WHERE dp.lastAccessedAt < :cutoff AND dp.userRating IS NULL")
-    List<DiscoveredPaper> findUnratedNotAccessedSince(@Param("cutoff") ZonedDateTime cutoff);
-
     // Batch operations
     @Modifying
     @Query("UPDATE DiscoveredPaper dp SET dp.isArchived = true WHERE dp.user.id = :userId AND dp.relevanceScore < :minScore")
@@ -125,9 +119,38 @@ public interface DiscoveredPaperRepository extends JpaRepository<DiscoveredPaper
     @Query("UPDATE DiscoveredPaper dp SET dp.lastAccessedAt = :accessTime WHERE dp.id = :paperId")
     int updateLastAccessedAt(@Param("paperId") UUID paperId, @Param("accessTime") ZonedDateTime accessTime);
 
-    @Modifying
-    @Query("DELETE FROM DiscoveredPaper dp WHERE dp.discoveredAt < :cutoff AND dp.isDuplicate = true")
-    int deleteDuplicatesOlderThan(@Param("cutoff") ZonedDateTime cutoff);
+    // paper_bookmarks references discovered papers without ON DELETE CASCADE
+    String NOT_BOOKMARKED = " AND NOT EXISTS (SELECT 1 FROM answer42.paper_bookmarks pb " +
+           "WHERE pb.discovered_paper_id = dp.id) ";
+
+    /**
+     * Delete at most {@code limit} duplicates discovered before the cutoff. Bookmarked papers
+     * are kept, and rows locked by other transactions are skipped rather than waited for.
+     *
+     * @return the deleted rows as JSON, for archiving
+     */
+    @Query(nativeQuery = true,
+           value = "DELETE FROM answer42.discovered_papers d WHERE d.ctid = ANY(ARRAY(" +
+                   "SELECT dp.ctid FROM answer42.discovered_papers dp " +
+                   "WHERE dp.discovered_at < :cutoff AND dp.is_duplicate = true" + NOT_BOOKMARKED +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)) " +
+                   "RETURNING CAST(to_jsonb(d) AS text)")
+    List<String> deleteDuplicatesOlderThan(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete at most {@code limit} papers nobody looked at: never opened and discovered before
+     * the cutoff, or unrated and not opened since the cutoff. Bookmarked papers are kept.
+     *
+     * @return the deleted rows as JSON, for archiving
+     */
+    @Query(nativeQuery = true,
+           value = "DELETE FROM answer42.discovered_papers d WHERE d.ctid = ANY(ARRAY(" +
+                   "SELECT dp.ctid FROM answer42.discovered_papers dp " +
+                   "WHERE ((dp.last_accessed_at IS NULL AND dp.discovered_at < :cutoff) " +
+                   "OR (dp.user_rating IS NULL AND dp.last_accessed_at < :cutoff))" + NOT_BOOKMARKED +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED)) " +
+                   "RETURNING CAST(to_jsonb(d) AS text)")
+    List<String> deleteUnusedOlderThan(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
 
     // Statistics and insights
     @Query("SELECT AVG(dp.relevanceScore) FROM DiscoveredPaper dp WHERE dp.user.id = :userId")
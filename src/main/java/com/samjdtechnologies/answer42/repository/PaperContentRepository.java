@@ -56,4 +56,20 @@ public interface PaperContentRepository extends JpaRepository<PaperContent, UUID
      */
     @Query("SELECT pc FROM PaperContent pc WHERE LENGTH(pc.content) > :minSize")
     List<PaperContent> findByContentSizeGreaterThan(@Param("minSize") int minSize);
+
+    /**
+     * Find IDs of paper content stored uncompressed and at least a given length, in ID
+     * order after a given ID.
+     *
+     * @param afterId the last ID of the previous batch
+     * @param minLength the minimum length in characters
+     * @param limit the maximum number of IDs
+     * @return content IDs in ascending order
+     */
+    @Query(value = "SELECT id FROM answer42.paper_content WHERE id > :afterId " +
+           "AND length(content) >= :minLength ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findIdsWithUncompressedContentAfter(@Param("afterId") UUID afterId,
+                                                   @Param("minLength") int minLength,
+                                                   @Param("limit") int limit);
 }
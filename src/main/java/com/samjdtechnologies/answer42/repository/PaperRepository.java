@@ -1,5 +1,7 @@
 package com.samjdtechnologies.answer42.repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -7,12 +9,14 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 
 /**
  * Repository interface for the Paper entity.
@@ -21,6 +25,131 @@ import com.samjdtechnologies.answer42.model.db.User;
 @Repository
 public interface PaperRepository extends JpaRepository<Paper, UUID> {
 
+    /**
+     * Select clause for list views: only the columns PaperSummary holds, plus a short
+     * preview of the text content (falling back to the abstract).
+     */
+    String SUMMARY_SELECT = "SELECT new com.samjdtechnologies.answer42.model.paper.PaperSummary(" +
+           "p.id, p.title, p.authors, p.journal, p.year, p.doi, p.status, p.processingStatus, " +
+           "p.filePath, p.fileType, p.fileSize, p.createdAt, p.updatedAt, " +
+           "COALESCE(NULLIF(SUBSTRING(p.textContent, 1, " + PaperSummary.PREVIEW_LENGTH + "), ''), " +
+           "SUBSTRING(p.paperAbstract, 1, " + PaperSummary.PREVIEW_LENGTH + "))) ";
+
+    /**
+     * Find summaries of a user's papers with pagination.
+     *
+     * @param user The user whose papers to find
+     * @param pageable Pagination information
+     * @return Page of paper summaries belonging to the user
+     */
+    @Query(value = SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user",
+           countQuery = "SELECT count(p) FROM Paper p WHERE p.user = :user")
+    Page<PaperSummary> findSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Find summaries of a user's papers with a given status, with pagination.
+     *
+     * @param user The user whose papers to find
+     * @param status The status of the papers
+     * @param pageable Pagination information
+     * @return Page of paper summaries
+     */
+    @Query(value = SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user AND p.status = :status",
+           countQuery = "SELECT count(p) FROM Paper p WHERE p.user = :user AND p.status = :status")
+    Page<PaperSummary> findSummariesByUserAndStatus(@Param("user") User user,
+                                                    @Param("status") String status,
+                                                    Pageable pageable);
+
+    /**
+     * Find summaries of a user's most recently uploaded papers.
+     *
+     * @param user The user whose papers to find
+     * @param pageable Limits the number of results
+     * @return Paper summaries, newest first
+     */
+    @Query(SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user ORDER BY p.createdAt DESC")
+    List<PaperSummary> findRecentSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Seek condition and order for keyset pagination on (created_at, id), newest first.
+     * The leading createdAt bound is redundant but gives the planner an index range to
+     * start from; the OR alone is a filter over every earlier row. See KeysetCursor.
+     */
+    String KEYSET_BEFORE = "AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC";
+
+    /**
+     * Find summaries of a user's papers created before a keyset position, newest first.
+     *
+     * @param user The user whose papers to find
+     * @param createdAt Creation time of the last paper already shown
+     * @param id ID of the last paper already shown
+     * @param pageable Limits the number of results
+     * @return Paper summaries, newest first
+     */
+    @Query(SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user " + KEYSET_BEFORE)
+    List<PaperSummary> findSummariesByUserBefore(@Param("user") User user,
+                                                 @Param("createdAt") ZonedDateTime createdAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
+    /**
+     * Find summaries of a user's papers with a given status created before a keyset position,
+     * newest first.
+     *
+     * @param user The user whose papers to find
+     * @param status The status of the papers
+     * @param createdAt Creation time of the last paper already shown
+     * @param id ID of the last paper already shown
+     * @param pageable Limits the number of results
+     * @return Paper summaries, newest first
+     */
+    @Query(SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user AND p.status = :status " + KEYSET_BEFORE)
+    List<PaperSummary> findSummariesByUserAndStatusBefore(@Param("user") User user,
+                                                          @Param("status") String status,
+                                                          @Param("createdAt") ZonedDateTime createdAt,
+                                                          @Param("id") UUID id,
+                                                          Pageable pageable);
+
+    /**
+     * Find summaries of a user's papers that are not in a project, created before a keyset
+     * position, newest first.
+     *
+     * @param user The user whose papers to find
+     * @param projectId The project whose papers to leave out
+     * @param createdAt Creation time of the last paper already shown
+     * @param id ID of the last paper already shown
+     * @param pageable Limits the number of results
+     * @return Paper summaries, newest first
+     */
+    @Query(SUMMARY_SELECT + "FROM Paper p WHERE p.user = :user " +
+           "AND NOT EXISTS (SELECT 1 FROM Project pr JOIN pr.papers pp WHERE pr.id = :projectId AND pp.id = p.id) " +
+           KEYSET_BEFORE)
+    List<PaperSummary> findSummariesByUserNotInProjectBefore(@Param("user") User user,
+                                                             @Param("projectId") UUID projectId,
+                                                             @Param("createdAt") ZonedDateTime createdAt,
+                                                             @Param("id") UUID id,
+                                                             Pageable pageable);
+
+    /**
+     * Count a user's papers with a given status.
+     *
+     * @param user The user whose papers to count
+     * @param status The status of the papers
+     * @return The number of papers
+     */
+    long countByUserAndStatus(User user, String status);
+
+    /**
+     * Find summaries of the given papers, in no particular order.
+     *
+     * @param ids The paper IDs
+     * @return Paper summaries
+     */
+    @Query(SUMMARY_SELECT + "FROM Paper p WHERE p.id IN :ids")
+    List<PaperSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
     /**
      * Find all papers by user.
      *
@@ -95,33 +224,126 @@ public interface PaperRepository extends JpaRepository<Paper, UUID> {
     List<Paper> findRecentPapersByUser(@Param("user") User user, Pageable pageable);
 
     /**
-     * Search papers by title, abstract, or content.
+     * Full-text search across title, abstract and content, best matches first.
+     * Uses the weighted search_vector column (title > abstract > body).
      *
-     * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of matching papers
+     * @param query A to_tsquery expression, see PaperSearchService
+     * @param pageable Pagination information (sorting is by rank)
+     * @return Page of matching paper IDs
      */
-    @Query("SELECT p FROM Paper p WHERE " +
-           "p.title LIKE %:searchTerm% OR " +
-           "p.paperAbstract LIKE %:searchTerm% OR " +
-           "p.textContent LIKE %:searchTerm%")
-    Page<Paper> searchPapers(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = "SELECT p.id FROM answer42.papers p " +
+           "WHERE p.search_vector @@ to_tsquery('english', :query) " +
+           "ORDER BY ts_rank_cd(p.search_vector, to_tsquery('english', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT count(*) FROM answer42.papers p " +
+           "WHERE p.search_vector @@ to_tsquery('english', :query)",
+           nativeQuery = true)
+    Page<UUID> searchPaperIds(@Param("query") String query, Pageable pageable);
 
     /**
-     * Search papers by user, title, abstract, or content.
+     * Condition restricting a user search to one status; a null status matches every paper.
+     */
+    String STATUS_FILTER = "AND (CAST(:status AS TEXT) IS NULL OR p.status = CAST(:status AS TEXT)) ";
+
+    /**
+     * Full-text search of a user's papers across title, abstract and content, best matches first.
      *
-     * @param user The user whose papers to search
-     * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of matching papers
+     * @param userId The user whose papers to search
+     * @param query A to_tsquery expression, see PaperSearchService
+     * @param status Only return papers with this status, or null for any status
+     * @param pageable Pagination information (sorting is by rank)
+     * @return Page of matching paper IDs
+     */
+    @Query(value = "SELECT p.id FROM answer42.papers p " +
+           "WHERE p.user_id = :userId AND p.search_vector @@ to_tsquery('english', :query) " + STATUS_FILTER +
+           "ORDER BY ts_rank_cd(p.search_vector, to_tsquery('english', :query)) DESC, p.created_at DESC",
+           countQuery = "SELECT count(*) FROM answer42.papers p " +
+           "WHERE p.user_id = :userId AND p.search_vector @@ to_tsquery('english', :query) " + STATUS_FILTER,
+           nativeQuery = true)
+    Page<UUID> searchPaperIdsByUser(@Param("userId") UUID userId,
+                                    @Param("query") String query,
+                                    @Param("status") String status,
+                                    Pageable pageable);
+
+    /**
+     * Typo-tolerant title search using trigram word similarity, closest first.
+     *
+     * @param searchTerm The search term as typed
+     * @param pageable Pagination information (sorting is by similarity)
+     * @return Page of matching paper IDs
+     */
+    @Query(value = "SELECT p.id FROM answer42.papers p " +
+           "WHERE :searchTerm <% p.title " +
+           "ORDER BY word_similarity(:searchTerm, p.title) DESC",
+           countQuery = "SELECT count(*) FROM answer42.papers p WHERE :searchTerm <% p.title",
+           nativeQuery = true)
+    Page<UUID> searchPaperIdsByTitleSimilarity(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Typo-tolerant title search of a user's papers using trigram word similarity, closest first.
+     *
+     * @param userId The user whose papers to search
+     * @param searchTerm The search term as typed
+     * @param status Only return papers with this status, or null for any status
+     * @param pageable Pagination information (sorting is by similarity)
+     * @return Page of matching paper IDs
+     */
+    @Query(value = "SELECT p.id FROM answer42.papers p " +
+           "WHERE p.user_id = :userId AND :searchTerm <% p.title " + STATUS_FILTER +
+           "ORDER BY word_similarity(:searchTerm, p.title) DESC",
+           countQuery = "SELECT count(*) FROM answer42.papers p " +
+           "WHERE p.user_id = :userId AND :searchTerm <% p.title " + STATUS_FILTER,
+           nativeQuery = true)
+    Page<UUID> searchPaperIdsByUserAndTitleSimilarity(@Param("userId") UUID userId,
+                                                      @Param("searchTerm") String searchTerm,
+                                                      @Param("status") String status,
+                                                      Pageable pageable);
+
+    /**
+     * Get highlighted snippets of the abstract (or title) for search results.
+     *
+     * @param ids The papers to highlight
+     * @param query The to_tsquery expression that was searched
+     * @return Rows of [paper id, snippet with matches wrapped in &lt;mark&gt;]
+     */
+    @Query(value = "SELECT p.id, ts_headline('english', coalesce(nullif(p.paper_abstract, ''), p.title), " +
+           "to_tsquery('english', :query), " +
+           "'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2') " +
+           "FROM answer42.papers p WHERE p.id IN (:ids)",
+           nativeQuery = true)
+    List<Object[]> findSearchHighlights(@Param("ids") List<UUID> ids, @Param("query") String query);
+
+    /**
+     * Rebuild the search vector of a paper from its current title, abstract and content.
+     * Pending changes to the paper are flushed first so the vector sees them.
+     *
+     * @param id The paper ID
+     * @param compressedText The text content if it is stored compressed, else null
+     * @return Number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE answer42.papers " +
+           "SET search_vector = answer42.paper_search_document(title, paper_abstract, " +
+           "COALESCE(text_content, CAST(:compressedText AS text))) " +
+           "WHERE id = :id",
+           nativeQuery = true)
+    int refreshSearchVector(@Param("id") UUID id, @Param("compressedText") String compressedText);
+
+    /**
+     * Find IDs of papers whose text content or detailed summary is stored uncompressed and
+     * is at least a given length, in ID order after a given ID.
+     *
+     * @param afterId The last ID of the previous batch
+     * @param minLength The minimum length in characters
+     * @param limit The maximum number of IDs
+     * @return Paper IDs in ascending order
      */
-    @Query("SELECT p FROM Paper p WHERE p.user = :user AND (" +
-           "p.title LIKE %:searchTerm% OR " +
-           "p.paperAbstract LIKE %:searchTerm% OR " +
-           "p.textContent LIKE %:searchTerm%)")
-    Page<Paper> searchPapersByUser(@Param("user") User user, 
-                                  @Param("searchTerm") String searchTerm, 
-                                  Pageable pageable);
+    @Query(value = "SELECT id FROM answer42.papers WHERE id > :afterId " +
+           "AND (length(text_content) >= :minLength OR length(summary_detailed) >= :minLength) " +
+           "ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> findIdsWithUncompressedTextAfter(@Param("afterId") UUID afterId,
+                                                @Param("minLength") int minLength,
+                                                @Param("limit") int limit);
 
     /**
      * Find a paper by its DOI.
@@ -1,5 +1,6 @@
 package com.samjdtechnologies.answer42.repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -73,6 +74,68 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
         Pageable pageable
     );
     
+    /**
+     * Seek condition and order for keyset pagination on (created_at, id), newest first.
+     * The leading createdAt bound is redundant but gives the planner an index range to
+     * start from; the OR alone is a filter over every earlier row. See KeysetCursor.
+     */
+    String KEYSET_BEFORE = "AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC";
+    
+    /**
+     * Condition matching a search term against project name or description.
+     */
+    String SEARCH_MATCH = "AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) ";
+    
+    /**
+     * Find a user's projects created before a keyset position, newest first.
+     * 
+     * @param user The user whose projects to find
+     * @param createdAt Creation time of the last project already shown
+     * @param id ID of the last project already shown
+     * @param pageable Limits the number of results
+     * @return List of projects
+     */
+    @Query("SELECT p FROM Project p WHERE p.user = :user " + KEYSET_BEFORE)
+    List<Project> findByUserBefore(
+        @Param("user") User user,
+        @Param("createdAt") ZonedDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+    
+    /**
+     * Search a user's projects by name or description, created before a keyset position,
+     * newest first.
+     * 
+     * @param user The user whose projects to search
+     * @param searchTerm The search term
+     * @param createdAt Creation time of the last project already shown
+     * @param id ID of the last project already shown
+     * @param pageable Limits the number of results
+     * @return List of matching projects
+     */
+    @Query("SELECT p FROM Project p WHERE p.user = :user " + SEARCH_MATCH + KEYSET_BEFORE)
+    List<Project> searchProjectsByUserBefore(
+        @Param("user") User user,
+        @Param("searchTerm") String searchTerm,
+        @Param("createdAt") ZonedDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+    
+    /**
+     * Count a user's projects matching a search term.
+     * 
+     * @param user The user whose projects to search
+     * @param searchTerm The search term
+     * @return The number of matching projects
+     */
+    @Query("SELECT count(p) FROM Project p WHERE p.user = :user " + SEARCH_MATCH)
+    long countSearchProjectsByUser(@Param("user") User user, @Param("searchTerm") String searchTerm);
+    
     /**
      * Find public projects.
      * 
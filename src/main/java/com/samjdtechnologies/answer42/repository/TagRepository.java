@@ -1,9 +1,13 @@
 package com.samjdtechnologies.answer42.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.samjdtechnologies.answer42.model.db.Tag;
@@ -29,4 +33,13 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
      * @return true if exists
      */
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Find all tags with one of the given names in a single query.
+     *
+     * @param names the tag names, already lower-cased
+     * @return matching tags
+     */
+    @Query("SELECT t FROM Tag t WHERE LOWER(t.name) IN :names")
+    List<Tag> findByLowerCaseNameIn(@Param("names") Collection<String> names);
 }
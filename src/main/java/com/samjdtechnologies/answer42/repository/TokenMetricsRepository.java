@@ -7,6 +7,7 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -35,6 +36,7 @@ public interface TokenMetricsRepository extends JpaRepository<TokenMetrics, UUID
     
     // User-specific queries
     List<TokenMetrics> findByUserIdAndTimestampAfterOrderByTimestampDesc(UUID userId, LocalDateTime timestamp);
+    List<TokenMetrics> findTop20ByUserIdOrderByTimestampDesc(UUID userId);
     List<TokenMetrics> findByUserIdAndProviderOrderByTimestampDesc(UUID userId, AIProvider provider);
     List<TokenMetrics> findByUserIdAndAgentTypeOrderByTimestampDesc(UUID userId, AgentType agentType);
     
@@ -162,4 +164,132 @@ public interface TokenMetricsRepository extends JpaRepository<TokenMetrics, UUID
     
     @Query("DELETE FROM TokenMetrics tm WHERE tm.timestamp < :retentionDate")
     void cleanupOldMetrics(@Param("retentionDate") LocalDateTime retentionDate);
+    
+    // Rollups
+    //
+    // token_usage_hourly and token_usage_daily hold the sums of all raw rows written before
+    // the watermark in token_usage_rollup_state. Reads combine them with the raw rows written
+    // from the watermark on, in one statement so a concurrent compaction cannot count a row
+    // twice. Rows are bucketed by when the usage happened (timestamp) but split at the
+    // watermark by when they were inserted (created_at), so a row the write-behind buffer
+    // inserts late is rolled into its old bucket by the next compaction instead of being lost.
+    
+    String ROLLUP_INSERT = " AS r (bucket_start, user_id, provider, agent_type, " +
+           "request_count, input_tokens, output_tokens, estimated_cost) ";
+    
+    String ROLLUP_SUMS = ", tm.user_id, tm.provider, tm.agent_type, COUNT(*), " +
+           "SUM(tm.input_tokens), SUM(tm.output_tokens), COALESCE(SUM(tm.estimated_cost), 0) " +
+           "FROM answer42.token_metrics tm " +
+           "WHERE tm.created_at >= :from AND tm.created_at < :to " +
+           "GROUP BY 1, 2, 3, 4 ";
+    
+    String ROLLUP_MERGE = "ON CONFLICT (bucket_start, user_id, provider, agent_type) DO UPDATE SET " +
+           "request_count = r.request_count + EXCLUDED.request_count, " +
+           "input_tokens = r.input_tokens + EXCLUDED.input_tokens, " +
+           "output_tokens = r.output_tokens + EXCLUDED.output_tokens, " +
+           "estimated_cost = r.estimated_cost + EXCLUDED.estimated_cost";
+    
+    String LIVE_TAIL = "tm.created_at >= (SELECT s.rolled_up_to FROM answer42.token_usage_rollup_state s WHERE s.id = 1)";
+    
+    /**
+     * Lock and read the rollup watermark, so only one compaction runs at a time.
+     * 
+     * @return the time before which all raw rows written are rolled up
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT rolled_up_to FROM answer42.token_usage_rollup_state WHERE id = 1 FOR UPDATE")
+    LocalDateTime lockRollupWatermark();
+    
+    /**
+     * Add the raw rows written in [from, to) to the hourly rollups.
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+           value = "INSERT INTO answer42.token_usage_hourly" + ROLLUP_INSERT +
+                   "SELECT date_trunc('hour', tm.timestamp)" + ROLLUP_SUMS + ROLLUP_MERGE)
+    int rollUpHourly(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Add the raw rows written in [from, to) to the daily rollups.
+     */
+    @Modifying
+    @Query(nativeQuery = true,
+           value = "INSERT INTO answer42.token_usage_daily" + ROLLUP_INSERT +
+                   "SELECT date_trunc('day', tm.timestamp)" + ROLLUP_SUMS + ROLLUP_MERGE)
+    int rollUpDaily(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Query(nativeQuery = true,
+           value = "UPDATE answer42.token_usage_rollup_state SET rolled_up_to = :to WHERE id = 1")
+    int advanceRollupWatermark(@Param("to") LocalDateTime to);
+    
+    /**
+     * Usage per user, provider and agent since a day boundary.
+     * 
+     * @param since start of the first day to include
+     * @return rows of user_id, provider, agent_type, requests, input tokens, output tokens, cost
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT u.user_id, u.provider, u.agent_type, SUM(u.request_count), " +
+                   "SUM(u.input_tokens), SUM(u.output_tokens), SUM(u.estimated_cost) FROM (" +
+                   "SELECT d.user_id, d.provider, d.agent_type, d.request_count, d.input_tokens, " +
+                   "d.output_tokens, d.estimated_cost FROM answer42.token_usage_daily d " +
+                   "WHERE d.bucket_start >= :since " +
+                   "UNION ALL " +
+                   "SELECT tm.user_id, tm.provider, tm.agent_type, 1, tm.input_tokens, tm.output_tokens, " +
+                   "COALESCE(tm.estimated_cost, 0) FROM answer42.token_metrics tm " +
+                   "WHERE " + LIVE_TAIL + " AND tm.timestamp >= :since" +
+                   ") u GROUP BY u.user_id, u.provider, u.agent_type")
+    List<Object[]> sumUsageByUserProviderAgentSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * All-time usage of one user per provider and agent.
+     * 
+     * @return rows of provider, agent_type, requests, input tokens, output tokens, cost
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT u.provider, u.agent_type, SUM(u.request_count), " +
+                   "SUM(u.input_tokens), SUM(u.output_tokens), SUM(u.estimated_cost) FROM (" +
+                   "SELECT d.provider, d.agent_type, d.request_count, d.input_tokens, " +
+                   "d.output_tokens, d.estimated_cost FROM answer42.token_usage_daily d " +
+                   "WHERE d.user_id = :userId " +
+                   "UNION ALL " +
+                   "SELECT tm.provider, tm.agent_type, 1, tm.input_tokens, tm.output_tokens, " +
+                   "COALESCE(tm.estimated_cost, 0) FROM answer42.token_metrics tm " +
+                   "WHERE tm.user_id = :userId AND " + LIVE_TAIL +
+                   ") u GROUP BY u.provider, u.agent_type")
+    List<Object[]> sumUsageByProviderAgentForUser(@Param("userId") UUID userId);
+    
+    /**
+     * Cost per day since a day boundary, oldest first.
+     * 
+     * @return rows of day start and cost
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT u.day, SUM(u.estimated_cost) FROM (" +
+                   "SELECT d.bucket_start AS day, d.estimated_cost FROM answer42.token_usage_daily d " +
+                   "WHERE d.bucket_start >= :since " +
+                   "UNION ALL " +
+                   "SELECT date_trunc('day', tm.timestamp), COALESCE(tm.estimated_cost, 0) " +
+                   "FROM answer42.token_metrics tm " +
+                   "WHERE " + LIVE_TAIL + " AND tm.timestamp >= :since" +
+                   ") u GROUP BY u.day ORDER BY u.day")
+    List<Object[]> sumCostByDaySince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Tokens and cost per hour since an hour boundary, oldest first.
+     * 
+     * @return rows of hour start, tokens and cost
+     */
+    @Query(nativeQuery = true,
+           value = "SELECT u.hour, SUM(u.tokens), SUM(u.estimated_cost) FROM (" +
+                   "SELECT h.bucket_start AS hour, h.input_tokens + h.output_tokens AS tokens, " +
+                   "h.estimated_cost FROM answer42.token_usage_hourly h " +
+                   "WHERE h.bucket_start >= :since " +
+                   "UNION ALL " +
+                   "SELECT date_trunc('hour', tm.timestamp), tm.input_tokens + tm.output_tokens, " +
+                   "COALESCE(tm.estimated_cost, 0) FROM answer42.token_metrics tm " +
+                   "WHERE " + LIVE_TAIL + " AND tm.timestamp >= :since" +
+                   ") u GROUP BY u.hour ORDER BY u.hour")
+    List<Object[]> sumUsageByHourSince(@Param("since") LocalDateTime since);
 }
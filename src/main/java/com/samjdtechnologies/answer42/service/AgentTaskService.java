@@ -300,24 +300,6 @@ public class AgentTaskService {
         }
     }
 
-    /**
-     * Cleans up old completed tasks to prevent database bloat.
-     * Runs every hour via Spring's @Scheduled annotation.
-     */
-    @Scheduled(fixedRate = 3600000) // Run every hour
-    public void cleanupOldTasks() {
-        try {
-            Instant cutoff = Instant.now().minus(7, ChronoUnit.DAYS); // Keep tasks for 7 days
-            int deletedCount = agentTaskRepository.deleteCompletedTasksOlderThan(cutoff);
-            
-            if (deletedCount > 0) {
-                LoggingUtil.info(LOG, "cleanupOldTasks", "Cleaned up %d old completed tasks", deletedCount);
-            }
-        } catch (Exception e) {
-            LoggingUtil.error(LOG, "cleanupOldTasks", "Failed to cleanup old tasks", e);
-        }
-    }
-
     /**
      * Handles task timeouts by marking them as failed.
      * Runs every 5 minutes via Spring's @Scheduled annotation.
@@ -4,24 +4,34 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.samjdtechnologies.answer42.model.db.CreditBalance;
+import com.samjdtechnologies.answer42.model.db.CreditReservation;
 import com.samjdtechnologies.answer42.model.db.CreditTransaction;
 import com.samjdtechnologies.answer42.model.db.Subscription;
 import com.samjdtechnologies.answer42.model.db.SubscriptionPlan;
 import com.samjdtechnologies.answer42.model.db.CreditTransaction.OperationType;
 import com.samjdtechnologies.answer42.model.db.CreditTransaction.TransactionType;
 import com.samjdtechnologies.answer42.repository.CreditBalanceRepository;
+import com.samjdtechnologies.answer42.repository.CreditReservationRepository;
 import com.samjdtechnologies.answer42.repository.CreditTransactionRepository;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Service for managing credit operations.
+ *
+ * Balances only change through the conditional UPDATE statements of CreditBalanceRepository,
+ * never by loading, modifying and saving the entity, so concurrent operations for one user
+ * cannot oversell or overwrite each other. Long operations reserve their credits up front
+ * and commit or release the reservation when they finish.
  */
 @Service
 public class CreditService {
@@ -30,21 +40,28 @@ public class CreditService {
     
     private final CreditBalanceRepository balanceRepository;
     private final CreditTransactionRepository transactionRepository;
+    private final CreditReservationRepository reservationRepository;
     private final SubscriptionService subscriptionService;
     
+    @Value("${credits.reservation.timeout-minutes:90}")
+    private long reservationTimeoutMinutes = 90;
+    
     /**
      * Constructs a new CreditService with the necessary dependencies.
      * 
      * @param balanceRepository the repository for CreditBalance entity operations
      * @param transactionRepository the repository for CreditTransaction entity operations
+     * @param reservationRepository the repository for CreditReservation entity operations
      * @param subscriptionService the service for subscription-related operations
      */
     public CreditService(
             CreditBalanceRepository balanceRepository,
             CreditTransactionRepository transactionRepository,
+            CreditReservationRepository reservationRepository,
             SubscriptionService subscriptionService) {
         this.balanceRepository = balanceRepository;
         this.transactionRepository = transactionRepository;
+        this.reservationRepository = reservationRepository;
         this.subscriptionService = subscriptionService;
     }
     
@@ -169,19 +186,16 @@ public class CreditService {
             throw new IllegalArgumentException("Credit amount must be positive");
         }
         
-        // Get or create the user's credit balance
-        CreditBalance balance = getCreditBalance(userId);
-        
-        // Add the credits
-        balance.addCredits(amount);
-        CreditBalance updatedBalance = balanceRepository.save(balance);
+        // Add the credits, creating the user's balance first if needed
+        int balanceAfter = updateBalance(userId, () -> balanceRepository.credit(userId, amount))
+                .orElseThrow(() -> new IllegalStateException("No credit balance for user " + userId));
         
         // Record the transaction
         recordTransaction(
-            userId, type, amount, balance.getBalance(), null, description, referenceId
+            userId, type, amount, balanceAfter, null, description, referenceId
         );
         
-        return updatedBalance;
+        return currentBalance(userId, balanceAfter);
     }
     
     /**
@@ -193,7 +207,8 @@ public class CreditService {
      * @param description the transaction description
      * @param referenceId the reference ID (can be null)
      * @return true if credits were successfully used, false if insufficient credits
-     * @throws IllegalArgumentException if amount is not positive
+     * @throws IllegalArgumentException if amount is not positive or credits are not
+     *         charged for the operation type
      */
     @Transactional
     public boolean useCredits(
@@ -210,28 +225,23 @@ public class CreditService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Credit amount must be positive");
         }
+        TransactionType transactionType = debitTransactionType(operationType);
         
-        // Get the user's credit balance
-        CreditBalance balance = getCreditBalance(userId);
-        
-        // Check if the user has enough credits
-        if (!balance.hasEnoughCredits(amount)) {
+        // Check and take the credits in one statement
+        Optional<Integer> balanceAfter = updateBalance(userId, 
+                () -> balanceRepository.debitIfSufficient(userId, amount));
+        if (balanceAfter.isEmpty()) {
             LoggingUtil.warn(LOG, "useCredits", 
-                    "Insufficient credits for user ID: %s, required: %d, available: %d", 
-                    userId, amount, balance.getBalance());
+                    "Insufficient credits for user ID: %s, required: %d", userId, amount);
             return false;
         }
         
-        // Use the credits
-        balance.useCredits(amount);
-        CreditBalance updatedBalance = balanceRepository.save(balance);
-        
         // Record the transaction
         recordTransaction(
             userId, 
-            TransactionType.valueOf(operationType.name()), 
+            transactionType, 
             -amount, 
-            updatedBalance.getBalance(), 
+            balanceAfter.get(), 
             operationType, 
             description, 
             referenceId
@@ -240,6 +250,174 @@ public class CreditService {
         return true;
     }
     
+    /**
+     * Hold credits for an operation that takes a while, e.g. the paper pipeline. The credits
+     * leave the balance now, so concurrent operations cannot spend them; the operation then
+     * either commits the reservation, recording the debit, or releases it, returning them.
+     * A reservation nobody settles is released when it expires.
+     * 
+     * @param userId the user ID
+     * @param amount the amount to hold
+     * @param operationType the operation type
+     * @param description the description of the debit recorded on commit
+     * @param referenceId the reference ID (can be null)
+     * @return the reservation ID, or empty if the user has insufficient credits
+     * @throws IllegalArgumentException if amount is not positive or credits are not
+     *         charged for the operation type
+     */
+    @Transactional
+    public Optional<UUID> reserveCredits(
+            UUID userId, 
+            int amount, 
+            OperationType operationType, 
+            String description,
+            String referenceId) {
+        
+        LoggingUtil.info(LOG, "reserveCredits", 
+                "Reserving %d credits for user ID: %s, operation: %s", 
+                amount, userId, operationType);
+        
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Credit amount must be positive");
+        }
+        // A reservation that could never be recorded as a debit must not take credits
+        debitTransactionType(operationType);
+        
+        Optional<Integer> balanceAfter = updateBalance(userId, 
+                () -> balanceRepository.holdIfSufficient(userId, amount));
+        if (balanceAfter.isEmpty()) {
+            LoggingUtil.warn(LOG, "reserveCredits", 
+                    "Insufficient credits for user ID: %s, required: %d", userId, amount);
+            return Optional.empty();
+        }
+        
+        CreditReservation reservation = new CreditReservation(
+            userId, amount, operationType, description, referenceId,
+            ZonedDateTime.now().plusMinutes(reservationTimeoutMinutes));
+        return Optional.of(reservationRepository.save(reservation).getId());
+    }
+    
+    /**
+     * Commit a reservation: the held credits count as used and the debit is recorded.
+     * 
+     * @param reservationId the reservation ID
+     * @return true if the reservation was committed, false if it was already settled
+     */
+    @Transactional
+    public boolean commitReservation(UUID reservationId) {
+        Optional<CreditReservation> reservation = claimReservation(reservationId, CreditReservation.Status.COMMITTED);
+        if (reservation.isEmpty()) {
+            return false;
+        }
+        
+        CreditReservation held = reservation.get();
+        int balanceAfter = balanceRepository.recordUsage(held.getUserId(), held.getAmount()).orElse(0);
+        recordTransaction(
+            held.getUserId(), 
+            debitTransactionType(held.getOperationType()), 
+            -held.getAmount(), 
+            balanceAfter, 
+            held.getOperationType(), 
+            held.getDescription(), 
+            held.getReferenceId()
+        );
+        
+        LoggingUtil.info(LOG, "commitReservation", 
+                "Committed %d credits for user ID: %s", held.getAmount(), held.getUserId());
+        return true;
+    }
+    
+    /**
+     * Release a reservation: the held credits go back to the balance.
+     * 
+     * @param reservationId the reservation ID
+     * @return true if the reservation was released, false if it was already settled
+     */
+    @Transactional
+    public boolean releaseReservation(UUID reservationId) {
+        Optional<CreditReservation> reservation = claimReservation(reservationId, CreditReservation.Status.RELEASED);
+        if (reservation.isEmpty()) {
+            return false;
+        }
+        
+        CreditReservation held = reservation.get();
+        balanceRepository.credit(held.getUserId(), held.getAmount());
+        
+        LoggingUtil.info(LOG, "releaseReservation", 
+                "Released %d credits for user ID: %s", held.getAmount(), held.getUserId());
+        return true;
+    }
+    
+    /**
+     * Release reservations whose operation never settled them, e.g. because the server
+     * stopped mid-pipeline.
+     */
+    @Scheduled(fixedRate = 300000) // Run every 5 minutes
+    public void releaseExpiredReservations() {
+        try {
+            int credited = reservationRepository.releaseExpired();
+            if (credited > 0) {
+                LoggingUtil.info(LOG, "releaseExpiredReservations", 
+                        "Released expired credit reservations for %d users", credited);
+            }
+        } catch (Exception e) {
+            LoggingUtil.error(LOG, "releaseExpiredReservations", "Failed to release expired reservations", e);
+        }
+    }
+    
+    /**
+     * Move a held reservation to its final status, so only one caller settles it.
+     */
+    private Optional<CreditReservation> claimReservation(UUID reservationId, CreditReservation.Status to) {
+        Optional<CreditReservation> reservation = reservationRepository.findById(reservationId);
+        if (reservation.isEmpty() || reservationRepository.transition(
+                reservationId, CreditReservation.Status.HELD, to, ZonedDateTime.now()) == 0) {
+            LoggingUtil.warn(LOG, "claimReservation", 
+                    "Reservation %s not found or already settled", reservationId);
+            return Optional.empty();
+        }
+        return reservation;
+    }
+    
+    /**
+     * Run a balance statement, creating the user's balance first if they have none yet.
+     */
+    private Optional<Integer> updateBalance(UUID userId, Supplier<Optional<Integer>> statement) {
+        Optional<Integer> balanceAfter = statement.get();
+        if (balanceAfter.isEmpty() && !balanceRepository.existsByUserId(userId)) {
+            initializeUserBalance(userId);
+            balanceAfter = statement.get();
+        }
+        return balanceAfter;
+    }
+    
+    /**
+     * The user's balance entity, in step with a balance the caller just wrote. This
+     * transaction holds the row lock since that write, so no other update can interleave.
+     */
+    private CreditBalance currentBalance(UUID userId, int balance) {
+        CreditBalance current = getCreditBalance(userId);
+        current.setBalance(balance);
+        return current;
+    }
+    
+    /**
+     * The transaction type a debit for the operation is recorded under.
+     * 
+     * @throws IllegalArgumentException if credits are not charged for the operation
+     */
+    private TransactionType debitTransactionType(OperationType operationType) {
+        return switch (operationType) {
+            case PAPER_ANALYSIS -> TransactionType.PAPER_UPLOAD;
+            case RESEARCH_QUERY -> TransactionType.RESEARCH;
+            case SUMMARY_GENERATION -> TransactionType.SUMMARY_GENERATION;
+            case STUDY_GUIDE_CREATION -> TransactionType.STUDY_GUIDE;
+            case AI_CHAT, Q_AND_A_SESSION -> TransactionType.AI_CHAT;
+            case API_INTEGRATION -> throw new IllegalArgumentException(
+                "No credit transaction type for operation " + operationType);
+        };
+    }
+    
     /**
      * Check if a user has enough credits for an operation.
      * 
@@ -340,17 +518,8 @@ public class CreditService {
             return balance;
         }
         
-        // Calculate rollover amount based on plan limits
         int rolloverLimit = plan.get().getRolloverLimit() != null ? plan.get().getRolloverLimit() : 0;
-        int rolloverAmount = Math.min(balance.getBalance(), rolloverLimit);
-        
-        // Calculate new balance: rollover + monthly credits
         int monthlyCredits = plan.get().getBaseCredits();
-        int newBalance = rolloverAmount + monthlyCredits;
-        
-        // Update the balance
-        balance.setBalance(newBalance);
-        balance.setUsedThisPeriod(0);
         
         // Calculate next reset date (first day of next month)
         ZonedDateTime nextResetDate = ZonedDateTime.now()
@@ -361,15 +530,24 @@ public class CreditService {
                 .withSecond(0)
                 .withNano(0);
         
-        balance.setNextResetDate(nextResetDate);
-        CreditBalance updatedBalance = balanceRepository.save(balance);
+        // Roll over and add the monthly credits in one statement, against the balance as it
+        // is now rather than as it was loaded; only one concurrent renewal can match
+        Optional<Integer> renewed = balanceRepository.renewIfDue(
+                userId, rolloverLimit, monthlyCredits, nextResetDate);
+        if (renewed.isEmpty()) {
+            LoggingUtil.debug(LOG, "processMonthlyRenewal", 
+                    "Renewal already processed for user ID: %s", userId);
+            return balance;
+        }
+        int newBalance = renewed.get();
+        int rolloverAmount = newBalance - monthlyCredits;
         
         // Record the transaction for monthly credits
         recordTransaction(
             userId,
             TransactionType.SUBSCRIPTION_RENEWAL,
             monthlyCredits,
-            updatedBalance.getBalance(),
+            newBalance,
             null,
             String.format("Monthly subscription credits (%s plan)", plan.get().getName()),
             subscription.get().getId().toString()
@@ -381,7 +559,7 @@ public class CreditService {
                 userId,
                 TransactionType.ROLLOVER,
                 rolloverAmount,
-                updatedBalance.getBalance(),
+                newBalance,
                 null,
                 String.format("Credits rolled over from previous month (%d/%d)", 
                         rolloverAmount, rolloverLimit),
@@ -389,6 +567,9 @@ public class CreditService {
             );
         }
         
-        return updatedBalance;
+        balance.setBalance(newBalance);
+        balance.setUsedThisPeriod(0);
+        balance.setNextResetDate(nextResetDate);
+        return balance;
     }
 }
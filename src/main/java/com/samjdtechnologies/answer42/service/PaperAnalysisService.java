@@ -150,7 +150,7 @@ public class PaperAnalysisService {
     public AnalysisTask processTask(UUID taskId) {
         LoggingUtil.info(LOG, "processTask", "Processing task ID: %s", taskId);
         
-        AnalysisTask task = taskRepository.findById(taskId)
+        AnalysisTask task = taskRepository.findWithPaperAndUserById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with ID: " + taskId));
         
         // Only process pending tasks
@@ -0,0 +1,201 @@
+package com.samjdtechnologies.answer42.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
+import com.samjdtechnologies.answer42.repository.PaperRepository;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Full-text search over papers backed by the Postgres search_vector column.
+ *
+ * Each paper carries a weighted tsvector (title A, abstract B, body C) under a GIN index,
+ * rebuilt through {@link #refreshSearchVector(UUID)} whenever PaperService changes one of
+ * those fields. Searches match every typed word as a prefix and return the best ranked
+ * papers first. When nothing matches, e.g. because of a typo, titles are matched by
+ * trigram similarity instead. The ranked query only returns IDs; the page is then loaded
+ * as PaperSummary rows so results never read paper bodies.
+ */
+@Service
+public class PaperSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PaperSearchService.class);
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_FUZZY_TERM_LENGTH = 3; // Trigrams of shorter input match almost anything
+
+    @Value("${search.papers.fuzzy-fallback:true}")
+    private boolean fuzzyFallback = true;
+
+    private final PaperRepository paperRepository;
+
+    public PaperSearchService(PaperRepository paperRepository) {
+        this.paperRepository = paperRepository;
+    }
+
+    /**
+     * Search all papers, best matches first.
+     *
+     * @param searchTerm The search box input
+     * @param pageable Pagination information; any sort is replaced by relevance
+     * @return Page of matching papers
+     */
+    public Page<PaperSummary> search(String searchTerm, Pageable pageable) {
+        String query = toPrefixQuery(searchTerm);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        Pageable byRank = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<UUID> ranked = paperRepository.searchPaperIds(query, byRank);
+        if (ranked.getTotalElements() == 0 && useFuzzyFallback(searchTerm)) {
+            LoggingUtil.debug(LOG, "search", "No full-text match for '%s', trying title similarity", searchTerm);
+            ranked = paperRepository.searchPaperIdsByTitleSimilarity(searchTerm.trim(), byRank);
+        }
+        return loadSummaries(ranked);
+    }
+
+    /**
+     * Search a user's papers, best matches first.
+     *
+     * @param user The user whose papers to search
+     * @param searchTerm The search box input
+     * @param pageable Pagination information; any sort is replaced by relevance
+     * @return Page of matching papers
+     */
+    public Page<PaperSummary> searchByUser(User user, String searchTerm, Pageable pageable) {
+        return searchByUser(user, searchTerm, null, pageable);
+    }
+
+    /**
+     * Search a user's papers with a given status, best matches first.
+     *
+     * @param user The user whose papers to search
+     * @param searchTerm The search box input
+     * @param status Only return papers with this status, or null for any status
+     * @param pageable Pagination information; any sort is replaced by relevance
+     * @return Page of matching papers
+     */
+    public Page<PaperSummary> searchByUser(User user, String searchTerm, String status, Pageable pageable) {
+        String query = toPrefixQuery(searchTerm);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        Pageable byRank = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<UUID> ranked = paperRepository.searchPaperIdsByUser(user.getId(), query, status, byRank);
+        if (ranked.getTotalElements() == 0 && useFuzzyFallback(searchTerm)) {
+            LoggingUtil.debug(LOG, "searchByUser", "No full-text match for '%s', trying title similarity", searchTerm);
+            ranked = paperRepository.searchPaperIdsByUserAndTitleSimilarity(
+                user.getId(), searchTerm.trim(), status, byRank);
+        }
+        return loadSummaries(ranked);
+    }
+
+    /**
+     * Load the summaries of a page of ranked IDs, keeping the rank order.
+     */
+    private Page<PaperSummary> loadSummaries(Page<UUID> ranked) {
+        if (ranked.isEmpty()) {
+            return new PageImpl<>(List.of(), ranked.getPageable(), ranked.getTotalElements());
+        }
+        Map<UUID, PaperSummary> byId = new HashMap<>();
+        for (PaperSummary summary : paperRepository.findSummariesByIdIn(ranked.getContent())) {
+            byId.put(summary.getId(), summary);
+        }
+        // A paper deleted between the two queries is simply left out
+        List<PaperSummary> ordered = ranked.getContent().stream()
+            .map(byId::get)
+            .filter(summary -> summary != null)
+            .toList();
+        return new PageImpl<>(ordered, ranked.getPageable(), ranked.getTotalElements());
+    }
+
+    /**
+     * Get snippets of the abstract (or the title when there is none) with the matched words
+     * wrapped in {@code <mark>} tags, for showing search results.
+     *
+     * @param paperIds The papers returned by a search
+     * @param searchTerm The search box input
+     * @return Snippet per paper ID
+     */
+    public Map<UUID, String> getHighlights(Collection<UUID> paperIds, String searchTerm) {
+        String query = toPrefixQuery(searchTerm);
+        if (query == null || paperIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, String> highlights = new HashMap<>();
+        for (Object[] row : paperRepository.findSearchHighlights(List.copyOf(paperIds), query)) {
+            if (row[1] != null) {
+                highlights.put((UUID) row[0], (String) row[1]);
+            }
+        }
+        return highlights;
+    }
+
+    /**
+     * Rebuild a paper's search vector after its title, abstract or content changed.
+     * Runs in the caller's transaction; pending changes to the paper are flushed first.
+     */
+    public void refreshSearchVector(UUID paperId) {
+        // A compressed body is not readable in SQL, so it is passed in; the paper is usually
+        // already in the persistence context, making this lookup free
+        String compressedText = paperRepository.findById(paperId)
+            .filter(Paper::isTextContentCompressed)
+            .map(Paper::getTextContent)
+            .orElse(null);
+        int updated = paperRepository.refreshSearchVector(paperId, compressedText);
+        if (updated == 0) {
+            LoggingUtil.warn(LOG, "refreshSearchVector", "Paper %s not found, search vector not updated", paperId);
+        }
+    }
+
+    /**
+     * Turn search box input into a to_tsquery expression that matches every word as a
+     * prefix, e.g. "graph neur" becomes "graph:* &amp; neur:*". Anything but letters and
+     * digits is dropped, so the result is always valid tsquery syntax.
+     *
+     * @return The query, or null if the input has no searchable words
+     */
+    static String toPrefixQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        int terms = 0;
+        for (String word : searchTerm.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (terms > 0) {
+                query.append(" & ");
+            }
+            query.append(word).append(":*");
+            if (++terms == MAX_QUERY_TERMS) {
+                break;
+            }
+        }
+        return terms == 0 ? null : query.toString();
+    }
+
+    private boolean useFuzzyFallback(String searchTerm) {
+        return fuzzyFallback && searchTerm.trim().length() >= MIN_FUZZY_TERM_LENGTH;
+    }
+}
@@ -6,6 +6,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,10 +22,12 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samjdtechnologies.answer42.model.KeysetCursor;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.Project;
 import com.samjdtechnologies.answer42.model.db.User;
 import com.samjdtechnologies.answer42.model.enums.PipelineStatus;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.repository.PaperRepository;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 import com.samjdtechnologies.answer42.util.FileUtil;
@@ -49,6 +52,7 @@ public class PaperService {
     private final CreditService creditService;
     private final FileTransferService fileTransferService;
     private final PipelineJobLauncher pipelineJobLauncher;
+    private final PaperSearchService paperSearchService;
     
     // Configure base upload directory for papers
     private final Path uploadDir = Paths.get("uploads/papers");
@@ -62,16 +66,19 @@ public class PaperService {
      * @param creditService the service for credit management and validation
      * @param fileTransferService the service for file transfer operations
      * @param pipelineJobLauncher the service for launching pipeline processing jobs
+     * @param paperSearchService the service for full-text paper search
      */
     public PaperService(PaperRepository paperRepository, ObjectMapper objectMapper,
                        CreditService creditService,
                        FileTransferService fileTransferService,
-                       PipelineJobLauncher pipelineJobLauncher) {
+                       PipelineJobLauncher pipelineJobLauncher,
+                       PaperSearchService paperSearchService) {
         this.paperRepository = paperRepository;
         this.objectMapper = objectMapper;
         this.creditService = creditService;
         this.fileTransferService = fileTransferService;
         this.pipelineJobLauncher = pipelineJobLauncher;
+        this.paperSearchService = paperSearchService;
         
         // Create upload directories if they don't exist
         try {
@@ -106,6 +113,18 @@ public class PaperService {
         return paperRepository.findByUser(user, pageable);
     }
     
+    /**
+     * Get summaries of a user's papers with pagination, for lists and grids. Unlike
+     * {@link #getPapersByUser(User, Pageable)} this never loads the paper bodies.
+     *
+     * @param user The user whose papers to retrieve
+     * @param pageable Pagination information
+     * @return Page of paper summaries
+     */
+    public Page<PaperSummary> getPaperSummariesByUser(User user, Pageable pageable) {
+        return paperRepository.findSummariesByUser(user, pageable);
+    }
+    
     /**
      * Get paper by ID.
      *
@@ -116,6 +135,16 @@ public class PaperService {
         return paperRepository.findById(id);
     }
     
+    /**
+     * Get the full papers for a set of IDs, e.g. the summaries selected in a grid.
+     *
+     * @param ids The paper IDs
+     * @return The papers found, in no particular order
+     */
+    public List<Paper> getPapersByIds(Collection<UUID> ids) {
+        return paperRepository.findAllById(ids);
+    }
+    
     /**
      * Save a paper.
      *
@@ -195,6 +224,7 @@ public class PaperService {
         
         // Save paper and return - no automatic processing
         Paper savedPaper = savePaper(paper);
+        paperSearchService.refreshSearchVector(savedPaper.getId());
         
         LoggingUtil.info(logger, "uploadPaper", 
             "Paper uploaded successfully with ID: %s, status: %s, processing_status: %s", 
@@ -401,6 +431,17 @@ public class PaperService {
         return paperRepository.countByUser(user);
     }
     
+    /**
+     * Count papers for a user with a given status.
+     *
+     * @param user The user whose papers to count
+     * @param status The paper status
+     * @return The number of papers
+     */
+    public long countPapersByUserAndStatus(User user, String status) {
+        return paperRepository.countByUserAndStatus(user, status);
+    }
+    
     /**
      * Get recent papers for a user.
      *
@@ -413,26 +454,50 @@ public class PaperService {
     }
     
     /**
-     * Search papers by title, abstract, or content.
+     * Get summaries of a user's most recent papers, for dashboard cards.
+     *
+     * @param user The user whose papers to retrieve
+     * @param limit The maximum number of papers to return
+     * @return List of recent paper summaries
+     */
+    public List<PaperSummary> getRecentPaperSummariesByUser(User user, int limit) {
+        return paperRepository.findRecentSummariesByUser(user, Pageable.ofSize(limit));
+    }
+    
+    /**
+     * Search papers by title, abstract, or content, best matches first.
      *
      * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of matching papers
+     * @param pageable Pagination information (results are ordered by relevance)
+     * @return Page of matching paper summaries
      */
-    public Page<Paper> searchPapers(String searchTerm, Pageable pageable) {
-        return paperRepository.searchPapers(searchTerm, pageable);
+    public Page<PaperSummary> searchPapers(String searchTerm, Pageable pageable) {
+        return paperSearchService.search(searchTerm, pageable);
     }
     
     /**
-     * Search papers by user, title, abstract, or content.
+     * Search papers by user, title, abstract, or content, best matches first.
      *
      * @param user The user whose papers to search
      * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of matching papers
+     * @param pageable Pagination information (results are ordered by relevance)
+     * @return Page of matching paper summaries
      */
-    public Page<Paper> searchPapersByUser(User user, String searchTerm, Pageable pageable) {
-        return paperRepository.searchPapersByUser(user, searchTerm, pageable);
+    public Page<PaperSummary> searchPapersByUser(User user, String searchTerm, Pageable pageable) {
+        return paperSearchService.searchByUser(user, searchTerm, pageable);
+    }
+    
+    /**
+     * Search a user's papers with a given status, best matches first.
+     *
+     * @param user The user whose papers to search
+     * @param searchTerm The search term
+     * @param status Only return papers with this status, or null for any status
+     * @param pageable Pagination information (results are ordered by relevance)
+     * @return Page of matching paper summaries
+     */
+    public Page<PaperSummary> searchPapersByUser(User user, String searchTerm, String status, Pageable pageable) {
+        return paperSearchService.searchByUser(user, searchTerm, status, pageable);
     }
     
     /**
@@ -463,7 +528,11 @@ public class PaperService {
             if (doi != null) paper.setDoi(doi);
             
             paper.setUpdatedAt(ZonedDateTime.now());
-            return Optional.of(paperRepository.save(paper));
+            Paper savedPaper = paperRepository.save(paper);
+            if (title != null || paperAbstract != null) {
+                paperSearchService.refreshSearchVector(id);
+            }
+            return Optional.of(savedPaper);
         }
         
         return Optional.empty();
@@ -509,7 +578,9 @@ public class PaperService {
             Paper paper = paperOpt.get();
             paper.setTextContent(textContent);
             paper.setUpdatedAt(ZonedDateTime.now());
-            return Optional.of(paperRepository.save(paper));
+            Paper savedPaper = paperRepository.save(paper);
+            paperSearchService.refreshSearchVector(id);
+            return Optional.of(savedPaper);
         }
         
         return Optional.empty();
@@ -560,22 +631,67 @@ public class PaperService {
     }
     
     /**
-     * Get papers by user that are not part of a specific project.
+     * Get summaries of a user's papers with a given status, for lists and grids.
+     *
+     * @param user The user whose papers to retrieve
+     * @param status The paper status
+     * @param pageable Pagination information
+     * @return Page of paper summaries with the specified status
+     */
+    public Page<PaperSummary> getPaperSummariesByUserAndStatus(User user, String status, Pageable pageable) {
+        return paperRepository.findSummariesByUserAndStatus(user, status, pageable);
+    }
+    
+    /**
+     * Get the next page of summaries of a user's papers, newest first, for lazy grids.
+     *
+     * @param user The user whose papers to retrieve
+     * @param after The last paper already shown, or KeysetCursor.FIRST
+     * @param limit The maximum number of papers to return
+     * @return Paper summaries, newest first
+     */
+    public List<PaperSummary> getPaperSummariesByUser(User user, KeysetCursor after, int limit) {
+        return paperRepository.findSummariesByUserBefore(user, after.createdAt(), after.id(), Pageable.ofSize(limit));
+    }
+    
+    /**
+     * Get the next page of summaries of a user's papers with a given status, newest first,
+     * for lazy grids.
+     *
+     * @param user The user whose papers to retrieve
+     * @param status The paper status
+     * @param after The last paper already shown, or KeysetCursor.FIRST
+     * @param limit The maximum number of papers to return
+     * @return Paper summaries, newest first
+     */
+    public List<PaperSummary> getPaperSummariesByUserAndStatus(User user, String status, KeysetCursor after, int limit) {
+        return paperRepository.findSummariesByUserAndStatusBefore(
+            user, status, after.createdAt(), after.id(), Pageable.ofSize(limit));
+    }
+    
+    /**
+     * Get the next page of summaries of a user's papers that are not part of a project,
+     * newest first.
      *
      * @param user The user whose papers to retrieve
      * @param project The project to exclude papers from
-     * @return List of papers not in the project
+     * @param after The last paper already shown, or KeysetCursor.FIRST
+     * @param limit The maximum number of papers to return
+     * @return Paper summaries not in the project, newest first
      */
-    @Transactional
-    public List<Paper> getPapersNotInProject(User user, Project project) {
-        // First get all the user's papers
-        List<Paper> allUserPapers = paperRepository.findByUser(user);
-        
-        // Then filter out the ones that are already in the project
-        if (project.getPapers() != null && !project.getPapers().isEmpty()) {
-            allUserPapers.removeAll(project.getPapers());
-        }
-        
-        return allUserPapers;
+    public List<PaperSummary> getPaperSummariesNotInProject(User user, Project project, KeysetCursor after, int limit) {
+        return paperRepository.findSummariesByUserNotInProjectBefore(
+            user, project.getId(), after.createdAt(), after.id(), Pageable.ofSize(limit));
+    }
+    
+    /**
+     * Check whether a user has any paper that is not part of a project.
+     *
+     * @param user The user whose papers to check
+     * @param project The project to exclude papers from
+     * @return true if at least one of the user's papers is not in the project
+     */
+    public boolean hasPapersNotInProject(User user, Project project) {
+        return !getPaperSummariesNotInProject(user, project, KeysetCursor.FIRST, 1).isEmpty();
     }
 }
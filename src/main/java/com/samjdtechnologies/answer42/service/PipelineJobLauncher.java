@@ -1,6 +1,10 @@
 package com.samjdtechnologies.answer42.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +16,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import com.samjdtechnologies.answer42.batch.PipelineCreditListener;
+import com.samjdtechnologies.answer42.model.db.CreditTransaction.OperationType;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.User;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
@@ -25,6 +31,9 @@ public class PipelineJobLauncher {
 
     private static final Logger logger = LoggerFactory.getLogger(PipelineJobLauncher.class);
     
+    // Time the whole pipeline may take before its remaining work is abandoned
+    private static final long PIPELINE_TIMEOUT_MINUTES = 45;
+    
     private final JobLauncher jobLauncher;
     private final CreditService creditService;
     
@@ -54,23 +63,40 @@ public class PipelineJobLauncher {
                 return false;
             }
             
-            // Check user credits if credit service is available (assuming 30 credits for full pipeline)
-            if (creditService != null && !creditService.hasEnoughCredits(user.getId(), 30)) {
-                LoggingUtil.warn(logger, "launchPipelineProcessing", 
-                    "User %s has insufficient credits for pipeline processing", user.getId());
-                return false;
+            // Hold the credits for the whole run; the job commits or releases them when it ends
+            Optional<UUID> reservation = Optional.empty();
+            if (creditService != null) {
+                reservation = creditService.reserveCredits(user.getId(), getRequiredCredits(),
+                    OperationType.PAPER_ANALYSIS, "Multi-agent pipeline processing", paper.getId().toString());
+                if (reservation.isEmpty()) {
+                    LoggingUtil.warn(logger, "launchPipelineProcessing", 
+                        "User %s has insufficient credits for pipeline processing", user.getId());
+                    return false;
+                }
             }
             
-            // Create Spring Batch job parameters
-            JobParameters jobParameters = new JobParametersBuilder()
-                .addString("paperId", paper.getId().toString())
-                .addString("userId", user.getId().toString())
-                .addDate("startTime", new Date())
-                .addString("processingMode", "COMPREHENSIVE")
-                .toJobParameters();
-            
-            // Launch Spring Batch job
-            jobLauncher.run(paperProcessingJob, jobParameters);
+            try {
+                // Create Spring Batch job parameters; the deadline bounds every stage and provider call
+                Instant startTime = Instant.now();
+                Instant deadline = startTime.plus(Duration.ofMinutes(PIPELINE_TIMEOUT_MINUTES));
+                JobParametersBuilder parameters = new JobParametersBuilder()
+                    .addString("paperId", paper.getId().toString())
+                    .addString("userId", user.getId().toString())
+                    .addDate("startTime", Date.from(startTime))
+                    .addString("processingMode", "COMPREHENSIVE")
+                    .addLong("timeoutMinutes", PIPELINE_TIMEOUT_MINUTES, false)
+                    .addLong("deadline", deadline.toEpochMilli(), false);
+                reservation.ifPresent(id -> 
+                    parameters.addString(PipelineCreditListener.RESERVATION_PARAMETER, id.toString(), false));
+                JobParameters jobParameters = parameters.toJobParameters();
+                
+                // Launch Spring Batch job
+                jobLauncher.run(paperProcessingJob, jobParameters);
+            } catch (Exception e) {
+                // The job never ran, so nothing will settle the reservation
+                reservation.ifPresent(creditService::releaseReservation);
+                throw e;
+            }
             
             LoggingUtil.info(logger, "launchPipelineProcessing", 
                 "Initiated Spring Batch pipeline processing for paper %s", paper.getId());
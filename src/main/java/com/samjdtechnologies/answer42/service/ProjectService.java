@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samjdtechnologies.answer42.model.KeysetCursor;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.Project;
 import com.samjdtechnologies.answer42.model.db.User;
@@ -187,6 +188,41 @@ public class ProjectService {
         return projects;
     }
     
+    /**
+     * Get the next page of a user's projects, newest first, for lazy grids.
+     * This method ensures the papers collection is initialized to avoid LazyInitializationException.
+     *
+     * @param user The user whose projects to retrieve
+     * @param searchTerm Only return projects whose name or description contains this, or null
+     * @param after The last project already shown, or KeysetCursor.FIRST
+     * @param limit The maximum number of projects to return
+     * @return List of projects, newest first
+     */
+    @Transactional
+    public List<Project> getProjectsByUser(User user, String searchTerm, KeysetCursor after, int limit) {
+        List<Project> projects = searchTerm == null || searchTerm.isEmpty()
+            ? projectRepository.findByUserBefore(user, after.createdAt(), after.id(), Pageable.ofSize(limit))
+            : projectRepository.searchProjectsByUserBefore(
+                user, searchTerm, after.createdAt(), after.id(), Pageable.ofSize(limit));
+        // Initialize the papers collection for each project to avoid LazyInitializationException
+        projects.forEach(project -> project.getPapers().size());
+        return projects;
+    }
+    
+    /**
+     * Count a user's projects whose name or description contains a search term.
+     *
+     * @param user The user whose projects to count
+     * @param searchTerm The search term, or null to count all projects
+     * @return The number of matching projects
+     */
+    public long countProjectsByUser(User user, String searchTerm) {
+        if (searchTerm == null || searchTerm.isEmpty()) {
+            return projectRepository.countByUser(user);
+        }
+        return projectRepository.countSearchProjectsByUser(user, searchTerm);
+    }
+    
     /**
      * Find public projects with pagination.
      * This method ensures the papers collection is initialized to avoid LazyInitializationException.
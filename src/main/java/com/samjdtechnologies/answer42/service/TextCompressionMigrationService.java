@@ -0,0 +1,124 @@
+package com.samjdtechnologies.answer42.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.samjdtechnologies.answer42.repository.PaperContentRepository;
+import com.samjdtechnologies.answer42.repository.PaperRepository;
+import com.samjdtechnologies.answer42.util.CompressedText;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Converts paper text stored before compressed storage was enabled.
+ *
+ * Rows are walked in ID order, a batch per transaction, and every long text value is
+ * written back through its entity setter, which stores it compressed. The walk can be
+ * interrupted and rerun at any time: converted rows no longer match the batch query.
+ */
+@Service
+public class TextCompressionMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TextCompressionMigrationService.class);
+
+    // Postgres orders UUIDs by their unsigned bytes, so the nil UUID sorts first
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final PaperRepository paperRepository;
+    private final PaperContentRepository paperContentRepository;
+    private final TransactionTemplate writeTransactionTemplate;
+    private final Executor taskExecutor;
+
+    @Value("${text.compression.migrate-existing:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${text.compression.threshold-chars:8192}")
+    private int thresholdChars;
+
+    @Value("${text.compression.migration.batch-size:50}")
+    private int batchSize = 50;
+
+    public TextCompressionMigrationService(PaperRepository paperRepository,
+                                           PaperContentRepository paperContentRepository,
+                                           TransactionTemplate writeTransactionTemplate,
+                                           Executor taskExecutor) {
+        this.paperRepository = paperRepository;
+        this.paperContentRepository = paperContentRepository;
+        this.writeTransactionTemplate = writeTransactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start converting existing rows in the background once the application is up, if
+     * compressed storage and the migration are both enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup && CompressedText.isEnabled()) {
+            taskExecutor.execute(this::compressExistingText);
+        }
+    }
+
+    /**
+     * Compress the long text of all papers and paper content stored uncompressed.
+     *
+     * @return the number of rows converted
+     */
+    public int compressExistingText() {
+        if (!CompressedText.isEnabled()) {
+            LoggingUtil.warn(LOG, "compressExistingText", "Compressed text storage is disabled, nothing to do");
+            return 0;
+        }
+
+        int papers = compressInBatches("papers",
+            afterId -> paperRepository.findIdsWithUncompressedTextAfter(afterId, thresholdChars, batchSize),
+            ids -> paperRepository.findAllById(ids).forEach(paper -> {
+                paper.setTextContent(paper.getTextContent());
+                paper.setSummaryDetailed(paper.getSummaryDetailed());
+            }));
+        int contents = compressInBatches("paper_content",
+            afterId -> paperContentRepository.findIdsWithUncompressedContentAfter(afterId, thresholdChars, batchSize),
+            ids -> paperContentRepository.findAllById(ids)
+                .forEach(content -> content.setContent(content.getContent())));
+
+        LoggingUtil.info(LOG, "compressExistingText", 
+            "Compressed text of %d papers and %d paper content rows", papers, contents);
+        return papers + contents;
+    }
+
+    private int compressInBatches(String table, BatchQuery nextBatch, Consumer<List<UUID>> compress) {
+        int converted = 0;
+        UUID afterId = FIRST_ID;
+        while (true) {
+            UUID from = afterId;
+            List<UUID> ids = writeTransactionTemplate.execute(status -> {
+                List<UUID> batch = nextBatch.idsAfter(from);
+                if (!batch.isEmpty()) {
+                    // Dirty checking writes the changed columns on commit
+                    compress.accept(batch);
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                return converted;
+            }
+            converted += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            LoggingUtil.debug(LOG, "compressInBatches", "Compressed %d %s rows so far", converted, table);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchQuery {
+        List<UUID> idsAfter(UUID afterId);
+    }
+}
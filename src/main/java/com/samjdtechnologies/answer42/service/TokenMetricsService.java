@@ -1,16 +1,30 @@
 package com.samjdtechnologies.answer42.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.annotation.PreDestroy;
+
 import com.samjdtechnologies.answer42.model.db.TokenMetrics;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
@@ -23,6 +37,17 @@ import com.samjdtechnologies.answer42.util.LoggingUtil;
 /**
  * Comprehensive token usage and cost tracking service with running totals.
  * Provides real-time metrics, colorized logging, and persistent storage.
+ *
+ * Recording is write-behind: the running totals are updated in place and the row is queued,
+ * and a single flusher writes the queue in batched inserts, on a timer or as soon as a full
+ * batch is waiting. Callers never wait for the database unless the buffer is full, in which
+ * case they wait up to the offer timeout for room and the row is dropped after that. The
+ * buffer is flushed on shutdown.
+ *
+ * Statistics never scan the whole history. A compactor sums the raw rows into hourly and
+ * daily rollups per user, provider and agent; queries read the rollups plus the raw rows not
+ * rolled up yet, which are at most a few hours' worth. Startup loads the 30-day running
+ * totals the same way, so its cost grows with the number of users and days, not requests.
  */
 @Service
 @Transactional
@@ -31,6 +56,28 @@ public class TokenMetricsService {
     private static final Logger LOG = LoggingUtil.getLogger(TokenMetricsService.class);
     
     private final TokenMetricsRepository tokenMetricsRepository;
+    private final Executor taskExecutor;
+    
+    // Rows waiting to be written; many producers, one flusher at a time
+    private final Queue<TokenMetrics> pendingMetrics = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final LongAdder droppedMetrics = new LongAdder();
+    private volatile boolean shutDown = false;
+    
+    @Value("${token.metrics.flush.batch-size:200}")
+    private int flushBatchSize = 200;
+    
+    @Value("${token.metrics.buffer.capacity:10000}")
+    private int bufferCapacity = 10000;
+    
+    @Value("${token.metrics.buffer.offer-timeout-ms:50}")
+    private long offerTimeoutMs = 50;
+    
+    // Rows inserted within this long are left raw, so inserts still in flight commit before
+    // the compaction passes their insert time
+    @Value("${token.metrics.rollup.lag-minutes:10}")
+    private long rollupLagMinutes = 10;
     
     // In-memory running totals for real-time tracking
     private final Map<AIProvider, RunningTotal> providerTotals = new ConcurrentHashMap<>();
@@ -40,14 +87,17 @@ public class TokenMetricsService {
     // Global running totals
     private volatile RunningTotal globalTotals = new RunningTotal();
     
-    public TokenMetricsService(TokenMetricsRepository tokenMetricsRepository) {
+    public TokenMetricsService(TokenMetricsRepository tokenMetricsRepository, Executor taskExecutor) {
         this.tokenMetricsRepository = tokenMetricsRepository;
+        this.taskExecutor = taskExecutor;
         initializeRunningTotals();
     }
     
     /**
      * Record token usage with comprehensive metrics tracking.
+     * The row is written by the next flush, so its ID is only assigned then.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TokenMetrics recordTokenUsage(
             UUID userId,
             AIProvider provider, 
@@ -69,8 +119,8 @@ public class TokenMetricsService {
                 .timestamp(LocalDateTime.now())
                 .build();
         
-        // Persist to database
-        TokenMetrics saved = tokenMetricsRepository.save(metrics);
+        // Queue for the next batched insert
+        enqueue(metrics);
         
         // Update running totals
         updateRunningTotals(userId.toString(), provider, agentType, inputTokens, outputTokens, estimatedCost);
@@ -81,7 +131,155 @@ public class TokenMetricsService {
             provider, agentType, taskId, inputTokens, outputTokens, 
             inputTokens + outputTokens, estimatedCost, userId);
         
-        return saved;
+        return metrics;
+    }
+    
+    /**
+     * Write the queued rows in batches until the queue is empty. Only one flush runs at a
+     * time; a call while another is running returns at once.
+     * 
+     * @return the number of rows written
+     */
+    @Scheduled(fixedDelayString = "${token.metrics.flush.interval-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int flushPendingMetrics() {
+        if (!flushing.compareAndSet(false, true)) {
+            return 0;
+        }
+        int written = 0;
+        try {
+            List<TokenMetrics> batch = new ArrayList<>(flushBatchSize);
+            while (true) {
+                TokenMetrics next;
+                while (batch.size() < flushBatchSize && (next = pendingMetrics.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                pendingCount.addAndGet(-batch.size());
+                if (!writeBatch(batch)) {
+                    break;
+                }
+                written += batch.size();
+                batch.clear();
+            }
+        } finally {
+            flushing.set(false);
+        }
+        
+        if (written > 0) {
+            LoggingUtil.debug(LOG, "flushPendingMetrics", "Wrote %,d token metrics rows", written);
+        }
+        return written;
+    }
+    
+    /**
+     * Flush everything still buffered before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutDown = true;
+        // Wait out a flush already in progress, then drain what is left
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pendingCount.get() > 0 && System.nanoTime() < deadline) {
+            if (flushPendingMetrics() == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+        
+        LoggingUtil.info(LOG, "shutdown", 
+            "Token metrics buffer flushed: %,d rows left unwritten, %,d dropped since startup", 
+            pendingCount.get(), droppedMetrics.sum());
+    }
+    
+    /**
+     * Number of rows waiting to be written.
+     */
+    public int getPendingMetricsCount() {
+        return pendingCount.get();
+    }
+    
+    /**
+     * Number of rows dropped because the buffer stayed full.
+     */
+    public long getDroppedMetricsCount() {
+        return droppedMetrics.sum();
+    }
+    
+    /**
+     * Queue a row, waiting up to the offer timeout for room when the buffer is full.
+     */
+    private void enqueue(TokenMetrics metrics) {
+        if (shutDown) {
+            // The flusher is gone; write late rows directly
+            writeBatch(new ArrayList<>(List.of(metrics)));
+            return;
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        while (!tryReserveSlot()) {
+            // The database is falling behind; slow this caller down rather than grow the buffer
+            requestFlush();
+            if (System.nanoTime() >= deadline) {
+                droppedMetrics.increment();
+                LoggingUtil.warn(LOG, "recordTokenUsage", 
+                    "Token metrics buffer full (%,d rows), dropped a row; %,d dropped so far", 
+                    bufferCapacity, droppedMetrics.sum());
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        
+        pendingMetrics.offer(metrics);
+        if (pendingCount.get() >= flushBatchSize) {
+            requestFlush();
+        }
+    }
+    
+    private boolean tryReserveSlot() {
+        int current;
+        do {
+            current = pendingCount.get();
+            if (current >= bufferCapacity) {
+                return false;
+            }
+        } while (!pendingCount.compareAndSet(current, current + 1));
+        return true;
+    }
+    
+    private void requestFlush() {
+        if (flushing.get()) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::flushPendingMetrics);
+        } catch (RuntimeException e) {
+            // Executor saturated; the scheduled flush picks the rows up
+            LoggingUtil.debug(LOG, "requestFlush", "Flush not scheduled: %s", e.getMessage());
+        }
+    }
+    
+    /**
+     * Insert a batch. On failure the rows go back into the buffer, as far as it has room,
+     * for the next flush to retry.
+     */
+    private boolean writeBatch(List<TokenMetrics> batch) {
+        try {
+            tokenMetricsRepository.saveAll(batch);
+            return true;
+        } catch (Exception e) {
+            LoggingUtil.error(LOG, "writeBatch", String.format(
+                "Failed to write %d token metrics rows, retrying on the next flush", batch.size()), e);
+            for (TokenMetrics metrics : batch) {
+                if (tryReserveSlot()) {
+                    pendingMetrics.offer(metrics);
+                } else {
+                    droppedMetrics.increment();
+                }
+            }
+            return false;
+        }
     }
     
     /**
@@ -136,9 +334,18 @@ public class TokenMetricsService {
         String userKey = userId.toString();
         RunningTotal userTotal = userTotals.getOrDefault(userKey, new RunningTotal());
         
-        List<TokenMetrics> userMetrics = tokenMetricsRepository.findByUserIdOrderByTimestampDesc(userId);
-        Map<AIProvider, RunningTotal> userProviderBreakdown = calculateUserProviderBreakdown(userMetrics);
-        Map<AgentType, RunningTotal> userAgentBreakdown = calculateUserAgentBreakdown(userMetrics);
+        Map<AIProvider, RunningTotal> userProviderBreakdown = new HashMap<>();
+        Map<AgentType, RunningTotal> userAgentBreakdown = new HashMap<>();
+        for (Object[] row : tokenMetricsRepository.sumUsageByProviderAgentForUser(userId)) {
+            AIProvider provider = parseEnum(AIProvider.class, row[0]);
+            AgentType agentType = parseEnum(AgentType.class, row[1]);
+            if (provider == null || agentType == null) {
+                continue;
+            }
+            addAggregate(userProviderBreakdown.computeIfAbsent(provider, k -> new RunningTotal()), row, 2);
+            addAggregate(userAgentBreakdown.computeIfAbsent(agentType, k -> new RunningTotal()), row, 2);
+        }
+        List<TokenMetrics> recentActivity = tokenMetricsRepository.findTop20ByUserIdOrderByTimestampDesc(userId);
         
         return UserTokenStatistics.builder()
                 .userId(userId)
@@ -146,8 +353,8 @@ public class TokenMetricsService {
                 .totalCost(userTotal.getTotalCost())
                 .providerBreakdown(userProviderBreakdown)
                 .agentBreakdown(userAgentBreakdown)
-                .recentActivity(userMetrics.stream().limit(20).collect(Collectors.toList()))
-                .lastActivity(userMetrics.isEmpty() ? null : userMetrics.get(0).getTimestamp())
+                .recentActivity(recentActivity)
+                .lastActivity(recentActivity.isEmpty() ? null : recentActivity.get(0).getTimestamp())
                 .build();
     }
     
@@ -243,24 +450,25 @@ public class TokenMetricsService {
         LoggingUtil.info(LOG, "initializeRunningTotals", "🚀 Initializing token metrics from database...");
         
         try {
-            // Load recent metrics (last 30 days) for running totals
-            LocalDateTime since = LocalDateTime.now().minusDays(30);
-            List<TokenMetrics> recentMetrics = tokenMetricsRepository.findByTimestampAfterOrderByTimestampDesc(since);
+            // Load the last 30 days from the rollups, one row per user, provider and agent
+            LocalDateTime since = LocalDate.now().minusDays(30).atStartOfDay();
+            List<Object[]> usage = tokenMetricsRepository.sumUsageByUserProviderAgentSince(since);
             
-            for (TokenMetrics metric : recentMetrics) {
-                updateRunningTotals(
-                    metric.getUserId().toString(),
-                    metric.getProvider(),
-                    metric.getAgentType(),
-                    metric.getInputTokens(),
-                    metric.getOutputTokens(),
-                    metric.getEstimatedCost()
-                );
+            for (Object[] row : usage) {
+                AIProvider provider = parseEnum(AIProvider.class, row[1]);
+                AgentType agentType = parseEnum(AgentType.class, row[2]);
+                if (row[0] == null || provider == null || agentType == null) {
+                    continue;
+                }
+                addAggregate(providerTotals.computeIfAbsent(provider, k -> new RunningTotal()), row, 3);
+                addAggregate(agentTotals.computeIfAbsent(agentType, k -> new RunningTotal()), row, 3);
+                addAggregate(userTotals.computeIfAbsent(row[0].toString(), k -> new RunningTotal()), row, 3);
+                addAggregate(globalTotals, row, 3);
             }
             
             LoggingUtil.info(LOG, "initializeRunningTotals", 
-                "✅ Initialized running totals from %,d recent metrics. Global total: %,d tokens ($%.4f)", 
-                recentMetrics.size(), globalTotals.getTotalTokens(), globalTotals.getTotalCost());
+                "✅ Initialized running totals from %,d usage groups. Global total: %,d tokens ($%.4f)", 
+                usage.size(), globalTotals.getTotalTokens(), globalTotals.getTotalCost());
             
         } catch (Exception e) {
             LoggingUtil.error(LOG, "initializeRunningTotals", 
@@ -281,6 +489,48 @@ public class TokenMetricsService {
         }
     }
     
+    /**
+     * Roll the raw rows inserted in every complete hour since the last run into the hourly and
+     * daily rollups, and move the watermark past them in the same transaction. Rows are
+     * summed into the bucket of their usage time, so a row the buffer wrote late still
+     * reaches its hour and day.
+     * 
+     * @return the number of rollup rows inserted or updated
+     */
+    @Scheduled(fixedDelayString = "${token.metrics.rollup.interval-ms:300000}")
+    public int rollUpTokenUsage() {
+        LocalDateTime from = tokenMetricsRepository.lockRollupWatermark();
+        LocalDateTime to = LocalDateTime.now().minusMinutes(rollupLagMinutes).truncatedTo(ChronoUnit.HOURS);
+        if (from == null || !to.isAfter(from)) {
+            return 0;
+        }
+        
+        int rows = tokenMetricsRepository.rollUpHourly(from, to);
+        rows += tokenMetricsRepository.rollUpDaily(from, to);
+        tokenMetricsRepository.advanceRollupWatermark(to);
+        
+        LoggingUtil.info(LOG, "rollUpTokenUsage", 
+            "Rolled up token usage from %s to %s into %,d rollup rows", from, to, rows);
+        return rows;
+    }
+    
+    /**
+     * Tokens and cost per hour over the last hours, oldest first.
+     * 
+     * @param hours the number of hours to cover, including the current one
+     * @return hour start mapped to its total tokens and cost
+     */
+    public Map<LocalDateTime, RunningTotal> getHourlyTrends(int hours) {
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+        Map<LocalDateTime, RunningTotal> trends = new LinkedHashMap<>();
+        for (Object[] row : tokenMetricsRepository.sumUsageByHourSince(since)) {
+            RunningTotal total = new RunningTotal();
+            total.addAggregate(0, toLong(row[1]), 0, (BigDecimal) row[2]);
+            trends.put(toLocalDateTime(row[0]), total);
+        }
+        return trends;
+    }
+    
     // Helper methods for data transformation
     
     private Map<AIProvider, RunningTotal> copyProviderTotals() {
@@ -316,16 +566,12 @@ public class TokenMetricsService {
     }
     
     private Map<String, BigDecimal> getDailyTrends(int days) {
-        // Implementation for daily trends calculation
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        List<TokenMetrics> metrics = tokenMetricsRepository.findByTimestampAfterOrderByTimestampDesc(since);
-        
-        return metrics.stream()
-                .collect(Collectors.groupingBy(
-                    m -> m.getTimestamp().toLocalDate().toString(),
-                    Collectors.reducing(BigDecimal.ZERO,
-                        TokenMetrics::getEstimatedCost,
-                        BigDecimal::add)));
+        LocalDateTime since = LocalDate.now().minusDays(days).atStartOfDay();
+        Map<String, BigDecimal> trends = new LinkedHashMap<>();
+        for (Object[] row : tokenMetricsRepository.sumCostByDaySince(since)) {
+            trends.put(toLocalDateTime(row[0]).toLocalDate().toString(), (BigDecimal) row[1]);
+        }
+        return trends;
     }
     
     private Map<String, BigDecimal> getCostBreakdown() {
@@ -335,74 +581,96 @@ public class TokenMetricsService {
         return breakdown;
     }
     
-    private Map<AIProvider, RunningTotal> calculateUserProviderBreakdown(List<TokenMetrics> userMetrics) {
-        return userMetrics.stream()
-                .collect(Collectors.groupingBy(TokenMetrics::getProvider,
-                    Collectors.reducing(new RunningTotal(),
-                        metric -> new RunningTotal(metric.getInputTokens(), 
-                                                 metric.getOutputTokens(), 
-                                                 metric.getEstimatedCost()),
-                        RunningTotal::add)));
+    /**
+     * Add a rollup row's requests, input tokens, output tokens and cost, starting at column
+     * {@code first}, to a total.
+     */
+    private static void addAggregate(RunningTotal total, Object[] row, int first) {
+        total.addAggregate(toLong(row[first]), toLong(row[first + 1]), toLong(row[first + 2]),
+            (BigDecimal) row[first + 3]);
+    }
+    
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+    
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof java.sql.Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
     }
     
-    private Map<AgentType, RunningTotal> calculateUserAgentBreakdown(List<TokenMetrics> userMetrics) {
-        return userMetrics.stream()
-                .collect(Collectors.groupingBy(TokenMetrics::getAgentType,
-                    Collectors.reducing(new RunningTotal(),
-                        metric -> new RunningTotal(metric.getInputTokens(), 
-                                                 metric.getOutputTokens(), 
-                                                 metric.getEstimatedCost()),
-                        RunningTotal::add)));
+    private <E extends Enum<E>> E parseEnum(Class<E> type, Object value) {
+        try {
+            return Enum.valueOf(type, String.valueOf(value));
+        } catch (IllegalArgumentException e) {
+            LoggingUtil.warn(LOG, "parseEnum", "Skipping token usage with unknown %s: %s", 
+                type.getSimpleName(), value);
+            return null;
+        }
     }
     
     // Inner classes for data structures
     
+    /**
+     * Token and cost totals that many threads add to at once. Each counter is a LongAdder, so
+     * concurrent updates land in separate cells instead of contending on one monitor; reads
+     * sum the cells and may miss an update in flight. Costs are kept in millionths of a dollar,
+     * the precision of the estimated_cost column.
+     */
     public static class RunningTotal {
-        private volatile int inputTokens = 0;
-        private volatile int outputTokens = 0;
-        private volatile BigDecimal totalCost = BigDecimal.ZERO;
-        private volatile int requestCount = 0;
+        private static final int COST_SCALE = 6;
+        
+        private final LongAdder inputTokens = new LongAdder();
+        private final LongAdder outputTokens = new LongAdder();
+        private final LongAdder costMicros = new LongAdder();
+        private final LongAdder requestCount = new LongAdder();
         
         public RunningTotal() {}
         
         public RunningTotal(int inputTokens, int outputTokens, BigDecimal cost) {
-            this.inputTokens = inputTokens;
-            this.outputTokens = outputTokens;
-            this.totalCost = cost;
-            this.requestCount = 1;
+            addUsage(inputTokens, outputTokens, cost);
         }
         
-        public synchronized void addUsage(int inputTokens, int outputTokens, BigDecimal cost) {
-            this.inputTokens += inputTokens;
-            this.outputTokens += outputTokens;
-            this.totalCost = this.totalCost.add(cost);
-            this.requestCount++;
+        public void addUsage(int inputTokens, int outputTokens, BigDecimal cost) {
+            addAggregate(1, inputTokens, outputTokens, cost);
+        }
+        
+        public void addAggregate(long requests, long inputTokens, long outputTokens, BigDecimal cost) {
+            this.inputTokens.add(inputTokens);
+            this.outputTokens.add(outputTokens);
+            if (cost != null) {
+                this.costMicros.add(cost.setScale(COST_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue());
+            }
+            this.requestCount.add(requests);
         }
         
         public RunningTotal add(RunningTotal other) {
-            RunningTotal result = new RunningTotal();
-            result.inputTokens = this.inputTokens + other.inputTokens;
-            result.outputTokens = this.outputTokens + other.outputTokens;
-            result.totalCost = this.totalCost.add(other.totalCost);
-            result.requestCount = this.requestCount + other.requestCount;
+            RunningTotal result = copy();
+            result.inputTokens.add(other.inputTokens.sum());
+            result.outputTokens.add(other.outputTokens.sum());
+            result.costMicros.add(other.costMicros.sum());
+            result.requestCount.add(other.requestCount.sum());
             return result;
         }
         
         public RunningTotal copy() {
             RunningTotal copy = new RunningTotal();
-            copy.inputTokens = this.inputTokens;
-            copy.outputTokens = this.outputTokens;
-            copy.totalCost = this.totalCost;
-            copy.requestCount = this.requestCount;
+            copy.inputTokens.add(this.inputTokens.sum());
+            copy.outputTokens.add(this.outputTokens.sum());
+            copy.costMicros.add(this.costMicros.sum());
+            copy.requestCount.add(this.requestCount.sum());
             return copy;
         }
         
         // Getters
-        public int getInputTokens() { return inputTokens; }
-        public int getOutputTokens() { return outputTokens; }
-        public int getTotalTokens() { return inputTokens + outputTokens; }
-        public BigDecimal getTotalCost() { return totalCost; }
-        public int getRequestCount() { return requestCount; }
+        public int getInputTokens() { return saturatedInt(inputTokens.sum()); }
+        public int getOutputTokens() { return saturatedInt(outputTokens.sum()); }
+        public int getTotalTokens() { return saturatedInt(inputTokens.sum() + outputTokens.sum()); }
+        public BigDecimal getTotalCost() { return BigDecimal.valueOf(costMicros.sum(), COST_SCALE); }
+        public int getRequestCount() { return saturatedInt(requestCount.sum()); }
+        
+        private static int saturatedInt(long value) {
+            return (int) Math.min(value, Integer.MAX_VALUE);
+        }
     }
     
     // Additional data classes would be defined here...
@@ -17,6 +17,7 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.samjdtechnologies.answer42.config.AIConfig;
@@ -27,14 +28,21 @@ import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.LoadStatus;
 import com.samjdtechnologies.answer42.model.interfaces.AIAgent;
+import com.samjdtechnologies.answer42.model.pipeline.ProviderCallException;
+import com.samjdtechnologies.answer42.service.pipeline.AgentCircuitBreaker;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
+import com.samjdtechnologies.answer42.service.pipeline.PipelineDeadline;
+import com.samjdtechnologies.answer42.service.pipeline.ProviderRouter;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Abstract base class for all configurable AI agents.
  * Integrates with AIConfig for user-aware API key management, ThreadConfig for async processing,
  * and AgentRetryPolicy for enterprise-grade resilience with circuit breaker protection.
+ * Each provider call in executePrompt goes through the circuit breaker of the provider
+ * actually called, so the breaker sees provider calls rather than whole agent runs, and a
+ * routed request that fails is reported against the provider it was routed to.
  */
 public abstract class AbstractConfigurableAgent implements AIAgent {
     protected static final Logger LOG = LoggerFactory.getLogger(AbstractConfigurableAgent.class);
@@ -45,6 +53,12 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
     protected final AgentRetryPolicy retryPolicy;
     protected final APIRateLimiter rateLimiter;
     
+    @Autowired(required = false)
+    private ProviderRouter providerRouter;
+    
+    @Autowired(required = false)
+    private AgentCircuitBreaker circuitBreaker;
+    
     // Token usage tracking for enterprise-grade cost monitoring
     private final LongAdder totalInputTokens = new LongAdder();
     private final LongAdder totalOutputTokens = new LongAdder();
@@ -114,7 +128,7 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
             return executeAgentLogic(task);
         }
         
-        return retryPolicy.executeWithRetry(getAgentType(), () -> executeAgentLogic(task), task);
+        return retryPolicy.executeWithRetry(getAgentType(), getProvider(), () -> executeAgentLogic(task), task);
     }
 
     /**
@@ -129,8 +143,8 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
                     "Agent %s processing task %s using %s provider", 
                     getAgentType(), task.getId(), getProvider());
 
-                // Process with configuration
-                AgentResult result = processWithConfig(task);
+                // Process with configuration, bounded by the job's deadline
+                AgentResult result = PipelineDeadline.callWithin(task.getDeadline(), () -> processWithConfig(task));
 
                 // Add processing metrics
                 ProcessingMetrics metrics = createProcessingMetrics(startTime);
@@ -333,11 +347,14 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
      * This method includes rate limiting and is protected by retry policy when called from processWithConfig.
      */
     protected ChatResponse executePrompt(Prompt prompt) {
-        String operation = String.format("chat completion request to %s", getProvider());
+        // Let the router move the request to a better-placed provider, if routing is enabled
+        AIProvider provider = providerRouter != null ? providerRouter.route(getAgentType(), getProvider()) : getProvider();
+        String operation = String.format("chat completion request to %s", provider);
+        long callStartNanos = 0;
         
         try {
             // Lazy initialization of chat client if not available during construction
-            ChatClient clientToUse = chatClient;
+            ChatClient clientToUse = provider == getProvider() ? chatClient : providerRouter.getChatClient(provider);
             if (clientToUse == null) {
                 try {
                     clientToUse = getConfiguredChatClient();
@@ -350,25 +367,38 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
                 }
             }
             
-            // Acquire rate limit permit before making API call
-            rateLimiter.acquirePermit(getProvider()).join();
+            // Acquire rate limit permit before making API call, giving up at the job's deadline
+            PipelineDeadline.check(operation);
+            PipelineDeadline.await(rateLimiter.acquirePermit(provider), "rate limit permit for " + provider);
             
             LoggingUtil.debug(LOG, "executePrompt", 
-                "Acquired rate limit permit for %s provider", getProvider());
+                "Acquired rate limit permit for %s provider", provider);
             
-            // Execute the prompt and track token usage
-            ChatResponse response = clientToUse.prompt(prompt).call().chatResponse();
-            recordTokenUsage(response);
+            // Execute the prompt and track token usage; HTTP timeouts shrink to the time left
+            ChatClient client = clientToUse;
+            callStartNanos = System.nanoTime();
+            ChatResponse response = circuitBreaker != null ?
+                circuitBreaker.executeCall(provider, () -> client.prompt(prompt).call().chatResponse()) :
+                client.prompt(prompt).call().chatResponse();
+            if (providerRouter != null) {
+                providerRouter.recordOutcome(getAgentType(), provider, Duration.ofNanos(System.nanoTime() - callStartNanos), true);
+            }
+            recordTokenUsage(response, provider);
             
             return response;
         } catch (Exception e) {
+            // Only failures of the provider call itself count against the provider
+            if (providerRouter != null && callStartNanos != 0
+                    && !(e instanceof AgentCircuitBreaker.CircuitBreakerOpenException)) {
+                providerRouter.recordOutcome(getAgentType(), provider, Duration.ofNanos(System.nanoTime() - callStartNanos), false);
+            }
             // Provide detailed, contextual error information
             String detailedError = analyzeAndFormatException(e, operation);
             
             LoggingUtil.error(LOG, "executePrompt", 
                 "Failed to execute %s: %s", operation, detailedError);
             
-            throw new RuntimeException(detailedError, e);
+            throw new ProviderCallException(provider, detailedError, e);
         }
     }
     
@@ -502,7 +532,7 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
      * Records token usage from ChatResponse and calculates costs.
      * Tracks both instance-level and global statistics for enterprise monitoring.
      */
-    private void recordTokenUsage(ChatResponse response) {
+    private void recordTokenUsage(ChatResponse response, AIProvider provider) {
         if (response == null || response.getMetadata() == null) {
             LoggingUtil.debug(LOG, "recordTokenUsage", 
                 "No usage metadata available for %s provider", getProvider());
@@ -538,7 +568,7 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
             globalRequests.get(agentKey).increment();
 
             // Calculate and record costs
-            long costMicroCents = calculateCostMicroCents(inputTokens, outputTokens);
+            long costMicroCents = calculateCostMicroCents(provider, inputTokens, outputTokens);
             totalCostMicroCents.addAndGet(costMicroCents);
             globalCosts.get(agentKey).addAndGet(costMicroCents);
 
@@ -548,7 +578,7 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
 
             LoggingUtil.debug(LOG, "recordTokenUsage", 
                 "Agent %s (%s): Input=%d, Output=%d, Total=%d tokens, Cost=$%.6f", 
-                getAgentType(), getProvider(), inputTokens, outputTokens, totalTokens, costDollars);
+                getAgentType(), provider, inputTokens, outputTokens, totalTokens, costDollars);
 
         } catch (Exception e) {
             LoggingUtil.warn(LOG, "recordTokenUsage", 
@@ -560,8 +590,8 @@ public abstract class AbstractConfigurableAgent implements AIAgent {
      * Calculates cost in micro-cents (1/100,000,000 of a dollar) for maximum precision.
      * Uses provider-specific pricing models.
      */
-    private long calculateCostMicroCents(int inputTokens, int outputTokens) {
-        switch (getProvider()) {
+    private long calculateCostMicroCents(AIProvider provider, int inputTokens, int outputTokens) {
+        switch (provider) {
             case OPENAI:
                 // GPT-4o pricing: $2.50 per 1M input tokens, $10.00 per 1M output tokens
                 return (long) (inputTokens * 2.5 + outputTokens * 10.0);
@@ -31,6 +31,7 @@ import com.samjdtechnologies.answer42.model.enums.CitationStyle;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
+import com.samjdtechnologies.answer42.util.StreamingJsonExtractor;
 import com.samjdtechnologies.answer42.model.db.Citation;
 import com.samjdtechnologies.answer42.repository.CitationRepository;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -372,10 +373,11 @@ public class CitationFormatterAgent extends OpenAIBasedAgent {
 
     private List<StructuredCitation> parseCitationStructures(String jsonResponse) {
         try {
-            JsonNode rootNode = OBJECT_MAPPER.readTree(jsonResponse);
+            // The model often wraps the array in prose or a code fence
+            JsonNode rootNode = StreamingJsonExtractor.extractArray(jsonResponse).orElse(null);
             List<StructuredCitation> citations = new ArrayList<>();
             
-            if (rootNode.isArray()) {
+            if (rootNode != null) {
                 for (JsonNode node : rootNode) {
                     StructuredCitation citation = parseSingleCitation(node);
                     if (citation != null) {
@@ -482,7 +484,8 @@ public class CitationFormatterAgent extends OpenAIBasedAgent {
             // Delete existing citations for this paper to avoid duplicates
             citationRepository.deleteByPaperId(paperId);
 
-            // Save structured citations
+            // Save structured citations in one batched write
+            List<Citation> citations = new ArrayList<>(structuredCitations.size());
             for (int i = 0; i < structuredCitations.size(); i++) {
                 StructuredCitation structured = structuredCitations.get(i);
                 String rawText = i < rawCitations.size() ? rawCitations.get(i).getText() : null;
@@ -490,10 +493,9 @@ public class CitationFormatterAgent extends OpenAIBasedAgent {
                 // Convert structured citation to JSON
                 JsonNode citationData = structuredCitationToJson(structured);
                 
-                // Create and save citation entity
-                Citation citation = new Citation(paperId, citationData, rawText);
-                citationRepository.save(citation);
+                citations.add(new Citation(paperId, citationData, rawText));
             }
+            citationRepository.saveAll(citations);
 
             LoggingUtil.info(LOG, "saveCitationsToDatabase", 
                 "Successfully saved %d citations for paper %s", structuredCitations.size(), paperId);
@@ -681,25 +681,36 @@ public class CitationFormatterFallbackAgent extends OllamaBasedAgent {
                 return;
             }
             
-            int savedCount = 0;
             Instant verificationTime = Instant.now();
             
-            // Process each formatted citation
+            // Build every citation first, then write citations and verifications in two batches
+            List<Citation> citations = new ArrayList<>();
+            List<Map<String, Object>> citationSources = new ArrayList<>();
             for (Map<String, Object> citationData : formattedCitations) {
+                Citation citation = createCitationRecord(paper, citationData);
+                if (citation != null) {
+                    citations.add(citation);
+                    citationSources.add(citationData);
+                }
+            }
+            if (citations.isEmpty()) {
+                return;
+            }
+            citationRepository.saveAll(citations);
+            
+            List<CitationVerification> verifications = new ArrayList<>(citations.size());
+            for (int i = 0; i < citations.size(); i++) {
                 try {
-                    Citation savedCitation = saveCitationRecord(paper, citationData);
-                    if (savedCitation != null) {
-                        CitationVerification verification = createCitationVerification(
-                            savedCitation, paper, citationData, verificationTime);
-                        citationVerificationRepository.save(verification);
-                        savedCount++;
-                    }
+                    verifications.add(createCitationVerification(
+                        citations.get(i), paper, citationSources.get(i), verificationTime));
                 } catch (Exception e) {
                     LoggingUtil.warn(LOG, "saveCitationVerifications", 
-                        "Failed to save citation verification for item %s: %s", itemId, e.getMessage());
+                        "Failed to create citation verification for item %s: %s", itemId, e.getMessage());
                     // Continue processing other citations
                 }
             }
+            citationVerificationRepository.saveAll(verifications);
+            int savedCount = verifications.size();
             
             LoggingUtil.info(LOG, "saveCitationVerifications", 
                 "Successfully saved %d citation verification records for paper %s", savedCount, paperId);
@@ -712,13 +723,13 @@ public class CitationFormatterFallbackAgent extends OllamaBasedAgent {
     }
     
     /**
-     * Saves a citation record to the database.
+     * Creates a citation record for saving.
      *
      * @param paper The paper containing the citation
      * @param citationData The citation data from formatting results
-     * @return The saved Citation entity, or null if saving failed
+     * @return The Citation entity, or null if there is no citation text
      */
-    private Citation saveCitationRecord(Paper paper, Map<String, Object> citationData) {
+    private Citation createCitationRecord(Paper paper, Map<String, Object> citationData) {
         try {
             // Extract citation text (formatted or original)
             String formattedCitation = (String) citationData.get("formattedCitation");
@@ -726,7 +737,7 @@ public class CitationFormatterFallbackAgent extends OllamaBasedAgent {
             String citationText = formattedCitation != null ? formattedCitation : originalCitation;
             
             if (citationText == null || citationText.trim().isEmpty()) {
-                LoggingUtil.warn(LOG, "saveCitationRecord", 
+                LoggingUtil.warn(LOG, "createCitationRecord", 
                     "No citation text found for paper %s", paper.getId());
                 return null;
             }
@@ -758,13 +769,11 @@ public class CitationFormatterFallbackAgent extends OllamaBasedAgent {
             JsonNode citationDataNode = objectMapper.valueToTree(structuredData);
             
             // Create citation using constructor
-            Citation citation = new Citation(paper.getId(), citationDataNode, citationText);
-            
-            return citationRepository.save(citation);
+            return new Citation(paper.getId(), citationDataNode, citationText);
             
         } catch (Exception e) {
-            LoggingUtil.error(LOG, "saveCitationRecord", 
-                "Error saving citation record for paper %s", e, paper.getId());
+            LoggingUtil.error(LOG, "createCitationRecord", 
+                "Error creating citation record for paper %s", e, paper.getId());
             return null;
         }
     }
@@ -783,6 +792,7 @@ public class CitationFormatterFallbackAgent extends OllamaBasedAgent {
                                                           Instant verificationTime) {
         CitationVerification verification = new CitationVerification();
         verification.setCitation(citation);
+        verification.setCitationId(citation.getId());
         verification.setPaperId(paper.getId());
         verification.setVerificationDate(verificationTime);
         verification.setVerificationSource("ollama_fallback");
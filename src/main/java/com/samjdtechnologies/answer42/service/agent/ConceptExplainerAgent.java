@@ -28,13 +28,12 @@ import com.samjdtechnologies.answer42.model.concept.ConceptRelationshipMap;
 import com.samjdtechnologies.answer42.model.concept.TechnicalTerm;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.model.db.Paper;
-import com.samjdtechnologies.answer42.model.db.PaperTag;
-import com.samjdtechnologies.answer42.model.db.Tag;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
 import com.samjdtechnologies.answer42.model.enums.EducationLevel;
 import com.samjdtechnologies.answer42.repository.PaperRepository;
 import com.samjdtechnologies.answer42.repository.PaperTagRepository;
 import com.samjdtechnologies.answer42.repository.TagRepository;
+import com.samjdtechnologies.answer42.service.helpers.PaperTagHelper;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
 import com.samjdtechnologies.answer42.util.ConceptResponseParser;
@@ -421,29 +420,9 @@ public class ConceptExplainerAgent extends OpenAIBasedAgent {
                 .limit(30) // Limit to top 30 terms
                 .toList();
             
-            int savedCount = 0;
-            for (String termString : termStrings) {
-                try {
-                    // Find or create tag
-                    Optional<Tag> existingTag = tagRepository.findByNameIgnoreCase(termString);
-                    Tag tag = existingTag.orElseGet(() -> {
-                        Tag newTag = new Tag(termString, "#8B5CF6"); // Purple color for concept tags
-                        return tagRepository.save(newTag);
-                    });
-                    
-                    // Create paper-tag relationship if it doesn't exist
-                    if (!paperTagRepository.existsByIdPaperIdAndIdTagId(paper.getId(), tag.getId())) {
-                        PaperTag paperTag = new PaperTag(paper.getId(), tag.getId());
-                        paperTagRepository.save(paperTag);
-                        savedCount++;
-                    }
-                    
-                } catch (Exception e) {
-                    LoggingUtil.warn(LOG, "saveTechnicalTermsAsTags", 
-                        "Failed to save tag '%s' for paper %s: %s", 
-                        termString, paperId, e.getMessage());
-                }
-            }
+            // Purple color for concept tags
+            int savedCount = PaperTagHelper.tagPaper(
+                tagRepository, paperTagRepository, paper.getId(), termStrings, "#8B5CF6");
             
             LoggingUtil.info(LOG, "saveTechnicalTermsAsTags", 
                 "Successfully saved %d technical terms as tags for paper %s", 
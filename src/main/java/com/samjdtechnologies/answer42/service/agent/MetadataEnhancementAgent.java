@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
@@ -16,7 +17,6 @@ import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samjdtechnologies.answer42.config.AIConfig;
@@ -29,6 +29,7 @@ import com.samjdtechnologies.answer42.repository.MetadataVerificationRepository;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
+import com.samjdtechnologies.answer42.util.StreamingJsonExtractor;
 
 /**
  * Metadata Enhancement Agent - Enriches paper metadata from external sources.
@@ -524,58 +525,50 @@ public class MetadataEnhancementAgent extends OpenAIBasedAgent {
      * Attempts to parse JSON from the AI response.
      */
     private Map<String, Object> parseJsonFromResponse(String response) {
-        try {
-            // Find JSON object in response
-            int jsonStart = response.indexOf('{');
-            int jsonEnd = response.lastIndexOf('}');
-            
-            if (jsonStart != -1 && jsonEnd != -1 && jsonEnd > jsonStart) {
-                String jsonStr = response.substring(jsonStart, jsonEnd + 1);
-                JsonNode jsonNode = objectMapper.readTree(jsonStr);
-                
-                Map<String, Object> metadata = new HashMap<>();
-                
-                // Extract standard fields
-                extractStringField(jsonNode, "title", metadata);
-                extractStringField(jsonNode, "doi", metadata);
-                extractStringField(jsonNode, "journal", metadata);
-                extractStringField(jsonNode, "publisher", metadata);
-                extractStringField(jsonNode, "volume", metadata);
-                extractStringField(jsonNode, "issue", metadata);
-                extractStringField(jsonNode, "pages", metadata);
-                extractStringField(jsonNode, "publicationType", metadata);
-                
-                // Extract numeric fields
-                extractNumericField(jsonNode, "year", metadata);
-                extractNumericField(jsonNode, "citationCount", metadata);
-                
-                // Extract arrays
-                extractArrayField(jsonNode, "authors", metadata);
-                extractArrayField(jsonNode, "conflicts", metadata);
-                extractArrayField(jsonNode, "sources", metadata);
-                
-                // Extract confidence object
-                if (jsonNode.has("confidence") && jsonNode.get("confidence").isObject()) {
-                    JsonNode confidenceNode = jsonNode.get("confidence");
-                    Map<String, Double> confidenceMap = new HashMap<>();
-                    confidenceNode.fieldNames().forEachRemaining(fieldName -> {
-                        JsonNode fieldValue = confidenceNode.get(fieldName);
-                        if (fieldValue.isNumber()) {
-                            confidenceMap.put(fieldName, fieldValue.asDouble());
-                        }
-                    });
-                    metadata.put("confidence", confidenceMap);
+        // Find the first JSON object in the response, skipping prose and code fences
+        Optional<JsonNode> parsed = StreamingJsonExtractor.extractObject(response);
+        if (parsed.isEmpty()) {
+            LoggingUtil.debug(LOG, "parseJsonFromResponse", "No JSON object found in response");
+            return new HashMap<>();
+        }
+        JsonNode jsonNode = parsed.get();
+        
+        Map<String, Object> metadata = new HashMap<>();
+        
+        // Extract standard fields
+        extractStringField(jsonNode, "title", metadata);
+        extractStringField(jsonNode, "doi", metadata);
+        extractStringField(jsonNode, "journal", metadata);
+        extractStringField(jsonNode, "publisher", metadata);
+        extractStringField(jsonNode, "volume", metadata);
+        extractStringField(jsonNode, "issue", metadata);
+        extractStringField(jsonNode, "pages", metadata);
+        extractStringField(jsonNode, "publicationType", metadata);
+        
+        // Extract numeric fields
+        extractNumericField(jsonNode, "year", metadata);
+        extractNumericField(jsonNode, "citationCount", metadata);
+        
+        // Extract arrays
+        extractArrayField(jsonNode, "authors", metadata);
+        extractArrayField(jsonNode, "conflicts", metadata);
+        extractArrayField(jsonNode, "sources", metadata);
+        
+        // Extract confidence object
+        if (jsonNode.has("confidence") && jsonNode.get("confidence").isObject()) {
+            JsonNode confidenceNode = jsonNode.get("confidence");
+            Map<String, Double> confidenceMap = new HashMap<>();
+            confidenceNode.fieldNames().forEachRemaining(fieldName -> {
+                JsonNode fieldValue = confidenceNode.get(fieldName);
+                if (fieldValue.isNumber()) {
+                    confidenceMap.put(fieldName, fieldValue.asDouble());
                 }
-                
-                metadata.put("parseStrategy", "json");
-                return metadata;
-            }
-            
-        } catch (JsonProcessingException e) {
-            LoggingUtil.debug(LOG, "parseJsonFromResponse", "Failed to parse JSON: %s", e.getMessage());
+            });
+            metadata.put("confidence", confidenceMap);
         }
         
-        return new HashMap<>();
+        metadata.put("parseStrategy", "json");
+        return metadata;
     }
     
     /**
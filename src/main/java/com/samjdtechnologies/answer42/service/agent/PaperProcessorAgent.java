@@ -21,14 +21,13 @@ import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.PaperContent;
 import com.samjdtechnologies.answer42.model.db.PaperSection;
-import com.samjdtechnologies.answer42.model.db.PaperTag;
-import com.samjdtechnologies.answer42.model.db.Tag;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
 import com.samjdtechnologies.answer42.repository.PaperContentRepository;
 import com.samjdtechnologies.answer42.repository.PaperRepository;
 import com.samjdtechnologies.answer42.repository.PaperSectionRepository;
 import com.samjdtechnologies.answer42.repository.PaperTagRepository;
 import com.samjdtechnologies.answer42.repository.TagRepository;
+import com.samjdtechnologies.answer42.service.helpers.PaperTagHelper;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
@@ -439,25 +438,12 @@ public class PaperProcessorAgent extends OpenAIBasedAgent {
     private void saveContentTags(Paper paper, StructuredDocument structuredDoc) {
         try {
             List<String> technicalTerms = extractTechnicalTerms(structuredDoc);
+            List<String> tagNames = technicalTerms.stream()
+                .filter(term -> term.length() >= 3 && term.length() <= 50) // Reasonable tag length
+                .toList();
             
-            for (String term : technicalTerms) {
-                if (term.length() >= 3 && term.length() <= 50) { // Reasonable tag length
-                    String normalizedTerm = term.toLowerCase().trim();
-                    
-                    // Find or create tag (system-generated, no user)
-                    Optional<Tag> existingTag = tagRepository.findByNameIgnoreCase(normalizedTerm);
-                    Tag tag = existingTag.orElseGet(() -> {
-                        Tag newTag = new Tag(normalizedTerm, "#6B7280"); // Default color
-                        return tagRepository.save(newTag);
-                    });
-                    
-                    // Create paper-tag relationship if it doesn't exist
-                    if (!paperTagRepository.existsByIdPaperIdAndIdTagId(paper.getId(), tag.getId())) {
-                        PaperTag paperTag = new PaperTag(paper.getId(), tag.getId());
-                        paperTagRepository.save(paperTag);
-                    }
-                }
-            }
+            // System-generated tags (no user), written in batches
+            PaperTagHelper.tagPaper(tagRepository, paperTagRepository, paper.getId(), tagNames, "#6B7280");
             
             LoggingUtil.info(LOG, "saveContentTags", 
                 "Processed %d technical terms for paper %s", technicalTerms.size(), paper.getId());
@@ -2,16 +2,21 @@ package com.samjdtechnologies.answer42.service.agent;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -475,7 +480,8 @@ public class RelatedPaperDiscoveryAgent extends AbstractConfigurableAgent {
 
     /**
      * Saves discovered papers to database and creates relationships.
-     * Uses the actual database schema fields.
+     * Uses the actual database schema fields. Papers without a title are skipped, and a
+     * batch that fails is saved again row by row so one bad paper only loses its own row.
      */
     private int savePaperRelationships(Paper sourcePaper, RelatedPaperDiscoveryResult result) {
         if (result.getDiscoveredPapers() == null || result.getDiscoveredPapers().isEmpty()) {
@@ -486,31 +492,31 @@ public class RelatedPaperDiscoveryAgent extends AbstractConfigurableAgent {
 
         int savedCount = 0;
         try {
+            // Step 1: Save all discovered papers in one batch
+            List<DiscoveredPaper> papers = new ArrayList<>();
             for (DiscoveredPaperResult discoveryPaper : result.getDiscoveredPapers()) {
-                try {
-                    // Step 1: Save discovered paper to database
-                    DiscoveredPaper savedPaper = 
-                        saveDiscoveredPaperToDatabase(sourcePaper, discoveryPaper);
-                    
-                    if (savedPaper != null) {
-                        // Step 2: Create paper relationship
-                        PaperRelationship relationship = createPaperRelationship(sourcePaper, savedPaper);
-                        
-                        if (relationship != null && !relationshipExists(sourcePaper.getId(), savedPaper.getId())) {
-                            paperRelationshipRepository.save(relationship);
-                            savedCount++;
-                            
-                            LoggingUtil.debug(LOG, "savePaperRelationships", 
-                                "Saved relationship: %s -> %s (type: %s)", 
-                                sourcePaper.getId(), savedPaper.getId(), relationship.getRelationshipType());
-                        }
-                    }
-                } catch (Exception e) {
-                    LoggingUtil.warn(LOG, "savePaperRelationships", 
-                        "Failed to save discovered paper %s: %s", 
-                        discoveryPaper.getTitle(), e.getMessage());
+                DiscoveredPaper dbPaper = createDiscoveredPaper(sourcePaper, discoveryPaper);
+                if (dbPaper != null && isSavable(dbPaper)) {
+                    papers.add(dbPaper);
                 }
             }
+            if (papers.isEmpty()) {
+                return 0;
+            }
+            List<DiscoveredPaper> savedPapers = saveAllOrEachRow(discoveredPaperRepository, papers,
+                paper -> paper.setId(null), "discovered papers");
+
+            // Step 2: Create the relationships that don't exist yet, read once per source paper
+            Set<UUID> linkedPaperIds = existingRelationshipTargets(sourcePaper.getId());
+            List<PaperRelationship> relationships = new ArrayList<>();
+            for (DiscoveredPaper savedPaper : savedPapers) {
+                PaperRelationship relationship = createPaperRelationship(sourcePaper, savedPaper);
+                if (relationship != null && linkedPaperIds.add(savedPaper.getId())) {
+                    relationships.add(relationship);
+                }
+            }
+            savedCount = saveAllOrEachRow(paperRelationshipRepository, relationships,
+                relationship -> relationship.setId(null), "paper relationships").size();
             
             LoggingUtil.info(LOG, "savePaperRelationships", 
                 "Successfully saved %d paper relationships for source paper %s", 
@@ -525,9 +531,50 @@ public class RelatedPaperDiscoveryAgent extends AbstractConfigurableAgent {
     }
 
     /**
-     * Saves discovered paper to database using proper field mapping.
+     * Checks the columns the database requires, so a paper missing one does not fail the batch.
      */
-    private com.samjdtechnologies.answer42.model.db.DiscoveredPaper saveDiscoveredPaperToDatabase(
+    private boolean isSavable(DiscoveredPaper paper) {
+        if (paper.getTitle() == null || paper.getTitle().isBlank()) {
+            LoggingUtil.debug(LOG, "isSavable", "Skipping discovered paper %s without a title",
+                paper.getExternalId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Saves the rows in one batch and, if the batch fails, one row at a time, skipping the
+     * rows that fail on their own.
+     *
+     * @return the rows that were saved
+     */
+    private <T> List<T> saveAllOrEachRow(JpaRepository<T, UUID> repository, List<T> rows,
+                                         Consumer<T> clearId, String rowType) {
+        try {
+            return repository.saveAll(rows);
+        } catch (Exception e) {
+            LoggingUtil.warn(LOG, "saveAllOrEachRow", "Batch save of %d %s failed, saving row by row: %s",
+                rows.size(), rowType, e.getMessage());
+        }
+
+        List<T> saved = new ArrayList<>();
+        for (T row : rows) {
+            // The failed batch rolled back, so IDs it generated do not exist
+            clearId.accept(row);
+            try {
+                saved.add(repository.save(row));
+            } catch (Exception e) {
+                LoggingUtil.warn(LOG, "saveAllOrEachRow", "Could not save one of the %s, skipped: %s",
+                    rowType, e.getMessage());
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Creates the discovered paper entity for saving, using proper field mapping.
+     */
+    private com.samjdtechnologies.answer42.model.db.DiscoveredPaper createDiscoveredPaper(
             Paper sourcePaper, DiscoveredPaperResult discoveryPaper) {
         try {
             // Create database entity with proper field mapping
@@ -579,12 +626,11 @@ public class RelatedPaperDiscoveryAgent extends AbstractConfigurableAgent {
             // Set discovery metadata as JSON
             dbPaper.setDiscoveryMetadata(createDiscoveryMetadataJson(discoveryPaper));
             
-            // Save to database
-            return discoveredPaperRepository.save(dbPaper);
+            return dbPaper;
             
         } catch (Exception e) {
-            LoggingUtil.error(LOG, "saveDiscoveredPaperToDatabase", 
-                "Failed to save discovered paper %s", e, discoveryPaper.getTitle());
+            LoggingUtil.error(LOG, "createDiscoveredPaper", 
+                "Failed to map discovered paper %s", e, discoveryPaper.getTitle());
             return null;
         }
     }
@@ -714,17 +760,18 @@ public class RelatedPaperDiscoveryAgent extends AbstractConfigurableAgent {
     }
 
     /**
-     * Checks if relationship already exists.
+     * Gets the IDs of the papers the source paper is already related to.
      */
-    private boolean relationshipExists(UUID sourcePaperId, UUID discoveredPaperId) {
+    private Set<UUID> existingRelationshipTargets(UUID sourcePaperId) {
+        Set<UUID> targets = new HashSet<>();
         try {
-            List<PaperRelationship> existing = paperRelationshipRepository.findBySourcePaperId(sourcePaperId);
-            return existing.stream()
-                    .anyMatch(rel -> rel.getDiscoveredPaperId().equals(discoveredPaperId));
+            for (PaperRelationship existing : paperRelationshipRepository.findBySourcePaperId(sourcePaperId)) {
+                targets.add(existing.getDiscoveredPaperId());
+            }
         } catch (Exception e) {
-            LoggingUtil.warn(LOG, "relationshipExists", "Error checking relationship existence: %s", e.getMessage());
-            return false;
+            LoggingUtil.warn(LOG, "existingRelationshipTargets", "Error checking relationship existence: %s", e.getMessage());
         }
+        return targets;
     }
 
     /**
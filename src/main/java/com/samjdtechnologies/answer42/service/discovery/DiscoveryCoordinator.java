@@ -13,6 +13,7 @@ import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
 import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
 import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+import com.samjdtechnologies.answer42.service.discovery.cache.DiscoveryCache;
 import com.samjdtechnologies.answer42.service.discovery.sources.CrossrefDiscoveryService;
 import com.samjdtechnologies.answer42.service.discovery.sources.PerplexityDiscoveryService;
 import com.samjdtechnologies.answer42.service.discovery.sources.SemanticScholarDiscoveryService;
@@ -22,6 +23,8 @@ import com.samjdtechnologies.answer42.util.LoggingUtil;
 /**
  * Discovery Coordinator - orchestrates multi-source paper discovery.
  * Coordinates parallel discovery from multiple sources and synthesizes results.
+ * Requests go through the DiscoveryCache so that cached results are reused and concurrent
+ * requests for the same paper and configuration share a single discovery run.
  */
 @Service
 public class DiscoveryCoordinator {
@@ -33,26 +36,46 @@ public class DiscoveryCoordinator {
     private final PerplexityDiscoveryService perplexityService;
     private final AISynthesisEngine synthesisEngine;
     private final ThreadConfig threadConfig;
+    private final DiscoveryCache discoveryCache;
 
     public DiscoveryCoordinator(
             CrossrefDiscoveryService crossrefService,
             SemanticScholarDiscoveryService semanticScholarService,
             PerplexityDiscoveryService perplexityService,
             AISynthesisEngine synthesisEngine,
-            ThreadConfig threadConfig) {
+            ThreadConfig threadConfig,
+            DiscoveryCache discoveryCache) {
         this.crossrefService = crossrefService;
         this.semanticScholarService = semanticScholarService;
         this.perplexityService = perplexityService;
         this.synthesisEngine = synthesisEngine;
         this.threadConfig = threadConfig;
+        this.discoveryCache = discoveryCache;
     }
 
     /**
      * Coordinates discovery across multiple sources according to configuration.
+     * Served from cache when possible; concurrent callers for the same paper and
+     * configuration share one in-flight discovery.
      */
     public CompletableFuture<RelatedPaperDiscoveryResult> coordinateDiscovery(
             Paper sourcePaper, DiscoveryConfiguration config) {
         
+        if (discoveryCache == null || sourcePaper.getId() == null) {
+            return executeDiscovery(sourcePaper, config);
+        }
+
+        String configHash = discoveryCache.calculateConfigHash(config);
+        return discoveryCache.getOrLoad(sourcePaper.getId(), configHash, 
+            () -> executeDiscovery(sourcePaper, config));
+    }
+
+    /**
+     * Runs the multi-source discovery and synthesis without consulting the cache.
+     */
+    private CompletableFuture<RelatedPaperDiscoveryResult> executeDiscovery(
+            Paper sourcePaper, DiscoveryConfiguration config) {
+        
         Instant startTime = Instant.now();
         
         LoggingUtil.info(LOG, "coordinateDiscovery", 
@@ -2,13 +2,20 @@ package com.samjdtechnologies.answer42.service.discovery.cache;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -16,10 +23,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.samjdtechnologies.answer42.model.cache.CacheStats;
 import com.samjdtechnologies.answer42.model.cache.CachedDiscoveryResult;
 import com.samjdtechnologies.answer42.model.db.AgentMemoryStore;
+import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
+import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
 import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+import com.samjdtechnologies.answer42.model.events.DiscoveryResultRefreshedEvent;
 import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
@@ -28,6 +42,23 @@ import jakarta.annotation.PostConstruct;
 /**
  * Production-grade multi-level discovery cache with comprehensive monitoring and optimization.
  * Provides in-memory caching with database persistence for discovery result optimization.
+ * 
+ * The in-memory tier is a Caffeine W-TinyLFU cache bounded by the estimated heap weight of
+ * the cached results rather than by entry count, so a handful of multi-megabyte results
+ * cannot push the heap past the configured budget. Entries expire on write (entry TTL) and
+ * after a period without reads (idle timeout), whichever comes first.
+ * 
+ * Concurrent misses for the same paper and configuration are coalesced: the first caller
+ * checks the database tier and, if needed, runs the discovery, while every other caller
+ * shares that single in-flight future.
+ * 
+ * Entries carry a soft TTL and a hard TTL. Past the soft TTL an entry is stale but still
+ * served immediately while a bounded background refresh replaces it; a
+ * DiscoveryResultRefreshedEvent is published when the fresher result lands. Only past the
+ * hard TTL does a lookup become a miss.
+ * 
+ * The database tier stores results through DiscoveryResultCodec (versioned Smile, deflated
+ * when large); rows written as plain JSON by earlier versions are still read.
  */
 @Service
 public class DiscoveryCache {
@@ -35,36 +66,75 @@ public class DiscoveryCache {
     private static final Logger LOG = LoggerFactory.getLogger(DiscoveryCache.class);
 
     // Cache configuration constants
-    private static final Duration DEFAULT_TTL = Duration.ofHours(6);
-    private static final int MAX_CACHE_SIZE = 1000;
+    private static final Duration DEFAULT_TTL = Duration.ofHours(6); // soft TTL
+    private static final Duration STALE_WINDOW = Duration.ofDays(3);  // hard TTL = soft TTL + window
+    private static final int MAX_CONCURRENT_REFRESHES = 2;
+    private static final Duration IDLE_TIMEOUT = Duration.ofHours(2);
+    private static final long DEFAULT_MAX_WEIGHT_BYTES = 128L * 1024 * 1024; // 128 MB
     private static final String CACHE_KEY_PREFIX = "discovery_cache_";
 
-    // In-memory cache
-    private final Map<String, CachedDiscoveryResult> inMemoryCache = new ConcurrentHashMap<>();
+    // Size estimation constants (approximate heap footprint, UTF-16 strings)
+    private static final long BASE_RESULT_OVERHEAD_BYTES = 512;
+    private static final long PER_PAPER_OVERHEAD_BYTES = 256;
+    private static final long PER_STRING_OVERHEAD_BYTES = 40;
+
+    // In-memory cache, bounded by estimated result weight
+    private final Cache<String, CachedDiscoveryResult> inMemoryCache;
+    private final long maxWeightBytes;
+
+    // In-flight discoveries keyed by cache key, shared by concurrent callers
+    private final Map<String, InFlightDiscovery> inFlight = new ConcurrentHashMap<>();
+
+    // Bounds background refreshes so stale serving never floods the discovery sources
+    private final Semaphore refreshPermits = new Semaphore(MAX_CONCURRENT_REFRESHES);
+
+    // Notifies listeners (UI) when a background refresh lands
+    private final ApplicationEventPublisher eventPublisher;
     
     // Database persistence
     private final AgentMemoryStoreRepository memoryRepository;
     
-    // JSON serialization
-    private final ObjectMapper objectMapper;
+    // Versioned binary serialization for the database tier
+    private final DiscoveryResultCodec codec;
     
     // Statistics tracking
     private final CacheStats.StatsUpdater statsUpdater = new CacheStats.StatsUpdater();
 
-    public DiscoveryCache(AgentMemoryStoreRepository memoryRepository, ObjectMapper objectMapper) {
+    public DiscoveryCache(AgentMemoryStoreRepository memoryRepository, ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher) {
+        this(memoryRepository, objectMapper, eventPublisher, DEFAULT_MAX_WEIGHT_BYTES);
+    }
+
+    DiscoveryCache(AgentMemoryStoreRepository memoryRepository, ObjectMapper objectMapper, 
+                   ApplicationEventPublisher eventPublisher, long maxWeightBytes) {
         this.memoryRepository = memoryRepository;
-        this.objectMapper = objectMapper;
+        this.codec = new DiscoveryResultCodec(objectMapper);
+        this.eventPublisher = eventPublisher;
+        this.maxWeightBytes = maxWeightBytes;
+        this.inMemoryCache = Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher((String key, CachedDiscoveryResult value) -> 
+                (int) Math.min(Integer.MAX_VALUE, value.getSizeBytes()))
+            .expireAfter(new DiscoveryEntryExpiry())
+            .evictionListener((String key, CachedDiscoveryResult value, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE && value != null) {
+                    statsUpdater.recordEviction(value.getSizeBytes());
+                }
+            })
+            .recordStats()
+            .build();
     }
 
     @PostConstruct
     public void initialize() {
         LoggingUtil.info(LOG, "initialize", 
-            "Discovery cache initialized with TTL: %s, Max size: %d", 
-            DEFAULT_TTL, MAX_CACHE_SIZE);
+            "Discovery cache initialized with soft TTL: %s, stale window: %s, idle timeout: %s, max weight: %d MB", 
+            DEFAULT_TTL, STALE_WINDOW, IDLE_TIMEOUT, maxWeightBytes / (1024 * 1024));
     }
 
     /**
-     * Get cached discovery result if available and not stale.
+     * Get cached discovery result if available and not past its hard TTL.
+     * Stale entries are returned as-is; use getOrLoad to have them refreshed.
      */
     public Optional<RelatedPaperDiscoveryResult> get(UUID paperId, String configHash) {
         String cacheKey = buildCacheKey(paperId, configHash);
@@ -72,10 +142,10 @@ public class DiscoveryCache {
 
         try {
             // Level 1: Check in-memory cache
-            CachedDiscoveryResult cached = inMemoryCache.get(cacheKey);
+            CachedDiscoveryResult cached = inMemoryCache.getIfPresent(cacheKey);
             if (cached != null && !cached.isExpired()) {
                 cached.recordAccess();
-                statsUpdater.recordHit();
+                recordHit(cached);
                 
                 LoggingUtil.debug(LOG, "get", 
                     "Cache HIT (memory) for paper %s in %dms", 
@@ -84,16 +154,16 @@ public class DiscoveryCache {
             }
 
             // Level 2: Check database cache
-            Optional<RelatedPaperDiscoveryResult> dbResult = getFromDatabase(cacheKey);
-            if (dbResult.isPresent()) {
-                // Store back in memory for faster access
-                store(paperId, configHash, dbResult.get(), DEFAULT_TTL);
-                statsUpdater.recordHit();
+            Optional<CachedDiscoveryResult> dbEntry = getFromDatabase(cacheKey, configHash);
+            if (dbEntry.isPresent()) {
+                // Store back in memory for faster access, keeping the row's TTLs
+                inMemoryCache.put(cacheKey, dbEntry.get());
+                recordHit(dbEntry.get());
                 
                 LoggingUtil.debug(LOG, "get", 
                     "Cache HIT (database) for paper %s in %dms", 
                     paperId, System.currentTimeMillis() - startTime);
-                return dbResult;
+                return Optional.of(dbEntry.get().getResult());
             }
 
             // Cache miss
@@ -111,6 +181,185 @@ public class DiscoveryCache {
         }
     }
 
+    /**
+     * Get cached discovery result, or run the loader exactly once for all concurrent callers.
+     * The returned future is owned by the caller: cancelling it (or letting an orTimeout fire)
+     * releases the caller's reference, and the shared discovery is cancelled once no caller
+     * is waiting for it. Successful results without errors are written to both cache tiers.
+     * A stale entry is returned immediately and a background refresh is started.
+     */
+    public CompletableFuture<RelatedPaperDiscoveryResult> getOrLoad(UUID paperId, String configHash,
+            Supplier<CompletableFuture<RelatedPaperDiscoveryResult>> loader) {
+        String cacheKey = buildCacheKey(paperId, configHash);
+
+        // Level 1: in-memory fast path, no coordination needed
+        CachedDiscoveryResult cached = inMemoryCache.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            cached.recordAccess();
+            recordHit(cached);
+            if (cached.isStale()) {
+                triggerRefresh(cacheKey, paperId, configHash, loader);
+            }
+            return CompletableFuture.completedFuture(cached.getResult());
+        }
+
+        while (true) {
+            InFlightDiscovery existing = inFlight.get(cacheKey);
+            if (existing == null) {
+                InFlightDiscovery created = new InFlightDiscovery();
+                created.acquire();
+                existing = inFlight.putIfAbsent(cacheKey, created);
+                if (existing == null) {
+                    created.getShared().whenComplete((result, error) -> inFlight.remove(cacheKey, created));
+                    CompletableFuture<RelatedPaperDiscoveryResult> view = created.newView();
+                    runFlight(cacheKey, paperId, configHash, created, loader);
+                    return view;
+                }
+            }
+
+            if (existing.acquire()) {
+                statsUpdater.recordCoalesced();
+                LoggingUtil.debug(LOG, "getOrLoad", 
+                    "Joined in-flight discovery for paper %s (%d waiting)", 
+                    paperId, existing.getReferenceCount());
+                return existing.newView();
+            }
+
+            // Abandoned flight that has not been removed yet; retry with a fresh one
+            inFlight.remove(cacheKey, existing);
+        }
+    }
+
+    /**
+     * Executes a flight on the leader's thread: database tier first, then the loader.
+     */
+    private void runFlight(String cacheKey, UUID paperId, String configHash, InFlightDiscovery flight,
+            Supplier<CompletableFuture<RelatedPaperDiscoveryResult>> loader) {
+        try {
+            // Level 2: database tier, checked once per flight rather than once per caller
+            Optional<CachedDiscoveryResult> dbEntry = getFromDatabase(cacheKey, configHash);
+            if (dbEntry.isPresent()) {
+                CachedDiscoveryResult entry = dbEntry.get();
+                inMemoryCache.put(cacheKey, entry);
+                recordHit(entry);
+                flight.complete(entry.getResult(), null);
+                if (entry.isStale()) {
+                    triggerRefresh(cacheKey, paperId, configHash, loader);
+                }
+                return;
+            }
+
+            statsUpdater.recordMiss();
+            if (flight.isAbandoned()) {
+                return;
+            }
+
+            startLoad(flight, paperId, configHash, loader);
+
+        } catch (Exception e) {
+            statsUpdater.recordError();
+            LoggingUtil.error(LOG, "runFlight", 
+                "Discovery flight failed for paper %s: %s", e, paperId, e.getMessage());
+            flight.complete(null, e);
+        }
+    }
+
+    /**
+     * Runs the loader for a flight and writes cacheable results to both tiers
+     * before completing the flight, so callers arriving afterwards hit memory.
+     */
+    private CompletableFuture<RelatedPaperDiscoveryResult> startLoad(InFlightDiscovery flight, UUID paperId, 
+            String configHash, Supplier<CompletableFuture<RelatedPaperDiscoveryResult>> loader) {
+        CompletableFuture<RelatedPaperDiscoveryResult> upstream = loader.get();
+        flight.attachUpstream(upstream);
+        upstream.whenComplete((result, error) -> {
+            if (error == null && isCacheable(result)) {
+                store(paperId, configHash, result);
+            }
+            flight.complete(result, error);
+        });
+        return upstream;
+    }
+
+    /**
+     * Start a background refresh of a stale entry unless one is already running or the
+     * refresh budget is exhausted. The refresh holds its own reference on the flight, so
+     * foreground callers joining it and cancelling cannot abort it.
+     */
+    private void triggerRefresh(String cacheKey, UUID paperId, String configHash,
+            Supplier<CompletableFuture<RelatedPaperDiscoveryResult>> loader) {
+        if (inFlight.containsKey(cacheKey)) {
+            return;
+        }
+        if (!refreshPermits.tryAcquire()) {
+            LoggingUtil.debug(LOG, "triggerRefresh", 
+                "Refresh budget exhausted, serving stale result for paper %s", paperId);
+            return;
+        }
+
+        InFlightDiscovery refresh = new InFlightDiscovery();
+        refresh.acquire();
+        if (inFlight.putIfAbsent(cacheKey, refresh) != null) {
+            refreshPermits.release();
+            return;
+        }
+
+        statsUpdater.recordRefresh();
+        refresh.getShared().whenComplete((result, error) -> {
+            inFlight.remove(cacheKey, refresh);
+            refreshPermits.release();
+            if (error == null && isCacheable(result)) {
+                publishRefresh(paperId, configHash, result);
+            } else {
+                LoggingUtil.warn(LOG, "triggerRefresh", 
+                    "Background refresh failed for paper %s, keeping stale result", paperId);
+            }
+        });
+
+        try {
+            LoggingUtil.debug(LOG, "triggerRefresh", 
+                "Serving stale result and refreshing discovery for paper %s", paperId);
+            startLoad(refresh, paperId, configHash, loader);
+        } catch (Exception e) {
+            statsUpdater.recordError();
+            refresh.complete(null, e);
+        }
+    }
+
+    private void publishRefresh(UUID paperId, String configHash, RelatedPaperDiscoveryResult result) {
+        if (eventPublisher == null) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new DiscoveryResultRefreshedEvent(this, paperId, configHash, result));
+        } catch (Exception e) {
+            LoggingUtil.warn(LOG, "publishRefresh", 
+                "Failed to publish refresh event for paper %s: %s", paperId, e.getMessage());
+        }
+    }
+
+    private void recordHit(CachedDiscoveryResult entry) {
+        if (entry.isStale()) {
+            statsUpdater.recordStaleHit();
+        } else {
+            statsUpdater.recordHit();
+        }
+    }
+
+    /**
+     * Only complete, error-free results are worth sharing across users and restarts.
+     */
+    private boolean isCacheable(RelatedPaperDiscoveryResult result) {
+        return result != null && (result.getErrors() == null || result.getErrors().isEmpty());
+    }
+
+    /**
+     * Number of discoveries currently in flight.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
     /**
      * Store discovery result in cache with default TTL.
      */
@@ -119,7 +368,8 @@ public class DiscoveryCache {
     }
 
     /**
-     * Store discovery result in cache with custom TTL.
+     * Store discovery result in cache with a custom soft TTL.
+     * The entry remains servable (stale) for STALE_WINDOW beyond it.
      */
     public void store(UUID paperId, String configHash, RelatedPaperDiscoveryResult result, Duration ttl) {
         if (result == null) {
@@ -127,30 +377,13 @@ public class DiscoveryCache {
         }
 
         String cacheKey = buildCacheKey(paperId, configHash);
-        Instant expiresAt = Instant.now().plus(ttl);
-        long sizeBytes = estimateResultSize(result);
-
-        CachedDiscoveryResult cached = CachedDiscoveryResult.builder()
-            .result(result)
-            .cachedAt(Instant.now())
-            .expiresAt(expiresAt)
-            .accessCount(1)
-            .lastAccessAt(Instant.now())
-            .sizeBytes(sizeBytes)
-            .sourceHash(configHash)
-            .build();
-
-        // Store in memory cache
-        inMemoryCache.put(cacheKey, cached);
-
-        // Enforce cache size limits
-        if (inMemoryCache.size() > MAX_CACHE_SIZE) {
-            evictOldestEntries();
-        }
+        CachedDiscoveryResult cached = storeInMemory(cacheKey, configHash, result, ttl);
+        Instant expiresAt = cached.getExpiresAt();
+        long sizeBytes = cached.getSizeBytes();
 
         // Store in database cache (async, best effort)
         try {
-            storeInDatabase(cacheKey, result, expiresAt);
+            storeInDatabase(cacheKey, cached);
         } catch (Exception e) {
             statsUpdater.recordError();
             LoggingUtil.warn(LOG, "store", 
@@ -163,6 +396,27 @@ public class DiscoveryCache {
             paperId, sizeBytes, expiresAt);
     }
 
+    /**
+     * Store discovery result in the in-memory tier only; Caffeine enforces the weight bound.
+     */
+    private CachedDiscoveryResult storeInMemory(String cacheKey, String configHash, 
+                                                RelatedPaperDiscoveryResult result, Duration ttl) {
+        Instant now = Instant.now();
+        CachedDiscoveryResult cached = CachedDiscoveryResult.builder()
+            .result(result)
+            .cachedAt(now)
+            .staleAt(now.plus(ttl))
+            .expiresAt(now.plus(ttl).plus(STALE_WINDOW))
+            .accessCount(1)
+            .lastAccessAt(now)
+            .sizeBytes(estimateResultSize(result))
+            .sourceHash(configHash)
+            .build();
+
+        inMemoryCache.put(cacheKey, cached);
+        return cached;
+    }
+
     /**
      * Invalidate cached result for a specific paper and configuration.
      */
@@ -170,7 +424,7 @@ public class DiscoveryCache {
         String cacheKey = buildCacheKey(paperId, configHash);
         
         // Remove from memory cache
-        CachedDiscoveryResult removed = inMemoryCache.remove(cacheKey);
+        CachedDiscoveryResult removed = inMemoryCache.asMap().remove(cacheKey);
         
         // Remove from database cache
         try {
@@ -193,9 +447,8 @@ public class DiscoveryCache {
         String paperPrefix = buildCacheKey(paperId, "");
         
         int removed = 0;
-        for (String key : inMemoryCache.keySet()) {
-            if (key.startsWith(paperPrefix)) {
-                inMemoryCache.remove(key);
+        for (String key : inMemoryCache.asMap().keySet()) {
+            if (key.startsWith(paperPrefix) && inMemoryCache.asMap().remove(key) != null) {
                 removed++;
             }
         }
@@ -208,8 +461,8 @@ public class DiscoveryCache {
      * Clear all cache entries.
      */
     public void clear() {
-        int size = inMemoryCache.size();
-        inMemoryCache.clear();
+        long size = inMemoryCache.estimatedSize();
+        inMemoryCache.invalidateAll();
         statsUpdater.reset();
         
         LoggingUtil.info(LOG, "clear", 
@@ -220,7 +473,8 @@ public class DiscoveryCache {
      * Get comprehensive cache statistics.
      */
     public CacheStats getStats() {
-        int totalEntries = inMemoryCache.size();
+        Collection<CachedDiscoveryResult> entries = inMemoryCache.asMap().values();
+        int totalEntries = entries.size();
         int expiredEntries = 0;
         long totalAccessCount = 0;
         Instant oldestEntry = Instant.now();
@@ -228,7 +482,7 @@ public class DiscoveryCache {
         double totalSizeBytes = 0;
         double totalEfficiency = 0;
 
-        for (CachedDiscoveryResult cached : inMemoryCache.values()) {
+        for (CachedDiscoveryResult cached : entries) {
             if (cached.isExpired()) {
                 expiredEntries++;
             }
@@ -262,6 +516,12 @@ public class DiscoveryCache {
             }
         }
 
+        com.github.benmanes.caffeine.cache.stats.CacheStats memoryStats = inMemoryCache.stats();
+        long estimatedSizeBytes = (long) totalSizeBytes;
+        long weightedSizeBytes = inMemoryCache.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(estimatedSizeBytes))
+            .orElse(estimatedSizeBytes);
+
         return statsUpdater.contributeToStats(CacheStats.builder())
             .totalEntries(totalEntries)
             .validEntries(totalEntries - expiredEntries)
@@ -274,6 +534,10 @@ public class DiscoveryCache {
             .cacheEfficiency(cacheEfficiency)
             .memoryEfficiency(memoryEfficiency)
             .operationsPerSecond(operationsPerSecond)
+            .weightedSizeBytes(weightedSizeBytes)
+            .maxWeightBytes(maxWeightBytes)
+            .memoryHitRate(memoryStats.requestCount() > 0 ? memoryStats.hitRate() * 100.0 : 0.0)
+            .inFlightCount(inFlight.size())
             .build();
     }
 
@@ -299,20 +563,38 @@ public class DiscoveryCache {
         return String.valueOf(Math.abs(configString.hashCode()));
     }
 
+    /**
+     * Calculate cache key hash from a full discovery configuration.
+     * Sources and relationship types are sorted so equal configurations hash equally.
+     */
+    public String calculateConfigHash(DiscoveryConfiguration config) {
+        if (config == null) {
+            return "default";
+        }
+
+        String sources = config.getEnabledSources() == null ? "" : config.getEnabledSources().stream()
+            .map(Enum::name).sorted().collect(Collectors.joining(","));
+        String relationships = config.getTargetRelationshipTypes() == null ? "" 
+            : config.getTargetRelationshipTypes().stream()
+                .map(Enum::name).sorted().collect(Collectors.joining(","));
+
+        String configString = String.format("%s|%s|%s|%s|%s|%s", 
+            sources, relationships, config.getMaxPapersPerSource(), config.getMaxTotalPapers(),
+            config.getMinimumRelevanceScore(), config.isAISynthesisEnabled());
+
+        return String.valueOf(Math.abs(configString.hashCode()));
+    }
+
     /**
      * Scheduled cleanup of expired entries.
-     * Uses existing ThreadConfig scheduler - runs every 30 minutes.
+     * Caffeine expires entries lazily during reads and writes; this runs the pending
+     * maintenance so idle caches release memory too. Runs every 30 minutes.
      */
     @Scheduled(fixedRate = 1800000) // 30 minutes in milliseconds
     public void cleanupExpiredEntries() {
-        Instant now = Instant.now();
-        
-        // Count and remove expired entries
-        long removed = inMemoryCache.entrySet().stream()
-            .filter(entry -> entry.getValue().isExpired(now))
-            .map(Map.Entry::getKey)
-            .peek(key -> inMemoryCache.remove(key))
-            .count();
+        long before = inMemoryCache.estimatedSize();
+        inMemoryCache.cleanUp();
+        long removed = before - inMemoryCache.estimatedSize();
 
         if (removed > 0) {
             LoggingUtil.debug(LOG, "cleanupExpiredEntries", 
@@ -338,11 +620,12 @@ public class DiscoveryCache {
                     stats.getHitRate());
             }
             
-            if (stats.getMemoryUsageMB() > 100.0) {
+            if (stats.getWeightUtilization() > 95.0 && stats.getEvictionRate() > 100.0) {
                 LoggingUtil.warn(LOG, "optimizeCache", 
-                    "High memory usage detected (%.1f MB), performing cleanup", 
-                    stats.getMemoryUsageMB());
-                evictLeastEffectiveEntries();
+                    "Cache at %.1f%% of its %d MB weight budget with %.1f evictions/hour, "
+                    + "consider raising the budget", 
+                    stats.getWeightUtilization(), maxWeightBytes / (1024 * 1024), 
+                    stats.getEvictionRate());
             }
             
         } catch (Exception e) {
@@ -351,85 +634,48 @@ public class DiscoveryCache {
         }
     }
 
-    /**
-     * Evict oldest entries when cache size limit is exceeded.
-     */
-    private void evictOldestEntries() {
-        int targetSize = (int) (MAX_CACHE_SIZE * 0.8); // Remove 20% when limit hit
-        int toRemove = inMemoryCache.size() - targetSize;
-        
-        if (toRemove <= 0) {
-            return;
-        }
-
-        // Find oldest entries and remove them
-        inMemoryCache.entrySet().stream()
-            .sorted((e1, e2) -> e1.getValue().getCachedAt().compareTo(e2.getValue().getCachedAt()))
-            .limit(toRemove)
-            .map(Map.Entry::getKey)
-            .forEach(key -> {
-                inMemoryCache.remove(key);
-                statsUpdater.recordEviction();
-            });
-
-        LoggingUtil.debug(LOG, "evictOldestEntries", 
-            "Evicted %d oldest cache entries", toRemove);
-    }
-
-    /**
-     * Evict least effective entries based on effectiveness score.
-     */
-    private void evictLeastEffectiveEntries() {
-        int targetSize = (int) (inMemoryCache.size() * 0.9); // Remove 10%
-        int toRemove = inMemoryCache.size() - targetSize;
-        
-        if (toRemove <= 0) {
-            return;
-        }
-
-        // Find least effective entries and remove them
-        inMemoryCache.entrySet().stream()
-            .sorted((e1, e2) -> Double.compare(
-                e1.getValue().getEffectivenessScore(), 
-                e2.getValue().getEffectivenessScore()))
-            .limit(toRemove)
-            .map(Map.Entry::getKey)
-            .forEach(key -> {
-                inMemoryCache.remove(key);
-                statsUpdater.recordEviction();
-            });
-
-        LoggingUtil.debug(LOG, "evictLeastEffectiveEntries", 
-            "Evicted %d least effective cache entries", toRemove);
-    }
-
     /**
      * Retrieve from database cache.
      */
-    private Optional<RelatedPaperDiscoveryResult> getFromDatabase(String cacheKey) {
+    private Optional<CachedDiscoveryResult> getFromDatabase(String cacheKey, String configHash) {
         try {
             Optional<AgentMemoryStore> memoryOpt = memoryRepository.findByKey(cacheKey);
             if (memoryOpt.isPresent()) {
                 AgentMemoryStore memory = memoryOpt.get();
                 JsonNode data = memory.getData();
+                Instant now = Instant.now();
                 
-                // Check if cache entry has expired
+                // Check if cache entry is past its hard TTL
+                Instant expiresAt = now.plus(DEFAULT_TTL).plus(STALE_WINDOW);
                 JsonNode expiresAtNode = data.get("expiresAt");
                 if (expiresAtNode != null) {
-                    Instant expiresAt = Instant.parse(expiresAtNode.asText());
-                    if (Instant.now().isAfter(expiresAt)) {
+                    expiresAt = Instant.parse(expiresAtNode.asText());
+                    if (now.isAfter(expiresAt)) {
                         // Entry expired, remove it
                         memoryRepository.delete(memory);
                         return Optional.empty();
                     }
                 }
+
+                // Rows written before soft TTLs existed stay fresh until they expire
+                JsonNode staleAtNode = data.get("staleAt");
+                Instant staleAt = staleAtNode != null ? Instant.parse(staleAtNode.asText()) : expiresAt;
+                JsonNode cachedAtNode = data.get("cachedAt");
+                Instant cachedAt = cachedAtNode != null ? Instant.parse(cachedAtNode.asText()) : now;
                 
-                // Deserialize the result
-                JsonNode resultNode = data.get("result");
-                if (resultNode != null) {
-                    RelatedPaperDiscoveryResult result = objectMapper.treeToValue(
-                        resultNode, RelatedPaperDiscoveryResult.class);
-                    return Optional.of(result);
+                // Deserialize the result (binary payload, or JSON for rows written before the codec)
+                RelatedPaperDiscoveryResult result = codec.readFrom(data);
+                if (result != null) {
+                    return Optional.of(CachedDiscoveryResult.builder()
+                        .result(result)
+                        .cachedAt(cachedAt)
+                        .staleAt(staleAt)
+                        .expiresAt(expiresAt)
+                        .accessCount(1)
+                        .lastAccessAt(now)
+                        .sizeBytes(estimateResultSize(result))
+                        .sourceHash(configHash)
+                        .build());
                 }
             }
         } catch (Exception e) {
@@ -443,17 +689,16 @@ public class DiscoveryCache {
     /**
      * Store in database cache.
      */
-    private void storeInDatabase(String cacheKey, RelatedPaperDiscoveryResult result, Instant expiresAt) {
+    private void storeInDatabase(String cacheKey, CachedDiscoveryResult cached) {
         try {
-            // Serialize the result to JSON
-            JsonNode resultNode = objectMapper.valueToTree(result);
-            
-            // Create cache data structure
+            // Create cache data structure with the binary-encoded result
             ObjectNode cacheData = JsonNodeFactory.instance.objectNode();
-            cacheData.set("result", resultNode);
-            cacheData.put("expiresAt", expiresAt.toString());
-            cacheData.put("cachedAt", Instant.now().toString());
-            cacheData.put("sizeBytes", estimateResultSize(result));
+            int storedBytes = codec.writeTo(cacheData, cached.getResult());
+            cacheData.put("storedBytes", storedBytes);
+            cacheData.put("staleAt", cached.getStaleAt().toString());
+            cacheData.put("expiresAt", cached.getExpiresAt().toString());
+            cacheData.put("cachedAt", cached.getCachedAt().toString());
+            cacheData.put("sizeBytes", cached.getSizeBytes());
             
             // Create or update AgentMemoryStore entry
             Optional<AgentMemoryStore> existingOpt = memoryRepository.findByKey(cacheKey);
@@ -498,17 +743,86 @@ public class DiscoveryCache {
     }
 
     /**
-     * Estimate size of result in bytes for memory management.
+     * Estimate heap size of result in bytes for weight-based eviction.
+     * Walks the result structurally instead of serializing it, so weighing a
+     * multi-megabyte result does not allocate a second copy of it.
      */
-    private long estimateResultSize(RelatedPaperDiscoveryResult result) {
-        try {
-            // Rough estimation based on JSON serialization
-            String json = objectMapper.writeValueAsString(result);
-            return json.getBytes().length;
-        } catch (Exception e) {
-            // Fallback estimation
-            int paperCount = result.getDiscoveredPapers() != null ? result.getDiscoveredPapers().size() : 0;
-            return paperCount * 2048; // Estimate 2KB per paper
+    long estimateResultSize(RelatedPaperDiscoveryResult result) {
+        long size = BASE_RESULT_OVERHEAD_BYTES;
+        size += estimateStrings(result.getWarnings());
+        size += estimateStrings(result.getErrors());
+        if (result.getDiscoveryStatistics() != null) {
+            size += result.getDiscoveryStatistics().size() * (PER_STRING_OVERHEAD_BYTES + 48L);
+        }
+
+        if (result.getDiscoveredPapers() != null) {
+            for (DiscoveredPaperResult paper : result.getDiscoveredPapers()) {
+                size += PER_PAPER_OVERHEAD_BYTES;
+                size += estimateString(paper.getId());
+                size += estimateString(paper.getTitle());
+                size += estimateString(paper.getJournal());
+                size += estimateString(paper.getDoi());
+                size += estimateString(paper.getAbstractText());
+                size += estimateString(paper.getUrl());
+                size += estimateString(paper.getVenue());
+                size += estimateString(paper.getRelationshipDescription());
+                size += estimateStrings(paper.getAuthors());
+                size += estimateStrings(paper.getKeywords());
+                if (paper.getMetadata() != null) {
+                    size += PER_PAPER_OVERHEAD_BYTES;
+                    size += estimateString(paper.getMetadata().getDiscoveryQuery());
+                    size += estimateString(paper.getMetadata().getSearchTermsUsed());
+                    size += estimateString(paper.getMetadata().getProcessingNotes());
+                    if (paper.getMetadata().getSourceSpecificData() != null) {
+                        size += paper.getMetadata().getSourceSpecificData().size() * 128L;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long estimateString(String value) {
+        return value == null ? 0 : PER_STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private static long estimateStrings(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long size = PER_STRING_OVERHEAD_BYTES;
+        for (String value : values) {
+            size += estimateString(value);
+        }
+        return size;
+    }
+
+    /**
+     * Per-entry expiry: an entry lives until its own expiresAt (expire-after-write) but is
+     * dropped earlier if it has not been read for IDLE_TIMEOUT (expire-after-access).
+     */
+    private static final class DiscoveryEntryExpiry implements Expiry<String, CachedDiscoveryResult> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedDiscoveryResult value, long currentTime) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedDiscoveryResult value, 
+                                      long currentTime, long currentDuration) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedDiscoveryResult value, 
+                                    long currentTime, long currentDuration) {
+            return remainingNanos(value);
+        }
+
+        private long remainingNanos(CachedDiscoveryResult value) {
+            long untilExpiry = Duration.between(Instant.now(), value.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, IDLE_TIMEOUT.toNanos()));
         }
     }
 }
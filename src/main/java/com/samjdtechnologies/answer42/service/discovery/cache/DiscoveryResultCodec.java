@@ -0,0 +1,165 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+
+/**
+ * Versioned binary codec for discovery results persisted in the database cache tier.
+ *
+ * Results are encoded as Jackson Smile (with shared string back-references, which pay off
+ * for repeated author names, venues and source labels) behind a four byte header:
+ * magic ("DR"), format version and flags. Payloads above a size threshold are deflated when
+ * that actually makes them smaller. The payload is kept as a single base64 field in the
+ * row's JSON document, so reading a hit no longer materializes the whole result as a tree.
+ *
+ * Rows written before this codec existed carry the result as a plain JSON "result" node
+ * and are still readable.
+ */
+class DiscoveryResultCodec {
+
+    static final int FORMAT_VERSION = 1;
+    static final int FLAG_DEFLATE = 0x01;
+
+    static final String PAYLOAD_FIELD = "payload";
+    static final String CODEC_FIELD = "codec";
+    static final String LEGACY_RESULT_FIELD = "result";
+    static final String CODEC_NAME = "smile";
+
+    private static final byte MAGIC_0 = 'D';
+    private static final byte MAGIC_1 = 'R';
+    private static final int HEADER_BYTES = 4;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 2048;
+
+    private final ObjectReader jsonReader;
+    private final ObjectReader smileReader;
+    private final ObjectWriter smileWriter;
+    private final boolean compressionEnabled;
+    private final int compressionThresholdBytes;
+
+    DiscoveryResultCodec(ObjectMapper jsonMapper) {
+        this(jsonMapper, true, DEFAULT_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    DiscoveryResultCodec(ObjectMapper jsonMapper, boolean compressionEnabled, int compressionThresholdBytes) {
+        // Copy keeps the registered modules (java.time etc.) of the application mapper
+        ObjectMapper smileMapper = jsonMapper.copyWith(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+        // Derived getters (e.g. display helpers) are serialized but have no setter
+        this.jsonReader = jsonMapper.readerFor(RelatedPaperDiscoveryResult.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.smileReader = smileMapper.readerFor(RelatedPaperDiscoveryResult.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.smileWriter = smileMapper.writerFor(RelatedPaperDiscoveryResult.class);
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    /**
+     * Encode a result into the versioned binary format.
+     */
+    byte[] encode(RelatedPaperDiscoveryResult result) throws IOException {
+        byte[] smile = smileWriter.writeValueAsBytes(result);
+
+        byte[] body = smile;
+        int flags = 0;
+        if (compressionEnabled && smile.length >= compressionThresholdBytes) {
+            byte[] deflated = deflate(smile);
+            if (deflated.length < smile.length) {
+                body = deflated;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] encoded = new byte[HEADER_BYTES + body.length];
+        encoded[0] = MAGIC_0;
+        encoded[1] = MAGIC_1;
+        encoded[2] = (byte) FORMAT_VERSION;
+        encoded[3] = (byte) flags;
+        System.arraycopy(body, 0, encoded, HEADER_BYTES, body.length);
+        return encoded;
+    }
+
+    /**
+     * Decode a result from the versioned binary format.
+     *
+     * @throws IOException if the payload is not a discovery result or uses an unknown version
+     */
+    RelatedPaperDiscoveryResult decode(byte[] encoded) throws IOException {
+        if (encoded.length < HEADER_BYTES || encoded[0] != MAGIC_0 || encoded[1] != MAGIC_1) {
+            throw new IOException("Not an encoded discovery result");
+        }
+        int version = encoded[2] & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported discovery result format version " + version);
+        }
+        int flags = encoded[3] & 0xFF;
+
+        InputStream body = new ByteArrayInputStream(encoded, HEADER_BYTES, encoded.length - HEADER_BYTES);
+        if ((flags & FLAG_DEFLATE) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (InputStream in = body) {
+            return smileReader.readValue(in);
+        }
+    }
+
+    /**
+     * Write the encoded result into a cache row document.
+     *
+     * @return number of payload bytes stored (before base64)
+     */
+    int writeTo(ObjectNode row, RelatedPaperDiscoveryResult result) throws IOException {
+        byte[] encoded = encode(result);
+        row.put(CODEC_FIELD, CODEC_NAME);
+        row.put(PAYLOAD_FIELD, Base64.getEncoder().encodeToString(encoded));
+        return encoded.length;
+    }
+
+    /**
+     * Read the result from a cache row document, accepting both binary and legacy JSON rows.
+     *
+     * @return the decoded result, or null if the row carries neither form
+     */
+    RelatedPaperDiscoveryResult readFrom(JsonNode row) throws IOException {
+        JsonNode payload = row.get(PAYLOAD_FIELD);
+        if (payload != null && payload.isTextual()) {
+            return decode(Base64.getDecoder().decode(payload.asText()));
+        }
+
+        JsonNode legacy = row.get(LEGACY_RESULT_FIELD);
+        if (legacy != null && !legacy.isNull()) {
+            return jsonReader.readValue(legacy);
+        }
+        return null;
+    }
+
+    private static byte[] deflate(byte[] input) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+                deflaterOut.write(input);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
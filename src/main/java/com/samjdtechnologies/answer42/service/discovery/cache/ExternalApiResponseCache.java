@@ -0,0 +1,330 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.samjdtechnologies.answer42.model.cache.CachedApiResponse;
+import com.samjdtechnologies.answer42.model.db.AgentMemoryStore;
+import com.samjdtechnologies.answer42.model.enums.ExternalApiEndpoint;
+import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Shared cache of raw Crossref and Semantic Scholar responses, used across papers and users.
+ *
+ * Responses are keyed by endpoint plus the normalized request URL (host, path and sorted
+ * query parameters), held in a weight-bounded in-memory hot tier and persisted in
+ * agent_memory_store so they survive restarts. A response is served without a network
+ * call while it is within its endpoint TTL; afterwards it is revalidated with
+ * If-None-Match / If-Modified-Since, and a 304 simply extends its freshness. When the
+ * origin fails (429, 5xx, timeouts) and a previous response exists, the previous response
+ * is served instead of the error. Other client errors such as 404 or 410 are passed on,
+ * since they describe the request rather than the origin's health.
+ *
+ * Persisted rows are still useful for revalidation after their TTL; the retention service
+ * deletes the ones nobody has refreshed for a long time.
+ */
+public class ExternalApiResponseCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExternalApiResponseCache.class);
+
+    private static final String CACHE_KEY_PREFIX = "http_cache_";
+    private static final long DEFAULT_MAX_WEIGHT_BYTES = 32L * 1024 * 1024; // 32 MB
+    private static final Duration HOT_IDLE_TIMEOUT = Duration.ofHours(6);
+
+    private final RestTemplate restTemplate;
+    private final AgentMemoryStoreRepository memoryRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedApiResponse> hotTier;
+    private final long maxWeightBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidatedCount = new AtomicLong();
+    private final AtomicLong staleServedCount = new AtomicLong();
+
+    public ExternalApiResponseCache(RestTemplate restTemplate, AgentMemoryStoreRepository memoryRepository,
+                                    ObjectMapper objectMapper) {
+        this(restTemplate, memoryRepository, objectMapper, DEFAULT_MAX_WEIGHT_BYTES);
+    }
+
+    ExternalApiResponseCache(RestTemplate restTemplate, AgentMemoryStoreRepository memoryRepository,
+                             ObjectMapper objectMapper, long maxWeightBytes) {
+        this.restTemplate = restTemplate;
+        this.memoryRepository = memoryRepository;
+        // Responses carry many fields we do not model
+        this.objectMapper = objectMapper.copy()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.maxWeightBytes = maxWeightBytes;
+        this.hotTier = Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher((String key, CachedApiResponse value) ->
+                (int) Math.min(Integer.MAX_VALUE, value.estimateSizeBytes()))
+            .expireAfterAccess(HOT_IDLE_TIMEOUT)
+            .build();
+    }
+
+    /**
+     * GET a JSON resource through the cache.
+     *
+     * @param endpoint endpoint classification, which decides the TTL
+     * @param url full request URL
+     * @param headers request headers (User-Agent, Accept, API key)
+     * @param responseType type to bind the JSON body to
+     * @param beforeNetworkCall pacing hook, run only when a request actually goes out
+     * @return the bound body, or null if the origin returned no body
+     * @throws RestClientException if the request fails with a client error, or fails and
+     *         nothing was cached before
+     */
+    public <T> T get(ExternalApiEndpoint endpoint, String url, HttpHeaders headers,
+                     Class<T> responseType, Runnable beforeNetworkCall) throws IOException {
+        String key = buildCacheKey(endpoint, url);
+        CachedApiResponse cached = lookup(key);
+
+        if (cached != null && cached.isFresh()) {
+            hitCount.incrementAndGet();
+            LoggingUtil.debug(LOG, "get", "Response cache HIT for %s %s", endpoint.getEndpointId(), url);
+            return parse(cached.getBody(), responseType);
+        }
+
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.addAll(headers);
+        if (cached != null) {
+            if (cached.getEtag() != null) {
+                requestHeaders.setIfNoneMatch(cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
+
+        beforeNetworkCall.run();
+
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), String.class);
+        } catch (RestClientException e) {
+            if (cached != null && isOriginFailure(e)) {
+                staleServedCount.incrementAndGet();
+                LoggingUtil.warn(LOG, "get",
+                    "Request to %s failed (%s), serving previous response",
+                    endpoint.getEndpointId(), e.getMessage());
+                return parse(cached.getBody(), responseType);
+            }
+            throw e;
+        }
+
+        Instant now = Instant.now();
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+            revalidatedCount.incrementAndGet();
+            CachedApiResponse revalidated = CachedApiResponse.builder()
+                .endpointId(endpoint.getEndpointId())
+                .body(cached.getBody())
+                .etag(Optional.ofNullable(response.getHeaders().getETag()).orElse(cached.getEtag()))
+                .lastModified(Optional.ofNullable(response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED))
+                    .orElse(cached.getLastModified()))
+                .fetchedAt(now)
+                .expiresAt(now.plus(endpoint.getTtl()))
+                .build();
+            store(key, revalidated);
+            LoggingUtil.debug(LOG, "get", "Response cache REVALIDATED for %s %s", endpoint.getEndpointId(), url);
+            return parse(revalidated.getBody(), responseType);
+        }
+
+        missCount.incrementAndGet();
+        String body = response.getBody();
+        if (body == null) {
+            return null;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            store(key, CachedApiResponse.builder()
+                .endpointId(endpoint.getEndpointId())
+                .body(body)
+                .etag(response.getHeaders().getETag())
+                .lastModified(response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED))
+                .fetchedAt(now)
+                .expiresAt(now.plus(endpoint.getTtl()))
+                .build());
+        }
+        return parse(body, responseType);
+    }
+
+    /**
+     * Whether a failed request says the origin is unavailable (unreachable, timed out,
+     * rate limited or erroring), as opposed to rejecting the request itself.
+     */
+    static boolean isOriginFailure(RestClientException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof RestClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * Build the persistent cache key for an endpoint and URL. Query parameter order and
+     * percent-encoding differences do not produce different keys.
+     */
+    String buildCacheKey(ExternalApiEndpoint endpoint, String url) {
+        return CACHE_KEY_PREFIX + sha256(endpoint.getEndpointId() + "|" + normalizeUrl(url));
+    }
+
+    static String normalizeUrl(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+
+        Map<String, List<String>> sortedParams = new TreeMap<>();
+        uri.getQueryParams().forEach((name, values) -> {
+            List<String> decoded = new ArrayList<>();
+            for (String value : values) {
+                decoded.add(value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8));
+            }
+            decoded.sort(null);
+            sortedParams.put(UriUtils.decode(name, StandardCharsets.UTF_8), decoded);
+        });
+
+        StringBuilder normalized = new StringBuilder();
+        if (uri.getHost() != null) {
+            normalized.append(uri.getHost().toLowerCase());
+        }
+        if (uri.getPath() != null) {
+            normalized.append(UriUtils.decode(uri.getPath(), StandardCharsets.UTF_8));
+        }
+        sortedParams.forEach((name, values) ->
+            values.forEach(value -> normalized.append('&').append(name).append('=').append(value)));
+        return normalized.toString();
+    }
+
+    private CachedApiResponse lookup(String key) {
+        CachedApiResponse cached = hotTier.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Optional<AgentMemoryStore> row = memoryRepository.findByKey(key);
+            if (row.isPresent()) {
+                JsonNode data = row.get().getData();
+                cached = CachedApiResponse.builder()
+                    .endpointId(textOrNull(data, "endpointId"))
+                    .body(textOrNull(data, "body"))
+                    .etag(textOrNull(data, "etag"))
+                    .lastModified(textOrNull(data, "lastModified"))
+                    .fetchedAt(Instant.parse(data.get("fetchedAt").asText()))
+                    .expiresAt(Instant.parse(data.get("expiresAt").asText()))
+                    .build();
+                if (cached.getBody() != null) {
+                    hotTier.put(key, cached);
+                    return cached;
+                }
+            }
+        } catch (Exception e) {
+            LoggingUtil.warn(LOG, "lookup", "Failed to read persisted response for key %s: %s", key, e.getMessage());
+        }
+        return null;
+    }
+
+    private void store(String key, CachedApiResponse response) {
+        hotTier.put(key, response);
+
+        try {
+            ObjectNode data = JsonNodeFactory.instance.objectNode();
+            data.put("endpointId", response.getEndpointId());
+            data.put("body", response.getBody());
+            data.put("etag", response.getEtag());
+            data.put("lastModified", response.getLastModified());
+            data.put("fetchedAt", response.getFetchedAt().toString());
+            data.put("expiresAt", response.getExpiresAt().toString());
+
+            Instant now = Instant.now();
+            AgentMemoryStore row = memoryRepository.findByKey(key)
+                .orElseGet(() -> AgentMemoryStore.builder().key(key).createdAt(now).build());
+            row.setData(data);
+            row.setUpdatedAt(now);
+            memoryRepository.save(row);
+        } catch (Exception e) {
+            // The hot tier still has it; persistence is best-effort
+            LoggingUtil.warn(LOG, "store", "Failed to persist response for key %s: %s", key, e.getMessage());
+        }
+    }
+
+    private <T> T parse(String body, Class<T> responseType) throws IOException {
+        if (responseType == String.class) {
+            return responseType.cast(body);
+        }
+        return objectMapper.readValue(body, responseType);
+    }
+
+    private static String textOrNull(JsonNode data, String field) {
+        JsonNode node = data.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get response cache statistics for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        long hits = hitCount.get();
+        long revalidated = revalidatedCount.get();
+        long misses = missCount.get();
+        long total = hits + revalidated + misses;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hitCount", hits);
+        stats.put("revalidatedCount", revalidated);
+        stats.put("missCount", misses);
+        stats.put("staleServedCount", staleServedCount.get());
+        stats.put("networkAvoidedRate", total > 0 ? (double) hits / total : 0.0);
+        stats.put("hotEntries", hotTier.estimatedSize());
+        stats.put("hotWeightBytes", hotTier.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        stats.put("maxWeightBytes", maxWeightBytes);
+        return stats;
+    }
+}
@@ -0,0 +1,100 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+
+/**
+ * A single in-flight discovery shared by every concurrent caller asking for the same
+ * paper and configuration.
+ *
+ * Each caller receives its own view of the shared future and holds one reference.
+ * A caller that cancels (or times out) its view releases its reference; when the last
+ * reference is released before the discovery completes, the upstream discovery is
+ * cancelled and the flight is abandoned so a later caller starts a fresh one.
+ */
+class InFlightDiscovery {
+
+    private static final int ABANDONED = -1;
+
+    private final CompletableFuture<RelatedPaperDiscoveryResult> shared = new CompletableFuture<>();
+    private final AtomicInteger references = new AtomicInteger(0);
+    private volatile CompletableFuture<RelatedPaperDiscoveryResult> upstream;
+
+    /**
+     * Take a reference on this flight.
+     *
+     * @return false if the flight was already abandoned and must not be joined
+     */
+    boolean acquire() {
+        while (true) {
+            int current = references.get();
+            if (current == ABANDONED) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Create a caller-owned view of the shared result. Completing the view early
+     * (cancel, orTimeout, completeExceptionally) releases the caller's reference.
+     */
+    CompletableFuture<RelatedPaperDiscoveryResult> newView() {
+        CompletableFuture<RelatedPaperDiscoveryResult> view = new CompletableFuture<>();
+        shared.whenComplete((result, error) -> {
+            if (error != null) {
+                view.completeExceptionally(error);
+            } else {
+                view.complete(result);
+            }
+        });
+        view.whenComplete((result, error) -> {
+            if (!shared.isDone()) {
+                release();
+            }
+        });
+        return view;
+    }
+
+    void attachUpstream(CompletableFuture<RelatedPaperDiscoveryResult> upstream) {
+        this.upstream = upstream;
+        if (isAbandoned()) {
+            upstream.cancel(true);
+        }
+    }
+
+    void complete(RelatedPaperDiscoveryResult result, Throwable error) {
+        if (error != null) {
+            shared.completeExceptionally(error);
+        } else {
+            shared.complete(result);
+        }
+    }
+
+    boolean isAbandoned() {
+        return references.get() == ABANDONED;
+    }
+
+    int getReferenceCount() {
+        return Math.max(0, references.get());
+    }
+
+    CompletableFuture<RelatedPaperDiscoveryResult> getShared() {
+        return shared;
+    }
+
+    private void release() {
+        if (references.decrementAndGet() == 0 && !shared.isDone()
+                && references.compareAndSet(0, ABANDONED)) {
+            CompletableFuture<RelatedPaperDiscoveryResult> current = upstream;
+            if (current != null) {
+                current.cancel(true);
+            }
+            shared.cancel(true);
+        }
+    }
+}
@@ -4,7 +4,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -13,21 +15,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.google.common.util.concurrent.RateLimiter;
 import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+import com.samjdtechnologies.answer42.model.pipeline.RateLimitSnapshot;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Comprehensive API rate limiting and circuit breaker management for discovery services.
  * Manages rate limits per API provider with intelligent backoff and circuit breaking.
+ * 
+ * This is the central pacing scheduler for all discovery sources: each source has a
+ * {@link PacingBucket} with its sustained rate and burst credits, and permits are handed
+ * out as futures that a timer completes when the reserved slot starts. No thread sleeps
+ * while waiting for pacing, and throughput is bounded per source rather than per thread.
+ * Rate-limit response headers fed in through {@link #updateFromHeaders} pause a source
+ * until its reported reset and adopt the rate the API advertises.
  */
 @Service
 public class APIRateLimitManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(APIRateLimitManager.class);
 
-    // Rate limiters for each API provider
-    private final Map<DiscoverySource, RateLimiter> rateLimiters;
+    // Headroom kept below a rate advertised by the API itself
+    private static final double ADVERTISED_RATE_HEADROOM = 0.9;
+
+    // Pacing buckets for each API provider
+    private final Map<DiscoverySource, PacingBucket> rateLimiters;
     
     // Circuit breakers for fault tolerance
     private final Map<DiscoverySource, CircuitBreakerState> circuitBreakers;
@@ -49,17 +61,18 @@ public class APIRateLimitManager {
      * Initialize rate limiters for each API provider based on their documented limits.
      */
     private void initializeRateLimiters() {
-        // Crossref API: 50 requests per second (generous limit)
+        // Crossref polite pool: 50 requests per second
         rateLimiters.put(DiscoverySource.CROSSREF, 
-            RateLimiter.create(45.0)); // Use 45 to stay safely under limit
+            new PacingBucket(45.0, 10)); // Use 45 to stay safely under limit
 
-        // Semantic Scholar API: 100 requests per 5 minutes = ~0.33 requests per second
+        // Semantic Scholar API: 100 requests per 5 minutes = ~0.33 requests per second.
+        // 10 burst credits + 0.3/s over the 5 minute window stays within 100 requests.
         rateLimiters.put(DiscoverySource.SEMANTIC_SCHOLAR, 
-            RateLimiter.create(0.3)); // Use 0.3 to stay safely under limit
+            new PacingBucket(0.3, 10));
 
         // Perplexity API: Varies by plan, default to conservative 10 requests per minute
         rateLimiters.put(DiscoverySource.PERPLEXITY, 
-            RateLimiter.create(10.0 / 60.0)); // ~0.167 requests per second
+            new PacingBucket(10.0 / 60.0, 2)); // ~0.167 requests per second
 
         LoggingUtil.info(LOG, "initializeRateLimiters", 
             "Initialized rate limiters for %d API providers", rateLimiters.size());
@@ -102,8 +115,8 @@ public class APIRateLimitManager {
         }
 
         // Check rate limiter
-        RateLimiter limiter = rateLimiters.get(source);
-        if (limiter != null && !limiter.tryAcquire()) {
+        PacingBucket limiter = rateLimiters.get(source);
+        if (limiter != null && limiter.tryReserve(0) < 0) {
             LoggingUtil.debug(LOG, "canExecuteImmediately", 
                 "Rate limit exceeded for %s", source);
             return false;
@@ -113,82 +126,94 @@ public class APIRateLimitManager {
     }
 
     /**
-     * Acquire a permit for API access, potentially blocking until available.
+     * Acquire a permit for API access. The returned future completes when the reserved
+     * slot starts; it is completed by a timer, so no thread is held while waiting.
      */
     public CompletableFuture<Void> acquirePermit(DiscoverySource source) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Check circuit breaker
-                CircuitBreakerState breaker = circuitBreakers.get(source);
-                if (breaker != null && !breaker.allowRequest()) {
-                    throw new RateLimitException("Circuit breaker OPEN for " + source);
-                }
-
-                // Acquire rate limit permit (will block if necessary)
-                RateLimiter limiter = rateLimiters.get(source);
-                if (limiter != null) {
-                    double waitTime = limiter.acquire();
-                    if (waitTime > 0) {
-                        LoggingUtil.debug(LOG, "acquirePermit", 
-                            "Waited %.2f seconds for rate limit permit for %s", waitTime, source);
-                    }
-                }
-
-                // Track usage
-                APIUsageTracker tracker = usageTrackers.get(source);
-                if (tracker != null) {
-                    tracker.recordRequest();
-                }
+        // Check circuit breaker
+        CircuitBreakerState breaker = circuitBreakers.get(source);
+        if (breaker != null && !breaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                new RateLimitException("Circuit breaker OPEN for " + source));
+        }
 
-                return null;
+        PacingBucket limiter = rateLimiters.get(source);
+        long waitNanos = limiter != null ? limiter.reserve() : 0L;
+        recordRequest(source);
 
-            } catch (Exception e) {
-                LoggingUtil.error(LOG, "acquirePermit", 
-                    "Failed to acquire permit for %s", e, source);
-                throw new RateLimitException("Failed to acquire permit for " + source, e);
-            }
-        });
+        if (waitNanos > 0) {
+            LoggingUtil.debug(LOG, "acquirePermit", 
+                "Scheduled permit for %s in %d ms", source, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        return completeAfter(waitNanos, null);
     }
 
     /**
-     * Acquire a permit with timeout to avoid indefinite blocking.
+     * Acquire a permit with timeout to avoid indefinite waiting. Completes with false
+     * straight away if no slot starts within the timeout.
      */
     public CompletableFuture<Boolean> acquirePermitWithTimeout(DiscoverySource source, Duration timeout) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Check circuit breaker
-                CircuitBreakerState breaker = circuitBreakers.get(source);
-                if (breaker != null && !breaker.allowRequest()) {
-                    LoggingUtil.debug(LOG, "acquirePermitWithTimeout", 
-                        "Circuit breaker OPEN for %s", source);
-                    return false;
-                }
-
-                // Try to acquire permit within timeout
-                RateLimiter limiter = rateLimiters.get(source);
-                if (limiter != null) {
-                    boolean acquired = limiter.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
-                    if (!acquired) {
-                        LoggingUtil.debug(LOG, "acquirePermitWithTimeout", 
-                            "Failed to acquire permit within %dms for %s", timeout.toMillis(), source);
-                        return false;
-                    }
-                }
+        // Check circuit breaker
+        CircuitBreakerState breaker = circuitBreakers.get(source);
+        if (breaker != null && !breaker.allowRequest()) {
+            LoggingUtil.debug(LOG, "acquirePermitWithTimeout", 
+                "Circuit breaker OPEN for %s", source);
+            return CompletableFuture.completedFuture(false);
+        }
 
-                // Track usage
-                APIUsageTracker tracker = usageTrackers.get(source);
-                if (tracker != null) {
-                    tracker.recordRequest();
-                }
+        // Try to reserve a slot within timeout
+        PacingBucket limiter = rateLimiters.get(source);
+        long waitNanos = limiter != null ? limiter.tryReserve(timeout.toNanos()) : 0L;
+        if (waitNanos < 0) {
+            LoggingUtil.debug(LOG, "acquirePermitWithTimeout", 
+                "Failed to acquire permit within %dms for %s", timeout.toMillis(), source);
+            return CompletableFuture.completedFuture(false);
+        }
 
-                return true;
+        recordRequest(source);
+        return completeAfter(waitNanos, true);
+    }
 
-            } catch (Exception e) {
-                LoggingUtil.error(LOG, "acquirePermitWithTimeout", 
-                    "Failed to acquire permit for %s", e, source);
-                return false;
+    /**
+     * Wait for a permit from a synchronous caller, e.g. just before a blocking HTTP call.
+     * The caller only waits for its own reserved slot; when burst credits are available
+     * it returns immediately.
+     *
+     * @throws RateLimitException if the source's circuit breaker is open
+     */
+    public void awaitPermit(DiscoverySource source) {
+        try {
+            acquirePermit(source).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RateLimitException rateLimitException) {
+                throw rateLimitException;
             }
-        });
+            throw new RateLimitException("Failed to acquire permit for " + source, e.getCause());
+        }
+    }
+
+    /**
+     * Number of requests the source could start right now without waiting.
+     */
+    public int getAvailableBurstCredits(DiscoverySource source) {
+        PacingBucket limiter = rateLimiters.get(source);
+        return limiter != null ? limiter.getAvailableCredits() : Integer.MAX_VALUE;
+    }
+
+    private void recordRequest(DiscoverySource source) {
+        // Track usage
+        APIUsageTracker tracker = usageTrackers.get(source);
+        if (tracker != null) {
+            tracker.recordRequest();
+        }
+    }
+
+    private static <T> CompletableFuture<T> completeAfter(long waitNanos, T value) {
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(value);
+        }
+        Executor timer = CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, Runnable::run);
+        return CompletableFuture.supplyAsync(() -> value, timer);
     }
 
     /**
@@ -280,12 +305,48 @@ public class APIRateLimitManager {
             throw new IllegalArgumentException("Rate limit must be positive");
         }
 
-        rateLimiters.put(source, RateLimiter.create(requestsPerSecond));
+        PacingBucket limiter = rateLimiters.get(source);
+        if (limiter != null) {
+            limiter.setRate(requestsPerSecond);
+        } else {
+            rateLimiters.put(source, new PacingBucket(requestsPerSecond, 1));
+        }
         
         LoggingUtil.info(LOG, "updateRateLimit", 
             "Updated rate limit for %s to %.2f requests/second", source, requestsPerSecond);
     }
 
+    /**
+     * Feed the live quota from a source's rate-limit response headers into its pacing.
+     * Exhausted quota or Retry-After pauses the source until the reported reset; an
+     * advertised limit and window (e.g. Crossref's x-rate-limit-limit / -interval) become
+     * the sustained rate, with some headroom.
+     */
+    public void updateFromHeaders(DiscoverySource source, RateLimitSnapshot snapshot) {
+        PacingBucket limiter = rateLimiters.get(source);
+        if (limiter == null) {
+            return;
+        }
+
+        Instant pauseUntil = snapshot.getPauseUntil();
+        if (pauseUntil != null) {
+            Duration pause = Duration.between(Instant.now(), pauseUntil);
+            if (!pause.isNegative() && !pause.isZero()) {
+                limiter.pauseFor(pause.toNanos());
+                LoggingUtil.info(LOG, "updateFromHeaders", 
+                    "%s quota exhausted, pausing requests for %dms", source, pause.toMillis());
+            }
+        }
+
+        Double advertisedRate = snapshot.getRequestsPerSecond();
+        if (advertisedRate != null) {
+            double targetRate = advertisedRate * ADVERTISED_RATE_HEADROOM;
+            if (Math.abs(targetRate - limiter.getRate()) > 0.01 * limiter.getRate()) {
+                updateRateLimit(source, targetRate);
+            }
+        }
+    }
+
     /**
      * Circuit breaker states.
      */
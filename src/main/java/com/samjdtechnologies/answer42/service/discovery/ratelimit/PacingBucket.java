@@ -0,0 +1,103 @@
+package com.samjdtechnologies.answer42.service.discovery.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free request pacing for a single API source.
+ *
+ * Implements the generic cell rate algorithm: the bucket tracks the theoretical arrival
+ * time of the next request, and a caller reserves a slot by advancing it with a CAS.
+ * Up to {@code burstCredits} requests may run back to back after an idle period; beyond
+ * that, requests are spaced at the sustained rate. Reserving never blocks - it returns how
+ * long the caller has to wait for its slot, so the waiting can be scheduled instead of slept.
+ */
+class PacingBucket {
+
+    private final LongSupplier nanoClock;
+    private final int burstCredits;
+    private final AtomicLong theoreticalArrivalNanos;
+    private volatile long intervalNanos;
+
+    PacingBucket(double requestsPerSecond, int burstCredits) {
+        this(requestsPerSecond, burstCredits, System::nanoTime);
+    }
+
+    PacingBucket(double requestsPerSecond, int burstCredits, LongSupplier nanoClock) {
+        if (burstCredits < 1) {
+            throw new IllegalArgumentException("Burst credits must be at least 1");
+        }
+        this.nanoClock = nanoClock;
+        this.burstCredits = burstCredits;
+        this.theoreticalArrivalNanos = new AtomicLong(nanoClock.getAsLong());
+        setRate(requestsPerSecond);
+    }
+
+    /**
+     * Reserve the next slot unconditionally.
+     *
+     * @return nanoseconds until the reserved slot starts, 0 when it may start now
+     */
+    long reserve() {
+        return tryReserve(Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserve the next slot only if it starts within the given wait.
+     *
+     * @return nanoseconds until the reserved slot starts, or -1 if nothing was reserved
+     */
+    long tryReserve(long maxWaitNanos) {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long interval = intervalNanos;
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, now) + interval;
+            long wait = Math.max(0L, next - now - burstCredits * interval);
+            if (wait > maxWaitNanos) {
+                return -1L;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Hold back every slot until the given delay has passed, e.g. after the API reported
+     * exhausted quota. Burst credits are spent, so requests resume at the sustained rate.
+     */
+    void pauseFor(long delayNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long paused = nanoClock.getAsLong() + delayNanos + (burstCredits - 1) * intervalNanos;
+            if (paused <= current || theoreticalArrivalNanos.compareAndSet(current, paused)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Change the sustained rate; reservations already handed out keep their slots.
+     */
+    void setRate(double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / requestsPerSecond));
+    }
+
+    double getRate() {
+        return 1_000_000_000.0 / intervalNanos;
+    }
+
+    /**
+     * Number of requests that could start right now without waiting.
+     */
+    int getAvailableCredits() {
+        long now = nanoClock.getAsLong();
+        long interval = intervalNanos;
+        long backlog = Math.max(0L, theoreticalArrivalNanos.get() - now);
+        return (int) Math.max(0L, (burstCredits * interval - backlog) / interval);
+    }
+}
@@ -11,24 +11,25 @@ import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import com.samjdtechnologies.answer42.config.ThreadConfig;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
 import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+import com.samjdtechnologies.answer42.model.enums.ExternalApiEndpoint;
 import com.samjdtechnologies.answer42.model.enums.RelationshipType;
+import com.samjdtechnologies.answer42.service.discovery.cache.ExternalApiResponseCache;
+import com.samjdtechnologies.answer42.service.discovery.ratelimit.APIRateLimitManager;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Crossref Discovery Service - integrates with Crossref API for citation network discovery.
  * Provides comprehensive bibliographic discovery through citation analysis and author networks.
+ * Requests go through the shared ExternalApiResponseCache, so overlapping discoveries reuse
+ * responses and only cache misses wait for a Crossref permit from the APIRateLimitManager.
  */
 @Service
 public class CrossrefDiscoveryService {
@@ -38,11 +39,14 @@ public class CrossrefDiscoveryService {
     private static final int DEFAULT_RESULTS_LIMIT = 20;
     private static final String USER_AGENT = "Answer42/1.0 (https://answer42.com; mailto:support@answer42.com)";
 
-    private final RestTemplate restTemplate;
+    private final ExternalApiResponseCache responseCache;
+    private final APIRateLimitManager rateLimitManager;
     private final ThreadConfig threadConfig;
 
-    public CrossrefDiscoveryService(RestTemplate restTemplate, ThreadConfig threadConfig) {
-        this.restTemplate = restTemplate;
+    public CrossrefDiscoveryService(ExternalApiResponseCache responseCache, 
+                                    APIRateLimitManager rateLimitManager, ThreadConfig threadConfig) {
+        this.responseCache = responseCache;
+        this.rateLimitManager = rateLimitManager;
         this.threadConfig = threadConfig;
     }
 
@@ -210,22 +214,16 @@ public class CrossrefDiscoveryService {
         List<DiscoveredPaperResult> citations = new ArrayList<>();
 
         try {
-            // Add rate limiting delay
-            Thread.sleep(100); // Basic rate limiting - 10 requests per second
-
             String url = String.format("%s/works?query=%s&rows=%d&sort=published&order=desc", 
                 CROSSREF_BASE_URL, 
                 java.net.URLEncoder.encode("\"" + doi + "\"", "UTF-8"),
                 Math.min(config.getMaxPapersForSource(DiscoverySource.CROSSREF) / 2, DEFAULT_RESULTS_LIMIT));
 
-            HttpHeaders headers = createCrossrefHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<CrossrefResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, CrossrefResponse.class);
+            CrossrefResponse body = responseCache.get(ExternalApiEndpoint.CROSSREF_WORKS_QUERY, 
+                url, createCrossrefHeaders(), CrossrefResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getMessage() != null) {
-                List<CrossrefWork> works = response.getBody().getMessage().getItems();
+            if (body != null && body.getMessage() != null) {
+                List<CrossrefWork> works = body.getMessage().getItems();
                 
                 for (CrossrefWork work : works) {
                     DiscoveredPaperResult paper = convertToDiscoveredPaper(work, DiscoverySource.CROSSREF);
@@ -273,21 +271,16 @@ public class CrossrefDiscoveryService {
         List<DiscoveredPaperResult> papers = new ArrayList<>();
 
         try {
-            Thread.sleep(100); // Rate limiting
-
             String url = String.format("%s/works?query.author=%s&rows=%d&sort=published&order=desc", 
                 CROSSREF_BASE_URL,
                 java.net.URLEncoder.encode(authorName, "UTF-8"),
                 Math.min(10, config.getMaxPapersForSource(DiscoverySource.CROSSREF) / 4));
 
-            HttpHeaders headers = createCrossrefHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+            CrossrefResponse body = responseCache.get(ExternalApiEndpoint.CROSSREF_WORKS_QUERY, 
+                url, createCrossrefHeaders(), CrossrefResponse.class, this::awaitRateLimitPermit);
 
-            ResponseEntity<CrossrefResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, CrossrefResponse.class);
-
-            if (response.getBody() != null && response.getBody().getMessage() != null) {
-                List<CrossrefWork> works = response.getBody().getMessage().getItems();
+            if (body != null && body.getMessage() != null) {
+                List<CrossrefWork> works = body.getMessage().getItems();
                 
                 for (CrossrefWork work : works) {
                     DiscoveredPaperResult paper = convertToDiscoveredPaper(work, DiscoverySource.CROSSREF);
@@ -312,21 +305,16 @@ public class CrossrefDiscoveryService {
         List<DiscoveredPaperResult> papers = new ArrayList<>();
 
         try {
-            Thread.sleep(100); // Rate limiting
-
             String url = String.format("%s/works?query.container-title=%s&rows=%d&sort=published&order=desc", 
                 CROSSREF_BASE_URL,
                 java.net.URLEncoder.encode(venueName, "UTF-8"),
                 Math.min(15, config.getMaxPapersForSource(DiscoverySource.CROSSREF) / 3));
 
-            HttpHeaders headers = createCrossrefHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<CrossrefResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, CrossrefResponse.class);
+            CrossrefResponse body = responseCache.get(ExternalApiEndpoint.CROSSREF_WORKS_QUERY, 
+                url, createCrossrefHeaders(), CrossrefResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getMessage() != null) {
-                List<CrossrefWork> works = response.getBody().getMessage().getItems();
+            if (body != null && body.getMessage() != null) {
+                List<CrossrefWork> works = body.getMessage().getItems();
                 
                 for (CrossrefWork work : works) {
                     DiscoveredPaperResult paper = convertToDiscoveredPaper(work, DiscoverySource.CROSSREF);
@@ -351,21 +339,16 @@ public class CrossrefDiscoveryService {
         List<DiscoveredPaperResult> papers = new ArrayList<>();
 
         try {
-            Thread.sleep(100); // Rate limiting
-
             String url = String.format("%s/works?query=%s&rows=%d&sort=published&order=desc", 
                 CROSSREF_BASE_URL,
                 java.net.URLEncoder.encode(keywords, "UTF-8"),
                 Math.min(10, config.getMaxPapersForSource(DiscoverySource.CROSSREF) / 4));
 
-            HttpHeaders headers = createCrossrefHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<CrossrefResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, CrossrefResponse.class);
+            CrossrefResponse body = responseCache.get(ExternalApiEndpoint.CROSSREF_WORKS_QUERY, 
+                url, createCrossrefHeaders(), CrossrefResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getMessage() != null) {
-                List<CrossrefWork> works = response.getBody().getMessage().getItems();
+            if (body != null && body.getMessage() != null) {
+                List<CrossrefWork> works = body.getMessage().getItems();
                 
                 for (CrossrefWork work : works) {
                     DiscoveredPaperResult paper = convertToDiscoveredPaper(work, source);
@@ -561,6 +544,13 @@ public class CrossrefDiscoveryService {
         }
     }
 
+    /**
+     * Wait for this request's slot in the shared Crossref polite-pool pacing.
+     */
+    private void awaitRateLimitPermit() {
+        rateLimitManager.awaitPermit(DiscoverySource.CROSSREF);
+    }
+
     /**
      * Create appropriate headers for Crossref API requests.
      */
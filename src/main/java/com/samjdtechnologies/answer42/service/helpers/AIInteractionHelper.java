@@ -2,6 +2,9 @@ package com.samjdtechnologies.answer42.service.helpers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,31 +13,72 @@ import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import com.samjdtechnologies.answer42.config.AIConfig;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.ChatMode;
+import com.samjdtechnologies.answer42.service.pipeline.HedgedRequestExecutor;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
+import jakarta.annotation.PreDestroy;
+
 /**
  * Helper class for AI interactions.
- * Handles prompt creation and interaction with AI models.
+ * Handles prompt creation and interaction with AI models. With hedging enabled, a response
+ * that takes longer than the provider's recent p95 is raced against the next provider in
+ * the hedge order (local Ollama included), and the first answer wins. Hedged calls run on a
+ * small pool of their own; when it is full, responses are fetched without hedging.
  */
 @Component
 public class AIInteractionHelper {
     private static final Logger LOG = LoggerFactory.getLogger(AIInteractionHelper.class);
     
+    private static final int HEDGE_THREADS = 8;
+    
     private final AIConfig aiConfig;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final ThreadPoolTaskExecutor hedgeExecutor = createHedgeExecutor();
+    private final ObjectProvider<ChatClient> ollamaChatClient;
+    
+    @Value("${spring.ai.hedging.provider-order:ANTHROPIC,OPENAI,OLLAMA}")
+    private List<AIProvider> hedgeOrder;
     
     /**
      * Constructor for dependency injection.
      * 
      * @param aiConfig configuration for AI providers
+     * @param hedgedRequestExecutor races slow responses against a second provider when enabled
+     * @param ollamaChatClient local Ollama chat client, if Ollama is enabled
      */
-    public AIInteractionHelper(AIConfig aiConfig) {
+    public AIInteractionHelper(AIConfig aiConfig, HedgedRequestExecutor hedgedRequestExecutor,
+                               @Qualifier("ollamaChatClient") ObjectProvider<ChatClient> ollamaChatClient) {
         this.aiConfig = aiConfig;
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+        this.ollamaChatClient = ollamaChatClient;
+    }
+    
+    private static ThreadPoolTaskExecutor createHedgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ai-hedge-");
+        executor.setCorePoolSize(HEDGE_THREADS);
+        executor.setMaxPoolSize(HEDGE_THREADS);
+        // No queue: a call that finds every thread busy is rejected rather than left waiting
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdown();
     }
     
     /**
@@ -147,36 +191,30 @@ public class AIInteractionHelper {
         LoggingUtil.info(LOG, "getAIResponse", "Getting response from %s with %d messages", 
                 provider, messages.size());
         
-        ChatClient chatClient;
-        
-        // Get the appropriate client based on provider
-        switch (provider) {
-            case ANTHROPIC:
-                chatClient = aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
-                break;
-            case OPENAI:
-                chatClient = aiConfig.openAiChatClient(aiConfig.openAiChatModel(aiConfig.openAiApi()));
-                break;
-            case PERPLEXITY:
-                chatClient = aiConfig.perplexityChatClient(aiConfig.perplexityChatModel(aiConfig.perplexityApi()));
-                break;
-            default:
-                LoggingUtil.warn(LOG, "getAIResponse", "Unknown provider %s, falling back to Anthropic", provider);
-                chatClient = aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
-        }
+        ChatClient chatClient = getChatClient(provider);
         
         try {
-            // Use the fluent API pattern with ChatClient
-            String response = chatClient.prompt()
-                    .messages(messages)
-                    .call()
-                    .content();
+            String response;
+            AIProvider hedgeProvider = hedgedRequestExecutor.isEnabled() ? getHedgeProvider(provider) : null;
+            CompletableFuture<String> primary = hedgeProvider != null ? submitHedgedCall(chatClient, messages) : null;
+            if (primary != null) {
+                ChatClient hedgeClient = getChatClient(hedgeProvider);
+                // A hedge rejected by a full pool fails, and the primary's answer is kept
+                response = hedgedRequestExecutor.execute("chat response",
+                        provider, () -> primary,
+                        hedgeProvider, () -> CompletableFuture.supplyAsync(() -> callChatClient(hedgeClient, messages), hedgeExecutor))
+                    .join();
+            } else {
+                response = callChatClient(chatClient, messages);
+            }
             
             // Clean response from unwanted markers
             response = cleanResponseMarkers(response);
             
             return response;
-        } catch (Exception e) {
+        } catch (Exception caught) {
+            Exception e = caught instanceof CompletionException && caught.getCause() instanceof Exception ?
+                (Exception) caught.getCause() : caught;
             String errorMsg = e.getMessage();
             
             // Check if this is a timeout or connection error
@@ -197,6 +235,84 @@ public class AIInteractionHelper {
         }
     }
     
+    /**
+     * Get the chat client for a provider.
+     * 
+     * @param provider the AI provider
+     * @return the chat client, Anthropic's for providers without one
+     */
+    private ChatClient getChatClient(AIProvider provider) {
+        switch (provider) {
+            case ANTHROPIC:
+                return aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
+            case OPENAI:
+                return aiConfig.openAiChatClient(aiConfig.openAiChatModel(aiConfig.openAiApi()));
+            case PERPLEXITY:
+                return aiConfig.perplexityChatClient(aiConfig.perplexityChatModel(aiConfig.perplexityApi()));
+            case OLLAMA:
+                ChatClient ollama = ollamaChatClient.getIfAvailable();
+                if (ollama != null) {
+                    return ollama;
+                }
+                LoggingUtil.warn(LOG, "getChatClient", "Ollama is not enabled, falling back to Anthropic");
+                return aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
+            default:
+                LoggingUtil.warn(LOG, "getChatClient", "Unknown provider %s, falling back to Anthropic", provider);
+                return aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
+        }
+    }
+    
+    /**
+     * Get the provider to hedge slow responses of the given provider with: the next available
+     * provider after it in the configured hedge order.
+     * 
+     * @param provider the primary AI provider
+     * @return the hedge provider, or null if the provider is not hedged
+     */
+    private AIProvider getHedgeProvider(AIProvider provider) {
+        int index = hedgeOrder.indexOf(provider);
+        if (index < 0) {
+            return null;
+        }
+        for (AIProvider candidate : hedgeOrder.subList(index + 1, hedgeOrder.size())) {
+            if (candidate != AIProvider.OLLAMA || ollamaChatClient.getIfAvailable() != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Start a hedged call on the hedge pool.
+     * 
+     * @param chatClient the chat client to use
+     * @param messages the message history
+     * @return the pending response, or null if the pool is full and the call should not be hedged
+     */
+    private CompletableFuture<String> submitHedgedCall(ChatClient chatClient, List<Message> messages) {
+        try {
+            return CompletableFuture.supplyAsync(() -> callChatClient(chatClient, messages), hedgeExecutor);
+        } catch (RejectedExecutionException e) {
+            LoggingUtil.debug(LOG, "submitHedgedCall", "Hedge pool is full, calling without hedging");
+            return null;
+        }
+    }
+    
+    /**
+     * Send the messages through a chat client.
+     * 
+     * @param chatClient the chat client to use
+     * @param messages the message history
+     * @return the raw response content
+     */
+    private String callChatClient(ChatClient chatClient, List<Message> messages) {
+        // Use the fluent API pattern with ChatClient
+        return chatClient.prompt()
+                .messages(messages)
+                .call()
+                .content();
+    }
+    
     /**
      * Check if an exception is related to timeout or connection issues.
      * 
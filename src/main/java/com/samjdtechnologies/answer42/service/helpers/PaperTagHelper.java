@@ -0,0 +1,87 @@
+package com.samjdtechnologies.answer42.service.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.samjdtechnologies.answer42.model.db.PaperTag;
+import com.samjdtechnologies.answer42.model.db.Tag;
+import com.samjdtechnologies.answer42.repository.PaperTagRepository;
+import com.samjdtechnologies.answer42.repository.TagRepository;
+
+/**
+ * Helper for tagging a paper with the terms the pipeline agents extract.
+ *
+ * Writes in a fixed number of round trips however many terms there are: one lookup of
+ * the existing tags, one batched insert of the missing ones, one lookup of the paper's
+ * current tags and one batched insert of the new links.
+ */
+public final class PaperTagHelper {
+
+    private PaperTagHelper() {
+    }
+
+    /**
+     * Find or create a tag for each name and link the new ones to the paper.
+     *
+     * @param tagRepository the tag repository
+     * @param paperTagRepository the paper-tag repository
+     * @param paperId the paper to tag
+     * @param tagNames the tag names; they are lower-cased and trimmed here
+     * @param color the color for tags that have to be created
+     * @return the number of tags newly linked to the paper
+     */
+    public static int tagPaper(TagRepository tagRepository, PaperTagRepository paperTagRepository,
+                               UUID paperId, Collection<String> tagNames, String color) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : tagNames) {
+            if (name != null && !name.isBlank()) {
+                names.add(name.toLowerCase(Locale.ROOT).trim());
+            }
+        }
+        if (names.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Tag> tagsByName = new HashMap<>();
+        for (Tag tag : tagRepository.findByLowerCaseNameIn(names)) {
+            tagsByName.putIfAbsent(tag.getName().toLowerCase(Locale.ROOT), tag);
+        }
+
+        List<Tag> newTags = new ArrayList<>();
+        for (String name : names) {
+            if (!tagsByName.containsKey(name)) {
+                Tag tag = new Tag(name, color);
+                newTags.add(tag);
+                tagsByName.put(name, tag);
+            }
+        }
+        if (!newTags.isEmpty()) {
+            tagRepository.saveAll(newTags);
+        }
+
+        Set<UUID> linkedTagIds = new HashSet<>();
+        for (PaperTag paperTag : paperTagRepository.findByIdPaperId(paperId)) {
+            linkedTagIds.add(paperTag.getId().getTagId());
+        }
+
+        List<PaperTag> newLinks = new ArrayList<>();
+        for (String name : names) {
+            UUID tagId = tagsByName.get(name).getId();
+            if (linkedTagIds.add(tagId)) {
+                newLinks.add(new PaperTag(paperId, tagId));
+            }
+        }
+        if (!newLinks.isEmpty()) {
+            paperTagRepository.saveAll(newLinks);
+        }
+        return newLinks.size();
+    }
+}
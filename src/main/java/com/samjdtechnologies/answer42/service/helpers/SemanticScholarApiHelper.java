@@ -2,13 +2,17 @@ package com.samjdtechnologies.answer42.service.helpers;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
@@ -18,16 +22,21 @@ import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
 import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+import com.samjdtechnologies.answer42.model.enums.ExternalApiEndpoint;
 import com.samjdtechnologies.answer42.model.enums.RelationshipType;
 import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarAuthor;
 import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarPaper;
 import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarRecommendationsResponse;
 import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarResponse;
+import com.samjdtechnologies.answer42.service.discovery.cache.ExternalApiResponseCache;
+import com.samjdtechnologies.answer42.service.discovery.ratelimit.APIRateLimitManager;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Helper class for Semantic Scholar API interactions.
  * Handles HTTP requests, rate limiting, and data conversion for Semantic Scholar API.
+ * Requests go through the shared ExternalApiResponseCache, so a Semantic Scholar permit from
+ * the APIRateLimitManager is only needed when a request actually reaches the API.
  */
 @Component
 public class SemanticScholarApiHelper {
@@ -35,11 +44,16 @@ public class SemanticScholarApiHelper {
     private static final Logger LOG = LoggerFactory.getLogger(SemanticScholarApiHelper.class);
     private static final String SEMANTIC_SCHOLAR_BASE_URL = "https://api.semanticscholar.org/graph/v1";
     private static final String USER_AGENT = "Answer42/1.0 (https://answer42.com; support@answer42.com)";
-    private static final int RATE_LIMIT_DELAY_MS = 200;
+    private static final int BATCH_LOOKUP_MAX_IDS = 500; // API limit per /paper/batch request
 
+    private final ExternalApiResponseCache responseCache;
+    private final APIRateLimitManager rateLimitManager;
     private final RestTemplate restTemplate;
 
-    public SemanticScholarApiHelper(RestTemplate restTemplate) {
+    public SemanticScholarApiHelper(ExternalApiResponseCache responseCache, 
+                                    APIRateLimitManager rateLimitManager, RestTemplate restTemplate) {
+        this.responseCache = responseCache;
+        this.rateLimitManager = rateLimitManager;
         this.restTemplate = restTemplate;
     }
 
@@ -50,20 +64,15 @@ public class SemanticScholarApiHelper {
         List<DiscoveredPaperResult> searchResults = new ArrayList<>();
 
         try {
-            rateLimitDelay();
-
             String query = java.net.URLEncoder.encode(title, "UTF-8");
             String url = String.format("%s/paper/search?query=%s&limit=%d&fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, query, maxResults);
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<SemanticScholarResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarResponse.class);
+            SemanticScholarResponse body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_SEARCH, 
+                url, createApiHeaders(), SemanticScholarResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getData() != null) {
-                for (SemanticScholarPaper paper : response.getBody().getData()) {
+            if (body != null && body.getData() != null) {
+                for (SemanticScholarPaper paper : body.getData()) {
                     DiscoveredPaperResult discoveredPaper = convertToDiscoveredPaper(paper, DiscoverySource.SEMANTIC_SCHOLAR);
                     if (discoveredPaper != null) {
                         discoveredPaper.setRelationshipType(RelationshipType.SEMANTIC_SIMILARITY);
@@ -87,19 +96,14 @@ public class SemanticScholarApiHelper {
         List<DiscoveredPaperResult> recommendations = new ArrayList<>();
 
         try {
-            rateLimitDelay();
-
             String url = String.format("%s/paper/%s/recommendations?limit=%d&fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, paperId, maxResults);
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<SemanticScholarRecommendationsResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarRecommendationsResponse.class);
+            SemanticScholarRecommendationsResponse body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_RECOMMENDATIONS, 
+                url, createApiHeaders(), SemanticScholarRecommendationsResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getRecommendedPapers() != null) {
-                for (SemanticScholarPaper paper : response.getBody().getRecommendedPapers()) {
+            if (body != null && body.getRecommendedPapers() != null) {
+                for (SemanticScholarPaper paper : body.getRecommendedPapers()) {
                     DiscoveredPaperResult discoveredPaper = convertToDiscoveredPaper(paper, DiscoverySource.SEMANTIC_SCHOLAR);
                     if (discoveredPaper != null) {
                         discoveredPaper.setRelationshipType(RelationshipType.SEMANTIC_SIMILARITY);
@@ -123,19 +127,14 @@ public class SemanticScholarApiHelper {
         List<DiscoveredPaperResult> citations = new ArrayList<>();
 
         try {
-            rateLimitDelay();
-
             String url = String.format("%s/paper/%s/citations?limit=%d&fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, paperId, maxResults);
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<SemanticScholarResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarResponse.class);
+            SemanticScholarResponse body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS, 
+                url, createApiHeaders(), SemanticScholarResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getData() != null) {
-                for (SemanticScholarPaper paper : response.getBody().getData()) {
+            if (body != null && body.getData() != null) {
+                for (SemanticScholarPaper paper : body.getData()) {
                     DiscoveredPaperResult discoveredPaper = convertToDiscoveredPaper(paper, DiscoverySource.SEMANTIC_SCHOLAR);
                     if (discoveredPaper != null) {
                         discoveredPaper.setRelationshipType(RelationshipType.CITES);
@@ -159,19 +158,14 @@ public class SemanticScholarApiHelper {
         List<DiscoveredPaperResult> references = new ArrayList<>();
 
         try {
-            rateLimitDelay();
-
             String url = String.format("%s/paper/%s/references?limit=%d&fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, paperId, maxResults);
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+            SemanticScholarResponse body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_REFERENCES, 
+                url, createApiHeaders(), SemanticScholarResponse.class, this::awaitRateLimitPermit);
 
-            ResponseEntity<SemanticScholarResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarResponse.class);
-
-            if (response.getBody() != null && response.getBody().getData() != null) {
-                for (SemanticScholarPaper paper : response.getBody().getData()) {
+            if (body != null && body.getData() != null) {
+                for (SemanticScholarPaper paper : body.getData()) {
                     DiscoveredPaperResult discoveredPaper = convertToDiscoveredPaper(paper, DiscoverySource.SEMANTIC_SCHOLAR);
                     if (discoveredPaper != null) {
                         discoveredPaper.setRelationshipType(RelationshipType.CITED_BY);
@@ -195,20 +189,15 @@ public class SemanticScholarApiHelper {
         List<DiscoveredPaperResult> papers = new ArrayList<>();
 
         try {
-            rateLimitDelay();
-
             String query = java.net.URLEncoder.encode(String.format("author:%s", authorName), "UTF-8");
             String url = String.format("%s/paper/search?query=%s&limit=%d&fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, query, maxResults);
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<SemanticScholarResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarResponse.class);
+            SemanticScholarResponse body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_SEARCH, 
+                url, createApiHeaders(), SemanticScholarResponse.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null && response.getBody().getData() != null) {
-                for (SemanticScholarPaper paper : response.getBody().getData()) {
+            if (body != null && body.getData() != null) {
+                for (SemanticScholarPaper paper : body.getData()) {
                     DiscoveredPaperResult discoveredPaper = convertToDiscoveredPaper(paper, DiscoverySource.SEMANTIC_SCHOLAR);
                     if (discoveredPaper != null) {
                         discoveredPaper.setRelationshipType(RelationshipType.AUTHOR_NETWORK);
@@ -230,19 +219,14 @@ public class SemanticScholarApiHelper {
      */
     public DiscoveredPaperResult getPaperByDoi(String doi, DiscoveryConfiguration config) {
         try {
-            rateLimitDelay();
-
             String url = String.format("%s/paper/DOI:%s?fields=paperId,title,authors,venue,year,citationCount,influentialCitationCount,publicationDate,abstract,externalIds,url", 
                 SEMANTIC_SCHOLAR_BASE_URL, java.net.URLEncoder.encode(doi, "UTF-8"));
 
-            HttpHeaders headers = createApiHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<SemanticScholarPaper> response = restTemplate.exchange(
-                url, HttpMethod.GET, entity, SemanticScholarPaper.class);
+            SemanticScholarPaper body = responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_PAPER, 
+                url, createApiHeaders(), SemanticScholarPaper.class, this::awaitRateLimitPermit);
 
-            if (response.getBody() != null) {
-                return convertToDiscoveredPaper(response.getBody(), DiscoverySource.SEMANTIC_SCHOLAR);
+            if (body != null) {
+                return convertToDiscoveredPaper(body, DiscoverySource.SEMANTIC_SCHOLAR);
             }
 
         } catch (RestClientException e) {
@@ -257,6 +241,51 @@ public class SemanticScholarApiHelper {
         return null;
     }
 
+    /**
+     * Look up many papers in one request per chunk using the /paper/batch endpoint.
+     * Identifiers use Semantic Scholar's prefixed form, e.g. "DOI:10.1000/xyz" or
+     * "ARXIV:2101.00001".
+     *
+     * @return papers keyed by the identifier they were requested with; unknown ids are absent
+     */
+    public Map<String, SemanticScholarPaper> getPapersByIds(List<String> ids) {
+        Map<String, SemanticScholarPaper> papers = new HashMap<>();
+        List<String> distinctIds = ids.stream().distinct().toList();
+
+        for (int start = 0; start < distinctIds.size(); start += BATCH_LOOKUP_MAX_IDS) {
+            List<String> chunk = distinctIds.subList(start, Math.min(start + BATCH_LOOKUP_MAX_IDS, distinctIds.size()));
+            try {
+                awaitRateLimitPermit();
+
+                String url = String.format("%s/paper/batch?fields=paperId,title,authors,venue,year,externalIds,url", 
+                    SEMANTIC_SCHOLAR_BASE_URL);
+
+                HttpHeaders headers = createApiHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<Map<String, List<String>>> entity = new HttpEntity<>(Map.of("ids", chunk), headers);
+
+                ResponseEntity<List<SemanticScholarPaper>> response = restTemplate.exchange(
+                    url, HttpMethod.POST, entity, new ParameterizedTypeReference<List<SemanticScholarPaper>>() {});
+
+                // Results come back in request order, with null for ids Semantic Scholar does not know
+                List<SemanticScholarPaper> body = response.getBody();
+                if (body != null) {
+                    for (int i = 0; i < Math.min(chunk.size(), body.size()); i++) {
+                        if (body.get(i) != null) {
+                            papers.put(chunk.get(i), body.get(i));
+                        }
+                    }
+                }
+
+            } catch (Exception e) {
+                LoggingUtil.error(LOG, "getPapersByIds", String.format(
+                    "Failed batch lookup of %d papers", chunk.size()), e);
+            }
+        }
+
+        return papers;
+    }
+
     /**
      * Convert Semantic Scholar paper to DiscoveredPaper.
      */
@@ -320,15 +349,10 @@ public class SemanticScholarApiHelper {
     }
 
     /**
-     * Apply rate limiting delay.
+     * Wait for this request's slot in the shared Semantic Scholar pacing.
      */
-    private void rateLimitDelay() {
-        try {
-            Thread.sleep(RATE_LIMIT_DELAY_MS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LoggingUtil.warn(LOG, "rateLimitDelay", "Rate limit delay interrupted", e);
-        }
+    private void awaitRateLimitPermit() {
+        rateLimitManager.awaitPermit(DiscoverySource.SEMANTIC_SCHOLAR);
     }
 
     /**
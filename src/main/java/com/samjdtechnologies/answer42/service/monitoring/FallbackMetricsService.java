@@ -1,5 +1,6 @@
 package com.samjdtechnologies.answer42.service.monitoring;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -30,8 +31,10 @@ public class FallbackMetricsService {
     
     private final Map<String, AtomicLong> fallbackCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> primarySuccessCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> primaryFailureCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> totalRequestCounts = new ConcurrentHashMap<>();
     private final Map<String, Instant> lastFallbackUsage = new ConcurrentHashMap<>();
+    private final Map<String, FallbackReadiness> fallbackReadiness = new ConcurrentHashMap<>();
     
     /**
      * Record a successful primary provider request.
@@ -46,6 +49,19 @@ public class FallbackMetricsService {
                          agentType, provider);
     }
     
+    /**
+     * Record a failed request to a provider, before any fallback is attempted.
+     */
+    public void recordPrimaryFailure(String agentType, AIProvider provider) {
+        String key = buildKey(agentType, provider);
+        primaryFailureCounts.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+        totalRequestCounts.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+        
+        LoggingUtil.debug(logger, "recordPrimaryFailure", 
+                         "Recorded primary failure for agent: %s with provider: %s", 
+                         agentType, provider);
+    }
+    
     /**
      * Record a fallback usage event.
      */
@@ -61,6 +77,51 @@ public class FallbackMetricsService {
                         agentType, primaryProvider, failureReason, result.isSuccess());
     }
     
+    /**
+     * Record an attempt to load a fallback model and keep it resident.
+     * 
+     * @param model the Ollama model
+     * @param loadLatency how long loading took, or the time until the attempt failed
+     * @param success whether the model is now loaded
+     * @param residentUntil when the model unloads unless it is used or pinged again
+     */
+    public void recordFallbackWarmup(String model, Duration loadLatency, boolean success, Instant residentUntil) {
+        Instant now = Instant.now();
+        fallbackReadiness.compute(model, (key, previous) -> {
+            FallbackReadiness.FallbackReadinessBuilder builder = previous != null 
+                ? previous.toBuilder() 
+                : FallbackReadiness.builder().model(model);
+            if (success) {
+                builder.warmups((previous != null ? previous.getWarmups() : 0) + 1)
+                    .residentUntil(residentUntil)
+                    .lastLoadLatency(loadLatency);
+            } else {
+                builder.failedWarmups((previous != null ? previous.getFailedWarmups() : 0) + 1)
+                    .residentUntil(null);
+            }
+            return builder.lastWarmupAt(now).build();
+        });
+        
+        LoggingUtil.debug(logger, "recordFallbackWarmup", 
+                         "Recorded %s warmup of fallback model %s in %dms", 
+                         success ? "successful" : "failed", model, loadLatency.toMillis());
+    }
+    
+    /**
+     * Check whether a fallback model is loaded and can answer without paying load time.
+     */
+    public boolean isFallbackReady(String model) {
+        FallbackReadiness readiness = fallbackReadiness.get(model);
+        return readiness != null && readiness.isReady();
+    }
+    
+    /**
+     * Get readiness of all fallback models that have been warmed up, keyed by model.
+     */
+    public Map<String, FallbackReadiness> getFallbackReadiness() {
+        return new HashMap<>(fallbackReadiness);
+    }
+    
     /**
      * Get fallback rate for a specific agent and provider combination.
      */
@@ -83,6 +144,17 @@ public class FallbackMetricsService {
         return totalRequests > 0 ? (double) primarySuccesses / totalRequests : 0.0;
     }
     
+    /**
+     * Get the rate of failed provider requests for a specific agent and provider combination.
+     */
+    public double getErrorRate(String agentType, AIProvider provider) {
+        String key = buildKey(agentType, provider);
+        long totalRequests = totalRequestCounts.getOrDefault(key, new AtomicLong(0)).get();
+        long failures = primaryFailureCounts.getOrDefault(key, new AtomicLong(0)).get();
+        
+        return totalRequests > 0 ? (double) failures / totalRequests : 0.0;
+    }
+    
     /**
      * Get comprehensive metrics for all agents and providers.
      */
@@ -166,8 +238,10 @@ public class FallbackMetricsService {
     public void resetMetrics() {
         fallbackCounts.clear();
         primarySuccessCounts.clear();
+        primaryFailureCounts.clear();
         totalRequestCounts.clear();
         lastFallbackUsage.clear();
+        fallbackReadiness.clear();
         
         LoggingUtil.info(logger, "resetMetrics", "Fallback metrics reset");
     }
@@ -257,6 +331,24 @@ public class FallbackMetricsService {
         }
     }
     
+    /**
+     * Readiness of a local fallback model.
+     */
+    @Data
+    @lombok.Builder(toBuilder = true)
+    public static class FallbackReadiness {
+        private final String model;
+        private final Instant residentUntil;
+        private final Instant lastWarmupAt;
+        private final Duration lastLoadLatency;
+        private final long warmups;
+        private final long failedWarmups;
+        
+        public boolean isReady() {
+            return residentUntil != null && Instant.now().isBefore(residentUntil);
+        }
+    }
+    
     /**
      * Summary metrics across all agents and providers.
      */
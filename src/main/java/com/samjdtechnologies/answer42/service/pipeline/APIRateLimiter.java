@@ -6,6 +6,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +14,14 @@ import org.springframework.stereotype.Component;
 
 import com.samjdtechnologies.answer42.config.ThreadConfig;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.pipeline.RateLimitSnapshot;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Manages API rate limiting across AI providers to prevent quota exhaustion
  * and ensure fair usage distribution across concurrent operations.
+ * Limits start from the configured defaults and are corrected at runtime from the
+ * providers' rate-limit response headers (see {@link RateLimitHeaderInterceptor}).
  */
 @Component
 public class APIRateLimiter {
@@ -63,6 +67,16 @@ public class APIRateLimiter {
             return CompletableFuture.completedFuture(null);
         }
 
+        // Provider reported exhausted quota: wait for its reset on a timer, not a pool thread
+        Duration pause = limiter.getPauseRemaining();
+        if (!pause.isZero()) {
+            LoggingUtil.debug(LOG, "acquirePermit", 
+                "Provider %s paused for %dms until quota reset", provider, pause.toMillis());
+            Executor afterReset = CompletableFuture.delayedExecutor(pause.toMillis(), TimeUnit.MILLISECONDS, taskExecutor);
+            return CompletableFuture.runAsync(() -> { }, afterReset)
+                .thenCompose(v -> acquirePermit(provider));
+        }
+
         // Try immediate acquisition
         if (limiter.tryAcquire()) {
             LoggingUtil.debug(LOG, "acquirePermit", 
@@ -115,6 +129,25 @@ public class APIRateLimiter {
         }, taskExecutor);
     }
 
+    /**
+     * Feed the live quota from a provider's rate-limit response headers into its limiter.
+     */
+    public void updateFromHeaders(AIProvider provider, RateLimitSnapshot snapshot) {
+        ProviderRateLimiter limiter = rateLimiters.get(provider);
+        if (limiter != null) {
+            limiter.updateFromHeaders(snapshot);
+        }
+    }
+
+    /**
+     * Time until the provider accepts requests again according to its last rate-limit
+     * headers; zero when its quota is not exhausted.
+     */
+    public Duration getPauseRemaining(AIProvider provider) {
+        ProviderRateLimiter limiter = rateLimiters.get(provider);
+        return limiter != null ? limiter.getPauseRemaining() : Duration.ZERO;
+    }
+
     /**
      * Get current rate limiter status for monitoring.
      */
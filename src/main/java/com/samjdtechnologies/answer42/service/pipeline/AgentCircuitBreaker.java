@@ -1,258 +1,403 @@
 package com.samjdtechnologies.answer42.service.pipeline;
 
 import java.time.Duration;
-import java.time.ZonedDateTime;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
-import jakarta.annotation.PreDestroy;
-
 /**
- * Circuit breaker implementation for agent failure protection.
- * Prevents cascade failures when agents become unavailable.
+ * Circuit breaker implementation for AI provider failure protection.
+ * Prevents cascade failures when providers become unavailable.
+ *
+ * State is kept per provider (optionally per provider and model), so every agent that
+ * calls the same provider shares one breaker: once an outage is detected, all of them
+ * fail fast at once instead of each discovering it on its own. The breaker trips on the
+ * failure rate or the slow-call rate over a time-bucketed sliding window rather than on
+ * consecutive failures, and outcomes are recorded lock-free. Listeners are told about
+ * state changes, e.g. to get the local fallback ready once a provider starts failing.
+ *
+ * Provider breakers guard single provider calls (see {@link #executeCall}), not whole agent
+ * runs, and only count failures that say something about the provider: transport errors,
+ * timeouts, 5xx and 429. A rejected prompt or an unparseable answer leaves the breaker alone.
  */
 @Component
 public class AgentCircuitBreaker {
-    
+
     private static final Logger LOG = LoggerFactory.getLogger(AgentCircuitBreaker.class);
-    
-    // Enhanced reliability for OpenAI timeout issues: More tolerant thresholds
-    private static final int FAILURE_THRESHOLD = 5; // Allow more failures before opening (was 3)
-    private static final int SUCCESS_THRESHOLD = 2; // Faster recovery with fewer required successes (was 3)
-    private static final Duration TIMEOUT_DURATION = Duration.ofMinutes(3); // Faster recovery for API issues (was 5)
-    private static final Duration HALF_OPEN_TIMEOUT = Duration.ofSeconds(30); // Standard timeout for API operations (was 45)
-    
-    private final Map<AgentType, CircuitBreakerState> circuitStates = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-    
+
+    // Sliding window: 10 buckets of 30 seconds = last 5 minutes of calls
+    private static final int WINDOW_BUCKETS = 10;
+    private static final long BUCKET_MILLIS = Duration.ofSeconds(30).toMillis();
+    private static final int MINIMUM_CALLS = 5; // Don't judge a provider on fewer calls than this
+    private static final double FAILURE_RATE_THRESHOLD = 0.5;
+    private static final double SLOW_CALL_RATE_THRESHOLD = 0.8;
+    private static final Duration SLOW_CALL_DURATION = Duration.ofSeconds(60); // One provider call, not a whole agent run
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private static final int HALF_OPEN_PERMITTED_CALLS = 2; // Trial calls that must all succeed to close
+
+    private final Map<String, CircuitBreakerState> circuitStates = new ConcurrentHashMap<>();
+    private final List<StateChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongSupplier clock;
+
+    public AgentCircuitBreaker() {
+        this(System::currentTimeMillis);
+    }
+
+    AgentCircuitBreaker(LongSupplier clock) {
+        this.clock = clock;
+    }
+
     /**
-     * Execute an operation with circuit breaker protection.
+     * Execute an operation with the circuit breaker shared by all agents of a provider.
      */
     public <T> CompletableFuture<T> executeWithCircuitBreaker(
-            AgentType agentType, 
+            AIProvider provider,
             Supplier<CompletableFuture<T>> operation) {
-        
-        CircuitBreakerState state = circuitStates.computeIfAbsent(agentType, 
-            k -> new CircuitBreakerState());
-        
-        if (state.isOpen()) {
-            LoggingUtil.warn(LOG, "executeWithCircuitBreaker", 
-                "Circuit breaker is OPEN for agent %s", agentType);
-            return CompletableFuture.failedFuture(
-                new CircuitBreakerOpenException("Agent " + agentType + " is unavailable"));
+        return executeWithCircuitBreaker(provider, null, operation);
+    }
+
+    /**
+     * Execute an operation with the circuit breaker of a specific provider model.
+     */
+    public <T> CompletableFuture<T> executeWithCircuitBreaker(
+            AIProvider provider,
+            String model,
+            Supplier<CompletableFuture<T>> operation) {
+        return execute(breakerKey(provider, model), operation);
+    }
+
+    /**
+     * Make a single synchronous call to a provider through its shared breaker.
+     *
+     * @throws CircuitBreakerOpenException if the breaker does not let the call through
+     */
+    public <T> T executeCall(AIProvider provider, Supplier<T> call) {
+        String key = breakerKey(provider, null);
+        CircuitBreakerState state = getState(key);
+
+        if (!state.tryAcquirePermission(clock.getAsLong())) {
+            LoggingUtil.debug(LOG, "executeCall",
+                "Circuit breaker is %s for %s, failing fast", state.status.get(), key);
+            throw new CircuitBreakerOpenException(key + " is unavailable (circuit " + state.status.get() + ")");
         }
-        
-        if (state.isHalfOpen() && !state.canAttemptCall()) {
-            LoggingUtil.warn(LOG, "executeWithCircuitBreaker", 
-                "Circuit breaker is HALF-OPEN but not ready for agent %s", agentType);
-            return CompletableFuture.failedFuture(
-                new CircuitBreakerOpenException("Agent " + agentType + " is in recovery"));
+
+        long start = clock.getAsLong();
+        try {
+            T result = call.get();
+            long now = clock.getAsLong();
+            state.onResult(now, now - start, false);
+            return result;
+        } catch (RuntimeException e) {
+            if (isProviderFailure(e)) {
+                long now = clock.getAsLong();
+                state.onResult(now, now - start, true);
+                LoggingUtil.debug(LOG, "executeCall", "Recorded failure for %s: %s", key, e.getMessage());
+            } else {
+                state.onIgnored();
+            }
+            throw e;
         }
-        
-        return operation.get()
-            .whenComplete((result, throwable) -> {
-                if (throwable != null) {
-                    state.recordFailure();
-                    LoggingUtil.warn(LOG, "executeWithCircuitBreaker", 
-                        "Recorded failure for agent %s: %s", agentType, throwable.getMessage());
-                } else {
-                    state.recordSuccess();
-                    LoggingUtil.debug(LOG, "executeWithCircuitBreaker", 
-                        "Recorded success for agent %s", agentType);
-                }
-            });
     }
-    
+
     /**
-     * Get the current state of an agent's circuit breaker.
+     * Whether a failed call counts against the provider: transport errors and timeouts,
+     * 5xx responses and 429. Other client errors, parsing failures and the like are the
+     * caller's problem and do not count.
      */
-    public CircuitBreakerStatus getCircuitBreakerStatus(AgentType agentType) {
-        CircuitBreakerState state = circuitStates.get(agentType);
-        if (state == null) {
-            return CircuitBreakerStatus.CLOSED;
-        }
-        
-        if (state.isOpen()) {
-            return CircuitBreakerStatus.OPEN;
-        } else if (state.isHalfOpen()) {
-            return CircuitBreakerStatus.HALF_OPEN;
-        } else {
-            return CircuitBreakerStatus.CLOSED;
+    public static boolean isProviderFailure(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof CircuitBreakerOpenException) {
+                return false;
+            }
+            if (current instanceof TransientAiException
+                    || current instanceof ResourceAccessException
+                    || current instanceof WebClientRequestException
+                    || current instanceof java.io.IOException
+                    || current instanceof java.util.concurrent.TimeoutException
+                    || current instanceof io.netty.handler.timeout.ReadTimeoutException
+                    || current instanceof io.netty.handler.timeout.WriteTimeoutException) {
+                return true;
+            }
+            if (current instanceof RestClientResponseException e) {
+                return isProviderFailureStatus(e.getStatusCode().value());
+            }
+            if (current instanceof WebClientResponseException e) {
+                return isProviderFailureStatus(e.getStatusCode().value());
+            }
+            // Spring AI reports 4xx responses as "<status> - <body>"
+            if (current instanceof NonTransientAiException && current.getMessage() != null) {
+                return current.getMessage().startsWith("429");
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
         }
+        return false;
     }
-    
+
+    private static boolean isProviderFailureStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
     /**
-     * Reset the circuit breaker for an agent (for manual recovery).
+     * Execute an operation with a breaker keyed by agent type, for callers that do not
+     * know which provider the operation uses.
      */
-    public void resetCircuitBreaker(AgentType agentType) {
-        circuitStates.remove(agentType);
-        LoggingUtil.info(LOG, "resetCircuitBreaker", 
-            "Reset circuit breaker for agent %s", agentType);
+    public <T> CompletableFuture<T> executeWithCircuitBreaker(
+            AgentType agentType,
+            Supplier<CompletableFuture<T>> operation) {
+        return execute(agentKey(agentType), operation);
     }
-    
+
     /**
-     * Schedule automatic recovery attempt for an agent (Phase 1 reliability improvement).
-     * This provides proactive recovery instead of waiting for the next request.
+     * Register a listener for breaker state changes.
      */
-    public void scheduleAutomaticRecovery(AgentType agentType) {
-        CircuitBreakerState state = circuitStates.get(agentType);
-        if (state == null || !state.isOpen()) {
-            return; // No need to schedule recovery
-        }
-        
-        LoggingUtil.info(LOG, "scheduleAutomaticRecovery", 
-            "Scheduling automatic recovery for agent %s in %d minutes", 
-            agentType, TIMEOUT_DURATION.toMinutes());
-        
-        scheduler.schedule(() -> {
+    public void addStateChangeListener(StateChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void notifyStateChange(String key, CircuitBreakerStatus from, CircuitBreakerStatus to) {
+        for (StateChangeListener listener : listeners) {
             try {
-                CircuitBreakerState currentState = circuitStates.get(agentType);
-                if (currentState != null && currentState.isOpen()) {
-                    LoggingUtil.info(LOG, "scheduleAutomaticRecovery", 
-                        "Attempting automatic recovery for agent %s", agentType);
-                    
-                    // Transition to half-open to allow testing
-                    synchronized (currentState) {
-                        if (currentState.status == CircuitBreakerStatus.OPEN && 
-                            currentState.shouldTransitionToHalfOpen()) {
-                            currentState.status = CircuitBreakerStatus.HALF_OPEN;
-                            LoggingUtil.info(LOG, "scheduleAutomaticRecovery", 
-                                "Transitioned agent %s to HALF_OPEN for recovery testing", agentType);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                LoggingUtil.error(LOG, "scheduleAutomaticRecovery", 
-                    "Error during automatic recovery for agent %s: %s", agentType, e.getMessage());
+                listener.onStateChange(key, from, to);
+            } catch (RuntimeException e) {
+                LoggingUtil.warn(LOG, "notifyStateChange",
+                    "Circuit breaker listener failed for %s %s -> %s: %s", key, from, to, e.getMessage());
             }
-        }, TIMEOUT_DURATION.toMillis(), TimeUnit.MILLISECONDS);
+        }
     }
-    
-    /**
-     * Get circuit breaker statistics for monitoring and debugging.
-     */
-    public Map<AgentType, CircuitBreakerStats> getCircuitBreakerStats() {
-        Map<AgentType, CircuitBreakerStats> stats = new ConcurrentHashMap<>();
-        
-        circuitStates.forEach((agentType, state) -> {
-            synchronized (state) {
-                stats.put(agentType, new CircuitBreakerStats(
-                    state.status,
-                    state.failureCount,
-                    state.successCount,
-                    state.lastFailureTime,
-                    state.lastAttemptTime
-                ));
+
+    private CircuitBreakerState getState(String key) {
+        return circuitStates.computeIfAbsent(key, k -> new CircuitBreakerState(k, this::notifyStateChange));
+    }
+
+    private <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> operation) {
+        CircuitBreakerState state = getState(key);
+
+        if (!state.tryAcquirePermission(clock.getAsLong())) {
+            LoggingUtil.debug(LOG, "executeWithCircuitBreaker",
+                "Circuit breaker is %s for %s, failing fast", state.status.get(), key);
+            return CompletableFuture.failedFuture(
+                new CircuitBreakerOpenException(key + " is unavailable (circuit " + state.status.get() + ")"));
+        }
+
+        long start = clock.getAsLong();
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            state.onResult(clock.getAsLong(), 0, true);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, throwable) -> {
+            long now = clock.getAsLong();
+            state.onResult(now, now - start, throwable != null);
+            if (throwable != null) {
+                LoggingUtil.debug(LOG, "executeWithCircuitBreaker",
+                    "Recorded failure for %s: %s", key, throwable.getMessage());
             }
         });
-        
-        return stats;
     }
-    
+
     /**
-     * Cleanup method called when the application shuts down.
+     * Whether calls to the provider are currently let through.
      */
-    @PreDestroy
-    public void shutdown() {
-        LoggingUtil.info(LOG, "shutdown", "Shutting down circuit breaker scheduler");
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+    public boolean isCallPermitted(AIProvider provider) {
+        return getCircuitBreakerStatus(provider) != CircuitBreakerStatus.OPEN;
+    }
+
+    /**
+     * Get the current state of a provider's circuit breaker.
+     */
+    public CircuitBreakerStatus getCircuitBreakerStatus(AIProvider provider) {
+        return getStatus(breakerKey(provider, null));
+    }
+
+    /**
+     * Get the current state of an agent-keyed circuit breaker.
+     */
+    public CircuitBreakerStatus getCircuitBreakerStatus(AgentType agentType) {
+        return getStatus(agentKey(agentType));
+    }
+
+    private CircuitBreakerStatus getStatus(String key) {
+        CircuitBreakerState state = circuitStates.get(key);
+        return state == null ? CircuitBreakerStatus.CLOSED : state.currentStatus(clock.getAsLong());
+    }
+
+    /**
+     * Reset the circuit breaker for a provider (for manual recovery).
+     */
+    public void resetCircuitBreaker(AIProvider provider) {
+        circuitStates.remove(breakerKey(provider, null));
+        LoggingUtil.info(LOG, "resetCircuitBreaker",
+            "Reset circuit breaker for provider %s", provider);
+    }
+
+    /**
+     * Reset an agent-keyed circuit breaker (for manual recovery).
+     */
+    public void resetCircuitBreaker(AgentType agentType) {
+        circuitStates.remove(agentKey(agentType));
+        LoggingUtil.info(LOG, "resetCircuitBreaker",
+            "Reset circuit breaker for agent %s", agentType);
+    }
+
+    /**
+     * Get circuit breaker statistics for monitoring and debugging, keyed by breaker key.
+     */
+    public Map<String, CircuitBreakerStats> getCircuitBreakerStats() {
+        Map<String, CircuitBreakerStats> stats = new ConcurrentHashMap<>();
+        long now = clock.getAsLong();
+
+        circuitStates.forEach((key, state) -> {
+            SlidingWindowMetrics.Snapshot window = state.window.snapshot(now);
+            long openedAt = state.openedAt.get();
+            stats.put(key, new CircuitBreakerStats(
+                state.currentStatus(now),
+                window.calls(),
+                window.failureRate(),
+                window.slowCallRate(),
+                openedAt > 0 ? Instant.ofEpochMilli(openedAt) : null
+            ));
+        });
+
+        return stats;
+    }
+
+    private static String breakerKey(AIProvider provider, String model) {
+        return model == null || model.isBlank() ? provider.name() : provider.name() + ":" + model;
+    }
+
+    private static String agentKey(AgentType agentType) {
+        return "agent:" + agentType.name();
     }
-    
+
     /**
-     * Internal state tracking for circuit breaker.
+     * Internal state tracking for one circuit breaker. Transitions are CAS-based.
      */
     private static class CircuitBreakerState {
-        private int failureCount = 0;
-        private int successCount = 0;
-        private ZonedDateTime lastFailureTime;
-        private ZonedDateTime lastAttemptTime;
-        private CircuitBreakerStatus status = CircuitBreakerStatus.CLOSED;
-        
-        public synchronized void recordFailure() {
-            failureCount++;
-            successCount = 0; // Reset success count on any failure
-            lastFailureTime = ZonedDateTime.now();
-            
-            if (failureCount >= FAILURE_THRESHOLD) {
-                status = CircuitBreakerStatus.OPEN;
+        private final String key;
+        private final SlidingWindowMetrics window = new SlidingWindowMetrics(WINDOW_BUCKETS, BUCKET_MILLIS);
+        private final AtomicReference<CircuitBreakerStatus> status = new AtomicReference<>(CircuitBreakerStatus.CLOSED);
+        private final AtomicLong openedAt = new AtomicLong(0);
+        private final AtomicInteger halfOpenCalls = new AtomicInteger(0);
+        private final AtomicInteger halfOpenSuccesses = new AtomicInteger(0);
+        private final StateChangeListener listener;
+
+        CircuitBreakerState(String key, StateChangeListener listener) {
+            this.key = key;
+            this.listener = listener;
+        }
+
+        boolean tryAcquirePermission(long now) {
+            switch (currentStatus(now)) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return halfOpenCalls.incrementAndGet() <= HALF_OPEN_PERMITTED_CALLS;
+                default:
+                    return false;
             }
         }
-        
-        public synchronized void recordSuccess() {
-            successCount++;
-            
-            if (status == CircuitBreakerStatus.HALF_OPEN) {
-                // Require multiple consecutive successes to close circuit from half-open
-                if (successCount >= SUCCESS_THRESHOLD) {
-                    status = CircuitBreakerStatus.CLOSED;
-                    failureCount = 0;
-                    successCount = 0; // Reset success count
+
+        /**
+         * Current status, moving OPEN to HALF_OPEN once the open duration has passed.
+         */
+        CircuitBreakerStatus currentStatus(long now) {
+            CircuitBreakerStatus current = status.get();
+            if (current == CircuitBreakerStatus.OPEN && now - openedAt.get() >= OPEN_DURATION.toMillis()) {
+                halfOpenCalls.set(0);
+                halfOpenSuccesses.set(0);
+                if (status.compareAndSet(CircuitBreakerStatus.OPEN, CircuitBreakerStatus.HALF_OPEN)) {
+                    LoggingUtil.info(LOG, "currentStatus",
+                        "Circuit breaker for %s is HALF_OPEN, allowing %d trial calls", key, HALF_OPEN_PERMITTED_CALLS);
+                    listener.onStateChange(key, CircuitBreakerStatus.OPEN, CircuitBreakerStatus.HALF_OPEN);
                 }
-            } else if (status == CircuitBreakerStatus.CLOSED) {
-                // Reset failure count on successful operations
-                failureCount = Math.max(0, failureCount - 1);
-                // Reset success count in closed state since we're tracking consecutive failures
-                successCount = 0;
+                return status.get();
             }
+            return current;
         }
-        
-        public synchronized boolean isOpen() {
-            if (status == CircuitBreakerStatus.OPEN && shouldTransitionToHalfOpen()) {
-                status = CircuitBreakerStatus.HALF_OPEN;
-                return false;
+
+        /**
+         * A call that neither failed nor succeeded as far as the provider is concerned gives
+         * back its trial permit.
+         */
+        void onIgnored() {
+            if (status.get() == CircuitBreakerStatus.HALF_OPEN) {
+                halfOpenCalls.decrementAndGet();
             }
-            return status == CircuitBreakerStatus.OPEN;
         }
-        
-        public synchronized boolean isHalfOpen() {
-            return status == CircuitBreakerStatus.HALF_OPEN;
-        }
-        
-        public synchronized boolean canAttemptCall() {
-            if (status != CircuitBreakerStatus.HALF_OPEN) {
-                return true;
+
+        void onResult(long now, long durationMillis, boolean failure) {
+            boolean slow = durationMillis >= SLOW_CALL_DURATION.toMillis();
+            CircuitBreakerStatus current = status.get();
+
+            if (current == CircuitBreakerStatus.HALF_OPEN) {
+                if (failure || slow) {
+                    open(CircuitBreakerStatus.HALF_OPEN, now, "trial call failed");
+                } else if (halfOpenSuccesses.incrementAndGet() >= HALF_OPEN_PERMITTED_CALLS
+                        && status.compareAndSet(CircuitBreakerStatus.HALF_OPEN, CircuitBreakerStatus.CLOSED)) {
+                    window.reset();
+                    LoggingUtil.info(LOG, "onResult", "Circuit breaker for %s is CLOSED again", key);
+                    listener.onStateChange(key, CircuitBreakerStatus.HALF_OPEN, CircuitBreakerStatus.CLOSED);
+                }
+                return;
             }
-            
-            ZonedDateTime now = ZonedDateTime.now();
-            if (lastAttemptTime == null || 
-                Duration.between(lastAttemptTime, now).compareTo(HALF_OPEN_TIMEOUT) > 0) {
-                lastAttemptTime = now;
-                return true;
+
+            window.record(now, failure, slow);
+            if (current != CircuitBreakerStatus.CLOSED) {
+                return; // Late result of a call started before the breaker opened
+            }
+
+            SlidingWindowMetrics.Snapshot snapshot = window.snapshot(now);
+            if (snapshot.calls() < MINIMUM_CALLS) {
+                return;
+            }
+            if (snapshot.failureRate() >= FAILURE_RATE_THRESHOLD) {
+                open(CircuitBreakerStatus.CLOSED, now, String.format("failure rate %.0f%% over %d calls",
+                    snapshot.failureRate() * 100, snapshot.calls()));
+            } else if (snapshot.slowCallRate() >= SLOW_CALL_RATE_THRESHOLD) {
+                open(CircuitBreakerStatus.CLOSED, now, String.format("slow call rate %.0f%% over %d calls",
+                    snapshot.slowCallRate() * 100, snapshot.calls()));
             }
-            
-            return false;
         }
-        
-        private boolean shouldTransitionToHalfOpen() {
-            if (lastFailureTime == null) {
-                return false;
+
+        private void open(CircuitBreakerStatus from, long now, String reason) {
+            if (status.compareAndSet(from, CircuitBreakerStatus.OPEN)) {
+                openedAt.set(now);
+                LoggingUtil.warn(LOG, "open",
+                    "Circuit breaker for %s is OPEN for %ds: %s", key, OPEN_DURATION.toSeconds(), reason);
+                listener.onStateChange(key, from, CircuitBreakerStatus.OPEN);
             }
-            
-            ZonedDateTime now = ZonedDateTime.now();
-            return Duration.between(lastFailureTime, now).compareTo(TIMEOUT_DURATION) > 0;
         }
     }
-    
+
     /**
      * Circuit breaker status enumeration.
      */
@@ -261,7 +406,16 @@ public class AgentCircuitBreaker {
         OPEN,      // Blocking calls due to failures
         HALF_OPEN  // Testing if service has recovered
     }
-    
+
+    /**
+     * Listener for circuit breaker state changes. Called on the thread that caused the
+     * change, so implementations must not block.
+     */
+    @FunctionalInterface
+    public interface StateChangeListener {
+        void onStateChange(String key, CircuitBreakerStatus from, CircuitBreakerStatus to);
+    }
+
     /**
      * Exception thrown when circuit breaker is open.
      */
@@ -270,36 +424,36 @@ public class AgentCircuitBreaker {
             super(message);
         }
     }
-    
+
     /**
      * Statistics holder for circuit breaker monitoring.
      */
     public static class CircuitBreakerStats {
         private final CircuitBreakerStatus status;
-        private final int failureCount;
-        private final int successCount;
-        private final ZonedDateTime lastFailureTime;
-        private final ZonedDateTime lastAttemptTime;
-        
-        public CircuitBreakerStats(CircuitBreakerStatus status, int failureCount, int successCount,
-                                 ZonedDateTime lastFailureTime, ZonedDateTime lastAttemptTime) {
+        private final int callsInWindow;
+        private final double failureRate;
+        private final double slowCallRate;
+        private final Instant lastOpenedAt;
+
+        public CircuitBreakerStats(CircuitBreakerStatus status, int callsInWindow, double failureRate,
+                                 double slowCallRate, Instant lastOpenedAt) {
             this.status = status;
-            this.failureCount = failureCount;
-            this.successCount = successCount;
-            this.lastFailureTime = lastFailureTime;
-            this.lastAttemptTime = lastAttemptTime;
+            this.callsInWindow = callsInWindow;
+            this.failureRate = failureRate;
+            this.slowCallRate = slowCallRate;
+            this.lastOpenedAt = lastOpenedAt;
         }
-        
+
         public CircuitBreakerStatus getStatus() { return status; }
-        public int getFailureCount() { return failureCount; }
-        public int getSuccessCount() { return successCount; }
-        public ZonedDateTime getLastFailureTime() { return lastFailureTime; }
-        public ZonedDateTime getLastAttemptTime() { return lastAttemptTime; }
-        
+        public int getCallsInWindow() { return callsInWindow; }
+        public double getFailureRate() { return failureRate; }
+        public double getSlowCallRate() { return slowCallRate; }
+        public Instant getLastOpenedAt() { return lastOpenedAt; }
+
         @Override
         public String toString() {
-            return String.format("CircuitBreakerStats{status=%s, failures=%d, successes=%d, lastFailure=%s}", 
-                status, failureCount, successCount, lastFailureTime);
+            return String.format("CircuitBreakerStats{status=%s, calls=%d, failureRate=%.2f, slowCallRate=%.2f, lastOpened=%s}",
+                status, callsInWindow, failureRate, slowCallRate, lastOpenedAt);
         }
     }
 }
@@ -13,6 +13,7 @@ import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -22,8 +23,11 @@ import com.samjdtechnologies.answer42.model.agent.AgentRetryStatistics;
 import com.samjdtechnologies.answer42.model.agent.RetryMetrics;
 import com.samjdtechnologies.answer42.model.agent.RetryStatistics;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
 import com.samjdtechnologies.answer42.model.interfaces.AIAgent;
+import com.samjdtechnologies.answer42.model.pipeline.DeadlineExceededException;
+import com.samjdtechnologies.answer42.model.pipeline.ProviderCallException;
 import com.samjdtechnologies.answer42.service.agent.ContentSummarizerFallbackAgent;
 import com.samjdtechnologies.answer42.service.agent.ConceptExplainerFallbackAgent;
 import com.samjdtechnologies.answer42.service.agent.MetadataEnhancementFallbackAgent;
@@ -37,8 +41,17 @@ import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Retry mechanism for transient failures with exponential backoff and jitter.
- * Integrates with AgentCircuitBreaker for comprehensive failure protection.
+ * Integrates with AgentCircuitBreaker for comprehensive failure protection: the provider's
+ * breaker records the agent's individual provider calls (see AbstractConfigurableAgent),
+ * and an attempt is not started while that breaker is open unless the router can send the
+ * agent's requests elsewhere. A failure of a routed request is charged to the provider that
+ * was actually called: its quota pause and retry budget apply to the retry.
  * Provides configurable retry policies for different agent types with comprehensive statistics tracking.
+ * When the provider's rate-limit headers report exhausted quota, the retry waits exactly
+ * until the reported reset instead of backing off blindly, and a reset too far away goes
+ * straight to the fallback. Retries are also capped by a per-provider retry budget, so a
+ * degrading provider gets fallbacks rather than a retry storm. No attempt, retry or
+ * fallback is started once the task's pipeline deadline has passed.
  */
 @Component
 public class AgentRetryPolicy {
@@ -46,8 +59,19 @@ public class AgentRetryPolicy {
     private static final Logger LOG = LoggerFactory.getLogger(AgentRetryPolicy.class);
     
     private static final double JITTER_FACTOR = 0.1; // 10% jitter
+    private static final Duration MAX_RATE_LIMIT_PAUSE = Duration.ofMinutes(2);
+    private static final long RATE_LIMIT_PAUSE_JITTER_MS = 250;
+    
+    // Retry budget: retries may add at most 20% to a provider's successful traffic
+    private static final double RETRY_BUDGET_RATIO = 0.2;
+    private static final int RETRY_BUDGET_MAX_TOKENS = 10;
+    private static final Duration RETRY_BUDGET_FLOOR_INTERVAL = Duration.ofSeconds(10);
     
     private final AgentCircuitBreaker circuitBreaker;
+    private final APIRateLimiter rateLimiter;
+    
+    @Autowired(required = false)
+    private ProviderRouter providerRouter;
     
     // Fallback agents injected directly
     private final ContentSummarizerFallbackAgent contentSummarizerFallback;
@@ -67,6 +91,8 @@ public class AgentRetryPolicy {
     private final AtomicLong successfulRetries = new AtomicLong(0);
     private final AtomicLong failedOperations = new AtomicLong(0);
     private final AtomicLong circuitBreakerTrips = new AtomicLong(0);
+    private final AtomicLong rateLimitPauses = new AtomicLong(0);
+    private final AtomicLong deniedRetries = new AtomicLong(0);
     
     // Fallback tracking statistics (Phase 3)
     private final AtomicLong fallbackAttempts = new AtomicLong(0);
@@ -74,10 +100,13 @@ public class AgentRetryPolicy {
     private final AtomicLong fallbackFailures = new AtomicLong(0);
     
     private final Map<AgentType, RetryMetrics> agentMetrics = new ConcurrentHashMap<>();
+    private final Map<AgentType, AIProvider> agentProviders = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
     private final ZonedDateTime startTime = ZonedDateTime.now();
     
     
     public AgentRetryPolicy(ThreadConfig threadConfig, AgentCircuitBreaker circuitBreaker,
+                           APIRateLimiter rateLimiter,
                            ContentSummarizerFallbackAgent contentSummarizerFallback,
                            ConceptExplainerFallbackAgent conceptExplainerFallback,
                            MetadataEnhancementFallbackAgent metadataEnhancementFallback,
@@ -88,6 +117,7 @@ public class AgentRetryPolicy {
                            RelatedPaperDiscoveryFallbackAgent relatedPaperDiscoveryFallback,
                            PerplexityResearchFallbackAgent perplexityResearchFallback) {
         this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
         this.contentSummarizerFallback = contentSummarizerFallback;
         this.conceptExplainerFallback = conceptExplainerFallback;
         this.metadataEnhancementFallback = metadataEnhancementFallback;
@@ -110,6 +140,18 @@ public class AgentRetryPolicy {
             AgentType agentType,
             Supplier<CompletableFuture<T>> operation,
             AgentTask originalTask) {
+        return executeWithRetry(agentType, null, operation, originalTask);
+    }
+    
+    /**
+     * Execute operation with retry, circuit breaker protection and fallback support, pacing
+     * retries by the live quota of the AI provider the operation calls.
+     */
+    public <T> CompletableFuture<T> executeWithRetry(
+            AgentType agentType,
+            AIProvider provider,
+            Supplier<CompletableFuture<T>> operation,
+            AgentTask originalTask) {
         
         if (agentType == null) {
             throw new IllegalArgumentException("AgentType cannot be null - all retry operations must specify the agent type");
@@ -119,11 +161,15 @@ public class AgentRetryPolicy {
             throw new IllegalArgumentException("AgentTask cannot be null - all retry operations must provide the original task for proper fallback functionality");
         }
         
+        if (provider != null) {
+            agentProviders.put(agentType, provider);
+        }
+        
         RetryConfiguration config = getRetryConfigForAgent(agentType);
         LoggingUtil.debug(LOG, "executeWithRetry", 
             "Executing retry operation for agent %s with original task %s", 
             agentType, originalTask.getId());
-        return executeWithRetry(agentType, operation, originalTask, 0, config.maxRetries, config.initialDelay);
+        return executeWithRetry(agentType, provider, operation, originalTask, 0, config.maxRetries, config.initialDelay);
     }
     
     /**
@@ -131,12 +177,20 @@ public class AgentRetryPolicy {
      */
     private <T> CompletableFuture<T> executeWithRetry(
             AgentType agentType,
+            AIProvider provider,
             Supplier<CompletableFuture<T>> operation,
             AgentTask originalTask,
             int attemptNumber,
             int maxRetries,
             Duration initialDelay) {
         
+        // Don't start work the job no longer has time for
+        if (PipelineDeadline.isExceeded(originalTask.getDeadline())) {
+            recordFailure(agentType);
+            return CompletableFuture.failedFuture(new DeadlineExceededException(
+                String.format("Pipeline deadline passed before attempt %d for agent %s", attemptNumber + 1, agentType)));
+        }
+        
         // Record attempt
         recordAttempt(agentType, attemptNumber > 0);
         
@@ -144,58 +198,75 @@ public class AgentRetryPolicy {
             "Executing operation attempt %d/%d for agent %s", 
             attemptNumber + 1, maxRetries + 1, agentType);
         
-        // Wrap operation with circuit breaker if agent type is specified
-        Supplier<CompletableFuture<T>> protectedOperation = agentType != null ?
-            () -> circuitBreaker.executeWithCircuitBreaker(agentType, operation) :
-            operation;
-        
-        return protectedOperation.get()
+        return startAttempt(agentType, provider, operation)
             .whenComplete((result, throwable) -> {
                 if (throwable == null) {
-                    // Success - record it
+                    // Success - record it and earn retry budget for the provider
                     recordSuccess(agentType, attemptNumber > 0);
+                    getRetryBudget(agentType, provider).recordSuccess();
                 }
             })
             .exceptionallyCompose(throwable -> {
-                // Check if this is a circuit breaker exception
-                if (throwable instanceof AgentCircuitBreaker.CircuitBreakerOpenException) {
+                // The provider that failed, which a routed request may have swapped for the agent's own
+                AIProvider failedProvider = getFailedProvider(throwable, provider);
+                
+                // Provider is known to be down - skip the retries and go straight to the fallback
+                if (isCircuitBreakerOpen(throwable)) {
                     circuitBreakerTrips.incrementAndGet();
-                    LoggingUtil.warn(LOG, "executeWithRetry", 
-                        "Circuit breaker opened for agent %s, stopping retries", agentType);
-                    recordFailure(agentType);
-                    return CompletableFuture.failedFuture(throwable);
+                    LoggingUtil.warn(LOG, "executeWithRetry",
+                        "Circuit breaker open for %s, failing over without retrying",
+                        failedProvider != null ? failedProvider : agentType);
+                    return fallbackOrFail(agentType, throwable, originalTask);
                 }
                 
-                if (attemptNumber >= maxRetries || !isRetryableException(throwable)) {
+                // Quota state reported by the provider's rate-limit headers
+                Duration quotaPause = failedProvider != null ? rateLimiter.getPauseRemaining(failedProvider) : Duration.ZERO;
+                boolean quotaExhaustedTooLong = quotaPause.compareTo(MAX_RATE_LIMIT_PAUSE) > 0;
+                
+                if (attemptNumber >= maxRetries || !isRetryableException(throwable) || quotaExhaustedTooLong) {
+                    if (quotaExhaustedTooLong) {
+                        LoggingUtil.warn(LOG, "executeWithRetry", 
+                            "%s quota resets in %ds, not waiting for it", failedProvider, quotaPause.toSeconds());
+                    }
                     LoggingUtil.warn(LOG, "executeWithRetry", 
                         "Operation failed after %d attempts, checking fallback availability: %s", 
                         attemptNumber + 1, throwable.getMessage());
-                    
+
                     // If all retries exhausted and fallback available, try Ollama
-                    if (agentType != null && isFallbackAvailable(agentType)) {
-                        LoggingUtil.info(LOG, "executeWithRetry", 
-                            "Attempting Ollama fallback for agent %s after %d failed attempts", 
-                            agentType, attemptNumber + 1);
-                        
-                        try {
-                            T fallbackResult = attemptOllamaFallback(agentType, throwable, originalTask);
-                            recordFallbackSuccess(agentType);
-                            return CompletableFuture.completedFuture(fallbackResult);
-                        } catch (Exception fallbackException) {
-                            recordFallbackFailure(agentType, fallbackException);
-                            LoggingUtil.error(LOG, "executeWithRetry", 
-                                "Ollama fallback also failed for agent %s: %s", agentType, fallbackException.getMessage());
-                            // Continue to record final failure and return error
-                        }
-                    }
-                    
-                    // Record final failure
+                    return fallbackOrFail(agentType, throwable, originalTask);
+                }
+                
+                // Wait until the reported quota reset if there is one, else back off exponentially
+                Duration delay;
+                if (!quotaPause.isZero()) {
+                    delay = quotaPause.plusMillis(ThreadLocalRandom.current().nextLong(RATE_LIMIT_PAUSE_JITTER_MS));
+                } else {
+                    delay = calculateDelay(initialDelay, attemptNumber);
+                }
+                
+                // A retry that can't start before the deadline would only hold a thread
+                Duration remaining = PipelineDeadline.remaining(originalTask.getDeadline());
+                if (remaining != null && remaining.compareTo(delay) <= 0) {
+                    LoggingUtil.warn(LOG, "executeWithRetry", 
+                        "Pipeline deadline for task %s leaves %dms, not retrying agent %s", 
+                        originalTask.getId(), remaining.toMillis(), agentType);
                     recordFailure(agentType);
-                    return CompletableFuture.failedFuture(throwable);
+                    return CompletableFuture.failedFuture(new DeadlineExceededException(
+                        "Pipeline deadline passed while retrying agent " + agentType, throwable));
+                }
+                
+                // Fall through to the fallback rather than add load to a provider that is mostly failing
+                if (!getRetryBudget(agentType, failedProvider).tryAcquireRetry()) {
+                    deniedRetries.incrementAndGet();
+                    LoggingUtil.warn(LOG, "executeWithRetry", 
+                        "Retry budget for %s exhausted, not retrying agent %s: %s", 
+                        failedProvider != null ? failedProvider : agentType, agentType, throwable.getMessage());
+                    return fallbackOrFail(agentType, throwable, originalTask);
                 }
                 
-                // Calculate delay with exponential backoff and jitter
-                Duration delay = calculateDelay(initialDelay, attemptNumber);
+                if (!quotaPause.isZero()) {
+                    rateLimitPauses.incrementAndGet();
+                }
                 
                 LoggingUtil.warn(LOG, "executeWithRetry", 
                     "Operation failed (attempt %d/%d), retrying in %dms: %s", 
@@ -203,10 +274,97 @@ public class AgentRetryPolicy {
                 
                 // Schedule retry with delay
                 return delayedExecution(delay)
-                    .thenCompose(v -> executeWithRetry(agentType, operation, originalTask, attemptNumber + 1, maxRetries, initialDelay));
+                    .thenCompose(v -> executeWithRetry(agentType, provider, operation, originalTask, 
+                        attemptNumber + 1, maxRetries, initialDelay));
             });
     }
+
+    /**
+     * Start one attempt. The provider's breaker only records the provider calls made inside
+     * the operation, so here it is just checked; an operation of unknown provider runs
+     * under the agent's own breaker.
+     */
+    private <T> CompletableFuture<T> startAttempt(AgentType agentType, AIProvider provider,
+                                                  Supplier<CompletableFuture<T>> operation) {
+        if (provider == null) {
+            return circuitBreaker.executeWithCircuitBreaker(agentType, operation);
+        }
+        if (!circuitBreaker.isCallPermitted(provider)
+                && (providerRouter == null || !providerRouter.canRouteAround(agentType, provider))) {
+            return CompletableFuture.failedFuture(new AgentCircuitBreaker.CircuitBreakerOpenException(
+                provider + " is unavailable (circuit OPEN)"));
+        }
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Get the provider whose call failed, falling back to the agent's own provider when the
+     * failure did not come from a provider call.
+     */
+    private AIProvider getFailedProvider(Throwable throwable, AIProvider provider) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof ProviderCallException providerCallException) {
+                return providerCallException.getProvider();
+            }
+            current = current.getCause();
+        }
+        return provider;
+    }
+
+    /**
+     * Get the retry budget shared by all callers of the provider, or the agent's own if the provider is unknown.
+     */
+    private RetryBudget getRetryBudget(AgentType agentType, AIProvider provider) {
+        String key = provider != null ? provider.name() : "agent:" + agentType.name();
+        return retryBudgets.computeIfAbsent(key, k -> 
+            new RetryBudget(RETRY_BUDGET_RATIO, RETRY_BUDGET_MAX_TOKENS, RETRY_BUDGET_FLOOR_INTERVAL));
+    }
     
+    /**
+     * Try the Ollama fallback for the agent if one is available, otherwise record the final failure.
+     */
+    private <T> CompletableFuture<T> fallbackOrFail(AgentType agentType, Throwable throwable, AgentTask originalTask) {
+        boolean timeLeft = !PipelineDeadline.isExceeded(originalTask.getDeadline());
+        if (agentType != null && timeLeft && isFallbackAvailable(agentType)) {
+            LoggingUtil.info(LOG, "fallbackOrFail",
+                "Attempting Ollama fallback for agent %s", agentType);
+
+            try {
+                T fallbackResult = attemptOllamaFallback(agentType, throwable, originalTask);
+                recordFallbackSuccess(agentType);
+                return CompletableFuture.completedFuture(fallbackResult);
+            } catch (Exception fallbackException) {
+                recordFallbackFailure(agentType, fallbackException);
+                LoggingUtil.error(LOG, "fallbackOrFail",
+                    "Ollama fallback also failed for agent %s: %s", agentType, fallbackException.getMessage());
+                // Continue to record final failure and return error
+            }
+        }
+
+        // Record final failure
+        recordFailure(agentType);
+        return CompletableFuture.failedFuture(throwable);
+    }
+
+    /**
+     * Check whether the failure, possibly wrapped by a completion stage, is an open circuit breaker.
+     */
+    private boolean isCircuitBreakerOpen(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof AgentCircuitBreaker.CircuitBreakerOpenException) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
     /**
      * Record statistics for retry operations.
      */
@@ -297,21 +455,60 @@ public class AgentRetryPolicy {
     }
     
     /**
-     * Get circuit breaker status for an agent.
+     * Get circuit breaker status for an agent, i.e. of the provider it last called.
      */
     public AgentCircuitBreaker.CircuitBreakerStatus getCircuitBreakerStatus(AgentType agentType) {
-        return circuitBreaker.getCircuitBreakerStatus(agentType);
+        AIProvider provider = agentProviders.get(agentType);
+        return provider != null ?
+            circuitBreaker.getCircuitBreakerStatus(provider) :
+            circuitBreaker.getCircuitBreakerStatus(agentType);
     }
     
     /**
-     * Reset circuit breaker for an agent (for manual recovery).
+     * Reset circuit breaker for an agent (for manual recovery). This also resets the breaker
+     * for every other agent sharing the agent's provider.
      */
     public void resetCircuitBreaker(AgentType agentType) {
+        AIProvider provider = agentProviders.get(agentType);
+        if (provider != null) {
+            circuitBreaker.resetCircuitBreaker(provider);
+        }
         circuitBreaker.resetCircuitBreaker(agentType);
         LoggingUtil.info(LOG, "resetCircuitBreaker", 
             "Reset circuit breaker for agent %s via retry policy", agentType);
     }
     
+    /**
+     * Get the number of retries denied because the retry budget was spent.
+     */
+    public long getDeniedRetries() {
+        return deniedRetries.get();
+    }
+    
+    /**
+     * Get the number of retries denied for a provider because its retry budget was spent.
+     */
+    public long getDeniedRetries(AIProvider provider) {
+        RetryBudget budget = retryBudgets.get(provider.name());
+        return budget != null ? budget.getDeniedRetries() : 0;
+    }
+    
+    /**
+     * Get the retries currently left in each provider's retry budget.
+     */
+    public Map<String, Double> getAvailableRetryBudgets() {
+        Map<String, Double> budgets = new ConcurrentHashMap<>();
+        retryBudgets.forEach((key, budget) -> budgets.put(key, budget.getAvailableRetries()));
+        return budgets;
+    }
+    
+    /**
+     * Get the number of retries that waited for a provider-reported quota reset.
+     */
+    public long getRateLimitPauses() {
+        return rateLimitPauses.get();
+    }
+    
     /**
      * Get circuit breaker trip count.
      */
@@ -520,6 +717,7 @@ public class AgentRetryPolicy {
             .successfulOperations(successfulOps)
             .successfulRetries(successfulRetryCount)
             .failedOperations(failedOps)
+            .deniedRetries(deniedRetries.get())
             .overallSuccessRate(overallSuccessRate)
             .retrySuccessRate(retrySuccessRate)
             .uptime(uptime)
@@ -536,6 +734,8 @@ public class AgentRetryPolicy {
         successfulRetries.set(0);
         failedOperations.set(0);
         circuitBreakerTrips.set(0);
+        deniedRetries.set(0);
+        retryBudgets.values().forEach(RetryBudget::resetDeniedRetries);
         
         // Reset fallback statistics
         fallbackAttempts.set(0);
@@ -556,13 +756,14 @@ public class AgentRetryPolicy {
         
         // Log overall statistics
         LoggingUtil.info(LOG, "logStatistics", 
-            "Statistics - Total Attempts: %d, Successful Operations: %d, Overall Success Rate: %.2f%%, Retry-Only Success Rate: %.2f%%, Failed Operations: %d, Circuit Breaker Trips: %d",
+            "Statistics - Total Attempts: %d, Successful Operations: %d, Overall Success Rate: %.2f%%, Retry-Only Success Rate: %.2f%%, Failed Operations: %d, Circuit Breaker Trips: %d, Denied Retries: %d",
             stats.getTotalAttempts(), 
             stats.getSuccessfulOperations(),
             stats.getOverallSuccessRate() * 100,
             stats.getRetrySuccessRate() * 100,
             stats.getFailedOperations(), 
-            circuitBreakerTrips.get());
+            circuitBreakerTrips.get(),
+            stats.getDeniedRetries());
         
         // Log overall fallback statistics
         java.util.Map<String, Object> fallbackStats = getFallbackStatistics();
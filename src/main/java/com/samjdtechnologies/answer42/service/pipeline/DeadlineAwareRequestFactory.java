@@ -0,0 +1,53 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import com.samjdtechnologies.answer42.model.pipeline.DeadlineExceededException;
+
+/**
+ * HTTP request factory whose connect and read timeouts shrink to the time left until the
+ * pipeline deadline of the calling thread. A call that would outlive the job times out
+ * and releases its thread and connection instead of holding them for the full configured
+ * timeout; a call made after the deadline is not sent at all.
+ */
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    public DeadlineAwareRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        // A zero timeout means no timeout, which leaves only the deadline to bound the call
+        this.connectTimeout = connectTimeout == null || connectTimeout.isZero() ? null : connectTimeout;
+        this.readTimeout = readTimeout == null || readTimeout.isZero() ? null : readTimeout;
+        if (this.connectTimeout != null) {
+            setConnectTimeout(this.connectTimeout);
+        }
+        if (this.readTimeout != null) {
+            setReadTimeout(this.readTimeout);
+        }
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+
+        Duration remaining = PipelineDeadline.remaining();
+        if (remaining == null) {
+            return;
+        }
+        if (remaining.isZero()) {
+            throw new DeadlineExceededException(
+                "Pipeline deadline passed before request to " + connection.getURL().getHost());
+        }
+        connection.setConnectTimeout(toMillis(PipelineDeadline.cap(connectTimeout)));
+        connection.setReadTimeout(toMillis(PipelineDeadline.cap(readTimeout)));
+    }
+
+    private static int toMillis(Duration timeout) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeout.toMillis()));
+    }
+}
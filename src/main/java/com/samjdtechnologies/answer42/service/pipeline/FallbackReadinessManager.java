@@ -0,0 +1,241 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.service.monitoring.FallbackMetricsService;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the local Ollama fallback models loaded so the first fallback call after a
+ * provider failure does not pay the model load time (often 10-30 s on CPU).
+ *
+ * Configured models are loaded at startup and pinged periodically with a keep-alive, and
+ * they are warmed again as soon as any cloud provider's circuit breaker leaves CLOSED -
+ * that is when fallback calls are about to happen. Load latency and readiness of each
+ * model are reported through {@link FallbackMetricsService}. Warmups can block for minutes
+ * while a model loads, so they run on a single thread of their own rather than on the
+ * pipeline's task executor.
+ */
+@Component
+public class FallbackReadinessManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FallbackReadinessManager.class);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration LOAD_TIMEOUT = Duration.ofMinutes(3); // Large models on CPU load slowly
+
+    @Value("${spring.ai.ollama.enabled:false}")
+    private boolean ollamaEnabled;
+
+    @Value("${spring.ai.fallback.warm-pool.enabled:true}")
+    private boolean warmPoolEnabled;
+
+    @Value("${spring.ai.ollama.base-url:http://localhost:11434}")
+    private String ollamaBaseUrl;
+
+    @Value("${spring.ai.fallback.warm-pool.models:${spring.ai.ollama.chat.options.model:llama3.1:8b}}")
+    private List<String> models;
+
+    @Value("${spring.ai.fallback.warm-pool.keep-alive:30m}")
+    private Duration keepAlive;
+
+    private final AgentCircuitBreaker circuitBreaker;
+    private final FallbackMetricsService fallbackMetricsService;
+    private final Executor warmupExecutor;
+
+    private RestClient ollamaClient;
+    private final AtomicBoolean warming = new AtomicBoolean(false);
+    private final AtomicLong keepAlivePings = new AtomicLong(0);
+    private final AtomicLong breakerPrewarms = new AtomicLong(0);
+
+    @Autowired
+    public FallbackReadinessManager(AgentCircuitBreaker circuitBreaker, FallbackMetricsService fallbackMetricsService) {
+        this(circuitBreaker, fallbackMetricsService, createWarmupExecutor());
+    }
+
+    private FallbackReadinessManager(AgentCircuitBreaker circuitBreaker, FallbackMetricsService fallbackMetricsService,
+                                     Executor warmupExecutor) {
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackMetricsService = fallbackMetricsService;
+        this.warmupExecutor = warmupExecutor;
+    }
+
+    FallbackReadinessManager(AgentCircuitBreaker circuitBreaker, FallbackMetricsService fallbackMetricsService,
+                             Executor warmupExecutor, String ollamaBaseUrl, List<String> models, Duration keepAlive) {
+        this(circuitBreaker, fallbackMetricsService, warmupExecutor);
+        this.ollamaEnabled = true;
+        this.warmPoolEnabled = true;
+        this.ollamaBaseUrl = ollamaBaseUrl;
+        this.models = models;
+        this.keepAlive = keepAlive;
+        init();
+    }
+
+    private static ThreadPoolTaskExecutor createWarmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("fallback-warmup-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        // Only one warmup runs at a time; the slot covers a new one submitted as the last ends
+        executor.setQueueCapacity(1);
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (warmupExecutor instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            LoggingUtil.info(LOG, "init", "Ollama fallback warm pool disabled");
+            return;
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(CONNECT_TIMEOUT);
+        requestFactory.setReadTimeout(LOAD_TIMEOUT);
+        ollamaClient = RestClient.builder()
+            .baseUrl(ollamaBaseUrl)
+            .requestFactory(requestFactory)
+            .build();
+
+        circuitBreaker.addStateChangeListener(this::onBreakerStateChange);
+
+        LoggingUtil.info(LOG, "init", "Keeping Ollama fallback models %s resident for %s at %s",
+            models, keepAlive, ollamaBaseUrl);
+    }
+
+    public boolean isEnabled() {
+        return ollamaEnabled && warmPoolEnabled && models != null && !models.isEmpty();
+    }
+
+    /**
+     * Ping the fallback models so Ollama keeps them loaded, reloading any that were
+     * unloaded (e.g. after an Ollama restart). The first run loads them at startup.
+     */
+    @Scheduled(fixedRateString = "${spring.ai.fallback.warm-pool.ping-interval:240000}",
+               initialDelayString = "${spring.ai.fallback.warm-pool.initial-delay:15000}")
+    public void keepModelsResident() {
+        if (isEnabled() && warmAsync("keep-alive")) {
+            keepAlivePings.incrementAndGet();
+        }
+    }
+
+    private void onBreakerStateChange(String key, AgentCircuitBreaker.CircuitBreakerStatus from,
+                                      AgentCircuitBreaker.CircuitBreakerStatus to) {
+        if (to == AgentCircuitBreaker.CircuitBreakerStatus.CLOSED || key.startsWith(AIProvider.OLLAMA.name())) {
+            return;
+        }
+        if (warmAsync(String.format("circuit breaker %s %s", key, to))) {
+            breakerPrewarms.incrementAndGet();
+        }
+    }
+
+    /**
+     * Warm the models on the warmup thread unless a warmup is already running.
+     *
+     * @return true if a warmup was started
+     */
+    private boolean warmAsync(String reason) {
+        if (!warming.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            warmupExecutor.execute(() -> {
+                try {
+                    warmModels(reason);
+                } finally {
+                    warming.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            warming.set(false);
+            LoggingUtil.warn(LOG, "warmAsync", "Could not schedule fallback warmup (%s): %s", reason, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load every configured model and extend its keep-alive, blocking until done.
+     */
+    public void warmModels(String reason) {
+        for (String model : models) {
+            warmModel(model, reason);
+        }
+    }
+
+    private void warmModel(String model, String reason) {
+        long start = System.nanoTime();
+        try {
+            // A generate request without a prompt only loads the model and sets its keep-alive
+            JsonNode response = ollamaClient.post()
+                .uri("/api/generate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("model", model, "keep_alive", keepAlive.toSeconds() + "s", "stream", false))
+                .retrieve()
+                .body(JsonNode.class);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            // Ollama reports the time spent loading; a model that was still resident reports ~0
+            Duration loadLatency = response != null && response.has("load_duration") ?
+                Duration.ofNanos(response.get("load_duration").asLong()) : elapsed;
+            fallbackMetricsService.recordFallbackWarmup(model, loadLatency, true, Instant.now().plus(keepAlive));
+
+            LoggingUtil.debug(LOG, "warmModel", "Fallback model %s ready (%s), load took %dms",
+                model, reason, loadLatency.toMillis());
+        } catch (Exception e) {
+            fallbackMetricsService.recordFallbackWarmup(model, Duration.ofNanos(System.nanoTime() - start), false, null);
+            LoggingUtil.warn(LOG, "warmModel", "Could not warm fallback model %s (%s): %s",
+                model, reason, e.getMessage());
+        }
+    }
+
+    /**
+     * Get warm pool statistics for monitoring.
+     */
+    public Map<String, Object> getReadinessStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("models", models);
+        stats.put("keepAlive", keepAlive);
+        stats.put("keepAlivePings", keepAlivePings.get());
+        stats.put("breakerPrewarms", breakerPrewarms.get());
+        stats.put("readiness", fallbackMetricsService.getFallbackReadiness());
+        return stats;
+    }
+
+    public long getBreakerPrewarms() {
+        return breakerPrewarms.get();
+    }
+}
@@ -0,0 +1,215 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Latency hedging for interactive AI calls (opt-in via {@code spring.ai.hedging.enabled}).
+ *
+ * The primary call is sent first. If it is still running once it has taken longer than the
+ * provider's recent p95 latency, a second request goes to the hedge provider; whichever
+ * succeeds first wins and the other is cancelled. Hedges are paid for out of a token-bucket
+ * budget earned by hedgeable calls, so they add at most about 10% to provider load even
+ * when a provider stalls for everyone.
+ */
+@Component
+public class HedgedRequestExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final Duration DEFAULT_HEDGE_DELAY = Duration.ofSeconds(20); // Until the p95 is known
+    private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(250);
+
+    // Hedge budget: at most one hedge per ten hedgeable calls, a few in reserve
+    private static final double HEDGE_BUDGET_RATIO = 0.1;
+    private static final int HEDGE_BUDGET_MAX_TOKENS = 5;
+    private static final Duration HEDGE_BUDGET_FLOOR_INTERVAL = Duration.ofMinutes(1);
+
+    @Value("${spring.ai.hedging.enabled:false}")
+    private boolean enabled;
+
+    private final ProviderLatencyTracker latencyTracker;
+    private final RetryBudget hedgeBudget =
+        new RetryBudget(HEDGE_BUDGET_RATIO, HEDGE_BUDGET_MAX_TOKENS, HEDGE_BUDGET_FLOOR_INTERVAL);
+
+    private final AtomicLong hedgeableCalls = new AtomicLong(0);
+    private final AtomicLong hedgesFired = new AtomicLong(0);
+    private final AtomicLong hedgeWins = new AtomicLong(0);
+    private final AtomicLong primaryWins = new AtomicLong(0);
+
+    public HedgedRequestExecutor(ProviderLatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+
+    HedgedRequestExecutor(ProviderLatencyTracker latencyTracker, boolean enabled) {
+        this(latencyTracker);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Time after which a still-running call to the provider gets hedged.
+     */
+    public Duration getHedgeDelay(AIProvider provider) {
+        Duration p95 = latencyTracker.getPercentile(provider, HEDGE_PERCENTILE);
+        if (p95 == null) {
+            return DEFAULT_HEDGE_DELAY;
+        }
+        return p95.compareTo(MIN_HEDGE_DELAY) < 0 ? MIN_HEDGE_DELAY : p95;
+    }
+
+    /**
+     * Run the primary call, hedging it with the hedge call if it is slow. Without hedging
+     * enabled or a hedge call, this is just the primary call with its latency recorded.
+     *
+     * @param operation Description of the call for logging
+     * @param primaryProvider Provider of the primary call
+     * @param primaryCall Starts the primary call
+     * @param hedgeProvider Provider of the hedge call
+     * @param hedgeCall Starts the hedge call, or null if there is nothing to hedge with
+     * @return The result of whichever call succeeds first
+     */
+    public <T> CompletableFuture<T> execute(String operation,
+            AIProvider primaryProvider, Supplier<CompletableFuture<T>> primaryCall,
+            AIProvider hedgeProvider, Supplier<CompletableFuture<T>> hedgeCall) {
+
+        if (!enabled || hedgeCall == null) {
+            return timed(primaryProvider, primaryCall);
+        }
+
+        hedgeableCalls.incrementAndGet();
+        hedgeBudget.recordSuccess();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> hedgeRef = new AtomicReference<>();
+        AtomicReference<Throwable> primaryFailure = new AtomicReference<>();
+        AtomicBoolean won = new AtomicBoolean(false);
+
+        CompletableFuture<T> primary = timed(primaryProvider, primaryCall);
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                // Settle the loser and the counters before the caller sees the result
+                if (won.compareAndSet(false, true)) {
+                    cancel(hedgeRef.get());
+                    primaryWins.incrementAndGet();
+                    result.complete(value);
+                }
+                return;
+            }
+            primaryFailure.set(error);
+            CompletableFuture<T> hedge = hedgeRef.get();
+            // Keep waiting if a hedge is still in flight - it may yet succeed
+            if (hedge == null || hedge.isCompletedExceptionally()) {
+                result.completeExceptionally(error);
+            }
+        });
+
+        Duration delay = getHedgeDelay(primaryProvider);
+        CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!hedgeBudget.tryAcquireRetry()) {
+                LoggingUtil.debug(LOG, "execute",
+                    "Hedge budget spent, not hedging slow %s on %s", operation, primaryProvider);
+                return;
+            }
+
+            hedgesFired.incrementAndGet();
+            LoggingUtil.info(LOG, "execute",
+                "%s on %s exceeded %dms, hedging with %s", operation, primaryProvider, delay.toMillis(), hedgeProvider);
+
+            CompletableFuture<T> hedge = timed(hedgeProvider, hedgeCall);
+            hedgeRef.set(hedge);
+            hedge.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (won.compareAndSet(false, true)) {
+                        cancel(primary);
+                        hedgeWins.incrementAndGet();
+                        result.complete(value);
+                    }
+                } else if (primaryFailure.get() != null) {
+                    result.completeExceptionally(primaryFailure.get());
+                }
+            });
+        });
+
+        // A caller giving up cancels both calls
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                cancel(primary);
+                cancel(hedgeRef.get());
+            }
+        });
+
+        return result;
+    }
+
+    private <T> CompletableFuture<T> timed(AIProvider provider, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            if (error == null && provider != null) {
+                latencyTracker.record(provider, Duration.ofNanos(System.nanoTime() - start));
+            }
+        });
+        return future;
+    }
+
+    private static void cancel(CompletableFuture<?> future) {
+        if (future != null && !future.isDone()) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Get hedging statistics for monitoring.
+     */
+    public Map<String, Object> getHedgeStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hedgeableCalls", hedgeableCalls.get());
+        stats.put("hedgesFired", hedgesFired.get());
+        stats.put("hedgeWins", hedgeWins.get());
+        stats.put("primaryWins", primaryWins.get());
+        stats.put("hedgesDeniedByBudget", hedgeBudget.getDeniedRetries());
+        stats.put("availableHedgeBudget", hedgeBudget.getAvailableRetries());
+        return stats;
+    }
+
+    public long getHedgesFired() {
+        return hedgesFired.get();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    public long getHedgesDenied() {
+        return hedgeBudget.getDeniedRetries();
+    }
+}
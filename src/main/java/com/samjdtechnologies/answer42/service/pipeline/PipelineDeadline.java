@@ -0,0 +1,139 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.samjdtechnologies.answer42.model.pipeline.DeadlineExceededException;
+
+/**
+ * Deadline of the pipeline job the current thread is working for.
+ *
+ * The deadline is set by the agent while it processes a task and follows the work onto
+ * executor threads through {@link #propagate(Runnable)}, so provider calls, discovery
+ * HTTP calls and waits deep in the call stack can shrink their timeouts to the time the
+ * job has left instead of each applying its own long timeout.
+ */
+public final class PipelineDeadline {
+
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private PipelineDeadline() {
+    }
+
+    /**
+     * Run an action with the given deadline in effect on this thread.
+     */
+    public static <T> T callWithin(Instant deadline, Supplier<T> action) {
+        Instant previous = CURRENT.get();
+        set(deadline);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Wrap a task so it runs with the deadline of the thread submitting it. Used as the
+     * task decorator of the shared executor.
+     */
+    public static Runnable propagate(Runnable task) {
+        Instant deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> callWithin(deadline, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * The deadline in effect on this thread, or null if there is none.
+     */
+    public static Instant current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Time left until the deadline in effect on this thread, or null if there is none.
+     */
+    public static Duration remaining() {
+        return remaining(CURRENT.get());
+    }
+
+    /**
+     * Time left until the given deadline (never negative), or null if there is none.
+     */
+    public static Duration remaining(Instant deadline) {
+        if (deadline == null) {
+            return null;
+        }
+        Duration left = Duration.between(Instant.now(), deadline);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    public static boolean isExceeded(Instant deadline) {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * Shrink a timeout to the time left until the deadline in effect on this thread.
+     */
+    public static Duration cap(Duration timeout) {
+        Duration left = remaining();
+        if (left == null) {
+            return timeout;
+        }
+        return timeout == null || left.compareTo(timeout) < 0 ? left : timeout;
+    }
+
+    /**
+     * Fail if the deadline in effect on this thread has passed.
+     */
+    public static void check(String operation) {
+        if (isExceeded(CURRENT.get())) {
+            throw new DeadlineExceededException("Pipeline deadline passed before " + operation);
+        }
+    }
+
+    /**
+     * Wait for a future no longer than the deadline in effect on this thread allows,
+     * cancelling it when time runs out.
+     */
+    public static <T> T await(CompletableFuture<T> future, String operation) {
+        Duration left = remaining();
+        if (left == null) {
+            return future.join();
+        }
+        try {
+            return future.get(left.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException("Pipeline deadline passed while waiting for " + operation, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while waiting for " + operation, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static void set(Instant deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+}
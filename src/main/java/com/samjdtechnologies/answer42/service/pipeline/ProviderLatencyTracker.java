@@ -0,0 +1,76 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+
+/**
+ * Recent call latencies per AI provider.
+ *
+ * Keeps the last {@value #SAMPLE_SIZE} latencies of each provider in a lock-free ring, so
+ * callers can ask for recent percentiles (e.g. the p95 used to decide when to hedge a call)
+ * without a metrics backend.
+ */
+@Component
+public class ProviderLatencyTracker {
+
+    private static final int SAMPLE_SIZE = 256;
+    private static final int MIN_SAMPLES = 20; // Percentiles of fewer calls are noise
+
+    private final Map<AIProvider, LatencyRing> rings = new ConcurrentHashMap<>();
+
+    public void record(AIProvider provider, Duration latency) {
+        rings.computeIfAbsent(provider, p -> new LatencyRing()).add(latency.toMillis());
+    }
+
+    /**
+     * Latency percentile over the provider's recent calls.
+     *
+     * @param percentile Percentile between 0 and 1, e.g. 0.95
+     * @return The percentile, or null if there are too few samples to tell
+     */
+    public Duration getPercentile(AIProvider provider, double percentile) {
+        LatencyRing ring = provider == null ? null : rings.get(provider);
+        if (ring == null) {
+            return null;
+        }
+        long[] samples = ring.samples();
+        if (samples.length < MIN_SAMPLES) {
+            return null;
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.min(samples.length - 1, Math.ceil(percentile * samples.length) - 1);
+        return Duration.ofMillis(samples[Math.max(0, index)]);
+    }
+
+    public int getSampleCount(AIProvider provider) {
+        LatencyRing ring = provider == null ? null : rings.get(provider);
+        return ring == null ? 0 : ring.samples().length;
+    }
+
+    private static class LatencyRing {
+        private final AtomicLongArray values = new AtomicLongArray(SAMPLE_SIZE);
+        private final AtomicLong written = new AtomicLong(0);
+
+        void add(long millis) {
+            long slot = written.getAndIncrement();
+            values.set((int) (slot % SAMPLE_SIZE), millis);
+        }
+
+        long[] samples() {
+            int count = (int) Math.min(written.get(), SAMPLE_SIZE);
+            long[] copy = new long[count];
+            for (int i = 0; i < count; i++) {
+                copy[i] = values.get(i);
+            }
+            return copy;
+        }
+    }
+}
@@ -12,20 +12,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.pipeline.RateLimitSnapshot;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 
 /**
  * Rate limiter implementation for a specific AI provider.
  * Manages both short-term and long-term rate limits with automatic permit release.
+ * 
+ * The configured limits are starting points: rate-limit response headers reported through
+ * {@link #updateFromHeaders(RateLimitSnapshot)} pause the limiter until the provider's
+ * reset time when quota is exhausted, and move the long-term limit toward the limit the
+ * provider actually advertises.
  */
 public class ProviderRateLimiter {
     private static final Logger LOG = LoggerFactory.getLogger(ProviderRateLimiter.class);
 
     private final AIProvider provider;
-    private final Semaphore shortTermSemaphore;
-    private final Semaphore longTermSemaphore;
+    private final ResizableSemaphore shortTermSemaphore;
+    private final ResizableSemaphore longTermSemaphore;
     private final Duration shortTermWindow;
     private final Duration longTermWindow;
+    private final int shortTermLimit;
+    private volatile int longTermLimit;
+    private volatile Instant pausedUntil = Instant.EPOCH;
     private final Map<Instant, Integer> requestHistory = new ConcurrentHashMap<>();
     private volatile Instant lastRequestTime = Instant.now();
 
@@ -33,10 +42,12 @@ public class ProviderRateLimiter {
                              int shortTermLimit, Duration shortTermWindow,
                              int longTermLimit, Duration longTermWindow) {
         this.provider = provider;
-        this.shortTermSemaphore = new Semaphore(shortTermLimit, true);
-        this.longTermSemaphore = new Semaphore(longTermLimit, true);
+        this.shortTermSemaphore = new ResizableSemaphore(shortTermLimit);
+        this.longTermSemaphore = new ResizableSemaphore(longTermLimit);
         this.shortTermWindow = shortTermWindow;
         this.longTermWindow = longTermWindow;
+        this.shortTermLimit = shortTermLimit;
+        this.longTermLimit = longTermLimit;
 
         LoggingUtil.info(LOG, "ProviderRateLimiter", 
             "Initialized rate limiter for %s: %d/%s, %d/%s", 
@@ -50,23 +61,25 @@ public class ProviderRateLimiter {
     public boolean tryAcquire() {
         cleanupOldRequests();
         
-        if (shortTermSemaphore.tryAcquire() && longTermSemaphore.tryAcquire()) {
-            recordRequest();
-            LoggingUtil.debug(LOG, "tryAcquire", 
-                "Permit acquired for provider %s", provider);
-            return true;
-        } else {
-            // Release if we got one but not both
-            if (shortTermSemaphore.availablePermits() < getInitialShortTermPermits()) {
-                shortTermSemaphore.release();
-            }
-            if (longTermSemaphore.availablePermits() < getInitialLongTermPermits()) {
-                longTermSemaphore.release();
-            }
+        if (!getPauseRemaining().isZero()) {
             LoggingUtil.debug(LOG, "tryAcquire", 
-                "No permit available for provider %s", provider);
+                "Provider %s is paused until %s", provider, pausedUntil);
             return false;
         }
+        
+        if (shortTermSemaphore.tryAcquire()) {
+            if (longTermSemaphore.tryAcquire()) {
+                recordRequest();
+                LoggingUtil.debug(LOG, "tryAcquire", 
+                    "Permit acquired for provider %s", provider);
+                return true;
+            }
+            // Release the short term permit if we could not get both
+            shortTermSemaphore.release();
+        }
+        LoggingUtil.debug(LOG, "tryAcquire", 
+            "No permit available for provider %s", provider);
+        return false;
     }
 
     /**
@@ -74,6 +87,7 @@ public class ProviderRateLimiter {
      */
     public void acquire() throws InterruptedException {
         cleanupOldRequests();
+        awaitPause();
         
         LoggingUtil.debug(LOG, "acquire", 
             "Acquiring permit for provider %s", provider);
@@ -98,6 +112,7 @@ public class ProviderRateLimiter {
      */
     public void acquire(int permits) throws InterruptedException {
         cleanupOldRequests();
+        awaitPause();
         
         LoggingUtil.debug(LOG, "acquire", 
             "Acquiring %d permits for provider %s", permits, provider);
@@ -118,6 +133,65 @@ public class ProviderRateLimiter {
         }
     }
 
+    /**
+     * Apply the live quota reported by the provider's rate-limit headers.
+     * An exhausted quota (or Retry-After) pauses the limiter until the reset time;
+     * an advertised request limit moves the long-term limit toward it, growing at most
+     * twofold per update so capacity ramps up instead of jumping.
+     */
+    public void updateFromHeaders(RateLimitSnapshot snapshot) {
+        Instant pauseUntil = snapshot.getPauseUntil();
+        if (pauseUntil != null && pauseUntil.isAfter(pausedUntil)) {
+            pausedUntil = pauseUntil;
+            LoggingUtil.info(LOG, "updateFromHeaders", 
+                "Provider %s quota exhausted, pausing until %s", provider, pauseUntil);
+        }
+
+        Integer advertisedLimit = snapshot.getRequestLimit();
+        if (advertisedLimit != null && advertisedLimit > 0 && advertisedLimit != longTermLimit) {
+            resizeLongTermLimit(advertisedLimit > longTermLimit
+                ? (int) Math.min(advertisedLimit, longTermLimit * 2L)
+                : advertisedLimit);
+        }
+    }
+
+    private synchronized void resizeLongTermLimit(int newLimit) {
+        int delta = newLimit - longTermLimit;
+        if (delta > 0) {
+            longTermSemaphore.release(delta);
+        } else if (delta < 0) {
+            longTermSemaphore.reducePermits(-delta);
+        }
+        LoggingUtil.info(LOG, "resizeLongTermLimit", 
+            "Adjusted %s long-term limit from %d to %d per %s", provider, longTermLimit, newLimit, longTermWindow);
+        longTermLimit = newLimit;
+    }
+
+    /**
+     * Time left until the provider accepts requests again, zero when not paused.
+     */
+    public Duration getPauseRemaining() {
+        Instant now = Instant.now();
+        Instant until = pausedUntil;
+        return until.isAfter(now) ? Duration.between(now, until) : Duration.ZERO;
+    }
+
+    /**
+     * Current long-term limit, including adjustments from rate-limit headers.
+     */
+    public int getLongTermLimit() {
+        return longTermLimit;
+    }
+
+    private void awaitPause() throws InterruptedException {
+        Duration pause = getPauseRemaining();
+        if (!pause.isZero()) {
+            LoggingUtil.debug(LOG, "awaitPause", 
+                "Waiting %dms for provider %s quota reset", pause.toMillis(), provider);
+            Thread.sleep(pause.toMillis());
+        }
+    }
+
     /**
      * Record a request and schedule permit release.
      */
@@ -205,35 +279,28 @@ public class ProviderRateLimiter {
         shortTermSemaphore.drainPermits();
         longTermSemaphore.drainPermits();
         requestHistory.clear();
+        pausedUntil = Instant.EPOCH;
         
-        // Note: We can't easily restore initial permits without knowing the original values
-        // This is a limitation of the current design - consider storing initial values
+        // Note: permits of requests still in flight are released by their scheduled tasks,
+        // so restoring the limits here may briefly over-admit
+        shortTermSemaphore.release(shortTermLimit);
+        longTermSemaphore.release(longTermLimit);
     }
 
     /**
-     * Get initial short term permits (for internal use).
+     * Fair semaphore whose capacity can shrink without waiting for permits to come back.
      */
-    private int getInitialShortTermPermits() {
-        // This is a workaround - in a better design we'd store the initial values
-        return switch (provider) {
-            case OPENAI -> 3;
-            case ANTHROPIC -> 5;
-            case PERPLEXITY -> 10;
-            default -> 1;
-        };
-    }
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
 
-    /**
-     * Get initial long term permits (for internal use).
-     */
-    private int getInitialLongTermPermits() {
-        // This is a workaround - in a better design we'd store the initial values
-        return switch (provider) {
-            case OPENAI -> 200;
-            case ANTHROPIC -> 1000;
-            case PERPLEXITY -> 600;
-            default -> 100;
-        };
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
     }
 
     @Override
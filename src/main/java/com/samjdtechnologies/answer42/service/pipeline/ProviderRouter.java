@@ -0,0 +1,287 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.samjdtechnologies.answer42.config.AIConfig;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.enums.AgentType;
+import com.samjdtechnologies.answer42.model.enums.RoutingStrategy;
+import com.samjdtechnologies.answer42.service.monitoring.FallbackMetricsService;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Picks the provider for each agent request (opt-in via {@code spring.ai.routing.enabled}).
+ *
+ * Agents are bound to a provider by their base class; the router may send a request to
+ * another candidate provider when that one currently scores better under the agent's
+ * {@link RoutingStrategy}. Scores combine the recent p95 latency, the agent's error rate
+ * with the provider, rate-limit load and the estimated token cost of the provider's
+ * configured model. Providers with an open circuit breaker or an exhausted quota are
+ * skipped, and the agent's own provider is kept unless another is clearly better.
+ */
+@Component
+public class ProviderRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProviderRouter.class);
+
+    private static final double LATENCY_PERCENTILE = 0.95;
+    private static final double SWITCH_MARGIN = 0.1; // Avoid flapping between similar providers
+
+    // Reference request size for comparing costs between providers
+    private static final long REFERENCE_PROMPT_TOKENS = 2000;
+    private static final long REFERENCE_COMPLETION_TOKENS = 500;
+
+    @Value("${spring.ai.routing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${spring.ai.routing.candidates:ANTHROPIC,OPENAI}")
+    private List<AIProvider> candidates;
+
+    @Value("${spring.ai.routing.default-strategy:BALANCED}")
+    private RoutingStrategy defaultStrategy;
+
+    @Value("${spring.ai.routing.pinned-agents:PERPLEXITY_RESEARCHER,RELATED_PAPER_DISCOVERY}")
+    private List<AgentType> pinnedAgents = List.of();
+
+    @Value("${spring.ai.routing.latency-agents:}")
+    private List<AgentType> latencyAgents = List.of();
+
+    @Value("${spring.ai.routing.cost-agents:}")
+    private List<AgentType> costAgents = List.of();
+
+    private final AIConfig aiConfig;
+    private final ProviderLatencyTracker latencyTracker;
+    private final FallbackMetricsService fallbackMetricsService;
+    private final APIRateLimiter rateLimiter;
+    private final AgentCircuitBreaker circuitBreaker;
+    private final ObjectProvider<ChatClient> ollamaChatClient;
+
+    private final Map<String, LongAdder> routedRequests = new ConcurrentHashMap<>();
+    private final LongAdder reroutedRequests = new LongAdder();
+
+    @Autowired
+    public ProviderRouter(AIConfig aiConfig, ProviderLatencyTracker latencyTracker,
+                          FallbackMetricsService fallbackMetricsService, APIRateLimiter rateLimiter,
+                          AgentCircuitBreaker circuitBreaker,
+                          @Qualifier("ollamaChatClient") ObjectProvider<ChatClient> ollamaChatClient) {
+        this.aiConfig = aiConfig;
+        this.latencyTracker = latencyTracker;
+        this.fallbackMetricsService = fallbackMetricsService;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.ollamaChatClient = ollamaChatClient;
+    }
+
+    ProviderRouter(AIConfig aiConfig, ProviderLatencyTracker latencyTracker,
+                   FallbackMetricsService fallbackMetricsService, APIRateLimiter rateLimiter,
+                   AgentCircuitBreaker circuitBreaker, ObjectProvider<ChatClient> ollamaChatClient,
+                   List<AIProvider> candidates, RoutingStrategy defaultStrategy) {
+        this(aiConfig, latencyTracker, fallbackMetricsService, rateLimiter, circuitBreaker, ollamaChatClient);
+        this.enabled = true;
+        this.candidates = candidates;
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the routing strategy configured for an agent.
+     */
+    public RoutingStrategy getStrategy(AgentType agentType) {
+        if (pinnedAgents.contains(agentType)) {
+            return RoutingStrategy.PINNED;
+        }
+        if (latencyAgents.contains(agentType)) {
+            return RoutingStrategy.LATENCY;
+        }
+        if (costAgents.contains(agentType)) {
+            return RoutingStrategy.COST;
+        }
+        return defaultStrategy;
+    }
+
+    /**
+     * Pick the provider for a request of the agent.
+     *
+     * @param agentType The agent making the request
+     * @param ownProvider The provider the agent is built for
+     * @return The provider to send the request to
+     */
+    public AIProvider route(AgentType agentType, AIProvider ownProvider) {
+        RoutingStrategy strategy = getStrategy(agentType);
+        if (!enabled || !strategy.allowsRouting() || !candidates.contains(ownProvider)) {
+            return ownProvider;
+        }
+
+        Map<AIProvider, Double> scores = scoreCandidates(agentType, strategy);
+        AIProvider chosen = ownProvider;
+        Double ownScore = scores.get(ownProvider);
+        double best = ownScore != null ? ownScore - SWITCH_MARGIN : Double.MAX_VALUE;
+        for (Map.Entry<AIProvider, Double> entry : scores.entrySet()) {
+            if (entry.getValue() < best) {
+                best = entry.getValue();
+                chosen = entry.getKey();
+            }
+        }
+
+        routedRequests.computeIfAbsent(agentType + "->" + chosen, k -> new LongAdder()).increment();
+        if (chosen != ownProvider) {
+            reroutedRequests.increment();
+            LoggingUtil.debug(LOG, "route", "Routing %s request from %s to %s (%s scores: %s)",
+                agentType, ownProvider, chosen, strategy, scores);
+        }
+        return chosen;
+    }
+
+    /**
+     * Score the available candidate providers for an agent; lower is better. Each input is
+     * normalized to 0..1 across the candidates before the strategy's weights are applied.
+     */
+    Map<AIProvider, Double> scoreCandidates(AgentType agentType, RoutingStrategy strategy) {
+        List<AIProvider> available = new ArrayList<>();
+        for (AIProvider provider : candidates) {
+            if (isAvailable(provider)) {
+                available.add(provider);
+            }
+        }
+
+        Map<AIProvider, Double> latencies = new HashMap<>();
+        Map<AIProvider, Double> costs = new HashMap<>();
+        double maxLatency = 0;
+        double maxCost = 0;
+        for (AIProvider provider : available) {
+            Duration p95 = latencyTracker.getPercentile(provider, LATENCY_PERCENTILE);
+            if (p95 != null) {
+                latencies.put(provider, (double) p95.toMillis());
+                maxLatency = Math.max(maxLatency, p95.toMillis());
+            }
+            double cost = aiConfig.estimateCost(provider, REFERENCE_PROMPT_TOKENS, REFERENCE_COMPLETION_TOKENS);
+            costs.put(provider, cost);
+            maxCost = Math.max(maxCost, cost);
+        }
+
+        Map<AIProvider, Double> scores = new LinkedHashMap<>();
+        for (AIProvider provider : available) {
+            // Providers without enough latency samples yet are assumed to be as slow as the slowest
+            double latency = maxLatency > 0 ? latencies.getOrDefault(provider, maxLatency) / maxLatency : 0;
+            double cost = maxCost > 0 ? costs.get(provider) / maxCost : 0;
+            double errors = fallbackMetricsService.getErrorRate(agentType.getAgentId(), provider);
+            double load = getLoad(provider);
+
+            scores.put(provider, strategy.getLatencyWeight() * latency
+                + strategy.getCostWeight() * cost
+                + strategy.getErrorWeight() * errors
+                + strategy.getLoadWeight() * load);
+        }
+        return scores;
+    }
+
+    /**
+     * Whether the agent's requests can currently be routed away from its own provider,
+     * e.g. while that provider's circuit breaker is open.
+     */
+    public boolean canRouteAround(AgentType agentType, AIProvider ownProvider) {
+        if (!enabled || !getStrategy(agentType).allowsRouting() || !candidates.contains(ownProvider)) {
+            return false;
+        }
+        for (AIProvider provider : candidates) {
+            if (provider != ownProvider && isAvailable(provider)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAvailable(AIProvider provider) {
+        if (provider == AIProvider.OLLAMA && ollamaChatClient.getIfAvailable() == null) {
+            return false;
+        }
+        return circuitBreaker.isCallPermitted(provider)
+            && rateLimiter.getPauseRemaining(provider).isZero();
+    }
+
+    private double getLoad(AIProvider provider) {
+        if (!rateLimiter.isProviderConfigured(provider)) {
+            return 0.0;
+        }
+        return Math.max(0.0, Math.min(1.0, rateLimiter.getLoadPercentage(provider)));
+    }
+
+    /**
+     * Get the chat client for a provider the router picked.
+     */
+    public ChatClient getChatClient(AIProvider provider) {
+        switch (provider) {
+            case ANTHROPIC:
+                return aiConfig.anthropicChatClient(aiConfig.anthropicChatModel(aiConfig.anthropicApi()));
+            case OPENAI:
+                return aiConfig.openAiChatClient(aiConfig.openAiChatModel(aiConfig.openAiApi()));
+            case PERPLEXITY:
+                return aiConfig.perplexityChatClient(aiConfig.perplexityChatModel(aiConfig.perplexityApi()));
+            case OLLAMA:
+                ChatClient ollama = ollamaChatClient.getIfAvailable();
+                if (ollama != null) {
+                    return ollama;
+                }
+                throw new IllegalStateException("Ollama chat client not available");
+            default:
+                throw new IllegalArgumentException("Unknown provider: " + provider);
+        }
+    }
+
+    /**
+     * Record the outcome of a request so later routing decisions see it.
+     */
+    public void recordOutcome(AgentType agentType, AIProvider provider, Duration latency, boolean success) {
+        if (success) {
+            latencyTracker.record(provider, latency);
+            fallbackMetricsService.recordPrimarySuccess(agentType.getAgentId(), provider);
+        } else {
+            fallbackMetricsService.recordPrimaryFailure(agentType.getAgentId(), provider);
+        }
+    }
+
+    /**
+     * Get routing statistics for monitoring.
+     */
+    public Map<String, Object> getRoutingStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("candidates", candidates);
+        stats.put("reroutedRequests", reroutedRequests.sum());
+        Map<String, Long> routed = new HashMap<>();
+        routedRequests.forEach((key, count) -> routed.put(key, count.sum()));
+        stats.put("routedRequests", routed);
+        Map<String, Long> p50 = new HashMap<>();
+        Map<String, Long> p95 = new HashMap<>();
+        for (AIProvider provider : candidates) {
+            Duration median = latencyTracker.getPercentile(provider, 0.5);
+            Duration tail = latencyTracker.getPercentile(provider, LATENCY_PERCENTILE);
+            if (median != null && tail != null) {
+                p50.put(provider.name(), median.toMillis());
+                p95.put(provider.name(), tail.toMillis());
+            }
+        }
+        stats.put("p50LatencyMillis", p50);
+        stats.put("p95LatencyMillis", p95);
+        return stats;
+    }
+}
@@ -0,0 +1,49 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.samjdtechnologies.answer42.model.pipeline.RateLimitSnapshot;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * HTTP client interceptor that reads rate-limit response headers and hands the live
+ * quota state to a limiter. Runs before error handling, so 429 responses are seen too.
+ * Works for both RestTemplate and RestClient (and therefore the Spring AI provider APIs).
+ */
+public class RateLimitHeaderInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimitHeaderInterceptor.class);
+
+    private final BiConsumer<URI, RateLimitSnapshot> listener;
+
+    public RateLimitHeaderInterceptor(BiConsumer<URI, RateLimitSnapshot> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        try {
+            RateLimitSnapshot snapshot = RateLimitSnapshot.fromHeaders(response.getHeaders(), Instant.now());
+            if (!snapshot.isEmpty()) {
+                listener.accept(request.getURI(), snapshot);
+            }
+        } catch (Exception e) {
+            // Quota tracking must never fail the actual request
+            LoggingUtil.warn(LOG, "intercept",
+                "Failed to process rate limit headers from %s: %s", request.getURI().getHost(), e.getMessage());
+        }
+        return response;
+    }
+}
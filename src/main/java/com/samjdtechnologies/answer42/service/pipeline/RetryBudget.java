@@ -0,0 +1,89 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket retry budget shared by every caller of one AI provider.
+ *
+ * Each successful request deposits a fraction of a token and each retry withdraws a whole
+ * one, so retries are capped at a percentage of recent successes. When a provider degrades,
+ * successes dry up and so do retries, instead of every in-flight pipeline multiplying the
+ * load on it. A small time-based floor keeps low-traffic providers from being starved of
+ * retries entirely. Tokens are kept in thousandths and updated lock-free.
+ */
+class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerSuccess;
+    private final long maxBalance;
+    private final long floorIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong balance;
+    private final AtomicLong lastFloorRefill;
+    private final AtomicLong deniedRetries = new AtomicLong(0);
+
+    RetryBudget(double retryRatio, int maxRetryTokens, Duration floorInterval) {
+        this(retryRatio, maxRetryTokens, floorInterval, System::nanoTime);
+    }
+
+    RetryBudget(double retryRatio, int maxRetryTokens, Duration floorInterval, LongSupplier nanoClock) {
+        this.depositPerSuccess = Math.round(retryRatio * SCALE);
+        this.maxBalance = maxRetryTokens * SCALE;
+        this.floorIntervalNanos = floorInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.balance = new AtomicLong(maxBalance);
+        this.lastFloorRefill = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void recordSuccess() {
+        deposit(depositPerSuccess);
+    }
+
+    /**
+     * Withdraw one retry token.
+     *
+     * @return false, counting a denied retry, if the budget is spent
+     */
+    boolean tryAcquireRetry() {
+        refillFloor();
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                deniedRetries.incrementAndGet();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    double getAvailableRetries() {
+        refillFloor();
+        return (double) balance.get() / SCALE;
+    }
+
+    long getDeniedRetries() {
+        return deniedRetries.get();
+    }
+
+    void resetDeniedRetries() {
+        deniedRetries.set(0);
+    }
+
+    private void refillFloor() {
+        long now = nanoClock.getAsLong();
+        long last = lastFloorRefill.get();
+        long tokens = (now - last) / floorIntervalNanos;
+        if (tokens > 0 && lastFloorRefill.compareAndSet(last, last + tokens * floorIntervalNanos)) {
+            deposit(Math.min(tokens, maxBalance / SCALE) * SCALE);
+        }
+    }
+
+    private void deposit(long amount) {
+        balance.accumulateAndGet(amount, (current, added) -> Math.min(maxBalance, current + added));
+    }
+}
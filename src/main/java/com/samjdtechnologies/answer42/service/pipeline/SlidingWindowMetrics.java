@@ -0,0 +1,79 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Time-bucketed sliding window of call outcomes, used by the circuit breaker.
+ *
+ * The window is a ring of immutable buckets; recording an outcome replaces the current
+ * bucket with a CAS, so many threads can record concurrently without locks. A bucket whose
+ * start time has fallen out of the window is recycled by the first call that lands on its
+ * slot again.
+ */
+class SlidingWindowMetrics {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    SlidingWindowMetrics(int bucketCount, long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, Bucket.EMPTY);
+        }
+    }
+
+    void record(long nowMillis, boolean failure, boolean slow) {
+        long bucketStart = nowMillis - Math.floorMod(nowMillis, bucketMillis);
+        int index = (int) Math.floorMod(bucketStart / bucketMillis, (long) buckets.length());
+        while (true) {
+            Bucket current = buckets.get(index);
+            Bucket base = current.start == bucketStart ? current : new Bucket(bucketStart, 0, 0, 0);
+            Bucket updated = new Bucket(bucketStart, base.calls + 1,
+                base.failures + (failure ? 1 : 0), base.slowCalls + (slow ? 1 : 0));
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    Snapshot snapshot(long nowMillis) {
+        long windowStart = nowMillis - bucketMillis * buckets.length();
+        int calls = 0;
+        int failures = 0;
+        int slowCalls = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.start > windowStart && bucket.start <= nowMillis) {
+                calls += bucket.calls;
+                failures += bucket.failures;
+                slowCalls += bucket.slowCalls;
+            }
+        }
+        return new Snapshot(calls, failures, slowCalls);
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, Bucket.EMPTY);
+        }
+    }
+
+    private record Bucket(long start, int calls, int failures, int slowCalls) {
+        static final Bucket EMPTY = new Bucket(Long.MIN_VALUE, 0, 0, 0);
+    }
+
+    /**
+     * Aggregated outcomes over the window.
+     */
+    record Snapshot(int calls, int failures, int slowCalls) {
+
+        double failureRate() {
+            return calls == 0 ? 0.0 : (double) failures / calls;
+        }
+
+        double slowCallRate() {
+            return calls == 0 ? 0.0 : (double) slowCalls / calls;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.samjdtechnologies.answer42.service.retention;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped JSON-lines file receiving the rows one retention run deletes, one row per line.
+ *
+ * The file is created on the first write, so runs that delete nothing leave no file. Each
+ * chunk is flushed through the compressor before its transaction commits, so every deleted
+ * row is on disk even if the run dies before the file is closed.
+ */
+class RetentionArchive implements Closeable {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Path file;
+    private BufferedWriter writer;
+
+    RetentionArchive(Path directory, String policy, Instant startedAt) {
+        this.file = directory.resolve(policy).resolve(policy + "-" + FILE_TIMESTAMP.format(startedAt) + ".jsonl.gz");
+    }
+
+    /**
+     * Append rows and flush them to disk.
+     */
+    void write(List<String> rows) throws IOException {
+        if (writer == null) {
+            Files.createDirectories(file.getParent());
+            writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), true), StandardCharsets.UTF_8));
+        }
+        for (String row : rows) {
+            writer.write(row);
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * @return the archive file, or null if nothing was written
+     */
+    Path getFile() {
+        return writer != null ? file : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.samjdtechnologies.answer42.service.retention;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * How long the rows of one table (or one kind of row in it) are kept.
+ *
+ * @param name name of the policy, used in logs, reports and archive file names
+ * @param retention rows older than this are deleted
+ * @param archive whether deleted rows are written to an archive file first
+ * @param deleter deletes one chunk of rows older than a cutoff
+ */
+public record RetentionPolicy(String name, Duration retention, boolean archive, ChunkDeleter deleter) {
+
+    /**
+     * Deletes up to {@code limit} rows older than the cutoff in a single statement (or a few
+     * for tables with children) and returns them as JSON. Called in a transaction.
+     */
+    @FunctionalInterface
+    public interface ChunkDeleter {
+        List<String> deleteChunk(Instant cutoff, int limit);
+    }
+}
@@ -0,0 +1,21 @@
+package com.samjdtechnologies.answer42.service.retention;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Outcome of applying one retention policy.
+ *
+ * @param policy name of the policy
+ * @param cutoff rows older than this were eligible
+ * @param deleted number of rows deleted
+ * @param chunks number of chunks, i.e. transactions, used
+ * @param complete false if the run stopped early (chunk limit, failure or shutdown) and
+ *                 eligible rows remain for the next run
+ * @param archiveFile file the deleted rows were archived to, or null if none were
+ * @param elapsedMillis time the run took, pauses included
+ * @param finishedAt when the run ended
+ */
+public record RetentionReport(String policy, Instant cutoff, long deleted, int chunks, boolean complete,
+                              Path archiveFile, long elapsedMillis, Instant finishedAt) {
+}
@@ -0,0 +1,300 @@
+package com.samjdtechnologies.answer42.service.retention;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
+import com.samjdtechnologies.answer42.repository.AgentTaskRepository;
+import com.samjdtechnologies.answer42.repository.BatchJobMetadataRepository;
+import com.samjdtechnologies.answer42.repository.DiscoveredPaperRepository;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+
+/**
+ * Deletes old rows from the high-churn tables: finished agent tasks, duplicate and unused
+ * discovered papers, agent memory cache rows and Spring Batch job metadata.
+ *
+ * Each policy deletes in chunks of a few hundred rows, every chunk in its own short
+ * transaction, and pauses between chunks so vacuum, replication and other writers keep up.
+ * Rows are picked with FOR UPDATE SKIP LOCKED, so a chunk never waits on a row another
+ * transaction holds. A run stops after a bounded number of chunks per policy; whatever is
+ * left goes in the next run. Policies that archive write the deleted rows to a gzipped
+ * JSON-lines file inside the chunk's transaction, so a row is only deleted once it is on disk.
+ *
+ * Runs are scheduled on the task executor rather than the single scheduler thread, and never
+ * overlap.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetentionService.class);
+
+    private static final int PROGRESS_EVERY_CHUNKS = 20;
+
+    private final AgentTaskRepository agentTaskRepository;
+    private final DiscoveredPaperRepository discoveredPaperRepository;
+    private final AgentMemoryStoreRepository memoryRepository;
+    private final BatchJobMetadataRepository batchJobMetadataRepository;
+    private final TransactionTemplate writeTransactionTemplate;
+    private final Executor taskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final Map<String, RetentionReport> lastReports = new ConcurrentHashMap<>();
+
+    @Value("${retention.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${retention.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${retention.chunk-pause-ms:250}")
+    private long chunkPauseMs = 250;
+
+    @Value("${retention.max-chunks-per-run:400}")
+    private int maxChunksPerRun = 400;
+
+    @Value("${retention.archive.directory:retention-archive}")
+    private String archiveDirectory = "retention-archive";
+
+    @Value("${retention.agent-tasks.days:7}")
+    private int agentTaskDays = 7;
+
+    @Value("${retention.agent-tasks.archive:false}")
+    private boolean archiveAgentTasks;
+
+    @Value("${retention.duplicate-papers.days:30}")
+    private int duplicatePaperDays = 30;
+
+    @Value("${retention.duplicate-papers.archive:false}")
+    private boolean archiveDuplicatePapers;
+
+    @Value("${retention.unused-papers.days:0}")
+    private int unusedPaperDays;
+
+    @Value("${retention.unused-papers.archive:true}")
+    private boolean archiveUnusedPapers = true;
+
+    @Value("${retention.agent-memory.http-cache-days:30}")
+    private int httpCacheDays = 30;
+
+    @Value("${retention.agent-memory.discovery-cache-days:7}")
+    private int discoveryCacheDays = 7;
+
+    @Value("${retention.agent-memory.agent-cache-days:30}")
+    private int agentCacheDays = 30;
+
+    @Value("${retention.batch-metadata.days:90}")
+    private int batchMetadataDays = 90;
+
+    @Value("${retention.batch-metadata.archive:true}")
+    private boolean archiveBatchMetadata = true;
+
+    public RetentionService(AgentTaskRepository agentTaskRepository,
+                            DiscoveredPaperRepository discoveredPaperRepository,
+                            AgentMemoryStoreRepository memoryRepository,
+                            BatchJobMetadataRepository batchJobMetadataRepository,
+                            TransactionTemplate writeTransactionTemplate,
+                            Executor taskExecutor) {
+        this.agentTaskRepository = agentTaskRepository;
+        this.discoveredPaperRepository = discoveredPaperRepository;
+        this.memoryRepository = memoryRepository;
+        this.batchJobMetadataRepository = batchJobMetadataRepository;
+        this.writeTransactionTemplate = writeTransactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start a retention run in the background, unless one is still going.
+     */
+    @Scheduled(fixedDelayString = "${retention.interval-ms:3600000}",
+               initialDelayString = "${retention.initial-delay-ms:300000}")
+    public void scheduleRetention() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::applyAll);
+        } catch (RejectedExecutionException e) {
+            LoggingUtil.warn(LOG, "scheduleRetention", "Task executor is busy, retention run skipped");
+        }
+    }
+
+    /**
+     * Apply every active policy once. Does nothing if a run is already in progress.
+     *
+     * @return the report of each policy applied
+     */
+    public List<RetentionReport> applyAll() {
+        if (!running.compareAndSet(false, true)) {
+            LoggingUtil.debug(LOG, "applyAll", "Retention run already in progress");
+            return List.of();
+        }
+        try {
+            List<RetentionReport> reports = new ArrayList<>();
+            long deleted = 0;
+            for (RetentionPolicy policy : getPolicies()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                RetentionReport report = apply(policy);
+                reports.add(report);
+                deleted += report.deleted();
+            }
+            LoggingUtil.info(LOG, "applyAll", "Retention run deleted %d rows under %d policies",
+                deleted, reports.size());
+            return reports;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete the rows a policy no longer keeps, chunk by chunk, archiving them first if
+     * the policy asks for it.
+     *
+     * @param policy the policy to apply
+     * @return how many rows were deleted and whether any eligible rows remain
+     */
+    public RetentionReport apply(RetentionPolicy policy) {
+        Instant startedAt = Instant.now();
+        Instant cutoff = startedAt.minus(policy.retention());
+        long deleted = 0;
+        int chunks = 0;
+        boolean complete = false;
+        Path archiveFile = null;
+
+        try (RetentionArchive archive = policy.archive()
+                ? new RetentionArchive(Path.of(archiveDirectory), policy.name(), startedAt) : null) {
+            while (chunks < maxChunksPerRun) {
+                List<String> rows = writeTransactionTemplate.execute(status -> deleteChunk(policy, cutoff, archive));
+                int count = rows != null ? rows.size() : 0;
+                chunks++;
+                deleted += count;
+
+                if (count < chunkSize) {
+                    complete = true;
+                    break;
+                }
+                if (chunks % PROGRESS_EVERY_CHUNKS == 0) {
+                    LoggingUtil.info(LOG, "apply", "Policy %s: %d rows deleted in %d chunks so far",
+                        policy.name(), deleted, chunks);
+                }
+                if (!pause()) {
+                    break;
+                }
+            }
+            archiveFile = archive != null ? archive.getFile() : null;
+        } catch (IOException | RuntimeException e) {
+            LoggingUtil.error(LOG, "apply", String.format(
+                "Policy %s failed after deleting %d rows", policy.name(), deleted), e);
+        }
+
+        Instant finishedAt = Instant.now();
+        RetentionReport report = new RetentionReport(policy.name(), cutoff, deleted, chunks, complete,
+            archiveFile, Duration.between(startedAt, finishedAt).toMillis(), finishedAt);
+        lastReports.put(policy.name(), report);
+
+        if (deleted > 0 || !complete) {
+            LoggingUtil.info(LOG, "apply", "Policy %s deleted %d rows older than %s in %d chunks (%d ms)%s%s",
+                policy.name(), deleted, cutoff, chunks, report.elapsedMillis(),
+                complete ? "" : ", more remain",
+                archiveFile != null ? ", archived to " + archiveFile : "");
+        }
+        return report;
+    }
+
+    private List<String> deleteChunk(RetentionPolicy policy, Instant cutoff, RetentionArchive archive) {
+        List<String> rows = policy.deleter().deleteChunk(cutoff, chunkSize);
+        if (archive != null && !rows.isEmpty()) {
+            try {
+                archive.write(rows);
+            } catch (IOException e) {
+                // Rolls the chunk back, the rows stay in the table
+                throw new UncheckedIOException(e);
+            }
+        }
+        return rows;
+    }
+
+    private boolean pause() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The active policies; a policy configured with 0 days keeps its rows forever.
+     */
+    public List<RetentionPolicy> getPolicies() {
+        List<RetentionPolicy> policies = new ArrayList<>();
+        addPolicy(policies, "agent-tasks", agentTaskDays, archiveAgentTasks,
+            (cutoff, limit) -> agentTaskRepository.deleteCompletedTasksOlderThan(cutoff, limit));
+        addPolicy(policies, "duplicate-discovered-papers", duplicatePaperDays, archiveDuplicatePapers,
+            (cutoff, limit) -> discoveredPaperRepository.deleteDuplicatesOlderThan(
+                ZonedDateTime.ofInstant(cutoff, ZoneOffset.UTC), limit));
+        addPolicy(policies, "unused-discovered-papers", unusedPaperDays, archiveUnusedPapers,
+            (cutoff, limit) -> discoveredPaperRepository.deleteUnusedOlderThan(
+                ZonedDateTime.ofInstant(cutoff, ZoneOffset.UTC), limit));
+        addMemoryPolicy(policies, "http-response-cache", "http_cache_", httpCacheDays);
+        addMemoryPolicy(policies, "discovery-cache", "discovery_cache_", discoveryCacheDays);
+        addMemoryPolicy(policies, "agent-cache", "agent_", agentCacheDays);
+        addPolicy(policies, "batch-job-metadata", batchMetadataDays, archiveBatchMetadata,
+            (cutoff, limit) -> batchJobMetadataRepository.deleteJobExecutionsEndedBefore(
+                LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault()), limit));
+        return policies;
+    }
+
+    private void addMemoryPolicy(List<RetentionPolicy> policies, String name, String keyPrefix, int days) {
+        // Cache rows can be rebuilt, so they are never archived
+        addPolicy(policies, name, days, false,
+            (cutoff, limit) -> memoryRepository.deleteByKeyPrefixUpdatedBefore(keyPrefix, cutoff, limit));
+    }
+
+    private void addPolicy(List<RetentionPolicy> policies, String name, int days, boolean archive,
+                           RetentionPolicy.ChunkDeleter deleter) {
+        if (days > 0) {
+            policies.add(new RetentionPolicy(name, Duration.ofDays(days), archive, deleter));
+        }
+    }
+
+    /**
+     * The report of the last run of each policy, for monitoring.
+     */
+    public Map<String, RetentionReport> getLastReports() {
+        return Map.copyOf(lastReports);
+    }
+
+    /**
+     * Whether a retention run is in progress.
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+}
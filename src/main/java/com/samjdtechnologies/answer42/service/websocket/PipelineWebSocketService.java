@@ -10,8 +10,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
 import com.samjdtechnologies.answer42.model.enums.StageType;
 import com.samjdtechnologies.answer42.model.events.AgentTaskEvent;
+import com.samjdtechnologies.answer42.model.events.DiscoveryResultRefreshedEvent;
 import com.samjdtechnologies.answer42.model.pipeline.PipelineProgressUpdate;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 import com.vaadin.flow.component.UI;
@@ -29,6 +31,9 @@ public class PipelineWebSocketService {
     // Map of paper ID to list of UI instances listening for updates
     private final Map<UUID, Map<UI, Consumer<PipelineProgressUpdate>>> subscribers = new ConcurrentHashMap<>();
     
+    // Map of paper ID to UI instances listening for refreshed discovery results
+    private final Map<UUID, Map<UI, Consumer<RelatedPaperDiscoveryResult>>> discoverySubscribers = new ConcurrentHashMap<>();
+    
     // Map of user ID to their active UI sessions
     private final Map<UUID, Map<UI, VaadinSession>> userSessions = new ConcurrentHashMap<>();
     
@@ -280,6 +285,75 @@ public class PipelineWebSocketService {
         });
     }
     
+    /**
+     * Subscribe a UI to refreshed discovery results for a specific paper.
+     */
+    public void subscribeToDiscoveryUpdates(UUID paperId, UI ui, Consumer<RelatedPaperDiscoveryResult> updateHandler) {
+        discoverySubscribers.computeIfAbsent(paperId, k -> new ConcurrentHashMap<>())
+                           .put(ui, updateHandler);
+        
+        LoggingUtil.debug(LOG, "subscribeToDiscoveryUpdates", 
+            "UI %s subscribed to discovery updates for paper %s", ui.getUIId(), paperId);
+    }
+    
+    /**
+     * Unsubscribe a UI from refreshed discovery results.
+     */
+    public void unsubscribeFromDiscoveryUpdates(UUID paperId, UI ui) {
+        Map<UI, Consumer<RelatedPaperDiscoveryResult>> paperSubscribers = discoverySubscribers.get(paperId);
+        if (paperSubscribers != null) {
+            paperSubscribers.remove(ui);
+            
+            // Clean up empty maps
+            if (paperSubscribers.isEmpty()) {
+                discoverySubscribers.remove(paperId);
+            }
+        }
+        
+        LoggingUtil.debug(LOG, "unsubscribeFromDiscoveryUpdates", 
+            "UI %s unsubscribed from discovery updates for paper %s", ui.getUIId(), paperId);
+    }
+    
+    /**
+     * Push a background-refreshed discovery result to all UIs showing that paper.
+     */
+    @EventListener
+    public void handleDiscoveryResultRefreshed(DiscoveryResultRefreshedEvent event) {
+        Map<UI, Consumer<RelatedPaperDiscoveryResult>> paperSubscribers = 
+            discoverySubscribers.get(event.getPaperId());
+        
+        if (paperSubscribers == null || paperSubscribers.isEmpty()) {
+            return;
+        }
+        
+        LoggingUtil.debug(LOG, "handleDiscoveryResultRefreshed", 
+            "Broadcasting refreshed discovery for paper %s to %d subscribers", 
+            event.getPaperId(), paperSubscribers.size());
+        
+        paperSubscribers.entrySet().removeIf(entry -> {
+            UI ui = entry.getKey();
+            Consumer<RelatedPaperDiscoveryResult> handler = entry.getValue();
+            
+            try {
+                ui.access(() -> {
+                    try {
+                        handler.accept(event.getResult());
+                    } catch (Exception e) {
+                        LoggingUtil.error(LOG, "handleDiscoveryResultRefreshed", 
+                            "Error in discovery update handler for UI %s", e, ui.getUIId());
+                    }
+                });
+                return false; // Keep this subscriber
+                
+            } catch (Exception e) {
+                LoggingUtil.warn(LOG, "handleDiscoveryResultRefreshed", 
+                    "Failed to send discovery update to UI %s, removing subscriber: %s", 
+                    ui.getUIId(), e.getMessage());
+                return true; // Remove this subscriber
+            }
+        });
+    }
+    
     /**
      * Handle agent task events and convert them to pipeline progress updates.
      */
@@ -15,12 +15,15 @@ import com.samjdtechnologies.answer42.repository.DiscoveredPaperRepository;
 import com.samjdtechnologies.answer42.service.DiscoveryFeedbackService;
 import com.samjdtechnologies.answer42.service.PaperBookmarkService;
 import com.samjdtechnologies.answer42.service.discovery.DiscoveryCoordinator;
+import com.samjdtechnologies.answer42.service.websocket.PipelineWebSocketService;
 import com.samjdtechnologies.answer42.ui.helpers.components.RelatedPapersComponentHelper;
 import com.samjdtechnologies.answer42.ui.helpers.components.RelatedPapersComponentHelper.DiscoveryStats;
 import com.samjdtechnologies.answer42.ui.constants.UIConstants;
 import com.samjdtechnologies.answer42.ui.layout.MainLayout;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -54,6 +57,7 @@ public class RelatedPapersSection extends VerticalLayout {
     private final DiscoveryCoordinator discoveryCoordinator;
     private final PaperBookmarkService paperBookmarkService;
     private final DiscoveryFeedbackService discoveryFeedbackService;
+    private final PipelineWebSocketService pipelineWebSocketService;
     
     private final Paper sourcePaper;
     private final Grid<DiscoveredPaper> discoveryGrid = new Grid<>(DiscoveredPaper.class, false);
@@ -72,12 +76,14 @@ public class RelatedPapersSection extends VerticalLayout {
                               DiscoveredPaperRepository discoveredPaperRepository,
                               DiscoveryCoordinator discoveryCoordinator,
                               PaperBookmarkService paperBookmarkService,
-                              DiscoveryFeedbackService discoveryFeedbackService) {
+                              DiscoveryFeedbackService discoveryFeedbackService,
+                              PipelineWebSocketService pipelineWebSocketService) {
         this.sourcePaper = sourcePaper;
         this.discoveredPaperRepository = discoveredPaperRepository;
         this.discoveryCoordinator = discoveryCoordinator;
         this.paperBookmarkService = paperBookmarkService;
         this.discoveryFeedbackService = discoveryFeedbackService;
+        this.pipelineWebSocketService = pipelineWebSocketService;
         
         addClassName(UIConstants.CSS_DISCOVERY_SECTION);
         setSpacing(true);
@@ -89,6 +95,24 @@ public class RelatedPapersSection extends VerticalLayout {
         LoggingUtil.debug(LOG, "RelatedPapersSection", "Initialized for paper: %s", sourcePaper.getId());
     }
     
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (pipelineWebSocketService != null) {
+            // Cached results may be served stale; get told when the background refresh lands
+            pipelineWebSocketService.subscribeToDiscoveryUpdates(
+                sourcePaper.getId(), attachEvent.getUI(), this::onDiscoveryRefreshed);
+        }
+    }
+    
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (pipelineWebSocketService != null) {
+            pipelineWebSocketService.unsubscribeFromDiscoveryUpdates(sourcePaper.getId(), detachEvent.getUI());
+        }
+        super.onDetach(detachEvent);
+    }
+    
     private void initializeComponents() {
         // Header section
         add(createHeaderSection());
@@ -494,6 +518,14 @@ public class RelatedPapersSection extends VerticalLayout {
         }));
     }
     
+    private void onDiscoveryRefreshed(RelatedPaperDiscoveryResult result) {
+        LoggingUtil.info(LOG, "onDiscoveryRefreshed", "Fresher discovery results available for paper: %s", 
+            sourcePaper.getId());
+        processDiscoveryResult(result);
+        Notification.show("Related papers updated with fresher results", 3000, Notification.Position.BOTTOM_START)
+            .addThemeVariants(NotificationVariant.LUMO_CONTRAST);
+    }
+    
     private void processDiscoveryResult(RelatedPaperDiscoveryResult result) {
         if (result != null && result.getDiscoveredPapers() != null) {
             LoggingUtil.info(LOG, "processDiscoveryResult", 
@@ -0,0 +1,151 @@
+package com.samjdtechnologies.answer42.ui.helpers.data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.samjdtechnologies.answer42.model.KeysetCursor;
+import com.samjdtechnologies.answer42.util.LoggingUtil;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+
+/**
+ * Lazy grid data backed by keyset pagination on (created_at, id), newest first.
+ *
+ * The grid asks for rows by offset as the user scrolls. Each page ends at a known row, so
+ * the cursor after it is remembered under the offset it ends at and the next page is
+ * fetched by seeking past that row instead of skipping with OFFSET. A jump beyond the rows
+ * seen so far walks forward from the nearest remembered cursor.
+ *
+ * The grid scrolls without a fixed size. The total, when a counter is given, is counted once
+ * per {@link #refresh()} and cached; it serves as the grid's size estimate and for labels.
+ *
+ * @param <T> the row type
+ */
+public class KeysetDataProvider<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeysetDataProvider.class);
+
+    /**
+     * Fetches up to {@code limit} rows strictly after a cursor, newest first.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        List<T> fetch(KeysetCursor after, int limit);
+    }
+
+    private final PageFetcher<T> fetcher;
+    private final Function<T, KeysetCursor> keyOf;
+    private final LongSupplier counter;
+
+    // Offset reached so far -> cursor to continue from there
+    private final NavigableMap<Integer, KeysetCursor> cursors = new TreeMap<>();
+    private Long cachedCount;
+    private GridLazyDataView<T> dataView;
+
+    /**
+     * @param fetcher fetches a page after a cursor
+     * @param keyOf the cursor of a row, i.e. its created_at and id
+     * @param counter counts all rows, or null if no total is needed
+     */
+    public KeysetDataProvider(PageFetcher<T> fetcher, Function<T, KeysetCursor> keyOf, LongSupplier counter) {
+        this.fetcher = fetcher;
+        this.keyOf = keyOf;
+        this.counter = counter;
+        cursors.put(0, KeysetCursor.FIRST);
+    }
+
+    /**
+     * Make this provider the lazy data source of a grid.
+     *
+     * @param grid the grid to fill
+     * @param pageSize the number of rows the grid requests at a time
+     * @return the grid's lazy data view
+     */
+    public GridLazyDataView<T> bind(Grid<T> grid, int pageSize) {
+        grid.setPageSize(pageSize);
+        dataView = grid.setItems(query -> fetch(query.getOffset(), query.getLimit()));
+        applyCountEstimate();
+        return dataView;
+    }
+
+    /**
+     * Fetch the rows at {@code offset .. offset + limit - 1}.
+     *
+     * @param offset the index of the first row
+     * @param limit the maximum number of rows
+     * @return the rows, fewer than {@code limit} at the end of the list
+     */
+    public Stream<T> fetch(int offset, int limit) {
+        Map.Entry<Integer, KeysetCursor> nearest = cursors.floorEntry(offset);
+        int position = nearest.getKey();
+        KeysetCursor cursor = nearest.getValue();
+
+        // Only after a jump past the rows seen so far, e.g. dragging the scrollbar
+        while (position < offset) {
+            int wanted = Math.min(offset - position, limit);
+            List<T> skipped = fetcher.fetch(cursor, wanted);
+            if (skipped.isEmpty()) {
+                return Stream.empty();
+            }
+            position += skipped.size();
+            cursor = keyOf.apply(skipped.get(skipped.size() - 1));
+            cursors.put(position, cursor);
+            if (skipped.size() < wanted) {
+                return Stream.empty();
+            }
+        }
+
+        List<T> page = fetcher.fetch(cursor, limit);
+        if (!page.isEmpty()) {
+            cursors.put(offset + page.size(), keyOf.apply(page.get(page.size() - 1)));
+        }
+        LoggingUtil.debug(LOG, "fetch", "Fetched %d rows at offset %d", page.size(), offset);
+        return page.stream();
+    }
+
+    /**
+     * The total number of rows, counted at most once between refreshes.
+     *
+     * @return the total, or -1 if there is no counter
+     */
+    public long getCount() {
+        if (counter == null) {
+            return -1;
+        }
+        if (cachedCount == null) {
+            cachedCount = counter.getAsLong();
+        }
+        return cachedCount;
+    }
+
+    /**
+     * Forget the cursors and the cached count and reload the grid from the top, after the
+     * filter changed or rows were added or removed.
+     */
+    public void refresh() {
+        cursors.clear();
+        cursors.put(0, KeysetCursor.FIRST);
+        cachedCount = null;
+        if (dataView != null) {
+            dataView.refreshAll();
+            applyCountEstimate();
+        }
+    }
+
+    private void applyCountEstimate() {
+        long count = getCount();
+        if (count > 0) {
+            dataView.setItemCountEstimate((int) Math.min(count, Integer.MAX_VALUE));
+        }
+    }
+}
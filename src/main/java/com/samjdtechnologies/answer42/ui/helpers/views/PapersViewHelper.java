@@ -7,23 +7,25 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.io.FileOutputStream;
 import java.io.InputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.KeysetCursor;
 import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.service.PaperService;
 import com.samjdtechnologies.answer42.ui.constants.UIConstants;
+import com.samjdtechnologies.answer42.ui.helpers.data.KeysetDataProvider;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasComponents;
@@ -48,54 +50,64 @@ public class PapersViewHelper {
     private static final Logger LOG = LoggerFactory.getLogger(PapersViewHelper.class);
 
     /**
-     * Update list of papers and refresh the grid based on search and filter criteria.
+     * Reload the grid with the papers matching the search and filter criteria.
+     * 
+     * Without a search term the grid pages through the user's papers newest first with
+     * keyset pagination. A search is ranked by relevance, so its results are paged by
+     * offset; search results stay short enough for that.
      * 
      * @param currentUser the user whose papers are being displayed
      * @param searchTerm the search term to filter papers by
      * @param statusValue the status filter to apply
-     * @param page the current page number (0-based)
-     * @param pageSize the number of items per page
+     * @param pageSize the number of papers the grid fetches at a time
      * @param grid the Grid component to update with papers
-     * @param pageInfo the Span component displaying pagination information
-     * @param prevButton the Button for navigating to previous page
-     * @param nextButton the Button for navigating to next page
+     * @param countInfo the Span component displaying the number of papers
      * @param paperService the service for accessing paper data
-     * @param pageUpdateCallback callback function to update page when pagination changes
      */
     public static void updateList(User currentUser, 
                                String searchTerm, 
                                String statusValue,
-                               int page,
                                int pageSize,
-                               Grid<Paper> grid,
-                               Span pageInfo,
-                               Button prevButton, 
-                               Button nextButton,
-                               PaperService paperService,
-                               Consumer<Integer> pageUpdateCallback) {
+                               Grid<PaperSummary> grid,
+                               Span countInfo,
+                               PaperService paperService) {
         
         LoggingUtil.debug(LOG, "updateList", "Updating with user: " + (currentUser != null ? currentUser.getUsername() : "null") + 
             ", search: '" + searchTerm + "', status: '" + statusValue + "'");
             
-        // Use helper to fetch papers list
-        Page<Paper> papers = fetchPapersList(
-            currentUser, searchTerm, statusValue, page, pageSize, paperService);
-        
-        // Update grid
-        int contentSize = papers.getContent().size();
-        LoggingUtil.info(LOG, "updateList", "Setting grid with " + contentSize + " papers");
-        grid.setItems(papers.getContent());
+        if (currentUser == null) {
+            LoggingUtil.error(LOG, "updateList", "Cannot fetch papers: Current user is null");
+            grid.setItems(List.of());
+            countInfo.setText("");
+            return;
+        }
         
-        // Update pagination and potentially adjust page if beyond bounds
-        int adjustedPage = updatePagination(
-            papers.getNumber(), papers.getTotalPages(), papers.getTotalElements(), 
-            pageInfo, prevButton, nextButton);
+        // Ensure params are not null to avoid NPE
+        final String finalSearchTerm = searchTerm == null ? "" : searchTerm.trim();
+        final String status = statusValue == null || "All".equals(statusValue) ? null : statusValue;
         
-        // If page changed, update the current page and refresh
-        if (adjustedPage != page && pageUpdateCallback != null) {
-            LoggingUtil.debug(LOG, "updateList", "Page adjustment needed: " + page + " -> " + adjustedPage);
-            pageUpdateCallback.accept(adjustedPage);
+        long total;
+        if (!finalSearchTerm.isEmpty()) {
+            grid.setPageSize(pageSize);
+            grid.setItems(query -> fetchSearchResults(
+                currentUser, finalSearchTerm, status, query.getOffset(), query.getLimit(), paperService));
+            total = paperService.searchPapersByUser(currentUser, finalSearchTerm, status, PageRequest.of(0, 1))
+                .getTotalElements();
+        } else {
+            KeysetDataProvider<PaperSummary> provider = new KeysetDataProvider<>(
+                (after, limit) -> status == null
+                    ? paperService.getPaperSummariesByUser(currentUser, after, limit)
+                    : paperService.getPaperSummariesByUserAndStatus(currentUser, status, after, limit),
+                paper -> new KeysetCursor(paper.getCreatedAt(), paper.getId()),
+                () -> status == null
+                    ? paperService.countPapersByUser(currentUser)
+                    : paperService.countPapersByUserAndStatus(currentUser, status));
+            provider.bind(grid, pageSize);
+            total = provider.getCount();
         }
+        
+        LoggingUtil.info(LOG, "updateList", "Showing " + total + " papers for user " + currentUser.getUsername());
+        countInfo.setText(total == 1 ? "1 paper" : total + " papers");
     }
 
     /**
@@ -105,9 +117,9 @@ public class PapersViewHelper {
      * @param actionsRenderer renderer for the actions column
      * @param itemClickHandler callback function to handle double-click on grid rows
      */
-    public static void configureGrid(Grid<Paper> grid, 
-                                     ComponentRenderer<Component, Paper> actionsRenderer,
-                                     Consumer<Paper> itemClickHandler) {
+    public static void configureGrid(Grid<PaperSummary> grid, 
+                                     ComponentRenderer<Component, PaperSummary> actionsRenderer,
+                                     Consumer<PaperSummary> itemClickHandler) {
         LoggingUtil.debug(LOG, "configureGrid", "Configuring papers grid...");
         
         grid.addClassName(UIConstants.CSS_PAPERS_GRID);
@@ -120,7 +132,7 @@ public class PapersViewHelper {
                 .setHeader("Actions").setAutoWidth(false).setWidth("200px").setFlexGrow(0);
         
         // Title - allow to grow more
-        grid.addColumn(Paper::getTitle).setHeader("Title").setAutoWidth(false).setFlexGrow(3);
+        grid.addColumn(PaperSummary::getTitle).setHeader("Title").setAutoWidth(false).setFlexGrow(3);
         
         // Authors - moderate space
         grid.addColumn(paper -> {
@@ -132,10 +144,10 @@ public class PapersViewHelper {
         }).setHeader("Authors").setAutoWidth(false).setFlexGrow(2);
         
         // Journal - moderate space
-        grid.addColumn(Paper::getJournal).setHeader("Journal").setAutoWidth(false).setFlexGrow(1);
+        grid.addColumn(PaperSummary::getJournal).setHeader("Journal").setAutoWidth(false).setFlexGrow(1);
         
         // Year - fixed small width
-        grid.addColumn(Paper::getYear).setHeader("Year").setAutoWidth(false).setWidth("70px").setFlexGrow(0);
+        grid.addColumn(PaperSummary::getYear).setHeader("Year").setAutoWidth(false).setWidth("70px").setFlexGrow(0);
         
         // Status column with colored badge - fixed width
         grid.addColumn(new ComponentRenderer<>(paper -> {
@@ -163,112 +175,38 @@ public class PapersViewHelper {
     }
 
     /**
-     * Updates the grid with papers based on search and filter criteria.
+     * Fetch a window of ranked search results for a lazy grid.
      * 
-     * @param currentUser the user whose papers are being fetched
-     * @param searchTerm the search term to filter papers by
-     * @param statusValue the status filter to apply
-     * @param page the current page number (0-based)
-     * @param pageSize the number of items per page
+     * @param currentUser the user whose papers are being searched
+     * @param searchTerm the search term
+     * @param status the status filter, or null for any status
+     * @param offset the index of the first result
+     * @param limit the maximum number of results
      * @param paperService the service for accessing paper data
-     * @return a Page object containing papers matching the search criteria and pagination parameters
+     * @return the results in rank order
      */
-    public static Page<Paper> fetchPapersList(User currentUser, String searchTerm, String statusValue, 
-                                             int page, int pageSize, PaperService paperService) {
-        LoggingUtil.debug(LOG, "fetchPapersList", "Fetching papers for user: " + 
-            (currentUser != null ? currentUser.getUsername() + " (ID: " + currentUser.getId() + ")" : "null"));
-            
-        if (currentUser == null) {
-            LoggingUtil.error(LOG, "fetchPapersList", "Cannot fetch papers: Current user is null");
-            return Page.empty(PageRequest.of(0, pageSize));
-        }
-        
+    public static Stream<PaperSummary> fetchSearchResults(User currentUser, String searchTerm, String status,
+                                                          int offset, int limit, PaperService paperService) {
         try {
-            // Ensure params are not null to avoid NPE
-            final String finalSearchTerm = searchTerm == null ? "" : searchTerm;
-            final String finalStatusValue = statusValue == null ? "All" : statusValue;
-            
-            LoggingUtil.debug(LOG, "fetchPapersList", 
-                "Using parameters: searchTerm='" + finalSearchTerm + 
-                "', statusValue='" + finalStatusValue + 
-                "', page=" + page +
-                ", pageSize=" + pageSize);
-            
-            // Fetch papers based on filters
-            PageRequest pageRequest = PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
-            Page<Paper> result;
-            
-            if (!finalSearchTerm.isEmpty() && !"All".equals(finalStatusValue)) {
-                // Search with status filter
-                LoggingUtil.debug(LOG, "fetchPapersList", "Using search with status filter");
-                Page<Paper> searchResults = paperService.searchPapersByUser(currentUser, finalSearchTerm, pageRequest);
-                
-                // Since we can't filter a Page directly, we'll load all matching papers and filter
-                List<Paper> filteredPapers = searchResults.getContent().stream()
-                        .filter(paper -> paper.getStatus().equals(finalStatusValue))
-                        .toList();
-                
-                // Apply pagination manually (this is simplified and not ideal for large datasets)
-                result = new PageImpl<>(
-                    filteredPapers, 
-                    pageRequest, 
-                    searchResults.getTotalElements()
-                );
-            } else if (!finalSearchTerm.isEmpty()) {
-                // Search without status filter
-                LoggingUtil.debug(LOG, "fetchPapersList", "Using search without status filter");
-                result = paperService.searchPapersByUser(currentUser, finalSearchTerm, pageRequest);
-            } else if (!"All".equals(finalStatusValue)) {
-                // Status filter without search
-                LoggingUtil.debug(LOG, "fetchPapersList", "Using status filter without search");
-                result = paperService.getPapersByUserAndStatus(currentUser, finalStatusValue, pageRequest);
-            } else {
-                // No filters
-                LoggingUtil.debug(LOG, "fetchPapersList", "No filters, retrieving all user papers");
-                result = paperService.getPapersByUser(currentUser, pageRequest);
+            // The grid's window may straddle two pages of its own size
+            int firstPage = offset / limit;
+            int lastPage = (offset + limit - 1) / limit;
+            List<PaperSummary> results = new ArrayList<>();
+            for (int page = firstPage; page <= lastPage; page++) {
+                Page<PaperSummary> ranked = paperService.searchPapersByUser(
+                    currentUser, searchTerm, status, PageRequest.of(page, limit));
+                results.addAll(ranked.getContent());
+                if (!ranked.hasNext()) {
+                    break;
+                }
             }
-            
-            LoggingUtil.info(LOG, "fetchPapersList", "Retrieved " + result.getContent().size() + 
-                " papers for user " + currentUser.getUsername() + " (total: " + result.getTotalElements() + ")");
-            
-            return result;
+            return results.stream().skip(offset - (long) firstPage * limit).limit(limit);
         } catch (Exception e) {
-            LoggingUtil.error(LOG, "fetchPapersList", "Error fetching papers: " + e.getMessage(), e);
-            return Page.empty(PageRequest.of(page, pageSize));
+            LoggingUtil.error(LOG, "fetchSearchResults", "Error searching papers: " + e.getMessage(), e);
+            return Stream.empty();
         }
     }
 
-    /**
-     * Update pagination information.
-     * 
-     * @param currentPage the current page number (0-based)
-     * @param totalPages the total number of pages
-     * @param totalItems the total number of items
-     * @param pageInfo the Span component to update with pagination text
-     * @param prevButton the Button for navigating to previous page
-     * @param nextButton the Button for navigating to next page
-     * @return the adjusted page number, which may be different from the current page if
-     *         pagination boundaries were exceeded
-     */
-    public static int updatePagination(int currentPage, int totalPages, long totalItems, Span pageInfo,
-                                    Button prevButton, Button nextButton) {
-        LoggingUtil.debug(LOG, "updatePagination", "Page: " + (currentPage + 1) + "/" + 
-            totalPages + " (Total items: " + totalItems + ")");
-            
-        pageInfo.setText((currentPage + 1) + " of " + totalPages + " (" + totalItems + " items)");
-        prevButton.setEnabled(currentPage > 0);
-        nextButton.setEnabled(currentPage + 1 < totalPages);
-        
-        // If current page is beyond total pages, adjust and return new page
-        if (totalPages > 0 && currentPage >= totalPages) {
-            int adjustedPage = totalPages - 1;
-            LoggingUtil.debug(LOG, "updatePagination", "Adjusting page from " + currentPage + " to " + adjustedPage);
-            return adjustedPage;
-        }
-        
-        return currentPage;
-    }
-
     /**
      * Validate upload form fields and enable/disable the submit button based on validation results.
      * 
@@ -353,11 +291,11 @@ public class PapersViewHelper {
     /**
      * Download a paper by creating a stream resource and triggering download.
      * 
-     * @param paper the paper object containing the file path to download
+     * @param paper the paper summary containing the file path to download
      * @param ui the UI instance to use for download operations
      * @param viewComponent the parent component where download elements will be temporarily added
      */
-    public static void downloadPaper(Paper paper, UI ui, HasComponents viewComponent) {
+    public static void downloadPaper(PaperSummary paper, UI ui, HasComponents viewComponent) {
         try {
             String filePath = paper.getFilePath();
             if (filePath != null && !filePath.isEmpty()) {
@@ -1,23 +1,24 @@
 package com.samjdtechnologies.answer42.ui.helpers.views;
 
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
+import com.samjdtechnologies.answer42.model.KeysetCursor;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.Project;
 import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.service.PaperService;
 import com.samjdtechnologies.answer42.service.ProjectService;
 import com.samjdtechnologies.answer42.ui.constants.UIConstants;
+import com.samjdtechnologies.answer42.ui.helpers.data.KeysetDataProvider;
 import com.samjdtechnologies.answer42.util.LoggingUtil;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
@@ -47,6 +48,7 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 public class ProjectsViewHelper {
     
     private static final Logger LOG = LoggerFactory.getLogger(ProjectsViewHelper.class);
+    private static final int PICKER_PAGE_SIZE = 25;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
 
     /**
@@ -258,36 +260,6 @@ public class ProjectsViewHelper {
         return details;
     }
     
-    /**
-     * Updates the pagination controls.
-     * 
-     * @param page Current page
-     * @param totalPages Total number of pages
-     * @param pageInfo Text display for pagination
-     * @param prevButton Previous page button
-     * @param nextButton Next page button
-     * @return The adjusted page number
-     */
-    public static int updatePagination(int page, int totalPages, Span pageInfo, Button prevButton, Button nextButton) {
-        // Update pagination info
-        if (totalPages > 0) {
-            pageInfo.setText((page + 1) + " of " + totalPages);
-        } else {
-            pageInfo.setText("0 of 0");
-        }
-        
-        // Enable/disable navigation buttons
-        prevButton.setEnabled(page > 0);
-        nextButton.setEnabled(page < totalPages - 1);
-        
-        // Adjust page if beyond bounds
-        if (page >= totalPages && totalPages > 0) {
-            return totalPages - 1;
-        }
-        
-        return page;
-    }
-    
     /**
      * Shows the dialog for creating a new project.
      * 
@@ -349,9 +321,9 @@ public class ProjectsViewHelper {
         papersHeader.getStyle().set("margin-bottom", "var(--lumo-space-xs)");
         
         // Create paper selection tracking set
-        Set<Paper> selectedGridPapers = new java.util.HashSet<>();
+        Set<PaperSummary> selectedGridPapers = new java.util.HashSet<>();
         
-        Grid<Paper> papersGrid = new Grid<>();
+        Grid<PaperSummary> papersGrid = new Grid<>();
         papersGrid.setHeight("200px");
         papersGrid.setWidthFull();
         
@@ -403,18 +375,18 @@ public class ProjectsViewHelper {
         })).setHeader("Select").setWidth("80px").setFlexGrow(0)
             .setTextAlign(com.vaadin.flow.component.grid.ColumnTextAlign.CENTER);
         
-        // Load available papers
-        List<Paper> availablePapers = new ArrayList<>();
+        // Load available papers lazily as the picker is scrolled
+        long availablePapers = 0;
         if (currentUser != null && paperService != null) {
-            // Get all papers using default page request
-            PageRequest pageRequest = PageRequest.of(0, 100); // Reasonable limit
-            Page<Paper> papersPage = paperService.getPapersByUser(currentUser, pageRequest);
-            availablePapers = papersPage.getContent();
+            KeysetDataProvider<PaperSummary> provider = new KeysetDataProvider<>(
+                (after, limit) -> paperService.getPaperSummariesByUser(currentUser, after, limit),
+                paper -> new KeysetCursor(paper.getCreatedAt(), paper.getId()),
+                () -> paperService.countPapersByUser(currentUser));
+            provider.bind(papersGrid, PICKER_PAGE_SIZE);
+            availablePapers = provider.getCount();
         }
         
-        if (!availablePapers.isEmpty()) {
-            papersGrid.setItems(availablePapers);
-        } else {
+        if (availablePapers == 0) {
             papersHeader.setText("No papers available to add");
             papersGrid.setVisible(false);
         }
@@ -432,7 +404,8 @@ public class ProjectsViewHelper {
                 
                 // Add selected papers if any
                 if (!selectedGridPapers.isEmpty()) {
-                    newProject.setPapers(selectedGridPapers);
+                    List<UUID> selectedIds = selectedGridPapers.stream().map(PaperSummary::getId).toList();
+                    newProject.setPapers(new HashSet<>(paperService.getPapersByIds(selectedIds)));
                 }
                 
                 createHandler.accept(newProject);
@@ -549,99 +522,46 @@ public class ProjectsViewHelper {
     }
     
     /**
-     * Update list of projects and refresh the grid based on search criteria.
-     * 
-     * @param currentUser The user whose projects are being displayed
-     * @param searchTerm The search term to filter projects by
-     * @param page The current page number (0-based)
-     * @param pageSize The number of items per page
-     * @param projectService The service for accessing project data
-     * @return A Page object containing the projects
-     */
-    public static Page<Project> fetchProjectsList(User currentUser, String searchTerm, 
-                                              int page, int pageSize, ProjectService projectService) {
-        LoggingUtil.debug(LOG, "fetchProjectsList", "Fetching projects for user: " + 
-            (currentUser != null ? currentUser.getUsername() + " (ID: " + currentUser.getId() + ")" : "null"));
-            
-        if (currentUser == null) {
-            LoggingUtil.error(LOG, "fetchProjectsList", "Cannot fetch projects: Current user is null");
-            return Page.empty(PageRequest.of(0, pageSize));
-        }
-        
-        try {
-            // Ensure params are not null to avoid NPE
-            final String finalSearchTerm = searchTerm == null ? "" : searchTerm;
-            
-            LoggingUtil.debug(LOG, "fetchProjectsList", 
-                "Using parameters: searchTerm='" + finalSearchTerm + 
-                "', page=" + page +
-                ", pageSize=" + pageSize);
-            
-            // Get projects sorted by updated_at
-            PageRequest pageRequest = PageRequest.of(page, pageSize, Sort.by("updatedAt").descending());
-            
-            Page<Project> result;
-            if (finalSearchTerm.isEmpty()) {
-                result = projectService.getProjectsByUser(currentUser, pageRequest);
-            } else {
-                result = projectService.searchProjectsByUser(currentUser, finalSearchTerm, pageRequest);
-            }
-            
-            LoggingUtil.info(LOG, "fetchProjectsList", "Retrieved " + result.getContent().size() + 
-                " projects for user " + currentUser.getUsername() + " (total: " + result.getTotalElements() + ")");
-            
-            return result;
-        } catch (Exception e) {
-            LoggingUtil.error(LOG, "fetchProjectsList", "Error fetching projects: " + e.getMessage(), e);
-            return Page.empty(PageRequest.of(page, pageSize));
-        }
-    }
-    
-    /**
-     * Update list of projects in the grid.
+     * Reload the grid with the user's projects matching the search term, newest first,
+     * paged with keyset pagination as the grid is scrolled.
      *
      * @param currentUser The user whose projects are being displayed
      * @param searchTerm The search term to filter projects by
-     * @param page The current page number (0-based)
-     * @param pageSize The number of items per page
+     * @param pageSize The number of projects the grid fetches at a time
      * @param grid The Grid component to update
-     * @param pageInfo The Span component for pagination info
-     * @param prevButton The button for previous page
-     * @param nextButton The button for next page
+     * @param countInfo The Span component displaying the number of projects
      * @param projectService The service for accessing project data
-     * @param pageUpdateCallback Callback to update page number if needed
+     * @return The number of matching projects
      */
-    public static void updateList(User currentUser, 
+    public static long updateList(User currentUser, 
                                String searchTerm,
-                               int page,
                                int pageSize,
                                Grid<Project> grid,
-                               Span pageInfo,
-                               Button prevButton, 
-                               Button nextButton,
-                               ProjectService projectService,
-                               Consumer<Integer> pageUpdateCallback) {
+                               Span countInfo,
+                               ProjectService projectService) {
         
         LoggingUtil.debug(LOG, "updateList", "Updating with user: " + (currentUser != null ? currentUser.getUsername() : "null") + 
             ", search: '" + searchTerm + "'");
             
-        // Use helper to fetch projects list
-        Page<Project> projects = fetchProjectsList(
-            currentUser, searchTerm, page, pageSize, projectService);
-        
-        // Update grid
-        int contentSize = projects.getContent().size();
-        LoggingUtil.info(LOG, "updateList", "Setting grid with " + contentSize + " projects");
-        grid.setItems(projects.getContent());
-        
-        // Update pagination and potentially adjust page if beyond bounds
-        int adjustedPage = updatePagination(
-            projects.getNumber(), projects.getTotalPages(), pageInfo, prevButton, nextButton);
-        
-        // If page changed, update the current page and refresh
-        if (adjustedPage != page && pageUpdateCallback != null) {
-            LoggingUtil.debug(LOG, "updateList", "Page adjustment needed: " + page + " -> " + adjustedPage);
-            pageUpdateCallback.accept(adjustedPage);
+        if (currentUser == null) {
+            LoggingUtil.error(LOG, "updateList", "Cannot fetch projects: Current user is null");
+            grid.setItems(List.of());
+            countInfo.setText("");
+            return 0;
         }
+        
+        // Ensure params are not null to avoid NPE
+        final String finalSearchTerm = searchTerm == null ? "" : searchTerm;
+        
+        KeysetDataProvider<Project> provider = new KeysetDataProvider<>(
+            (after, limit) -> projectService.getProjectsByUser(currentUser, finalSearchTerm, after, limit),
+            project -> new KeysetCursor(project.getCreatedAt(), project.getId()),
+            () -> projectService.countProjectsByUser(currentUser, finalSearchTerm));
+        provider.bind(grid, pageSize);
+        
+        long total = provider.getCount();
+        LoggingUtil.info(LOG, "updateList", "Showing " + total + " projects for user " + currentUser.getUsername());
+        countInfo.setText(total == 1 ? "1 project" : total + " projects");
+        return total;
     }
 }
@@ -6,7 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.annotation.Secured;
 
-import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.model.db.User;
 import com.samjdtechnologies.answer42.service.PaperService;
 import com.samjdtechnologies.answer42.service.ProjectService;
@@ -297,7 +297,7 @@ public class DashboardView extends Div implements BeforeEnterObserver {
         if (currentUser != null) {
             LoggingUtil.debug(LOG, "createRecentPapers", "Loading recent papers for user ID: %s", currentUser.getId());
             // Get real papers from service - limit to 4 for dashboard display
-            List<Paper> recentPapers = paperService.getRecentPapersByUser(currentUser, 4);
+            List<PaperSummary> recentPapers = paperService.getRecentPaperSummariesByUser(currentUser, 4);
             LoggingUtil.info(LOG, "createRecentPapers", "Retrieved %d recent papers for dashboard display", recentPapers.size());
             
             if (recentPapers.isEmpty()) {
@@ -307,14 +307,11 @@ public class DashboardView extends Div implements BeforeEnterObserver {
                 papersList.add(emptyMessage);
             } else {
                 // Add each paper to the list
-                for (Paper paper : recentPapers) {
-                    // Extract content for display - fall back to abstract if text content not available
-                    String displayContent = paper.getTextContent();
+                for (PaperSummary paper : recentPapers) {
+                    // Preview is the start of the text content, or of the abstract if there is none
+                    String displayContent = paper.getPreview();
                     if (displayContent == null || displayContent.isEmpty()) {
-                        displayContent = paper.getPaperAbstract();
-                        if (displayContent == null || displayContent.isEmpty()) {
-                            displayContent = "No content available for this paper.";
-                        }
+                        displayContent = "No content available for this paper.";
                     }
                     
                     // Truncate content if too long
@@ -346,7 +343,7 @@ public class DashboardView extends Div implements BeforeEnterObserver {
         return section;
     }
     
-    private Component createPaperCard(String title, String content, boolean processed, Paper paper) {
+    private Component createPaperCard(String title, String content, boolean processed, PaperSummary paper) {
         Div card = new Div();
         card.addClassName(UIConstants.CSS_PAPER_CARD);
 
@@ -439,28 +436,28 @@ public class DashboardView extends Div implements BeforeEnterObserver {
     
     
     // Action handlers for paper cards
-    private void viewPaper(Paper paper) {
+    private void viewPaper(PaperSummary paper) {
         String title = paper != null ? paper.getTitle() : "Unknown";
         LoggingUtil.debug(LOG, "viewPaper", "View paper clicked: %s", title);
         // Navigate to paper view or open paper details dialog
         Notification.show("Viewing paper: " + title, 3000, Notification.Position.BOTTOM_START);
     }
     
-    private void editPaper(Paper paper) {
+    private void editPaper(PaperSummary paper) {
         String title = paper != null ? paper.getTitle() : "Unknown";
         LoggingUtil.debug(LOG, "editPaper", "Edit paper clicked: %s", title);
         // Navigate to paper edit view or open edit dialog
         Notification.show("Editing paper: " + title, 3000, Notification.Position.BOTTOM_START);
     }
     
-    private void downloadPaper(Paper paper) {
+    private void downloadPaper(PaperSummary paper) {
         String title = paper != null ? paper.getTitle() : "Unknown";
         LoggingUtil.debug(LOG, "downloadPaper", "Download paper clicked: %s", title);
         // Trigger paper download
         Notification.show("Downloading paper: " + title, 3000, Notification.Position.BOTTOM_START);
     }
     
-    private void deletePaper(Paper paper) {
+    private void deletePaper(PaperSummary paper) {
         if (paper == null) {
             LoggingUtil.error(LOG, "deletePaper", "Cannot delete null paper");
             return;
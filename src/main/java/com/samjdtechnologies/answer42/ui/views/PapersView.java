@@ -1,5 +1,7 @@
 package com.samjdtechnologies.answer42.ui.views;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.annotation.Secured;
@@ -7,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.service.PaperService;
 import com.samjdtechnologies.answer42.ui.constants.UIConstants;
 import com.samjdtechnologies.answer42.ui.layout.MainLayout;
@@ -55,16 +58,13 @@ public class PapersView extends Div implements BeforeEnterObserver {
     
     private final PaperService paperService;
 
-    private final Grid<Paper> grid = new Grid<>(Paper.class, false);
+    private final Grid<PaperSummary> grid = new Grid<>(PaperSummary.class, false);
     private final TextField searchField = new TextField();
     private final Select<String> statusFilter = new Select<>();
 
     private User currentUser;
-    private int page = 0;
-    private final int pageSize = 10;
-    private final Button prevButton = new Button("Previous");
-    private final Button nextButton = new Button("Next");
-    private final Span pageInfo = new Span("0 of 0");
+    private final int pageSize = 50;
+    private final Span countInfo = new Span();
 
     /**
      * Constructs the Papers view with necessary service dependencies.
@@ -112,17 +112,11 @@ public class PapersView extends Div implements BeforeEnterObserver {
         searchField.setPlaceholder("Search papers...");
         searchField.setClearButtonVisible(true);
         searchField.setValueChangeMode(ValueChangeMode.LAZY);
-        searchField.addValueChangeListener(e -> {
-            page = 0;
-            updateList();
-        });
+        searchField.addValueChangeListener(e -> updateList());
 
         statusFilter.setItems("All", "PENDING", "PROCESSING", "PROCESSED", "FAILED");
         statusFilter.setValue("All");
-        statusFilter.addValueChangeListener(e -> {
-            page = 0;
-            updateList();
-        });
+        statusFilter.addValueChangeListener(e -> updateList());
 
         Button uploadButton = new Button("Upload Paper", new Icon(VaadinIcon.UPLOAD));
         uploadButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
@@ -148,27 +142,12 @@ public class PapersView extends Div implements BeforeEnterObserver {
     private Component createContent() {
         configureGrid();
 
-        HorizontalLayout pagination = new HorizontalLayout(prevButton, pageInfo, nextButton);
-        pagination.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.CENTER);
-        pagination.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
-
-        prevButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-        nextButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-        
-        prevButton.addClickListener(e -> {
-            if (page > 0) {
-                page--;
-                updateList();
-            }
-        });
-        
-        nextButton.addClickListener(e -> {
-            page++;
-            updateList();
-            // If we go beyond the last page, the updateList method will adjust
-        });
+        // The grid loads more papers as it is scrolled
+        HorizontalLayout footer = new HorizontalLayout(countInfo);
+        footer.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.CENTER);
+        footer.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
 
-        VerticalLayout content = new VerticalLayout(grid, pagination);
+        VerticalLayout content = new VerticalLayout(grid, footer);
         content.setHeightFull();
         content.setPadding(false);
         content.setSpacing(false);
@@ -178,8 +157,8 @@ public class PapersView extends Div implements BeforeEnterObserver {
 
     private void configureGrid() {
         // Use helper class to configure the grid
-        ComponentRenderer<Component, Paper> actionsRenderer = new ComponentRenderer<>(this::createActions);
-        PapersViewHelper.configureGrid(grid, actionsRenderer, this::showPaperDetails);
+        ComponentRenderer<Component, PaperSummary> actionsRenderer = new ComponentRenderer<>(this::createActions);
+        PapersViewHelper.configureGrid(grid, actionsRenderer, this::openPaperDetails);
         
         // Add the CSS class for styling
         grid.addClassName(UIConstants.CSS_PAPERS_GRID);
@@ -188,12 +167,12 @@ public class PapersView extends Div implements BeforeEnterObserver {
         grid.setId("table");
     }
 
-    private Component createActions(Paper paper) {
+    private Component createActions(PaperSummary paper) {
         // Create more compact buttons - use extra-small theme
         // View button
         Button viewButton = new Button(new Icon(VaadinIcon.EYE));
         viewButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
-        viewButton.addClickListener(e -> showPaperDetails(paper));
+        viewButton.addClickListener(e -> openPaperDetails(paper));
         viewButton.getElement().setAttribute("title", "View details");
         // Apply custom class for compact buttons
         viewButton.addClassName(UIConstants.CSS_PAPERS_ACTION_BUTTON);
@@ -218,7 +197,7 @@ public class PapersView extends Div implements BeforeEnterObserver {
         // Edit button
         Button editButton = new Button(new Icon(VaadinIcon.EDIT));
         editButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
-        editButton.addClickListener(e -> showEditDialog(paper));
+        editButton.addClickListener(e -> openEditDialog(paper));
         editButton.getElement().setAttribute("title", "Edit paper");
         editButton.addClassName(UIConstants.CSS_PAPERS_ACTION_BUTTON);
 
@@ -230,7 +209,7 @@ public class PapersView extends Div implements BeforeEnterObserver {
         downloadButton.addClassName(UIConstants.CSS_PAPERS_ACTION_BUTTON);
 
         // Delete button
-        final Paper paperForDelete = paper; // Make effectively final for lambda
+        final PaperSummary paperForDelete = paper; // Make effectively final for lambda
         Button deleteButton = new Button(new Icon(VaadinIcon.TRASH));
         deleteButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_ERROR);
         deleteButton.addClickListener(e -> {
@@ -274,27 +253,18 @@ public class PapersView extends Div implements BeforeEnterObserver {
         String searchTerm = searchField.getValue();
         String statusValue = statusFilter.getValue();
         
-        LoggingUtil.debug(LOG, "updateList", "Updating paper list with search: '%s', status: '%s', page: %d", 
-            searchTerm, statusValue, page);
+        LoggingUtil.debug(LOG, "updateList", "Updating paper list with search: '%s', status: '%s'", 
+            searchTerm, statusValue);
             
-        // Use helper method to update the list, pagination, and grid
+        // Use helper method to reload the grid and the paper count
         PapersViewHelper.updateList(
             currentUser, 
             searchTerm, 
             statusValue, 
-            page, 
             pageSize, 
             grid, 
-            pageInfo, 
-            prevButton, 
-            nextButton, 
-            paperService,
-            adjustedPage -> {
-                // Update the page if it changed
-                this.page = adjustedPage;
-                // Recursive call to refresh with new page
-                updateList();
-            }
+            countInfo, 
+            paperService
         );
     }
 
@@ -398,6 +368,28 @@ public class PapersView extends Div implements BeforeEnterObserver {
         PapersViewHelper.validateUploadForm(titleField, authorsField, fileUploaded, submitButton);
     }
 
+    /**
+     * The grid only holds summaries; load the full paper (abstract, pipeline state) when
+     * a dialog needs it.
+     */
+    private Optional<Paper> loadPaper(PaperSummary summary) {
+        Optional<Paper> paper = paperService.getPaperById(summary.getId());
+        if (paper.isEmpty()) {
+            Notification.show("Paper not found", 3000, Notification.Position.BOTTOM_START)
+                .addThemeVariants(NotificationVariant.LUMO_ERROR);
+            updateList();
+        }
+        return paper;
+    }
+
+    private void openPaperDetails(PaperSummary summary) {
+        loadPaper(summary).ifPresent(this::showPaperDetails);
+    }
+
+    private void openEditDialog(PaperSummary summary) {
+        loadPaper(summary).ifPresent(this::showEditDialog);
+    }
+
     private void showPaperDetails(Paper paper) {
         
         Dialog dialog = new Dialog();
@@ -548,7 +540,7 @@ public class PapersView extends Div implements BeforeEnterObserver {
         dialog.open();
     }
 
-    private void downloadPaper(Paper paper) {
+    private void downloadPaper(PaperSummary paper) {
         // Delegate to helper method to handle download functionality
         getUI().ifPresent(ui -> PapersViewHelper.downloadPaper(paper, ui, this));
     }
@@ -557,7 +549,7 @@ public class PapersView extends Div implements BeforeEnterObserver {
      * Determines if the "Process with AI" button should be shown for a paper.
      * Only show for papers that are ready to be processed.
      */
-    private boolean shouldShowProcessButton(Paper paper) {
+    private boolean shouldShowProcessButton(PaperSummary paper) {
         if (paper == null || paper.getProcessingStatus() == null) {
             return false;
         }
@@ -578,7 +570,7 @@ public class PapersView extends Div implements BeforeEnterObserver {
     /**
      * Starts pipeline processing for a paper when user clicks "Process with AI".
      */
-    private void startPaperProcessing(Paper paper) {
+    private void startPaperProcessing(PaperSummary paper) {
         LoggingUtil.info(LOG, "startPaperProcessing", "User requested processing for paper: %s", paper.getId());
         
         try {
@@ -1,12 +1,10 @@
 package com.samjdtechnologies.answer42.ui.views;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.security.access.annotation.Secured;
 
 import com.samjdtechnologies.answer42.model.db.Paper;
@@ -62,11 +60,8 @@ public class ProjectsView extends Div implements BeforeEnterObserver {
     private Button createProjectButton;
     private String searchTerm = "";
     
-    private int page = 0;
-    private final int pageSize = 10;
-    private final Button prevButton = new Button("Previous");
-    private final Button nextButton = new Button("Next");
-    private final Span pageInfo = new Span("0 of 0");
+    private final int pageSize = 50;
+    private final Span countInfo = new Span();
     
     /**
      * Constructs a new ProjectsView with the necessary dependencies.
@@ -151,7 +146,6 @@ public class ProjectsView extends Div implements BeforeEnterObserver {
         searchField.setValueChangeMode(ValueChangeMode.LAZY);
         searchField.addValueChangeListener(e -> {
             searchTerm = e.getValue();
-            page = 0;
             updateList();
         });
         
@@ -203,24 +197,12 @@ public class ProjectsView extends Div implements BeforeEnterObserver {
         
         ProjectsViewHelper.configureGrid(grid, actionsRenderer, detailsRenderer, isPublicRenderer);
 
-        // Configure pagination
-        HorizontalLayout pagination = new HorizontalLayout(prevButton, pageInfo, nextButton);
-        pagination.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.CENTER);
-        pagination.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
+        // The grid loads more projects as it is scrolled
+        HorizontalLayout footer = new HorizontalLayout(countInfo);
+        footer.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.CENTER);
+        footer.setJustifyContentMode(FlexComponent.JustifyContentMode.CENTER);
 
-        prevButton.addClickListener(e -> {
-            if (page > 0) {
-                page--;
-                updateList();
-            }
-        });
-        
-        nextButton.addClickListener(e -> {
-            page++;
-            updateList();
-        });
-
-        VerticalLayout content = new VerticalLayout(grid, pagination);
+        VerticalLayout content = new VerticalLayout(grid, footer);
         content.setHeightFull();
         content.setPadding(false);
         content.setSpacing(false);
@@ -237,27 +219,18 @@ public class ProjectsView extends Div implements BeforeEnterObserver {
             return;
         }
         
-        // Fetch the projects page
-        Page<Project> projectsPage = ProjectsViewHelper.fetchProjectsList(
+        // Reload the grid with the matching projects
+        long total = ProjectsViewHelper.updateList(
             currentUser, 
             searchTerm, 
-            page, 
             pageSize, 
+            grid, 
+            countInfo, 
             projectService
         );
         
-        // Get the items from the page
-        List<Project> projects = projectsPage.getContent();
-        
-        // Update the grid with the projects
-        grid.setItems(projects);
-        
-        // Update pagination info and buttons
-        int totalPages = projectsPage.getTotalPages();
-        ProjectsViewHelper.updatePagination(page, totalPages, pageInfo, prevButton, nextButton);
-        
-        // Show empty state if no projects and on first page
-        if (projects.isEmpty() && page == 0) {
+        // Show empty state if there are no projects
+        if (total == 0) {
             showEmptyState();
         } else {
             grid.setVisible(true);
@@ -480,10 +453,8 @@ public class ProjectsView extends Div implements BeforeEnterObserver {
     private void addPaperToProject(Project project) {
         LoggingUtil.debug(LOG, "addPaperToProject", "Adding papers to project: %s", project.getId());
         
-        // Get user's papers that are not already in the project
-        var papers = paperService.getPapersNotInProject(currentUser, project);
-        
-        if (papers.isEmpty()) {
+        // Check whether the user has papers that are not already in the project
+        if (!paperService.hasPapersNotInProject(currentUser, project)) {
             Notification.show(
                 "You don't have any papers that aren't already in this project. Upload a new paper first.", 
                 3000, 
@@ -14,6 +14,7 @@ import com.samjdtechnologies.answer42.service.DiscoveryFeedbackService;
 import com.samjdtechnologies.answer42.service.PaperBookmarkService;
 import com.samjdtechnologies.answer42.service.PaperService;
 import com.samjdtechnologies.answer42.service.discovery.DiscoveryCoordinator;
+import com.samjdtechnologies.answer42.service.websocket.PipelineWebSocketService;
 import com.samjdtechnologies.answer42.ui.components.RelatedPapersSection;
 import com.samjdtechnologies.answer42.ui.constants.UIConstants;
 import com.samjdtechnologies.answer42.ui.layout.MainLayout;
@@ -56,6 +57,7 @@ public class RelatedPapersView extends Div implements HasUrlParameter<UUID>, Bef
     private final DiscoveryCoordinator discoveryCoordinator;
     private final PaperBookmarkService paperBookmarkService;
     private final DiscoveryFeedbackService discoveryFeedbackService;
+    private final PipelineWebSocketService pipelineWebSocketService;
     
     private User currentUser;
     private Paper sourcePaper;
@@ -68,12 +70,14 @@ public class RelatedPapersView extends Div implements HasUrlParameter<UUID>, Bef
                            DiscoveredPaperRepository discoveredPaperRepository,
                            DiscoveryCoordinator discoveryCoordinator,
                            PaperBookmarkService paperBookmarkService,
-                           DiscoveryFeedbackService discoveryFeedbackService) {
+                           DiscoveryFeedbackService discoveryFeedbackService,
+                           PipelineWebSocketService pipelineWebSocketService) {
         this.paperService = paperService;
         this.discoveredPaperRepository = discoveredPaperRepository;
         this.discoveryCoordinator = discoveryCoordinator;
         this.paperBookmarkService = paperBookmarkService;
         this.discoveryFeedbackService = discoveryFeedbackService;
+        this.pipelineWebSocketService = pipelineWebSocketService;
         
         addClassName("related-papers-view");
         getStyle().setHeight("100vh");
@@ -156,7 +160,8 @@ public class RelatedPapersView extends Div implements HasUrlParameter<UUID>, Bef
             discoveredPaperRepository, 
             discoveryCoordinator,
             paperBookmarkService,
-            discoveryFeedbackService);
+            discoveryFeedbackService,
+            pipelineWebSocketService);
         add(relatedPapersSection);
         
         LoggingUtil.debug(LOG, "initializeView", "View initialized for paper: %s", sourcePaper.getTitle());
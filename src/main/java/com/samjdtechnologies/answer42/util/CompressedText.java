@@ -0,0 +1,163 @@
+package com.samjdtechnologies.answer42.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed storage format for long text columns: paper text, detailed summaries and
+ * paper content.
+ *
+ * Values are deflated behind a four byte header: magic ("TX"), format version and the
+ * version of the preset dictionary used (0 for none). The dictionary is a few kilobytes of
+ * phrases common in academic writing (section headings, venue names, boilerplate), which
+ * deflate can reference from the first byte on instead of having to see them once in the
+ * text itself. Dictionaries are never changed in place; a new one gets a new version so
+ * values written with an older one stay readable.
+ *
+ * Compression is opt-in. Until {@link #configure} enables it, entities keep writing plain
+ * text; compressed values written while it was enabled remain readable either way.
+ */
+public final class CompressedText {
+
+    public static final int FORMAT_VERSION = 1;
+    public static final int DICTIONARY_NONE = 0;
+    public static final int DICTIONARY_ACADEMIC_V1 = 1;
+
+    private static final byte MAGIC_0 = 'T';
+    private static final byte MAGIC_1 = 'X';
+    private static final int HEADER_BYTES = 4;
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private static final Map<Integer, byte[]> DICTIONARIES = Map.of(
+        DICTIONARY_ACADEMIC_V1, loadDictionary("/compression/academic-text-v1.dict"));
+
+    private static volatile boolean enabled = false;
+    private static volatile int thresholdChars = 8192;
+    private static volatile int level = 6;
+
+    private CompressedText() {
+    }
+
+    /**
+     * Set whether new values are compressed, from which length on and how hard.
+     *
+     * @param enabled whether entities compress long values they are given
+     * @param thresholdChars the length from which a value is compressed
+     * @param level the deflate level, 1 (fastest) to 9 (smallest)
+     */
+    public static void configure(boolean enabled, int thresholdChars, int level) {
+        CompressedText.thresholdChars = thresholdChars;
+        CompressedText.level = level;
+        CompressedText.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether an entity should store this value compressed.
+     */
+    public static boolean shouldCompress(String value) {
+        return enabled && value != null && value.length() >= thresholdChars;
+    }
+
+    /**
+     * Compress text with the current dictionary.
+     */
+    public static byte[] compress(String text) {
+        return compress(text, DICTIONARY_ACADEMIC_V1, level);
+    }
+
+    /**
+     * Compress text with a given dictionary version and deflate level.
+     */
+    public static byte[] compress(String text, int dictionaryVersion, int level) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(level);
+        try {
+            if (dictionaryVersion != DICTIONARY_NONE) {
+                deflater.setDictionary(dictionary(dictionaryVersion));
+            }
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3 + HEADER_BYTES);
+            out.write(MAGIC_0);
+            out.write(MAGIC_1);
+            out.write(FORMAT_VERSION);
+            out.write(dictionaryVersion);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Restore text written by {@link #compress}.
+     *
+     * @throws IllegalArgumentException if the value is not compressed text or is corrupt
+     */
+    public static String decompress(byte[] encoded) {
+        if (encoded.length < HEADER_BYTES || encoded[0] != MAGIC_0 || encoded[1] != MAGIC_1) {
+            throw new IllegalArgumentException("Not compressed text");
+        }
+        int version = encoded[2] & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compressed text format version " + version);
+        }
+        int dictionaryVersion = encoded[3] & 0xFF;
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encoded, HEADER_BYTES, encoded.length - HEADER_BYTES);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length * 4);
+            byte[] buffer = new byte[BUFFER_BYTES];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated > 0) {
+                    out.write(buffer, 0, inflated);
+                } else if (inflater.needsDictionary()) {
+                    inflater.setDictionary(dictionary(dictionaryVersion));
+                } else if (inflater.needsInput() && !inflater.finished()) {
+                    throw new IllegalArgumentException("Compressed text is truncated");
+                }
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] dictionary(int version) {
+        byte[] dictionary = DICTIONARIES.get(version);
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Unknown compression dictionary version " + version);
+        }
+        return dictionary;
+    }
+
+    private static byte[] loadDictionary(String resource) {
+        try (InputStream in = CompressedText.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compression dictionary " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -43,8 +43,7 @@ public class ConceptResponseParser {
      */
     public List<TechnicalTerm> parseTermsFromResponse(String response) {
         try {
-            String jsonPart = extractJsonFromResponse(response, true);
-            JsonNode jsonArray = objectMapper.readTree(jsonPart);
+            JsonNode jsonArray = extractJsonFromResponse(response, true);
             
             List<TechnicalTerm> terms = new ArrayList<>();
             
@@ -80,8 +79,7 @@ public class ConceptResponseParser {
         Map<String, ConceptExplanation> explanations = new HashMap<>();
         
         try {
-            String jsonPart = extractJsonFromResponse(response, false);
-            JsonNode explanationNode = objectMapper.readTree(jsonPart);
+            JsonNode explanationNode = extractJsonFromResponse(response, false);
             
             if (explanationNode.isObject()) {
                 explanationNode.fields().forEachRemaining(entry -> {
@@ -114,8 +112,7 @@ public class ConceptResponseParser {
      */
     public ConceptRelationshipMap parseRelationshipMapFromResponse(String response) {
         try {
-            String jsonPart = extractJsonFromResponse(response, false);
-            JsonNode mapNode = objectMapper.readTree(jsonPart);
+            JsonNode mapNode = extractJsonFromResponse(response, false);
             
             List<ConceptNode> nodes = parseNodes(mapNode.get("nodes"));
             List<ConceptEdge> edges = parseEdges(mapNode.get("edges"));
@@ -287,32 +284,11 @@ public class ConceptResponseParser {
             .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
     }
     
-    private String extractJsonFromResponse(String response, boolean isArray) {
-        if (response == null || response.trim().isEmpty()) {
-            return isArray ? "[]" : "{}";
-        }
-        
-        // Clean up response - remove markdown code blocks
-        String cleaned = response.replaceAll("```json", "").replaceAll("```", "").trim();
-        
-        // Find JSON in response
-        char startChar = isArray ? '[' : '{';
-        char endChar = isArray ? ']' : '}';
-        
-        int start = cleaned.indexOf(startChar);
-        int end = cleaned.lastIndexOf(endChar);
-        
-        if (start >= 0 && end > start) {
-            return cleaned.substring(start, end + 1);
-        }
-        
-        // If no proper JSON markers found, try to find any JSON-like structure
-        if (cleaned.contains("\"") && (cleaned.contains("{") || cleaned.contains("["))) {
-            return cleaned;
-        }
-        
-        // Return empty structure as fallback
-        return isArray ? "[]" : "{}";
+    private JsonNode extractJsonFromResponse(String response, boolean isArray) {
+        // Skips markdown fences and surrounding prose, tolerates common LLM syntax slips
+        return StreamingJsonExtractor.extract(response,
+                isArray ? StreamingJsonExtractor.Expect.ARRAY : StreamingJsonExtractor.Expect.OBJECT)
+            .orElseGet(() -> isArray ? objectMapper.createArrayNode() : objectMapper.createObjectNode());
     }
     
     private TermType parseTermType(String typeStr) {
@@ -9,7 +9,6 @@ import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.model.enums.IssueType;
 import com.samjdtechnologies.answer42.model.enums.QualityCheckType;
@@ -24,8 +23,6 @@ public class QualityResponseParser {
     
     private static final Logger LOG = LoggingUtil.getLogger(QualityResponseParser.class);
     
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Pattern JSON_PATTERN = Pattern.compile("\\{[^{}]*\\}");
     private static final Pattern SCORE_PATTERN = Pattern.compile("\"score\"\\s*:\\s*([0-9.]+)");
     
     /**
@@ -113,10 +110,10 @@ public class QualityResponseParser {
     public QualityCheckResult parseQualityCheckResponse(QualityCheckType checkType, String response) {
         try {
             // First try to extract JSON from response
-            String jsonString = extractJsonFromResponse(response);
+            JsonNode jsonNode = extractJsonFromResponse(response);
             
-            if (jsonString != null) {
-                return parseJsonResponse(checkType, jsonString);
+            if (jsonNode != null) {
+                return parseJsonResponse(checkType, jsonNode);
             }
             
             // Fallback to pattern-based extraction
@@ -130,51 +127,21 @@ public class QualityResponseParser {
     }
     
     /**
-     * Extract JSON string from AI response.
+     * Extract the first JSON object from AI response, including nested issue lists.
      */
-    private String extractJsonFromResponse(String response) {
+    private JsonNode extractJsonFromResponse(String response) {
         if (response == null || response.trim().isEmpty()) {
             return null;
         }
         
-        // Look for JSON pattern in the response
-        Matcher matcher = JSON_PATTERN.matcher(response);
-        if (matcher.find()) {
-            return matcher.group();
-        }
-        
-        // Try to find JSON-like content between markers
-        String[] jsonMarkers = {"```json", "```", "{", "}"};
-        int startIndex = -1;
-        int endIndex = -1;
-        
-        for (String marker : jsonMarkers) {
-            int index = response.indexOf(marker);
-            if (index != -1) {
-                if (marker.equals("{")) {
-                    startIndex = index;
-                }
-                if (marker.equals("}")) {
-                    endIndex = index + 1;
-                    break;
-                }
-            }
-        }
-        
-        if (startIndex != -1 && endIndex != -1 && endIndex > startIndex) {
-            return response.substring(startIndex, endIndex);
-        }
-        
-        return null;
+        return StreamingJsonExtractor.extractObject(response).orElse(null);
     }
     
     /**
      * Parse JSON response into QualityCheckResult.
      */
-    private QualityCheckResult parseJsonResponse(QualityCheckType checkType, String jsonString) {
+    private QualityCheckResult parseJsonResponse(QualityCheckType checkType, JsonNode jsonNode) {
         try {
-            JsonNode jsonNode = objectMapper.readTree(jsonString);
-            
             double score = extractScoreFromJson(jsonNode);
             List<QualityIssue> issues = extractIssuesFromJson(jsonNode);
             String summary = extractSummaryFromJson(jsonNode);
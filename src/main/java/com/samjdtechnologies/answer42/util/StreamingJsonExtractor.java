@@ -0,0 +1,248 @@
+package com.samjdtechnologies.answer42.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Finds and parses the first JSON object or array in an AI response.
+ *
+ * LLM output wraps JSON in prose and markdown fences and often bends the syntax. The
+ * extractor scans the text once, tracking bracket depth outside of strings (single- or
+ * double-quoted, each closed only by its own quote character), and hands each
+ * balanced candidate straight to a lenient Jackson parser (comments, single quotes,
+ * unquoted field names, trailing commas, raw control characters and NaN are accepted).
+ * Candidates that still fail are retried with typographic quotes normalized; output that
+ * was cut off mid-value is closed at the end of input.
+ *
+ * Text can be fed as it streams in with {@link #feed(CharSequence)}; the value is
+ * available as soon as its closing bracket arrives. {@link #extract(String)} and friends
+ * cover the common case of a complete response.
+ */
+public class StreamingJsonExtractor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingJsonExtractor.class);
+
+    private static final ObjectMapper LENIENT_MAPPER = JsonMapper.builder()
+        .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+        .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+        .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+        .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+        .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+        .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+        .enable(JsonReadFeature.ALLOW_LEADING_DECIMAL_POINT_FOR_NUMBERS)
+        .enable(JsonReadFeature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER)
+        .build();
+
+    /**
+     * Which kind of JSON value to look for.
+     */
+    public enum Expect {
+        OBJECT, ARRAY, ANY;
+
+        boolean accepts(char c) {
+            switch (this) {
+                case OBJECT:
+                    return c == '{';
+                case ARRAY:
+                    return c == '[';
+                default:
+                    return c == '{' || c == '[';
+            }
+        }
+    }
+
+    private final Expect expect;
+    private final StringBuilder buffer = new StringBuilder();
+    private final Deque<Character> closers = new ArrayDeque<>();
+
+    private int scanPosition = 0;
+    private int candidateStart = -1;
+    private boolean inString = false;
+    private char stringQuote;
+    private boolean escaped = false;
+    private JsonNode result;
+
+    public StreamingJsonExtractor(Expect expect) {
+        this.expect = expect;
+    }
+
+    /**
+     * Extract the first JSON object or array from a response.
+     */
+    public static Optional<JsonNode> extract(String text) {
+        return extract(text, Expect.ANY);
+    }
+
+    public static Optional<JsonNode> extractObject(String text) {
+        return extract(text, Expect.OBJECT);
+    }
+
+    public static Optional<JsonNode> extractArray(String text) {
+        return extract(text, Expect.ARRAY);
+    }
+
+    public static Optional<JsonNode> extract(String text, Expect expect) {
+        if (text == null || text.isEmpty()) {
+            return Optional.empty();
+        }
+        StreamingJsonExtractor extractor = new StreamingJsonExtractor(expect);
+        extractor.feed(text);
+        return extractor.finish();
+    }
+
+    /**
+     * Feed the next piece of the response.
+     *
+     * @return The value once a complete one has been seen, empty while still waiting
+     */
+    public Optional<JsonNode> feed(CharSequence chunk) {
+        if (result == null) {
+            buffer.append(chunk);
+            scan();
+        }
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Signal the end of the response. If a value was started but never closed (e.g. the
+     * model hit its token limit), it is closed and parsed as far as it got.
+     */
+    public Optional<JsonNode> finish() {
+        while (result == null && candidateStart >= 0) {
+            int start = candidateStart;
+            StringBuilder repaired = new StringBuilder(buffer.length() - start + closers.size() + 1)
+                .append(buffer, start, buffer.length());
+            if (inString) {
+                repaired.append(stringQuote);
+            }
+            closers.forEach(repaired::append);
+            result = parseCandidate(repaired);
+            if (result == null) {
+                restartAfter(start);
+                scan();
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private void scan() {
+        while (result == null && scanPosition < buffer.length()) {
+            char c = buffer.charAt(scanPosition++);
+
+            if (candidateStart < 0) {
+                if (expect.accepts(c)) {
+                    candidateStart = scanPosition - 1;
+                    closers.push(c == '{' ? '}' : ']');
+                }
+                continue;
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == stringQuote) {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"':
+                case '\'':
+                    inString = true;
+                    stringQuote = c;
+                    break;
+                case '{':
+                    closers.push('}');
+                    break;
+                case '[':
+                    closers.push(']');
+                    break;
+                case '}':
+                case ']':
+                    closers.pop();
+                    if (closers.isEmpty()) {
+                        int start = candidateStart;
+                        result = parseCandidate(buffer.subSequence(start, scanPosition));
+                        if (result == null) {
+                            restartAfter(start);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Abandon the current candidate and look for the next one after its opening bracket.
+     */
+    private void restartAfter(int start) {
+        candidateStart = -1;
+        closers.clear();
+        inString = false;
+        escaped = false;
+        scanPosition = start + 1;
+    }
+
+    private JsonNode parseCandidate(CharSequence candidate) {
+        JsonNode node = parse(candidate.toString());
+        if (node == null && containsTypographicQuotes(candidate)) {
+            node = parse(normalizeQuotes(candidate));
+        }
+        return node;
+    }
+
+    private JsonNode parse(String candidate) {
+        try (JsonParser parser = LENIENT_MAPPER.createParser(candidate)) {
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_OBJECT && first != JsonToken.START_ARRAY) {
+                return null;
+            }
+            return LENIENT_MAPPER.readTree(parser);
+        } catch (JsonEOFException e) {
+            return null;
+        } catch (JsonProcessingException e) {
+            LoggingUtil.debug(LOG, "parse", "Skipping JSON candidate: %s", e.getOriginalMessage());
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean containsTypographicQuotes(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '“' || c == '”') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalizeQuotes(CharSequence text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            normalized.append(c == '“' || c == '”' ? '"' : c);
+        }
+        return normalized.toString();
+    }
+}
@@ -23,12 +23,18 @@ import org.springframework.batch.repeat.RepeatStatus;
 import com.samjdtechnologies.answer42.model.agent.AgentResult;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.service.agent.ContentSummarizerAgent;
+import com.samjdtechnologies.answer42.service.agent.ContentSummarizerFallbackAgent;
+import com.samjdtechnologies.answer42.service.pipeline.HedgedRequestExecutor;
+import com.samjdtechnologies.answer42.service.pipeline.ProviderLatencyTracker;
 
 public class ContentSummarizerTaskletTest {
 
     @Mock
     private ContentSummarizerAgent mockContentSummarizerAgent;
     
+    @Mock
+    private ContentSummarizerFallbackAgent mockContentSummarizerFallbackAgent;
+    
     @Mock
     private ChunkContext mockChunkContext;
     
@@ -58,7 +64,8 @@ public class ContentSummarizerTaskletTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         
-        tasklet = new ContentSummarizerTasklet(mockContentSummarizerAgent);
+        tasklet = new ContentSummarizerTasklet(mockContentSummarizerAgent, mockContentSummarizerFallbackAgent,
+            new HedgedRequestExecutor(new ProviderLatencyTracker()));
         
         testPaperId = UUID.randomUUID();
         testUserId = UUID.randomUUID();
@@ -77,7 +84,8 @@ public class ContentSummarizerTaskletTest {
 
     @Test
     void testConstructor() {
-        ContentSummarizerTasklet tasklet = new ContentSummarizerTasklet(mockContentSummarizerAgent);
+        ContentSummarizerTasklet tasklet = new ContentSummarizerTasklet(mockContentSummarizerAgent, mockContentSummarizerFallbackAgent,
+            new HedgedRequestExecutor(new ProviderLatencyTracker()));
         
         assertNotNull(tasklet);
     }
@@ -0,0 +1,78 @@
+package com.samjdtechnologies.answer42.model.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+
+/**
+ * Guards against N+1 loading: to-one associations must be LAZY, so loading a list of
+ * sections, tags or verifications is one query. Use cases that need the parent fetch it
+ * with an entity graph or fetch join in the repository.
+ */
+public class EntityFetchPlanTest {
+
+    // Loaded deliberately with their owner: a subscription is always read with its plan,
+    // a completed task with its result
+    private static final Set<String> EAGER_ALLOWED = Set.of(
+        "Subscription.user",
+        "Subscription.plan",
+        "AnalysisTask.result");
+
+    @Test
+    void testToOneAssociationsAreLazy() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+
+        List<String> eager = new ArrayList<>();
+        int checked = 0;
+        for (BeanDefinition definition : scanner.findCandidateComponents(Paper.class.getPackageName())) {
+            Class<?> entity = Class.forName(definition.getBeanClassName());
+            for (Field field : entity.getDeclaredFields()) {
+                FetchType fetch = null;
+                if (field.isAnnotationPresent(ManyToOne.class)) {
+                    fetch = field.getAnnotation(ManyToOne.class).fetch();
+                } else if (field.isAnnotationPresent(OneToOne.class)) {
+                    fetch = field.getAnnotation(OneToOne.class).fetch();
+                }
+                if (fetch == null) {
+                    continue;
+                }
+                checked++;
+                String name = entity.getSimpleName() + "." + field.getName();
+                if (fetch == FetchType.EAGER && !EAGER_ALLOWED.contains(name)) {
+                    eager.add(name);
+                }
+            }
+        }
+
+        assertTrue(checked > 0, "No to-one associations found; is the entity package right?");
+        assertTrue(eager.isEmpty(), "To-one associations should be LAZY: " + eager);
+    }
+
+    @Test
+    void testLazyAssociationsAreLeftOutOfToStringAndEquals() {
+        // Touching an uninitialized proxy outside a session throws, so Lombok must skip it
+        Paper paper = new Paper();
+        paper.setTitle("Should not be rendered");
+
+        PaperSection section = new PaperSection();
+        section.setPaper(paper);
+        PaperSection other = new PaperSection();
+
+        assertFalse(section.toString().contains("Should not be rendered"));
+        assertEquals(other, section);
+    }
+}
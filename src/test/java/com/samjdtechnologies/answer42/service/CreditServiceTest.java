@@ -0,0 +1,227 @@
+package com.samjdtechnologies.answer42.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.samjdtechnologies.answer42.model.db.CreditReservation;
+import com.samjdtechnologies.answer42.model.db.CreditTransaction;
+import com.samjdtechnologies.answer42.model.db.CreditTransaction.OperationType;
+import com.samjdtechnologies.answer42.model.db.CreditTransaction.TransactionType;
+import com.samjdtechnologies.answer42.repository.CreditBalanceRepository;
+import com.samjdtechnologies.answer42.repository.CreditReservationRepository;
+import com.samjdtechnologies.answer42.repository.CreditTransactionRepository;
+
+public class CreditServiceTest {
+
+    private static final int INITIAL_BALANCE = 1000;
+
+    @Mock
+    private CreditBalanceRepository balanceRepository;
+
+    @Mock
+    private CreditTransactionRepository transactionRepository;
+
+    @Mock
+    private CreditReservationRepository reservationRepository;
+
+    @Mock
+    private SubscriptionService subscriptionService;
+
+    private CreditService creditService;
+    private UUID userId;
+
+    // Stands in for the balance column; every statement applies atomically like the row update
+    private final AtomicInteger balance = new AtomicInteger(INITIAL_BALANCE);
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        creditService = new CreditService(balanceRepository, transactionRepository,
+            reservationRepository, subscriptionService);
+        userId = UUID.randomUUID();
+
+        when(balanceRepository.debitIfSufficient(eq(userId), anyInt()))
+            .thenAnswer(invocation -> takeIfSufficient(invocation.getArgument(1)));
+        when(balanceRepository.holdIfSufficient(eq(userId), anyInt()))
+            .thenAnswer(invocation -> takeIfSufficient(invocation.getArgument(1)));
+        when(balanceRepository.credit(eq(userId), anyInt()))
+            .thenAnswer(invocation -> Optional.of(balance.addAndGet(invocation.getArgument(1))));
+        when(balanceRepository.recordUsage(eq(userId), anyInt()))
+            .thenAnswer(invocation -> Optional.of(balance.get()));
+        when(transactionRepository.save(any(CreditTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.save(any(CreditReservation.class))).thenAnswer(invocation -> {
+            CreditReservation reservation = invocation.getArgument(0);
+            reservation.setId(UUID.randomUUID());
+            return reservation;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    // UPDATE ... SET balance = balance - :amount WHERE balance >= :amount RETURNING balance
+    private Optional<Integer> takeIfSufficient(int amount) {
+        while (true) {
+            int current = balance.get();
+            if (current < amount) {
+                return Optional.empty();
+            }
+            if (balance.compareAndSet(current, current - amount)) {
+                return Optional.of(current - amount);
+            }
+        }
+    }
+
+    @Test
+    public void testUseCredits_ParallelDebitsNeverOversell() throws Exception {
+        when(balanceRepository.existsByUserId(userId)).thenReturn(true);
+        int requests = 500;
+        int amount = 3;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return creditService.useCredits(userId, amount, OperationType.AI_CHAT, "chat", null);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+
+            assertEquals(INITIAL_BALANCE / amount, succeeded);
+            assertEquals(INITIAL_BALANCE - succeeded * amount, balance.get());
+            assertTrue(balance.get() >= 0);
+            verify(transactionRepository, times(succeeded)).save(any(CreditTransaction.class));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // No read-modify-write of the balance row
+        verify(balanceRepository, never()).findByUserId(any());
+        verify(balanceRepository, never()).save(any());
+    }
+
+    @Test
+    public void testUseCredits_InsufficientCreditsRecordsNothing() {
+        when(balanceRepository.existsByUserId(userId)).thenReturn(true);
+
+        assertFalse(creditService.useCredits(userId, INITIAL_BALANCE + 1, OperationType.AI_CHAT, "chat", null));
+
+        assertEquals(INITIAL_BALANCE, balance.get());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testUseCredits_RecordsTransactionTypeOfOperation() {
+        when(balanceRepository.existsByUserId(userId)).thenReturn(true);
+
+        creditService.useCredits(userId, 5, OperationType.RESEARCH_QUERY, "research", null);
+        creditService.useCredits(userId, 5, OperationType.STUDY_GUIDE_CREATION, "guide", null);
+        creditService.useCredits(userId, 5, OperationType.Q_AND_A_SESSION, "q&a", null);
+
+        ArgumentCaptor<CreditTransaction> transactions = ArgumentCaptor.forClass(CreditTransaction.class);
+        verify(transactionRepository, times(3)).save(transactions.capture());
+        assertEquals(List.of(TransactionType.RESEARCH, TransactionType.STUDY_GUIDE, TransactionType.AI_CHAT),
+            transactions.getAllValues().stream().map(CreditTransaction::getTransactionType).toList());
+    }
+
+    @Test
+    public void testUseCredits_UnchargedOperationFailsBeforeTakingCredits() {
+        assertThrows(IllegalArgumentException.class,
+            () -> creditService.useCredits(userId, 5, OperationType.API_INTEGRATION, "api", null));
+        assertThrows(IllegalArgumentException.class,
+            () -> creditService.reserveCredits(userId, 5, OperationType.API_INTEGRATION, "api", null));
+
+        assertEquals(INITIAL_BALANCE, balance.get());
+        verifyNoInteractions(transactionRepository, reservationRepository);
+    }
+
+    @Test
+    public void testReservation_CommitRecordsDebitOnce() {
+        Optional<UUID> reservationId = creditService.reserveCredits(
+            userId, 30, OperationType.PAPER_ANALYSIS, "Pipeline", "paper-1");
+        assertTrue(reservationId.isPresent());
+        assertEquals(INITIAL_BALANCE - 30, balance.get());
+
+        ArgumentCaptor<CreditReservation> saved = ArgumentCaptor.forClass(CreditReservation.class);
+        verify(reservationRepository).save(saved.capture());
+        when(reservationRepository.findById(reservationId.get())).thenReturn(Optional.of(saved.getValue()));
+        when(reservationRepository.transition(eq(reservationId.get()), eq(CreditReservation.Status.HELD),
+            eq(CreditReservation.Status.COMMITTED), any())).thenReturn(1, 0);
+
+        assertTrue(creditService.commitReservation(reservationId.get()));
+        assertFalse(creditService.commitReservation(reservationId.get()));
+
+        ArgumentCaptor<CreditTransaction> transaction = ArgumentCaptor.forClass(CreditTransaction.class);
+        verify(transactionRepository, times(1)).save(transaction.capture());
+        assertEquals(Integer.valueOf(-30), transaction.getValue().getAmount());
+        assertEquals(TransactionType.PAPER_UPLOAD, transaction.getValue().getTransactionType());
+        assertEquals("paper-1", transaction.getValue().getReferenceId());
+        verify(balanceRepository, times(1)).recordUsage(userId, 30);
+        assertEquals(INITIAL_BALANCE - 30, balance.get());
+    }
+
+    @Test
+    public void testReservation_ReleaseReturnsCreditsOnce() {
+        Optional<UUID> reservationId = creditService.reserveCredits(
+            userId, 30, OperationType.PAPER_ANALYSIS, "Pipeline", "paper-1");
+        assertTrue(reservationId.isPresent());
+
+        ArgumentCaptor<CreditReservation> saved = ArgumentCaptor.forClass(CreditReservation.class);
+        verify(reservationRepository).save(saved.capture());
+        when(reservationRepository.findById(reservationId.get())).thenReturn(Optional.of(saved.getValue()));
+        when(reservationRepository.transition(eq(reservationId.get()), eq(CreditReservation.Status.HELD),
+            eq(CreditReservation.Status.RELEASED), any())).thenReturn(1, 0);
+
+        assertTrue(creditService.releaseReservation(reservationId.get()));
+        assertFalse(creditService.releaseReservation(reservationId.get()));
+
+        assertEquals(INITIAL_BALANCE, balance.get());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testReserveCredits_InsufficientCreditsHoldsNothing() {
+        when(balanceRepository.existsByUserId(userId)).thenReturn(true);
+
+        Optional<UUID> reservationId = creditService.reserveCredits(
+            userId, INITIAL_BALANCE + 1, OperationType.PAPER_ANALYSIS, "Pipeline", "paper-1");
+
+        assertTrue(reservationId.isEmpty());
+        assertEquals(INITIAL_BALANCE, balance.get());
+        verify(reservationRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,94 @@
+package com.samjdtechnologies.answer42.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.samjdtechnologies.answer42.model.db.User;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
+import com.samjdtechnologies.answer42.repository.PaperRepository;
+
+public class PaperSearchServiceTest {
+
+    @Mock
+    private PaperRepository mockPaperRepository;
+
+    private PaperSearchService paperSearchService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        paperSearchService = new PaperSearchService(mockPaperRepository);
+        testUser = new User();
+        testUser.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void testToPrefixQuery() {
+        assertEquals("graph:* & neur:*", PaperSearchService.toPrefixQuery("Graph neur"));
+        assertEquals("covid:* & 19:* & vaccine:*", PaperSearchService.toPrefixQuery("COVID-19 (vaccine)!"));
+        assertEquals("o:* & brien:*", PaperSearchService.toPrefixQuery("o'brien & | ! :*"));
+        assertNull(PaperSearchService.toPrefixQuery("  &|!  "));
+        assertNull(PaperSearchService.toPrefixQuery(null));
+    }
+
+    @Test
+    void testSearchByUser_RanksByRelevanceInsteadOfRequestedSort() {
+        Pageable requested = PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+        UUID best = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(mockPaperRepository.searchPaperIdsByUser(testUser.getId(), "transformer:*", null, PageRequest.of(2, 20)))
+            .thenReturn(new PageImpl<>(List.of(best, second), PageRequest.of(2, 20), 42));
+        // The IN query comes back in no particular order
+        when(mockPaperRepository.findSummariesByIdIn(List.of(best, second)))
+            .thenReturn(List.of(summary(second), summary(best)));
+
+        Page<PaperSummary> result = paperSearchService.searchByUser(testUser, "transformer", requested);
+
+        assertEquals(List.of(best, second), result.getContent().stream().map(PaperSummary::getId).toList());
+        assertEquals(42, result.getTotalElements());
+        verify(mockPaperRepository, never()).searchPaperIdsByUserAndTitleSimilarity(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchByUser_FallsBackToTitleSimilarityWhenNothingMatches() {
+        Pageable pageable = PageRequest.of(0, 10);
+        UUID match = UUID.randomUUID();
+        when(mockPaperRepository.searchPaperIdsByUser(eq(testUser.getId()), anyString(), isNull(), eq(pageable)))
+            .thenReturn(Page.empty(pageable));
+        when(mockPaperRepository.searchPaperIdsByUserAndTitleSimilarity(testUser.getId(), "tranformer", null, pageable))
+            .thenReturn(new PageImpl<>(List.of(match), pageable, 1));
+        when(mockPaperRepository.findSummariesByIdIn(List.of(match))).thenReturn(List.of(summary(match)));
+
+        Page<PaperSummary> result = paperSearchService.searchByUser(testUser, " tranformer ", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(match, result.getContent().get(0).getId());
+    }
+
+    @Test
+    void testSearchByUser_NoSearchableWords() {
+        Page<PaperSummary> result = paperSearchService.searchByUser(testUser, "?!", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(mockPaperRepository);
+    }
+
+    private static PaperSummary summary(UUID id) {
+        return PaperSummary.builder().id(id).title("Paper " + id).build();
+    }
+}
@@ -7,7 +7,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -30,10 +29,12 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samjdtechnologies.answer42.model.KeysetCursor;
 import com.samjdtechnologies.answer42.model.db.Paper;
 import com.samjdtechnologies.answer42.model.db.Project;
 import com.samjdtechnologies.answer42.model.db.User;
 import com.samjdtechnologies.answer42.model.enums.PipelineStatus;
+import com.samjdtechnologies.answer42.model.paper.PaperSummary;
 import com.samjdtechnologies.answer42.repository.PaperRepository;
 
 public class PaperServiceTest {
@@ -53,6 +54,9 @@ public class PaperServiceTest {
     @Mock
     private PipelineJobLauncher mockPipelineJobLauncher;
     
+    @Mock
+    private PaperSearchService mockPaperSearchService;
+    
     @Mock
     private MultipartFile mockFile;
 
@@ -70,7 +74,8 @@ public class PaperServiceTest {
             mockObjectMapper, 
             mockCreditService, 
             mockFileTransferService,
-            mockPipelineJobLauncher
+            mockPipelineJobLauncher,
+            mockPaperSearchService
         );
         
         testPaperId = UUID.randomUUID();
@@ -95,7 +100,8 @@ public class PaperServiceTest {
             mockObjectMapper, 
             mockCreditService, 
             mockFileTransferService,
-            mockPipelineJobLauncher
+            mockPipelineJobLauncher,
+            mockPaperSearchService
         );
         
         assertNotNull(service);
@@ -443,41 +449,43 @@ public class PaperServiceTest {
     @Test
     void testSearchPapers() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Paper> papers = Arrays.asList(testPaper);
-        Page<Paper> paperPage = new PageImpl<>(papers, pageable, 1);
+        PaperSummary summary = PaperSummary.builder().id(testPaperId).title("Test Paper").build();
+        Page<PaperSummary> paperPage = new PageImpl<>(List.of(summary), pageable, 1);
         
-        when(mockPaperRepository.searchPapers("test search", pageable)).thenReturn(paperPage);
+        when(mockPaperSearchService.search("test search", pageable)).thenReturn(paperPage);
         
-        Page<Paper> result = paperService.searchPapers("test search", pageable);
+        Page<PaperSummary> result = paperService.searchPapers("test search", pageable);
         
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(mockPaperRepository).searchPapers("test search", pageable);
+        verify(mockPaperSearchService).search("test search", pageable);
     }
 
     @Test
-    void testGetPapersNotInProject() {
-        Paper paper1 = new Paper();
-        paper1.setId(UUID.randomUUID());
-        Paper paper2 = new Paper();
-        paper2.setId(UUID.randomUUID());
-        Paper paper3 = new Paper();
-        paper3.setId(UUID.randomUUID());
+    void testGetPaperSummariesNotInProject_SeeksPastCursor() {
+        Project project = new Project();
+        project.setId(UUID.randomUUID());
+        KeysetCursor after = new KeysetCursor(ZonedDateTime.now(), UUID.randomUUID());
+        List<PaperSummary> page = List.of(new PaperSummary());
+        when(mockPaperRepository.findSummariesByUserNotInProjectBefore(
+            testUser, project.getId(), after.createdAt(), after.id(), Pageable.ofSize(25))).thenReturn(page);
         
-        List<Paper> allUserPapers = Arrays.asList(paper1, paper2, paper3);
-        when(mockPaperRepository.findByUser(testUser)).thenReturn(allUserPapers);
+        List<PaperSummary> result = paperService.getPaperSummariesNotInProject(testUser, project, after, 25);
         
+        assertSame(page, result);
+        // Keyset pages never load the user's full paper list
+        verify(mockPaperRepository, never()).findByUser(testUser);
+    }
+
+    @Test
+    void testHasPapersNotInProject() {
         Project project = new Project();
-        project.setPapers(new HashSet<>(Arrays.asList(paper2))); // paper2 is in project
+        project.setId(UUID.randomUUID());
+        when(mockPaperRepository.findSummariesByUserNotInProjectBefore(
+            testUser, project.getId(), KeysetCursor.FIRST.createdAt(), KeysetCursor.FIRST.id(), Pageable.ofSize(1)))
+            .thenReturn(List.of());
         
-        List<Paper> result = paperService.getPapersNotInProject(testUser, project);
-        
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertTrue(result.contains(paper1));
-        assertTrue(result.contains(paper3));
-        assertFalse(result.contains(paper2));
-        verify(mockPaperRepository).findByUser(testUser);
+        assertFalse(paperService.hasPapersNotInProject(testUser, project));
     }
 
     @Test
@@ -504,5 +512,6 @@ public class PaperServiceTest {
         assertEquals("New text content", result.get().getTextContent());
         verify(mockPaperRepository).findById(testPaperId);
         verify(mockPaperRepository).save(testPaper);
+        verify(mockPaperSearchService).refreshSearchVector(testPaperId);
     }
 }
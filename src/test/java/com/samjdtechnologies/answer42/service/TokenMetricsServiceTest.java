@@ -0,0 +1,263 @@
+package com.samjdtechnologies.answer42.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.samjdtechnologies.answer42.model.db.TokenMetrics;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.enums.AgentType;
+import com.samjdtechnologies.answer42.model.metrics.UserTokenStatistics;
+import com.samjdtechnologies.answer42.repository.TokenMetricsRepository;
+
+import jakarta.persistence.Column;
+
+public class TokenMetricsServiceTest {
+
+    @Mock
+    private TokenMetricsRepository tokenMetricsRepository;
+
+    private TokenMetricsService service;
+    private UUID userId;
+    private final List<Runnable> requestedFlushes = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        userId = UUID.randomUUID();
+        when(tokenMetricsRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<TokenMetrics> batch = new ArrayList<>();
+            Iterable<TokenMetrics> rows = invocation.getArgument(0);
+            rows.forEach(batch::add);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        // Hold requested flushes so each test decides when the flusher runs
+        service = new TokenMetricsService(tokenMetricsRepository, requestedFlushes::add);
+        ReflectionTestUtils.setField(service, "flushBatchSize", 50);
+        ReflectionTestUtils.setField(service, "bufferCapacity", 500);
+        ReflectionTestUtils.setField(service, "offerTimeoutMs", 0L);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    private void record() {
+        service.recordTokenUsage(userId, AIProvider.OPENAI, AgentType.CONTENT_SUMMARIZER, "task",
+            100, 50, new BigDecimal("0.001250"));
+    }
+
+    @Test
+    public void testRecordTokenUsage_NoInsertOnCallerPath() {
+        for (int i = 0; i < 10; i++) {
+            record();
+        }
+
+        verify(tokenMetricsRepository, never()).save(any());
+        verify(tokenMetricsRepository, never()).saveAll(anyIterable());
+        assertEquals(10, service.getPendingMetricsCount());
+        assertEquals(10, service.getGlobalTotals().getRequestCount());
+        assertTrue(requestedFlushes.isEmpty(), "No flush requested below the batch size");
+    }
+
+    @Test
+    public void testFlush_WritesInBatches() {
+        for (int i = 0; i < 120; i++) {
+            record();
+        }
+        assertFalse(requestedFlushes.isEmpty(), "A full batch requests a flush");
+
+        requestedFlushes.get(0).run();
+
+        assertEquals(List.of(50, 50, 20), batchSizes);
+        assertEquals(0, service.getPendingMetricsCount());
+        verify(tokenMetricsRepository, never()).save(any());
+    }
+
+    @Test
+    public void testFlush_FailedBatchIsRetried() {
+        for (int i = 0; i < 30; i++) {
+            record();
+        }
+        when(tokenMetricsRepository.saveAll(anyIterable()))
+            .thenThrow(new RuntimeException("database unavailable"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(0, service.flushPendingMetrics());
+        assertEquals(30, service.getPendingMetricsCount());
+
+        assertEquals(30, service.flushPendingMetrics());
+        assertEquals(0, service.getPendingMetricsCount());
+        assertEquals(0, service.getDroppedMetricsCount());
+    }
+
+    @Test
+    public void testRecordTokenUsage_FullBufferDropsAfterTimeout() {
+        for (int i = 0; i < 510; i++) {
+            record();
+        }
+
+        assertEquals(500, service.getPendingMetricsCount());
+        assertEquals(10, service.getDroppedMetricsCount());
+        // The usage still counts even when its row is dropped
+        assertEquals(510, service.getGlobalTotals().getRequestCount());
+    }
+
+    @Test
+    public void testShutdown_FlushesBufferAndWritesLateRowsDirectly() {
+        for (int i = 0; i < 75; i++) {
+            record();
+        }
+
+        service.shutdown();
+        assertEquals(0, service.getPendingMetricsCount());
+        assertEquals(List.of(50, 25), batchSizes);
+
+        record();
+        assertEquals(List.of(50, 25, 1), batchSizes);
+    }
+
+    @Test
+    public void testRunningTotals_ExactUnderConcurrency() throws Exception {
+        ReflectionTestUtils.setField(service, "bufferCapacity", 100_000);
+        int threads = 16;
+        int perThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        record();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int requests = threads * perThread;
+        TokenMetricsService.RunningTotal global = service.getGlobalTotals();
+        assertEquals(requests, global.getRequestCount());
+        assertEquals(requests * 150, global.getTotalTokens());
+        assertEquals(0, new BigDecimal("0.001250").multiply(BigDecimal.valueOf(requests))
+            .compareTo(global.getTotalCost()));
+        assertEquals(requests, service.getPendingMetricsCount());
+    }
+
+    @Test
+    public void testStartup_LoadsTotalsFromRollupGroups() {
+        UUID otherUser = UUID.randomUUID();
+        List<Object[]> groups = List.of(
+            new Object[] { userId, "OPENAI", "CONTENT_SUMMARIZER", 40L, 4_000L, 2_000L, new BigDecimal("0.050000") },
+            new Object[] { otherUser, "ANTHROPIC", "CONTENT_SUMMARIZER", 10L, 1_000L, 500L, new BigDecimal("0.020000") },
+            new Object[] { otherUser, "RETIRED_PROVIDER", "CONTENT_SUMMARIZER", 5L, 10L, 10L, BigDecimal.ONE });
+        when(tokenMetricsRepository.sumUsageByUserProviderAgentSince(any())).thenReturn(groups);
+
+        TokenMetricsService restarted = new TokenMetricsService(tokenMetricsRepository, requestedFlushes::add);
+
+        TokenMetricsService.RunningTotal global = restarted.getGlobalTotals();
+        assertEquals(50, global.getRequestCount());
+        assertEquals(7_500, global.getTotalTokens());
+        assertEquals(0, new BigDecimal("0.07").compareTo(global.getTotalCost()));
+        assertEquals(40, restarted.getProviderStatistics().get(AIProvider.OPENAI).getRequestCount());
+        assertEquals(50, restarted.getAgentStatistics().get(AgentType.CONTENT_SUMMARIZER).getRequestCount());
+        verify(tokenMetricsRepository, never()).findByTimestampAfterOrderByTimestampDesc(any());
+    }
+
+    @Test
+    public void testGetUserStatistics_ReadsRollupsNotHistory() {
+        List<Object[]> groups = List.of(
+            new Object[] { "OPENAI", "CONTENT_SUMMARIZER", 3L, 300L, 150L, new BigDecimal("0.003") },
+            new Object[] { "OPENAI", "CONCEPT_EXPLAINER", 2L, 200L, 100L, new BigDecimal("0.002") });
+        when(tokenMetricsRepository.sumUsageByProviderAgentForUser(userId)).thenReturn(groups);
+
+        UserTokenStatistics statistics = service.getUserStatistics(userId);
+
+        assertEquals(5, statistics.getProviderBreakdown().get(AIProvider.OPENAI).getRequestCount());
+        assertEquals(300, statistics.getAgentBreakdown().get(AgentType.CONCEPT_EXPLAINER).getTotalTokens());
+        verify(tokenMetricsRepository).findTop20ByUserIdOrderByTimestampDesc(userId);
+        verify(tokenMetricsRepository, never()).findByUserIdOrderByTimestampDesc(userId);
+    }
+
+    @Test
+    public void testRollUp_CompleteHoursSinceWatermark() {
+        LocalDateTime watermark = LocalDateTime.now().minusHours(5).truncatedTo(ChronoUnit.HOURS);
+        when(tokenMetricsRepository.lockRollupWatermark()).thenReturn(watermark);
+        when(tokenMetricsRepository.rollUpHourly(any(), any())).thenReturn(12);
+        when(tokenMetricsRepository.rollUpDaily(any(), any())).thenReturn(3);
+
+        assertEquals(15, service.rollUpTokenUsage());
+
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tokenMetricsRepository).rollUpHourly(eq(watermark), to.capture());
+        verify(tokenMetricsRepository).rollUpDaily(watermark, to.getValue());
+        verify(tokenMetricsRepository).advanceRollupWatermark(to.getValue());
+        assertEquals(to.getValue(), to.getValue().truncatedTo(ChronoUnit.HOURS));
+        assertTrue(to.getValue().isBefore(LocalDateTime.now().minusMinutes(10)));
+    }
+
+    @Test
+    public void testRollUp_NothingWhenCurrentHourNotComplete() {
+        when(tokenMetricsRepository.lockRollupWatermark())
+            .thenReturn(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.HOURS));
+
+        assertEquals(0, service.rollUpTokenUsage());
+
+        verify(tokenMetricsRepository, never()).rollUpHourly(any(), any());
+        verify(tokenMetricsRepository, never()).advanceRollupWatermark(any());
+    }
+    @Test
+    public void testRollUp_SplitsRowsByInsertTimeSoLateRowsAreCounted() throws Exception {
+        // A row recorded before the watermark but inserted after it, e.g. a retried batch,
+        // must be picked up by the next compaction or by the live tail, never neither
+        assertTrue(TokenMetricsRepository.ROLLUP_SUMS.contains(
+            "tm.created_at >= :from AND tm.created_at < :to"));
+        assertTrue(TokenMetricsRepository.LIVE_TAIL.startsWith("tm.created_at >= "));
+
+        // ...while still landing in the bucket of its usage time
+        Query hourly = TokenMetricsRepository.class
+            .getMethod("rollUpHourly", LocalDateTime.class, LocalDateTime.class).getAnnotation(Query.class);
+        assertTrue(hourly.value().contains("date_trunc('hour', tm.timestamp)"));
+
+        // The insert time comes from the database, not from when the row was recorded
+        Column createdAt = TokenMetrics.class.getDeclaredField("createdAt").getAnnotation(Column.class);
+        assertEquals("created_at", createdAt.name());
+        assertFalse(createdAt.insertable());
+        assertNull(TokenMetrics.builder().timestamp(LocalDateTime.now().minusHours(3)).build().getCreatedAt());
+    }
+}
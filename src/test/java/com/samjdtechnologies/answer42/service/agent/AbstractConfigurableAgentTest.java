@@ -1,6 +1,7 @@
 package com.samjdtechnologies.answer42.service.agent;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
@@ -12,7 +13,11 @@ import org.junit.jupiter.api.*;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.samjdtechnologies.answer42.config.AIConfig;
@@ -24,11 +29,13 @@ import com.samjdtechnologies.answer42.model.db.AgentTask;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
 import com.samjdtechnologies.answer42.model.enums.AgentType;
 import com.samjdtechnologies.answer42.model.enums.LoadStatus;
+import com.samjdtechnologies.answer42.model.pipeline.ProviderCallException;
 import com.samjdtechnologies.answer42.service.UserPreferencesService;
 import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
 import com.samjdtechnologies.answer42.service.pipeline.AgentCircuitBreaker;
 import com.samjdtechnologies.answer42.service.pipeline.AgentCircuitBreaker.CircuitBreakerStatus;
 import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
+import com.samjdtechnologies.answer42.service.pipeline.ProviderRouter;
 
 public class AbstractConfigurableAgentTest {
 
@@ -264,13 +271,13 @@ public class AbstractConfigurableAgentTest {
         AgentResult expectedResult = AgentResult.success("test-task", "test result");
         CompletableFuture<AgentResult> futureResult = CompletableFuture.completedFuture(expectedResult);
         
-        when(mockRetryPolicy.executeWithRetry(eq(AgentType.PAPER_PROCESSOR), any(), eq(task)))
+        when(mockRetryPolicy.executeWithRetry(eq(AgentType.PAPER_PROCESSOR), eq(agent.getProvider()), any(), eq(task)))
             .thenAnswer(invocation -> futureResult);
         
         CompletableFuture<AgentResult> result = agent.process(task);
         
         assertNotNull(result);
-        verify(mockRetryPolicy).executeWithRetry(eq(AgentType.PAPER_PROCESSOR), any(), eq(task));
+        verify(mockRetryPolicy).executeWithRetry(eq(AgentType.PAPER_PROCESSOR), eq(agent.getProvider()), any(), eq(task));
     }
 
     @Test
@@ -298,6 +305,60 @@ public class AbstractConfigurableAgentTest {
     }
 
 
+    @Test
+    void testExecutePrompt_OnlyProviderFailuresTripTheProviderBreaker() {
+        AgentCircuitBreaker circuitBreaker = new AgentCircuitBreaker();
+        ReflectionTestUtils.setField(agent, "circuitBreaker", circuitBreaker);
+        when(mockRateLimiter.acquirePermit(AIProvider.OPENAI)).thenReturn(CompletableFuture.completedFuture(null));
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+        when(agent.chatClient.prompt(any(Prompt.class))).thenReturn(requestSpec);
+        when(requestSpec.call()).thenReturn(callSpec);
+        Prompt prompt = new Prompt("test");
+
+        // Rejected prompts are the agent's problem, not the provider's
+        when(callSpec.chatResponse()).thenThrow(new NonTransientAiException("400 - prompt is too long"));
+        for (int i = 0; i < 6; i++) {
+            assertThrows(RuntimeException.class, () -> agent.executePrompt(prompt));
+        }
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+
+        reset(callSpec);
+        when(callSpec.chatResponse()).thenThrow(new TransientAiException("503 - overloaded"));
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RuntimeException.class, () -> agent.executePrompt(prompt));
+        }
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+
+        // An open breaker fails the next call without reaching the provider
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> agent.executePrompt(prompt));
+        assertInstanceOf(AgentCircuitBreaker.CircuitBreakerOpenException.class, thrown.getCause());
+        verify(callSpec, times(5)).chatResponse();
+    }
+
+    @Test
+    void testExecutePrompt_RoutedFailuresCountAgainstTheRoutedProvider() {
+        AgentCircuitBreaker circuitBreaker = new AgentCircuitBreaker();
+        ProviderRouter router = mock(ProviderRouter.class);
+        ChatClient anthropicClient = mock(ChatClient.class);
+        ReflectionTestUtils.setField(agent, "circuitBreaker", circuitBreaker);
+        ReflectionTestUtils.setField(agent, "providerRouter", router);
+        when(router.route(AgentType.PAPER_PROCESSOR, AIProvider.OPENAI)).thenReturn(AIProvider.ANTHROPIC);
+        when(router.getChatClient(AIProvider.ANTHROPIC)).thenReturn(anthropicClient);
+        when(mockRateLimiter.acquirePermit(AIProvider.ANTHROPIC)).thenReturn(CompletableFuture.completedFuture(null));
+        when(anthropicClient.prompt(any(Prompt.class))).thenThrow(new TransientAiException("529 - overloaded"));
+        Prompt prompt = new Prompt("test");
+
+        for (int i = 0; i < 5; i++) {
+            ProviderCallException thrown = assertThrows(ProviderCallException.class, () -> agent.executePrompt(prompt));
+            assertEquals(AIProvider.ANTHROPIC, thrown.getProvider());
+        }
+
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.ANTHROPIC));
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+        verify(router, times(5)).recordOutcome(eq(AgentType.PAPER_PROCESSOR), eq(AIProvider.ANTHROPIC), any(), eq(false));
+    }
+
     @Test
     void testCreateProcessingMetrics_WithNullStartTime() {
         ProcessingMetrics metrics = agent.createProcessingMetrics(null);
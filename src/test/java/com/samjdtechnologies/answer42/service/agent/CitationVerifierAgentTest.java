@@ -0,0 +1,297 @@
+package com.samjdtechnologies.answer42.service.agent;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samjdtechnologies.answer42.config.AIConfig;
+import com.samjdtechnologies.answer42.config.ThreadConfig;
+import com.samjdtechnologies.answer42.model.agent.AgentResult;
+import com.samjdtechnologies.answer42.model.citation.CitationData;
+import com.samjdtechnologies.answer42.model.db.AgentTask;
+import com.samjdtechnologies.answer42.model.db.Citation;
+import com.samjdtechnologies.answer42.model.db.CitationVerification;
+import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarPaper;
+import com.samjdtechnologies.answer42.repository.CitationRepository;
+import com.samjdtechnologies.answer42.repository.CitationVerificationRepository;
+import com.samjdtechnologies.answer42.repository.PaperRepository;
+import com.samjdtechnologies.answer42.service.helpers.SemanticScholarApiHelper;
+import com.samjdtechnologies.answer42.service.pipeline.APIRateLimiter;
+import com.samjdtechnologies.answer42.service.pipeline.AgentRetryPolicy;
+
+public class CitationVerifierAgentTest {
+
+    private static final Pattern UUID_PATTERN =
+        Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @Mock
+    private AIConfig mockAiConfig;
+
+    @Mock
+    private ThreadConfig mockThreadConfig;
+
+    @Mock
+    private AgentRetryPolicy mockRetryPolicy;
+
+    @Mock
+    private APIRateLimiter mockRateLimiter;
+
+    @Mock
+    private ChatClient mockChatClient;
+
+    @Mock
+    private OpenAiApi mockOpenAiApi;
+
+    @Mock
+    private OpenAiChatModel mockOpenAiChatModel;
+
+    @Mock
+    private ChatClient.ChatClientRequestSpec mockRequestSpec;
+
+    @Mock
+    private ChatClient.CallResponseSpec mockCallResponseSpec;
+
+    @Mock
+    private CitationRepository mockCitationRepository;
+
+    @Mock
+    private CitationVerificationRepository mockCitationVerificationRepository;
+
+    @Mock
+    private PaperRepository mockPaperRepository;
+
+    @Mock
+    private SemanticScholarApiHelper mockSemanticScholarApiHelper;
+
+    private CitationVerifierAgent agent;
+    private UUID paperId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(mockAiConfig.openAiApi()).thenReturn(mockOpenAiApi);
+        when(mockAiConfig.openAiChatModel(mockOpenAiApi)).thenReturn(mockOpenAiChatModel);
+        when(mockAiConfig.openAiChatClient(mockOpenAiChatModel)).thenReturn(mockChatClient);
+        when(mockThreadConfig.taskExecutor()).thenReturn(Executors.newFixedThreadPool(4));
+        when(mockRateLimiter.acquirePermit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // The AI assesses every citation it is shown as high quality and complete
+        when(mockChatClient.prompt(any(Prompt.class))).thenAnswer(invocation -> {
+            String promptText = invocation.getArgument(0, Prompt.class).getContents();
+            StringBuilder assessments = new StringBuilder("[");
+            Matcher matcher = UUID_PATTERN.matcher(promptText);
+            while (matcher.find()) {
+                if (assessments.length() > 1) {
+                    assessments.append(',');
+                }
+                assessments.append("{\"citationId\":\"").append(matcher.group())
+                    .append("\",\"quality\":\"high\",\"complete\":true,\"notes\":\"ok\"}");
+            }
+            assessments.append(']');
+            ChatClient.CallResponseSpec callSpec = mock(ChatClient.CallResponseSpec.class);
+            when(callSpec.chatResponse()).thenReturn(
+                new ChatResponse(List.of(new Generation(new AssistantMessage(assessments.toString())))));
+            ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+            when(requestSpec.call()).thenReturn(callSpec);
+            return requestSpec;
+        });
+
+        paperId = UUID.randomUUID();
+        Paper paper = new Paper();
+        paper.setId(paperId);
+        when(mockPaperRepository.findById(paperId)).thenReturn(Optional.of(paper));
+        when(mockCitationVerificationRepository.findByPaperId(paperId)).thenReturn(List.of());
+
+        agent = new CitationVerifierAgent(mockAiConfig, mockThreadConfig, mockRetryPolicy, mockRateLimiter,
+            mockCitationRepository, mockCitationVerificationRepository, mockPaperRepository,
+            mockSemanticScholarApiHelper, new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessWithConfig_BatchesParsingLookupsAndWrites() {
+        List<Citation> citations = createCitations(25);
+        when(mockCitationRepository.findByPaperIdOrderByCreatedAt(paperId)).thenReturn(citations);
+        Map<String, SemanticScholarPaper> matches = new HashMap<>();
+        for (int i = 0; i < 25; i++) {
+            SemanticScholarPaper match = new SemanticScholarPaper();
+            match.setPaperId("s2-" + i);
+            match.setTitle("Citation " + i);
+            matches.put("DOI:10.1000/test." + i, match);
+        }
+        when(mockSemanticScholarApiHelper.getPapersByIds(anyList())).thenReturn(matches);
+
+        AgentResult result = agent.processWithConfig(createTask());
+
+        assertTrue(result.isSuccess());
+        Map<String, Object> resultData = (Map<String, Object>) result.getResultData();
+        assertEquals(25, resultData.get("verificationsCount"));
+        assertEquals(25, resultData.get("verifiedCount"));
+
+        // 25 citations parse in 3 AI calls, resolve in one bulk lookup and persist in one write
+        verify(mockChatClient, times(3)).prompt(any(Prompt.class));
+        ArgumentCaptor<List<String>> ids = ArgumentCaptor.forClass(List.class);
+        verify(mockSemanticScholarApiHelper, times(1)).getPapersByIds(ids.capture());
+        assertEquals(25, ids.getValue().size());
+        verify(mockSemanticScholarApiHelper, never()).searchByTitle(anyString(), any(), anyInt());
+        ArgumentCaptor<List<CitationVerification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(mockCitationVerificationRepository, times(1)).saveAll(saved.capture());
+        assertEquals(25, saved.getValue().size());
+        verify(mockCitationVerificationRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessWithConfig_ExistingVerificationsAreReused() {
+        List<Citation> citations = createCitations(3);
+        when(mockCitationRepository.findByPaperIdOrderByCreatedAt(paperId)).thenReturn(citations);
+        List<CitationVerification> existing = new ArrayList<>();
+        for (Citation citation : citations) {
+            CitationVerification verification = new CitationVerification();
+            verification.setId(UUID.randomUUID());
+            verification.setCitationId(citation.getId());
+            verification.setPaperId(paperId);
+            verification.setVerified(true);
+            verification.setConfidence(0.95);
+            verification.setVerificationDate(Instant.now());
+            existing.add(verification);
+        }
+        when(mockCitationVerificationRepository.findByPaperId(paperId)).thenReturn(existing);
+
+        AgentResult result = agent.processWithConfig(createTask());
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, ((Map<String, Object>) result.getResultData()).get("verifiedCount"));
+        verify(mockChatClient, never()).prompt(any(Prompt.class));
+        verify(mockSemanticScholarApiHelper, never()).getPapersByIds(anyList());
+        verify(mockCitationVerificationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessWithConfig_ManyCitationsOnSharedExecutorAreNotRejected() throws Exception {
+        // Configured like ThreadConfig.taskExecutor: 4-10 threads, 25 queued, abort when full
+        ThreadPoolTaskExecutor sharedExecutor = new ThreadPoolTaskExecutor();
+        sharedExecutor.setCorePoolSize(4);
+        sharedExecutor.setMaxPoolSize(10);
+        sharedExecutor.setQueueCapacity(25);
+        sharedExecutor.initialize();
+        when(mockThreadConfig.taskExecutor()).thenReturn(sharedExecutor);
+        CitationVerifierAgent pipelineAgent = new CitationVerifierAgent(mockAiConfig, mockThreadConfig,
+            mockRetryPolicy, mockRateLimiter, mockCitationRepository, mockCitationVerificationRepository,
+            mockPaperRepository, mockSemanticScholarApiHelper, new ObjectMapper());
+
+        List<Citation> citations = createCitations(120);
+        when(mockCitationRepository.findByPaperIdOrderByCreatedAt(paperId)).thenReturn(citations);
+        Map<String, SemanticScholarPaper> matches = new HashMap<>();
+        for (int i = 0; i < 120; i++) {
+            SemanticScholarPaper match = new SemanticScholarPaper();
+            match.setPaperId("s2-" + i);
+            match.setTitle("Citation " + i);
+            matches.put("DOI:10.1000/test." + i, match);
+        }
+        when(mockSemanticScholarApiHelper.getPapersByIds(anyList())).thenReturn(matches);
+
+        try {
+            // Several pipelines at once, each running the agent on a shared executor thread
+            List<CompletableFuture<AgentResult>> runs = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                runs.add(CompletableFuture.supplyAsync(() -> pipelineAgent.processWithConfig(createTask()), 
+                    sharedExecutor));
+            }
+
+            for (CompletableFuture<AgentResult> run : runs) {
+                AgentResult result = run.get(30, TimeUnit.SECONDS);
+                assertTrue(result.isSuccess(), result.getErrorMessage());
+                assertEquals(120, ((Map<String, Object>) result.getResultData()).get("verifiedCount"));
+            }
+            // The per-citation work stayed off the shared executor
+            assertEquals(3, sharedExecutor.getThreadPoolExecutor().getTaskCount());
+        } finally {
+            pipelineAgent.shutdown();
+            sharedExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testExtractCitationDataBatch_CitationMissingFromResponseIsUnassessed() {
+        List<Citation> citations = createCitations(2);
+        Citation assessed = citations.get(0);
+        Citation omitted = citations.get(1);
+        // The model only returns the first citation, rating it high quality and complete
+        String response = "[{\"citationId\":\"" + assessed.getId()
+            + "\",\"quality\":\"high\",\"complete\":true,\"notes\":\"ok\"}]";
+        when(mockChatClient.prompt(any(Prompt.class))).thenReturn(mockRequestSpec);
+        when(mockRequestSpec.call()).thenReturn(mockCallResponseSpec);
+        when(mockCallResponseSpec.chatResponse()).thenReturn(
+            new ChatResponse(List.of(new Generation(new AssistantMessage(response)))));
+
+        Map<UUID, CitationData> data = ReflectionTestUtils.invokeMethod(agent, "extractCitationDataBatch",
+            citations, createTask());
+
+        assertEquals("ok", data.get(assessed.getId()).getAiAnalysis());
+        assertEquals(1.0, data.get(assessed.getId()).getQualityScore(), 0.001);
+        // Scored from its own title and DOI only, not from the other citation's assessment
+        assertNull(data.get(omitted.getId()).getAiAnalysis());
+        assertEquals(0.9, data.get(omitted.getId()).getQualityScore(), 0.001);
+    }
+
+    private AgentTask createTask() {
+        AgentTask task = new AgentTask();
+        task.setId("test-citation-verification");
+        ObjectNode input = JsonNodeFactory.instance.objectNode();
+        input.put("paperId", paperId.toString());
+        task.setInput(input);
+        return task;
+    }
+
+    private List<Citation> createCitations(int count) {
+        List<Citation> citations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ObjectNode data = JsonNodeFactory.instance.objectNode();
+            data.put("title", "Citation " + i);
+            data.put("doi", "10.1000/test." + i);
+            data.putArray("authors").add("Author " + i);
+            data.put("year", 2020);
+            Citation citation = new Citation();
+            citation.setId(UUID.randomUUID());
+            citation.setPaperId(paperId);
+            citation.setCitationData(data);
+            citations.add(citation);
+        }
+        return citations;
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -15,6 +16,8 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.anthropic.AnthropicChatModel;
 import org.springframework.ai.anthropic.api.AnthropicApi;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -22,7 +25,10 @@ import com.samjdtechnologies.answer42.config.AIConfig;
 import com.samjdtechnologies.answer42.config.ThreadConfig;
 import com.samjdtechnologies.answer42.model.agent.AgentResult;
 import com.samjdtechnologies.answer42.model.db.AgentTask;
+import com.samjdtechnologies.answer42.model.db.DiscoveredPaper;
 import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.db.PaperRelationship;
+import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
 import com.samjdtechnologies.answer42.model.discovery.DiscoveryConfiguration;
 import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
 import com.samjdtechnologies.answer42.model.enums.AIProvider;
@@ -474,4 +480,37 @@ public class RelatedPaperDiscoveryAgentTest {
         verify(mockPaperRepository).findById(paperId);
         verify(mockDiscoveryCoordinator).coordinateDiscovery(eq(mockPaper), any(DiscoveryConfiguration.class));
     }
+
+    @Test
+    void testSavePaperRelationships_BadPaperOnlyLosesItsOwnRow() {
+        UUID paperId = UUID.randomUUID();
+        when(mockPaper.getId()).thenReturn(paperId);
+        RelatedPaperDiscoveryResult result = RelatedPaperDiscoveryResult.builder()
+            .discoveredPapers(List.of(
+                DiscoveredPaperResult.builder().id("good").title("Good Paper").build(),
+                DiscoveredPaperResult.builder().id("bad").title("Bad Paper").build(),
+                DiscoveredPaperResult.builder().id("untitled").build()))
+            .build();
+
+        // The batch fails on the bad paper, which also fails on its own
+        when(mockDiscoveredPaperRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(mockDiscoveredPaperRepository.save(any(DiscoveredPaper.class))).thenAnswer(invocation -> {
+            DiscoveredPaper paper = invocation.getArgument(0);
+            if ("bad".equals(paper.getExternalId())) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            paper.setId(UUID.randomUUID());
+            return paper;
+        });
+        when(mockPaperRelationshipRepository.findBySourcePaperId(paperId)).thenReturn(List.of());
+        when(mockPaperRelationshipRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Integer saved = ReflectionTestUtils.invokeMethod(agent, "savePaperRelationships", mockPaper, result);
+
+        assertEquals(1, saved);
+        verify(mockDiscoveredPaperRepository, times(2)).save(any(DiscoveredPaper.class));
+        verify(mockPaperRelationshipRepository).saveAll(argThat((List<PaperRelationship> relationships) ->
+            relationships.size() == 1));
+    }
 }
@@ -0,0 +1,251 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samjdtechnologies.answer42.model.cache.CacheStats;
+import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+import com.samjdtechnologies.answer42.model.events.DiscoveryResultRefreshedEvent;
+import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
+
+public class DiscoveryCacheTest {
+
+    private static final long MAX_WEIGHT_BYTES = 512 * 1024;
+
+    @Mock
+    private AgentMemoryStoreRepository mockMemoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    private DiscoveryCache discoveryCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockMemoryRepository.findByKey(anyString())).thenReturn(Optional.empty());
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        discoveryCache = new DiscoveryCache(mockMemoryRepository, objectMapper, mockEventPublisher, MAX_WEIGHT_BYTES);
+    }
+
+    @Test
+    void testGet_ReturnsStoredResultFromMemory() {
+        UUID paperId = UUID.randomUUID();
+        RelatedPaperDiscoveryResult result = createResult(paperId, 5, 200);
+
+        discoveryCache.store(paperId, "cfg", result);
+
+        Optional<RelatedPaperDiscoveryResult> cached = discoveryCache.get(paperId, "cfg");
+        assertTrue(cached.isPresent());
+        assertSame(result, cached.get());
+        assertEquals(1, discoveryCache.getStats().getHitCount());
+    }
+
+    @Test
+    void testGet_MissForUnknownKey() {
+        Optional<RelatedPaperDiscoveryResult> cached = discoveryCache.get(UUID.randomUUID(), "cfg");
+
+        assertFalse(cached.isPresent());
+        assertEquals(1, discoveryCache.getStats().getMissCount());
+    }
+
+    @Test
+    void testStore_LargeResultsAreBoundedByWeight() {
+        // Each result weighs roughly 100 KB, so only a handful fit in the 512 KB budget
+        for (int i = 0; i < 30; i++) {
+            UUID paperId = UUID.randomUUID();
+            discoveryCache.store(paperId, "cfg", createResult(paperId, 20, 2500));
+        }
+        discoveryCache.cleanupExpiredEntries();
+
+        CacheStats stats = discoveryCache.getStats();
+        assertTrue(stats.getWeightedSizeBytes() <= MAX_WEIGHT_BYTES,
+            "Weighted size " + stats.getWeightedSizeBytes() + " exceeds budget");
+        assertTrue(stats.getTotalEntries() < 30);
+        assertTrue(stats.getEvictionCount() > 0);
+        assertTrue(stats.getEvictionWeightBytes() > 0);
+        assertEquals(MAX_WEIGHT_BYTES, stats.getMaxWeightBytes());
+    }
+
+    @Test
+    void testEstimateResultSize_GrowsWithContent() {
+        UUID paperId = UUID.randomUUID();
+        long small = discoveryCache.estimateResultSize(createResult(paperId, 1, 100));
+        long large = discoveryCache.estimateResultSize(createResult(paperId, 50, 2000));
+
+        assertTrue(large > small * 50);
+        assertTrue(large > 50 * 2000 * 2, "Estimate should account for UTF-16 abstract text");
+    }
+
+    @Test
+    void testInvalidateAllForPaper_RemovesOnlyThatPaper() {
+        UUID paperId = UUID.randomUUID();
+        UUID otherPaperId = UUID.randomUUID();
+        discoveryCache.store(paperId, "a", createResult(paperId, 2, 100));
+        discoveryCache.store(paperId, "b", createResult(paperId, 2, 100));
+        discoveryCache.store(otherPaperId, "a", createResult(otherPaperId, 2, 100));
+
+        discoveryCache.invalidateAllForPaper(paperId);
+
+        assertFalse(discoveryCache.get(paperId, "a").isPresent());
+        assertFalse(discoveryCache.get(paperId, "b").isPresent());
+        assertTrue(discoveryCache.get(otherPaperId, "a").isPresent());
+    }
+
+    @Test
+    void testGetOrLoad_ConcurrentCallersShareOneDiscovery() {
+        UUID paperId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<RelatedPaperDiscoveryResult> upstream = new CompletableFuture<>();
+
+        CompletableFuture<RelatedPaperDiscoveryResult> first = discoveryCache.getOrLoad(paperId, "cfg", () -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<RelatedPaperDiscoveryResult> second = discoveryCache.getOrLoad(paperId, "cfg", () -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(1, discoveryCache.getInFlightCount());
+
+        RelatedPaperDiscoveryResult result = createResult(paperId, 3, 100);
+        upstream.complete(result);
+
+        assertSame(result, first.join());
+        assertSame(result, second.join());
+        assertEquals(0, discoveryCache.getInFlightCount());
+        assertEquals(1, discoveryCache.getStats().getCoalescedCount());
+        assertTrue(discoveryCache.get(paperId, "cfg").isPresent());
+        verify(mockMemoryRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testGetOrLoad_CancellingOneCallerKeepsDiscoveryRunning() {
+        UUID paperId = UUID.randomUUID();
+        CompletableFuture<RelatedPaperDiscoveryResult> upstream = new CompletableFuture<>();
+
+        CompletableFuture<RelatedPaperDiscoveryResult> first = discoveryCache.getOrLoad(paperId, "cfg", () -> upstream);
+        CompletableFuture<RelatedPaperDiscoveryResult> second = discoveryCache.getOrLoad(paperId, "cfg", () -> upstream);
+
+        first.cancel(true);
+
+        assertFalse(upstream.isCancelled());
+        upstream.complete(createResult(paperId, 1, 10));
+        assertNotNull(second.join());
+    }
+
+    @Test
+    void testGetOrLoad_CancellingAllCallersCancelsDiscovery() {
+        UUID paperId = UUID.randomUUID();
+        CompletableFuture<RelatedPaperDiscoveryResult> upstream = new CompletableFuture<>();
+
+        CompletableFuture<RelatedPaperDiscoveryResult> first = discoveryCache.getOrLoad(paperId, "cfg", () -> upstream);
+        CompletableFuture<RelatedPaperDiscoveryResult> second = discoveryCache.getOrLoad(paperId, "cfg", () -> upstream);
+
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(upstream.isCancelled());
+        assertEquals(0, discoveryCache.getInFlightCount());
+
+        // A later caller starts a fresh discovery
+        AtomicInteger loads = new AtomicInteger();
+        discoveryCache.getOrLoad(paperId, "cfg", () -> {
+            loads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetOrLoad_ResultsWithErrorsAreNotCached() {
+        UUID paperId = UUID.randomUUID();
+        RelatedPaperDiscoveryResult failed = RelatedPaperDiscoveryResult.partial(
+            paperId, List.of(), List.of("Discovery coordination failed"), List.of());
+
+        discoveryCache.getOrLoad(paperId, "cfg", () -> CompletableFuture.completedFuture(failed)).join();
+
+        assertFalse(discoveryCache.get(paperId, "cfg").isPresent());
+    }
+
+    @Test
+    void testGetOrLoad_StaleEntryServedImmediatelyAndRefreshed() {
+        UUID paperId = UUID.randomUUID();
+        RelatedPaperDiscoveryResult stale = createResult(paperId, 2, 100);
+        discoveryCache.store(paperId, "cfg", stale, Duration.ofMillis(-1));
+
+        CompletableFuture<RelatedPaperDiscoveryResult> refresh = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<RelatedPaperDiscoveryResult> served = discoveryCache.getOrLoad(paperId, "cfg", () -> {
+            loads.incrementAndGet();
+            return refresh;
+        });
+
+        // Stale result is returned without waiting for the refresh
+        assertTrue(served.isDone());
+        assertSame(stale, served.join());
+        assertEquals(1, loads.get());
+        assertEquals(1, discoveryCache.getStats().getStaleHitCount());
+
+        // Further stale reads do not start a second refresh
+        discoveryCache.getOrLoad(paperId, "cfg", () -> {
+            loads.incrementAndGet();
+            return refresh;
+        });
+        assertEquals(1, loads.get());
+
+        RelatedPaperDiscoveryResult fresh = createResult(paperId, 4, 100);
+        refresh.complete(fresh);
+
+        assertSame(fresh, discoveryCache.get(paperId, "cfg").orElseThrow());
+        verify(mockEventPublisher).publishEvent(any(DiscoveryResultRefreshedEvent.class));
+    }
+
+    @Test
+    void testGetOrLoad_FailedRefreshKeepsStaleResult() {
+        UUID paperId = UUID.randomUUID();
+        RelatedPaperDiscoveryResult stale = createResult(paperId, 2, 100);
+        discoveryCache.store(paperId, "cfg", stale, Duration.ofMillis(-1));
+
+        discoveryCache.getOrLoad(paperId, "cfg", 
+            () -> CompletableFuture.failedFuture(new RuntimeException("source down")));
+
+        assertSame(stale, discoveryCache.get(paperId, "cfg").orElseThrow());
+        verify(mockEventPublisher, never()).publishEvent(any(DiscoveryResultRefreshedEvent.class));
+    }
+
+    private RelatedPaperDiscoveryResult createResult(UUID paperId, int paperCount, int abstractLength) {
+        List<DiscoveredPaperResult> papers = new ArrayList<>();
+        for (int i = 0; i < paperCount; i++) {
+            DiscoveredPaperResult paper = DiscoveredPaperResult.minimal(
+                "paper-" + i, "Discovered paper " + i, DiscoverySource.SEMANTIC_SCHOLAR);
+            paper.setAbstractText("x".repeat(abstractLength));
+            paper.setAuthors(List.of("Author A", "Author B"));
+            papers.add(paper);
+        }
+        return RelatedPaperDiscoveryResult.success(paperId, papers, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+
+/**
+ * Manual micro-benchmark comparing the legacy JSON tree storage of the discovery cache
+ * with DiscoveryResultCodec (Smile, with and without deflate).
+ *
+ * Not a unit test; run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.samjdtechnologies.answer42.service.discovery.cache.DiscoveryResultCodecBenchmark
+ */
+public class DiscoveryResultCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        DiscoveryResultCodec compressed = new DiscoveryResultCodec(objectMapper);
+        DiscoveryResultCodec uncompressed = new DiscoveryResultCodec(objectMapper, false, 0);
+
+        int[][] shapes = { {5, 200}, {50, 1500}, {200, 2500} };
+        System.out.printf("%-14s %-12s %12s %12s %12s%n", "papers/abstr", "format", "bytes", "encode us", "decode us");
+
+        for (int[] shape : shapes) {
+            RelatedPaperDiscoveryResult result = DiscoveryResultCodecTest.createResult(shape[0], shape[1]);
+            String label = shape[0] + "/" + shape[1];
+
+            // Legacy path: valueToTree on write, treeToValue on read (what the jsonb row held)
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            report(label, "json-tree", json.length,
+                time(() -> objectMapper.writeValueAsBytes(objectMapper.valueToTree(result))),
+                time(() -> objectMapper.treeToValue(objectMapper.readTree(json), RelatedPaperDiscoveryResult.class)));
+
+            byte[] smile = uncompressed.encode(result);
+            report(label, "smile", smile.length,
+                time(() -> uncompressed.encode(result)),
+                time(() -> uncompressed.decode(smile)));
+
+            byte[] deflated = compressed.encode(result);
+            report(label, "smile+deflate", deflated.length,
+                time(() -> compressed.encode(result)),
+                time(() -> compressed.decode(deflated)));
+        }
+    }
+
+    private static void report(String label, String format, int bytes, double encodeMicros, double decodeMicros) {
+        System.out.printf("%-14s %-12s %12d %12.1f %12.1f%n", label, format, bytes, encodeMicros, decodeMicros);
+    }
+
+    private static double time(Operation operation) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null || sink instanceof JsonNode) {
+            throw new IllegalStateException("Benchmark operation produced no result");
+        }
+        return elapsed / 1000.0 / MEASURED_ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run() throws Exception;
+    }
+}
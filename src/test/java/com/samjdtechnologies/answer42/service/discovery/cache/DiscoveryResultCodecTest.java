@@ -0,0 +1,118 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samjdtechnologies.answer42.model.discovery.DiscoveredPaperResult;
+import com.samjdtechnologies.answer42.model.discovery.RelatedPaperDiscoveryResult;
+import com.samjdtechnologies.answer42.model.enums.DiscoverySource;
+
+public class DiscoveryResultCodecTest {
+
+    private ObjectMapper objectMapper;
+    private DiscoveryResultCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        codec = new DiscoveryResultCodec(objectMapper);
+    }
+
+    @Test
+    void testRoundTrip_SmallResultIsNotCompressed() throws IOException {
+        RelatedPaperDiscoveryResult result = createResult(1, 20);
+
+        byte[] encoded = codec.encode(result);
+
+        assertEquals(DiscoveryResultCodec.FORMAT_VERSION, encoded[2]);
+        assertEquals(0, encoded[3] & DiscoveryResultCodec.FLAG_DEFLATE);
+        assertEquals(result, codec.decode(encoded));
+    }
+
+    @Test
+    void testRoundTrip_LargeResultIsCompressed() throws IOException {
+        RelatedPaperDiscoveryResult result = createResult(40, 1500);
+
+        byte[] encoded = codec.encode(result);
+
+        assertEquals(DiscoveryResultCodec.FLAG_DEFLATE, encoded[3] & DiscoveryResultCodec.FLAG_DEFLATE);
+        assertEquals(result, codec.decode(encoded));
+    }
+
+    @Test
+    void testEncode_SmallerThanJson() throws IOException {
+        RelatedPaperDiscoveryResult result = createResult(40, 1500);
+
+        int jsonBytes = objectMapper.writeValueAsBytes(result).length;
+        int uncompressedBytes = new DiscoveryResultCodec(objectMapper, false, 0).encode(result).length;
+        int compressedBytes = codec.encode(result).length;
+
+        assertTrue(uncompressedBytes < jsonBytes, "Smile should be smaller than JSON");
+        assertTrue(compressedBytes * 2 < jsonBytes, "Compressed payload should be under half the JSON size");
+    }
+
+    @Test
+    void testReadFrom_BinaryRow() throws IOException {
+        RelatedPaperDiscoveryResult result = createResult(5, 200);
+        ObjectNode row = JsonNodeFactory.instance.objectNode();
+
+        int storedBytes = codec.writeTo(row, result);
+
+        assertTrue(storedBytes > 0);
+        assertEquals(DiscoveryResultCodec.CODEC_NAME, row.get(DiscoveryResultCodec.CODEC_FIELD).asText());
+        assertFalse(row.has(DiscoveryResultCodec.LEGACY_RESULT_FIELD));
+        assertEquals(result, codec.readFrom(row));
+    }
+
+    @Test
+    void testReadFrom_LegacyJsonRow() throws IOException {
+        RelatedPaperDiscoveryResult result = createResult(5, 200);
+        ObjectNode row = JsonNodeFactory.instance.objectNode();
+        row.set(DiscoveryResultCodec.LEGACY_RESULT_FIELD, objectMapper.valueToTree(result));
+
+        assertEquals(result, codec.readFrom(row));
+    }
+
+    @Test
+    void testReadFrom_EmptyRowReturnsNull() throws IOException {
+        assertNull(codec.readFrom(JsonNodeFactory.instance.objectNode()));
+    }
+
+    @Test
+    void testDecode_RejectsUnknownVersion() throws IOException {
+        byte[] encoded = codec.encode(createResult(1, 20));
+        encoded[2] = (byte) (DiscoveryResultCodec.FORMAT_VERSION + 1);
+
+        assertThrows(IOException.class, () -> codec.decode(encoded));
+    }
+
+    @Test
+    void testDecode_RejectsForeignBytes() {
+        assertThrows(IOException.class, () -> codec.decode("{\"a\":1}".getBytes()));
+    }
+
+    static RelatedPaperDiscoveryResult createResult(int paperCount, int abstractLength) {
+        List<DiscoveredPaperResult> papers = new ArrayList<>();
+        for (int i = 0; i < paperCount; i++) {
+            DiscoveredPaperResult paper = DiscoveredPaperResult.minimal(
+                "paper-" + i, "Discovered paper on graph neural networks " + i, DiscoverySource.SEMANTIC_SCHOLAR);
+            paper.setAbstractText(("We study message passing in paper " + i + ". ")
+                .repeat(Math.max(1, abstractLength / 40)));
+            paper.setAuthors(List.of("Ada Lovelace", "Alan Turing", "Grace Hopper"));
+            paper.setVenue("Conference on Neural Information Processing Systems");
+            papers.add(paper);
+        }
+        return RelatedPaperDiscoveryResult.success(UUID.randomUUID(), papers, null);
+    }
+}
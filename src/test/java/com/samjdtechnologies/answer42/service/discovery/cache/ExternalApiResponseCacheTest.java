@@ -0,0 +1,190 @@
+package com.samjdtechnologies.answer42.service.discovery.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samjdtechnologies.answer42.model.db.AgentMemoryStore;
+import com.samjdtechnologies.answer42.model.enums.ExternalApiEndpoint;
+import com.samjdtechnologies.answer42.model.semanticscholar.SemanticScholarResponse;
+import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
+
+public class ExternalApiResponseCacheTest {
+
+    private static final String URL =
+        "https://api.semanticscholar.org/graph/v1/paper/abc/citations?limit=10&fields=paperId,title";
+    private static final String BODY = "{\"data\":[{\"paperId\":\"p1\",\"title\":\"A paper\",\"unknownField\":1}]}";
+
+    @Mock
+    private RestTemplate mockRestTemplate;
+
+    @Mock
+    private AgentMemoryStoreRepository mockMemoryRepository;
+
+    private final Map<String, AgentMemoryStore> rows = new ConcurrentHashMap<>();
+    private final AtomicInteger networkCalls = new AtomicInteger();
+    private ExternalApiResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // In-memory stand-in for the persistent tier
+        when(mockMemoryRepository.findByKey(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.getArgument(0, String.class))));
+        when(mockMemoryRepository.save(any(AgentMemoryStore.class))).thenAnswer(invocation -> {
+            AgentMemoryStore row = invocation.getArgument(0);
+            rows.put(row.getKey(), row);
+            return row;
+        });
+
+        responseCache = newCache();
+    }
+
+    @Test
+    void testGet_FreshResponseServedWithoutNetwork() throws Exception {
+        stubResponse(ResponseEntity.ok().eTag("\"v1\"").body(BODY));
+
+        SemanticScholarResponse first = get(URL);
+        SemanticScholarResponse second = get(URL);
+
+        assertEquals("p1", first.getData().get(0).getPaperId());
+        assertEquals("p1", second.getData().get(0).getPaperId());
+        assertEquals(1, networkCalls.get());
+        verify(mockRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+        assertEquals(1L, responseCache.getStats().get("hitCount"));
+    }
+
+    @Test
+    void testGet_ParameterOrderDoesNotChangeKey() {
+        String reordered = "https://API.semanticscholar.org/graph/v1/paper/abc/citations?fields=paperId%2Ctitle&limit=10";
+
+        assertEquals(
+            responseCache.buildCacheKey(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS, URL),
+            responseCache.buildCacheKey(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS, reordered));
+        assertNotEquals(
+            responseCache.buildCacheKey(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS, URL),
+            responseCache.buildCacheKey(ExternalApiEndpoint.SEMANTIC_SCHOLAR_REFERENCES, URL));
+    }
+
+    @Test
+    void testGet_ExpiredResponseRevalidatedWithEtag() throws Exception {
+        seedExpiredRow("\"v1\"");
+        stubResponse(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        SemanticScholarResponse response = get(URL);
+
+        assertEquals("p1", response.getData().get(0).getPaperId());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(mockRestTemplate).exchange(anyString(), eq(HttpMethod.GET), request.capture(), eq(String.class));
+        assertEquals(List.of("\"v1\""), request.getValue().getHeaders().getIfNoneMatch());
+        assertEquals(1L, responseCache.getStats().get("revalidatedCount"));
+
+        // Revalidation restored freshness, so the next call stays local
+        get(URL);
+        assertEquals(1, networkCalls.get());
+    }
+
+    @Test
+    void testGet_OriginFailureServesPreviousResponse() throws Exception {
+        seedExpiredRow("\"v1\"");
+        when(mockRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        SemanticScholarResponse response = get(URL);
+
+        assertEquals("p1", response.getData().get(0).getPaperId());
+        assertEquals(1L, responseCache.getStats().get("staleServedCount"));
+    }
+
+    @Test
+    void testGet_ClientErrorIsNotMaskedByPreviousResponse() {
+        seedExpiredRow("\"v1\"");
+        when(mockRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertThrows(HttpClientErrorException.class, () -> get(URL));
+        assertEquals(0L, responseCache.getStats().get("staleServedCount"));
+    }
+
+    @Test
+    void testIsOriginFailure_TransportErrors5xxAnd429Only() {
+        assertTrue(ExternalApiResponseCache.isOriginFailure(new ResourceAccessException("Read timed out")));
+        assertTrue(ExternalApiResponseCache.isOriginFailure(new HttpServerErrorException(HttpStatus.BAD_GATEWAY)));
+        assertTrue(ExternalApiResponseCache.isOriginFailure(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertFalse(ExternalApiResponseCache.isOriginFailure(new HttpClientErrorException(HttpStatus.GONE)));
+        assertFalse(ExternalApiResponseCache.isOriginFailure(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+    }
+
+    @Test
+    void testGet_OriginFailureWithoutCachedResponsePropagates() {
+        when(mockRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThrows(HttpClientErrorException.class, () -> get(URL));
+    }
+
+    @Test
+    void testGet_PersistentTierSurvivesRestart() throws Exception {
+        stubResponse(ResponseEntity.ok().body(BODY));
+        get(URL);
+
+        ExternalApiResponseCache restarted = newCache();
+        SemanticScholarResponse response = restarted.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS,
+            URL, new HttpHeaders(), SemanticScholarResponse.class, networkCalls::incrementAndGet);
+
+        assertEquals("p1", response.getData().get(0).getPaperId());
+        verify(mockRestTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+    }
+
+    private ExternalApiResponseCache newCache() {
+        return new ExternalApiResponseCache(mockRestTemplate, mockMemoryRepository, new ObjectMapper(), 1024 * 1024);
+    }
+
+    private SemanticScholarResponse get(String url) throws Exception {
+        // The pacing hook stands in for the rate limiter and counts real requests
+        return responseCache.get(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS,
+            url, new HttpHeaders(), SemanticScholarResponse.class, networkCalls::incrementAndGet);
+    }
+
+    private void stubResponse(ResponseEntity<String> response) {
+        when(mockRestTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+            .thenReturn(response);
+    }
+
+    private void seedExpiredRow(String etag) {
+        ObjectNode data = new ObjectMapper().createObjectNode();
+        data.put("endpointId", ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS.getEndpointId());
+        data.put("body", BODY);
+        data.put("etag", etag);
+        data.put("fetchedAt", Instant.now().minusSeconds(200000).toString());
+        data.put("expiresAt", Instant.now().minusSeconds(1).toString());
+        String key = responseCache.buildCacheKey(ExternalApiEndpoint.SEMANTIC_SCHOLAR_CITATIONS, URL);
+        rows.put(key, AgentMemoryStore.builder().key(key).data(data)
+            .createdAt(Instant.now()).updatedAt(Instant.now()).build());
+    }
+}
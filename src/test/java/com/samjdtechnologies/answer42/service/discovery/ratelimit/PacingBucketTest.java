@@ -0,0 +1,88 @@
+package com.samjdtechnologies.answer42.service.discovery.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class PacingBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void testReserve_BurstCreditsStartImmediately() {
+        PacingBucket bucket = new PacingBucket(2.0, 3, clock::get);
+
+        assertEquals(3, bucket.getAvailableCredits());
+        assertEquals(0L, bucket.reserve());
+        assertEquals(0L, bucket.reserve());
+        assertEquals(0L, bucket.reserve());
+        assertEquals(0, bucket.getAvailableCredits());
+
+        // Beyond the burst, slots are spaced at the sustained rate
+        assertEquals(SECOND / 2, bucket.reserve());
+        assertEquals(SECOND, bucket.reserve());
+    }
+
+    @Test
+    void testReserve_CreditsRefillWhileIdle() {
+        PacingBucket bucket = new PacingBucket(2.0, 3, clock::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve();
+        }
+
+        clock.addAndGet(SECOND);
+
+        assertEquals(2, bucket.getAvailableCredits());
+        assertEquals(0L, bucket.reserve());
+        assertEquals(0L, bucket.reserve());
+        assertEquals(SECOND / 2, bucket.reserve());
+    }
+
+    @Test
+    void testReserve_IdleTimeDoesNotAccumulateBeyondBurst() {
+        PacingBucket bucket = new PacingBucket(10.0, 2, clock::get);
+
+        clock.addAndGet(60 * SECOND);
+
+        assertEquals(2, bucket.getAvailableCredits());
+        bucket.reserve();
+        bucket.reserve();
+        assertTrue(bucket.reserve() > 0);
+    }
+
+    @Test
+    void testTryReserve_RejectsWithoutConsumingWhenWaitTooLong() {
+        PacingBucket bucket = new PacingBucket(1.0, 1, clock::get);
+        assertEquals(0L, bucket.tryReserve(0));
+
+        assertEquals(-1L, bucket.tryReserve(SECOND / 2));
+        assertEquals(SECOND, bucket.tryReserve(SECOND));
+    }
+
+    @Test
+    void testPauseFor_HoldsSlotsUntilResetThenResumesAtSustainedRate() {
+        PacingBucket bucket = new PacingBucket(2.0, 3, clock::get);
+
+        bucket.pauseFor(10 * SECOND);
+
+        assertEquals(0, bucket.getAvailableCredits());
+        assertEquals(10 * SECOND, bucket.reserve());
+        assertEquals(10 * SECOND + SECOND / 2, bucket.reserve());
+    }
+
+    @Test
+    void testSetRate_ChangesSpacing() {
+        PacingBucket bucket = new PacingBucket(1.0, 1, clock::get);
+        bucket.reserve();
+
+        bucket.setRate(4.0);
+
+        assertEquals(4.0, bucket.getRate(), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> bucket.setRate(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.samjdtechnologies.answer42.service.helpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.samjdtechnologies.answer42.model.db.PaperTag;
+import com.samjdtechnologies.answer42.model.db.Tag;
+import com.samjdtechnologies.answer42.repository.PaperTagRepository;
+import com.samjdtechnologies.answer42.repository.TagRepository;
+
+public class PaperTagHelperTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private PaperTagRepository paperTagRepository;
+
+    private UUID paperId;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        paperId = UUID.randomUUID();
+
+        // Assign IDs the way persist does, on the instances passed in
+        when(tagRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Tag> tags = invocation.getArgument(0);
+            List<Tag> saved = new ArrayList<>();
+            for (Tag tag : tags) {
+                tag.setId(UUID.randomUUID());
+                saved.add(tag);
+            }
+            return saved;
+        });
+        when(paperTagRepository.findByIdPaperId(paperId)).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTagPaper_FixedRoundTripsPerPaper() {
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            terms.add("Term " + i);
+        }
+
+        int linked = PaperTagHelper.tagPaper(tagRepository, paperTagRepository, paperId, terms, "#6B7280");
+
+        assertEquals(40, linked);
+        // One lookup and one batch per table, however many terms there are
+        verify(tagRepository, times(1)).findByLowerCaseNameIn(anyCollection());
+        verify(tagRepository, times(1)).saveAll(anyIterable());
+        verify(paperTagRepository, times(1)).findByIdPaperId(paperId);
+        verify(paperTagRepository, times(1)).saveAll(anyIterable());
+        verify(tagRepository, never()).save(any());
+        verify(paperTagRepository, never()).save(any());
+
+        ArgumentCaptor<List<PaperTag>> links = ArgumentCaptor.forClass(List.class);
+        verify(paperTagRepository).saveAll(links.capture());
+        assertEquals(40, links.getValue().size());
+        assertTrue(links.getValue().stream().allMatch(PaperTag::isNew), "Links must be persisted, not merged");
+    }
+
+    @Test
+    public void testTagPaper_ReusesExistingTagsAndLinks() {
+        Tag existing = new Tag("transformer", "#6B7280");
+        existing.setId(UUID.randomUUID());
+        when(tagRepository.findByLowerCaseNameIn(anyCollection())).thenReturn(List.of(existing));
+        when(paperTagRepository.findByIdPaperId(paperId))
+            .thenReturn(List.of(new PaperTag(paperId, existing.getId())));
+
+        int linked = PaperTagHelper.tagPaper(tagRepository, paperTagRepository, paperId,
+            List.of("Transformer", " transformer ", "attention"), "#6B7280");
+
+        assertEquals(1, linked);
+        verify(tagRepository).saveAll(argThat(tags -> {
+            List<Tag> list = new ArrayList<>();
+            tags.forEach(list::add);
+            return list.size() == 1 && "attention".equals(list.get(0).getName());
+        }));
+    }
+
+    @Test
+    public void testTagPaper_NoTermsNoStatements() {
+        int linked = PaperTagHelper.tagPaper(tagRepository, paperTagRepository, paperId,
+            List.of(" ", ""), "#6B7280");
+
+        assertEquals(0, linked);
+        verifyNoInteractions(tagRepository);
+        verifyNoInteractions(paperTagRepository);
+    }
+}
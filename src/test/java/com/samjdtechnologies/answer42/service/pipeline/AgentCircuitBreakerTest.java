@@ -0,0 +1,186 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.service.pipeline.AgentCircuitBreaker.CircuitBreakerOpenException;
+import com.samjdtechnologies.answer42.service.pipeline.AgentCircuitBreaker.CircuitBreakerStatus;
+
+public class AgentCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private AgentCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new AgentCircuitBreaker(clock::get);
+    }
+
+    @Test
+    void testFailureRate_OpensBreakerSharedByAllCallersOfProvider() {
+        for (int i = 0; i < 5; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+        assertFalse(circuitBreaker.isCallPermitted(AIProvider.OPENAI));
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.ANTHROPIC));
+
+        // Any other caller of the provider fails fast without running its operation
+        AtomicInteger invocations = new AtomicInteger();
+        CompletableFuture<String> result = circuitBreaker.executeWithCircuitBreaker(AIProvider.OPENAI, () -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, thrown.getCause());
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    void testFailureRate_BelowThresholdKeepsBreakerClosed() {
+        for (int i = 0; i < 6; i++) {
+            callSucceeding(AIProvider.OPENAI, 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+    }
+
+    @Test
+    void testSlowCalls_OpenBreaker() {
+        List<CompletableFuture<String>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            circuitBreaker.executeWithCircuitBreaker(AIProvider.ANTHROPIC, () -> call);
+            inFlight.add(call);
+        }
+        clock.addAndGet(150_000L);
+        inFlight.forEach(call -> call.complete("ok"));
+
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.ANTHROPIC));
+    }
+
+    @Test
+    void testOldFailures_SlideOutOfWindow() {
+        for (int i = 0; i < 4; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+        clock.addAndGet(10 * 60_000L);
+        callFailing(AIProvider.OPENAI);
+
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+        assertEquals(1, circuitBreaker.getCircuitBreakerStats().get("OPENAI").getCallsInWindow());
+    }
+
+    @Test
+    void testHalfOpen_ClosesAfterSuccessfulTrialCalls() {
+        for (int i = 0; i < 5; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+        clock.addAndGet(31_000L);
+
+        assertEquals(CircuitBreakerStatus.HALF_OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+        callSucceeding(AIProvider.OPENAI, 0);
+        callSucceeding(AIProvider.OPENAI, 0);
+
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+    }
+
+    @Test
+    void testHalfOpen_TrialFailureReopens() {
+        for (int i = 0; i < 5; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+        clock.addAndGet(31_000L);
+
+        callFailing(AIProvider.OPENAI);
+
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+    }
+
+    @Test
+    void testExecuteCall_OnlyProviderFailuresCount() {
+        for (int i = 0; i < 10; i++) {
+            RuntimeException notTheProvider = i % 2 == 0
+                ? new NonTransientAiException("400 - {\"error\": \"prompt is too long\"}")
+                : new IllegalStateException("Could not parse model output");
+            assertThrows(RuntimeException.class,
+                () -> circuitBreaker.executeCall(AIProvider.OPENAI, () -> { throw notTheProvider; }));
+        }
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TransientAiException.class, () -> circuitBreaker.executeCall(AIProvider.OPENAI,
+                () -> { throw new TransientAiException("503 - overloaded"); }));
+        }
+        assertEquals(CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+
+        AtomicInteger invocations = new AtomicInteger();
+        assertThrows(CircuitBreakerOpenException.class,
+            () -> circuitBreaker.executeCall(AIProvider.OPENAI, invocations::incrementAndGet));
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    void testIsProviderFailure_TransportErrors5xxAnd429() {
+        assertTrue(AgentCircuitBreaker.isProviderFailure(
+            new RuntimeException("wrapped", new ResourceAccessException("I/O error"))));
+        assertTrue(AgentCircuitBreaker.isProviderFailure(new TransientAiException("500 - internal error")));
+        assertTrue(AgentCircuitBreaker.isProviderFailure(new NonTransientAiException("429 - rate_limit_error")));
+        assertTrue(AgentCircuitBreaker.isProviderFailure(
+            HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null)));
+
+        assertFalse(AgentCircuitBreaker.isProviderFailure(
+            HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null)));
+        assertFalse(AgentCircuitBreaker.isProviderFailure(new NonTransientAiException("401 - invalid_api_key")));
+        assertFalse(AgentCircuitBreaker.isProviderFailure(new RuntimeException("boom")));
+    }
+
+    @Test
+    void testHalfOpen_IgnoredCallReturnsTrialPermit() {
+        for (int i = 0; i < 5; i++) {
+            callFailing(AIProvider.OPENAI);
+        }
+        clock.addAndGet(31_000L);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.executeCall(AIProvider.OPENAI,
+                () -> { throw new IllegalStateException("bad output"); }));
+        }
+        circuitBreaker.executeCall(AIProvider.OPENAI, () -> "ok");
+        circuitBreaker.executeCall(AIProvider.OPENAI, () -> "ok");
+
+        assertEquals(CircuitBreakerStatus.CLOSED, circuitBreaker.getCircuitBreakerStatus(AIProvider.OPENAI));
+    }
+
+    private void callFailing(AIProvider provider) {
+        circuitBreaker.executeWithCircuitBreaker(provider,
+            () -> CompletableFuture.failedFuture(new RuntimeException("boom")));
+    }
+
+    private void callSucceeding(AIProvider provider, long durationMillis) {
+        circuitBreaker.executeWithCircuitBreaker(provider, () -> {
+            clock.addAndGet(durationMillis);
+            return CompletableFuture.completedFuture("ok");
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.service.monitoring.FallbackMetricsService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class FallbackReadinessManagerTest {
+
+    private static final String MODEL = "llama3.1:8b";
+
+    private HttpServer ollamaStandIn;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+
+    private AtomicLong now;
+    private AgentCircuitBreaker circuitBreaker;
+    private FallbackMetricsService fallbackMetricsService;
+    private FallbackReadinessManager manager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stand-in for a local Ollama: the first load of a model is slow, later ones are not
+        ollamaStandIn = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ollamaStandIn.createContext("/api/generate", this::handleGenerate);
+        ollamaStandIn.start();
+
+        now = new AtomicLong(1_000_000);
+        circuitBreaker = new AgentCircuitBreaker(now::get);
+        fallbackMetricsService = new FallbackMetricsService();
+        manager = new FallbackReadinessManager(circuitBreaker, fallbackMetricsService, Runnable::run,
+            "http://127.0.0.1:" + ollamaStandIn.getAddress().getPort(), List.of(MODEL), Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ollamaStandIn.stop(0);
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        long loadNanos = requests.isEmpty() ? 12_000_000_000L : 0L;
+        requests.add(body);
+        byte[] response = String.format("{\"model\":\"%s\",\"done\":true,\"done_reason\":\"load\",\"load_duration\":%d}",
+            MODEL, loadNanos).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Test
+    void testKeepAlive_LoadsModelAndReportsReadiness() {
+        assertFalse(fallbackMetricsService.isFallbackReady(MODEL));
+
+        manager.keepModelsResident();
+
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).contains("\"model\":\"" + MODEL + "\""));
+        assertTrue(requests.get(0).contains("\"keep_alive\":\"1800s\""));
+        assertTrue(fallbackMetricsService.isFallbackReady(MODEL));
+        FallbackMetricsService.FallbackReadiness readiness = fallbackMetricsService.getFallbackReadiness().get(MODEL);
+        assertEquals(Duration.ofSeconds(12), readiness.getLastLoadLatency());
+        assertEquals(1, readiness.getWarmups());
+    }
+
+    @Test
+    void testBreakerOpening_PrewarmsFallbackModel() {
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.executeWithCircuitBreaker(AIProvider.ANTHROPIC,
+                () -> CompletableFuture.failedFuture(new RuntimeException("provider down")));
+        }
+
+        assertEquals(AgentCircuitBreaker.CircuitBreakerStatus.OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.ANTHROPIC));
+        assertEquals(1, manager.getBreakerPrewarms());
+        assertEquals(1, requests.size());
+        assertTrue(fallbackMetricsService.isFallbackReady(MODEL));
+
+        // Going half-open warms again; the model is already resident so this is cheap
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertEquals(AgentCircuitBreaker.CircuitBreakerStatus.HALF_OPEN, circuitBreaker.getCircuitBreakerStatus(AIProvider.ANTHROPIC));
+        assertEquals(2, manager.getBreakerPrewarms());
+        assertEquals(Duration.ZERO, fallbackMetricsService.getFallbackReadiness().get(MODEL).getLastLoadLatency());
+    }
+
+    @Test
+    void testFailedWarmup_ReportsNotReady() {
+        status = 500;
+
+        manager.keepModelsResident();
+
+        assertFalse(fallbackMetricsService.isFallbackReady(MODEL));
+        assertEquals(1, fallbackMetricsService.getFallbackReadiness().get(MODEL).getFailedWarmups());
+    }
+}
@@ -0,0 +1,139 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+
+public class HedgedRequestExecutorTest {
+
+    private ProviderLatencyTracker latencyTracker;
+    private HedgedRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        latencyTracker = new ProviderLatencyTracker();
+        // Fast recent history, so a stalled call gets hedged after the minimum delay
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record(AIProvider.ANTHROPIC, Duration.ofMillis(10));
+        }
+        executor = new HedgedRequestExecutor(latencyTracker, true);
+    }
+
+    @Test
+    void testStalledPrimary_HedgeWinsAndPrimaryIsCancelled() {
+        StubProvider primary = StubProvider.stalling();
+        StubProvider hedge = StubProvider.answering("from hedge");
+
+        String result = executor.execute("chat response",
+            AIProvider.ANTHROPIC, primary::call, AIProvider.OLLAMA, hedge::call)
+            .orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals("from hedge", result);
+        assertTrue(primary.lastCall.isCancelled());
+        assertEquals(1, executor.getHedgesFired());
+        assertEquals(1, executor.getHedgeWins());
+    }
+
+    @Test
+    void testFastPrimary_NoHedgeFired() throws Exception {
+        StubProvider primary = StubProvider.answering("from primary");
+        StubProvider hedge = StubProvider.answering("from hedge");
+
+        String result = executor.execute("chat response",
+            AIProvider.ANTHROPIC, primary::call, AIProvider.OLLAMA, hedge::call).join();
+        Thread.sleep(400); // Past the hedge delay
+
+        assertEquals("from primary", result);
+        assertEquals(0, hedge.calls.get());
+        assertEquals(0, executor.getHedgesFired());
+    }
+
+    @Test
+    void testHedgeBudget_DeniesHedgesOnceSpent() {
+        for (int i = 0; i < 5; i++) {
+            executor.execute("chat response",
+                AIProvider.ANTHROPIC, StubProvider.stalling()::call, AIProvider.OLLAMA, StubProvider.answering("hedge")::call)
+                .orTimeout(5, TimeUnit.SECONDS).join();
+        }
+
+        // The budget is spent: the next stalled call is left to its own timeout
+        StubProvider primary = StubProvider.stalling();
+        CompletableFuture<String> unhedged = executor.execute("chat response",
+            AIProvider.ANTHROPIC, primary::call, AIProvider.OLLAMA, StubProvider.answering("hedge")::call);
+
+        assertThrows(CompletionException.class, () -> unhedged.orTimeout(600, TimeUnit.MILLISECONDS).join());
+        assertEquals(5, executor.getHedgesFired());
+        assertEquals(1, executor.getHedgesDenied());
+    }
+
+    @Test
+    void testBothFail_PrimaryErrorPropagates() {
+        CompletableFuture<String> result = executor.execute("chat response",
+            AIProvider.ANTHROPIC, () -> CompletableFuture.supplyAsync(() -> {
+                sleep(400);
+                throw new IllegalStateException("primary failed");
+            }),
+            AIProvider.OLLAMA, () -> CompletableFuture.failedFuture(new IllegalStateException("hedge failed")));
+
+        CompletionException e = assertThrows(CompletionException.class,
+            () -> result.orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals("primary failed", e.getCause().getMessage());
+    }
+
+    @Test
+    void testDisabled_OnlyRecordsLatency() {
+        HedgedRequestExecutor disabled = new HedgedRequestExecutor(latencyTracker, false);
+        StubProvider hedge = StubProvider.answering("from hedge");
+
+        String result = disabled.execute("chat response",
+            AIProvider.OPENAI, StubProvider.answering("from primary")::call, AIProvider.OLLAMA, hedge::call).join();
+
+        assertEquals("from primary", result);
+        assertEquals(0, hedge.calls.get());
+        assertEquals(1, latencyTracker.getSampleCount(AIProvider.OPENAI));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stand-in for a provider that either answers right away or stalls until cancelled.
+     */
+    private static class StubProvider {
+        private final String answer;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile CompletableFuture<String> lastCall;
+
+        private StubProvider(String answer) {
+            this.answer = answer;
+        }
+
+        static StubProvider stalling() {
+            return new StubProvider(null);
+        }
+
+        static StubProvider answering(String answer) {
+            return new StubProvider(answer);
+        }
+
+        CompletableFuture<String> call() {
+            calls.incrementAndGet();
+            lastCall = answer == null ? new CompletableFuture<>() : CompletableFuture.completedFuture(answer);
+            return lastCall;
+        }
+    }
+}
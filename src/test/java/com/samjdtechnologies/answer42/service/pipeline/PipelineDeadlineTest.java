@@ -0,0 +1,78 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.samjdtechnologies.answer42.model.pipeline.DeadlineExceededException;
+
+public class PipelineDeadlineTest {
+
+    @Test
+    void testCallWithin_SetsAndRestoresDeadline() {
+        Instant deadline = Instant.now().plusSeconds(60);
+
+        Instant seen = PipelineDeadline.callWithin(deadline, PipelineDeadline::current);
+
+        assertEquals(deadline, seen);
+        assertNull(PipelineDeadline.current());
+        assertNull(PipelineDeadline.remaining());
+    }
+
+    @Test
+    void testCap_ShrinksTimeoutToRemainingTime() {
+        Duration capped = PipelineDeadline.callWithin(Instant.now().plusSeconds(5),
+            () -> PipelineDeadline.cap(Duration.ofMinutes(20)));
+
+        assertTrue(capped.compareTo(Duration.ofSeconds(5)) <= 0);
+        assertEquals(Duration.ofMinutes(20), PipelineDeadline.cap(Duration.ofMinutes(20)));
+    }
+
+    @Test
+    void testCheck_FailsOncePassed() {
+        Instant passed = Instant.now().minusMillis(1);
+
+        assertTrue(PipelineDeadline.isExceeded(passed));
+        assertThrows(DeadlineExceededException.class,
+            () -> PipelineDeadline.callWithin(passed, () -> {
+                PipelineDeadline.check("provider call");
+                return null;
+            }));
+    }
+
+    @Test
+    void testAwait_CancelsFutureWhenDeadlinePasses() {
+        CompletableFuture<String> stuck = new CompletableFuture<>();
+
+        assertThrows(DeadlineExceededException.class,
+            () -> PipelineDeadline.callWithin(Instant.now().plusMillis(50),
+                () -> PipelineDeadline.await(stuck, "stuck call")));
+
+        assertTrue(stuck.isCancelled());
+    }
+
+    @Test
+    void testPropagate_CarriesDeadlineToExecutorThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Instant deadline = Instant.now().plusSeconds(60);
+            AtomicReference<Instant> seen = new AtomicReference<>();
+
+            PipelineDeadline.callWithin(deadline, () ->
+                executor.submit(PipelineDeadline.propagate(() -> seen.set(PipelineDeadline.current()))));
+            executor.submit(() -> { }).get();
+
+            assertEquals(deadline, seen.get());
+            assertNull(executor.submit(PipelineDeadline::current).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
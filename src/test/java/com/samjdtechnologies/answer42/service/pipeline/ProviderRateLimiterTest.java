@@ -0,0 +1,114 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.pipeline.RateLimitSnapshot;
+
+public class ProviderRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Test
+    void testFromHeaders_OpenAiStyle() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-ratelimit-limit-requests", "500");
+        headers.set("x-ratelimit-remaining-requests", "0");
+        headers.set("x-ratelimit-reset-requests", "1m30.5s");
+        headers.set("x-ratelimit-remaining-tokens", "1000");
+        headers.set("x-ratelimit-reset-tokens", "120ms");
+
+        RateLimitSnapshot snapshot = RateLimitSnapshot.fromHeaders(headers, NOW);
+
+        assertEquals(500, snapshot.getRequestLimit());
+        assertEquals(0, snapshot.getRemainingRequests());
+        assertEquals(NOW.plusMillis(90_500), snapshot.getRequestsResetAt());
+        assertEquals(NOW.plusMillis(120), snapshot.getTokensResetAt());
+        // Only the exhausted request quota pauses
+        assertEquals(NOW.plusMillis(90_500), snapshot.getPauseUntil());
+    }
+
+    @Test
+    void testFromHeaders_AnthropicStyleAndRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("anthropic-ratelimit-requests-remaining", "3");
+        headers.set("anthropic-ratelimit-tokens-remaining", "0");
+        headers.set("anthropic-ratelimit-tokens-reset", "2025-01-01T12:00:20Z");
+        headers.set(HttpHeaders.RETRY_AFTER, "5");
+
+        RateLimitSnapshot snapshot = RateLimitSnapshot.fromHeaders(headers, NOW);
+
+        assertEquals(Duration.ofSeconds(5), snapshot.getRetryAfter());
+        // The later of Retry-After and the exhausted token reset wins
+        assertEquals(Instant.parse("2025-01-01T12:00:20Z"), snapshot.getPauseUntil());
+    }
+
+    @Test
+    void testFromHeaders_CrossrefAdvertisedRate() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-rate-limit-limit", "50");
+        headers.set("x-rate-limit-interval", "1s");
+
+        RateLimitSnapshot snapshot = RateLimitSnapshot.fromHeaders(headers, NOW);
+
+        assertEquals(50.0, snapshot.getRequestsPerSecond(), 0.001);
+        assertNull(snapshot.getPauseUntil());
+        assertTrue(RateLimitSnapshot.fromHeaders(new HttpHeaders(), NOW).isEmpty());
+    }
+
+    @Test
+    void testUpdateFromHeaders_ExhaustedQuotaPausesLimiter() {
+        ProviderRateLimiter limiter = newLimiter();
+
+        limiter.updateFromHeaders(RateLimitSnapshot.builder()
+            .observedAt(Instant.now())
+            .remainingRequests(0)
+            .requestsResetAt(Instant.now().plusSeconds(30))
+            .build());
+
+        assertFalse(limiter.getPauseRemaining().isZero());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void testUpdateFromHeaders_AdvertisedLimitRampsUpAndShrinks() {
+        ProviderRateLimiter limiter = newLimiter();
+        RateLimitSnapshot generous = RateLimitSnapshot.builder().requestLimit(500).remainingRequests(499).build();
+
+        limiter.updateFromHeaders(generous);
+        assertEquals(200, limiter.getLongTermLimit());
+        limiter.updateFromHeaders(generous);
+        assertEquals(400, limiter.getLongTermLimit());
+        limiter.updateFromHeaders(generous);
+        assertEquals(500, limiter.getLongTermLimit());
+
+        limiter.updateFromHeaders(RateLimitSnapshot.builder().requestLimit(20).build());
+        assertEquals(20, limiter.getLongTermLimit());
+        assertEquals(5, limiter.getAvailablePermits());
+    }
+
+    @Test
+    void testTryAcquire_DoesNotLeakPermitsWhenLongTermExhausted() {
+        ProviderRateLimiter limiter = new ProviderRateLimiter(AIProvider.OPENAI,
+            5, Duration.ofMinutes(1), 1, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // Only the one successful request holds a short-term permit
+        assertEquals(0, limiter.getAvailablePermits());
+        limiter.updateFromHeaders(RateLimitSnapshot.builder().requestLimit(2).build());
+        assertEquals(1, limiter.getAvailablePermits());
+    }
+
+    private ProviderRateLimiter newLimiter() {
+        return new ProviderRateLimiter(AIProvider.OPENAI, 5, Duration.ofSeconds(1), 100, Duration.ofMinutes(1));
+    }
+}
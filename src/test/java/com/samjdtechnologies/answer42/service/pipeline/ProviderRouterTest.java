@@ -0,0 +1,130 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.samjdtechnologies.answer42.config.AIConfig;
+import com.samjdtechnologies.answer42.model.enums.AIProvider;
+import com.samjdtechnologies.answer42.model.enums.AgentType;
+import com.samjdtechnologies.answer42.model.enums.RoutingStrategy;
+import com.samjdtechnologies.answer42.service.monitoring.FallbackMetricsService;
+
+public class ProviderRouterTest {
+
+    @Mock
+    private AIConfig mockAiConfig;
+
+    @Mock
+    private APIRateLimiter mockRateLimiter;
+
+    @Mock
+    private AgentCircuitBreaker mockCircuitBreaker;
+
+    @Mock
+    private ObjectProvider<ChatClient> mockOllamaChatClient;
+
+    private ProviderLatencyTracker latencyTracker;
+    private FallbackMetricsService fallbackMetricsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        latencyTracker = new ProviderLatencyTracker();
+        fallbackMetricsService = new FallbackMetricsService();
+
+        when(mockCircuitBreaker.isCallPermitted(any(AIProvider.class))).thenReturn(true);
+        when(mockRateLimiter.getPauseRemaining(any(AIProvider.class))).thenReturn(Duration.ZERO);
+        when(mockAiConfig.estimateCost(eq(AIProvider.ANTHROPIC), anyLong(), anyLong())).thenReturn(0.0135);
+        when(mockAiConfig.estimateCost(eq(AIProvider.OPENAI), anyLong(), anyLong())).thenReturn(0.0175);
+    }
+
+    private ProviderRouter router(RoutingStrategy strategy) {
+        return new ProviderRouter(mockAiConfig, latencyTracker, fallbackMetricsService, mockRateLimiter,
+            mockCircuitBreaker, mockOllamaChatClient, List.of(AIProvider.ANTHROPIC, AIProvider.OPENAI), strategy);
+    }
+
+    private void recordLatency(AIProvider provider, long millis) {
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record(provider, Duration.ofMillis(millis));
+        }
+    }
+
+    @Test
+    void testLatencyStrategy_RoutesAwayFromSlowProvider() {
+        recordLatency(AIProvider.ANTHROPIC, 30_000);
+        recordLatency(AIProvider.OPENAI, 3_000);
+
+        assertEquals(AIProvider.OPENAI,
+            router(RoutingStrategy.LATENCY).route(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+    }
+
+    @Test
+    void testSimilarProviders_KeepOwnProvider() {
+        recordLatency(AIProvider.ANTHROPIC, 3_000);
+        recordLatency(AIProvider.OPENAI, 3_000);
+
+        // OpenAI is slightly more expensive, Anthropic slightly cheaper: neither is clearly better
+        assertEquals(AIProvider.OPENAI,
+            router(RoutingStrategy.BALANCED).route(AgentType.CONCEPT_EXPLAINER, AIProvider.OPENAI));
+    }
+
+    @Test
+    void testErrorRate_RoutesAwayFromFailingProvider() {
+        for (int i = 0; i < 10; i++) {
+            fallbackMetricsService.recordPrimaryFailure(AgentType.CONCEPT_EXPLAINER.getAgentId(), AIProvider.OPENAI);
+        }
+
+        assertEquals(AIProvider.ANTHROPIC,
+            router(RoutingStrategy.BALANCED).route(AgentType.CONCEPT_EXPLAINER, AIProvider.OPENAI));
+    }
+
+    @Test
+    void testUnavailableProvidersAreSkipped() {
+        recordLatency(AIProvider.ANTHROPIC, 30_000);
+        recordLatency(AIProvider.OPENAI, 3_000);
+        when(mockCircuitBreaker.isCallPermitted(AIProvider.OPENAI)).thenReturn(false);
+
+        assertEquals(AIProvider.ANTHROPIC,
+            router(RoutingStrategy.LATENCY).route(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+
+        when(mockCircuitBreaker.isCallPermitted(AIProvider.OPENAI)).thenReturn(true);
+        when(mockRateLimiter.getPauseRemaining(AIProvider.OPENAI)).thenReturn(Duration.ofSeconds(30));
+
+        assertEquals(AIProvider.ANTHROPIC,
+            router(RoutingStrategy.LATENCY).route(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+    }
+
+    @Test
+    void testPinnedAgentsAndNonCandidates_KeepOwnProvider() {
+        recordLatency(AIProvider.ANTHROPIC, 30_000);
+        recordLatency(AIProvider.OPENAI, 3_000);
+
+        assertEquals(AIProvider.ANTHROPIC,
+            router(RoutingStrategy.PINNED).route(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+        assertEquals(AIProvider.PERPLEXITY,
+            router(RoutingStrategy.LATENCY).route(AgentType.PERPLEXITY_RESEARCHER, AIProvider.PERPLEXITY));
+    }
+
+    @Test
+    void testCanRouteAround_OnlyWhileAnotherCandidateIsAvailable() {
+        when(mockCircuitBreaker.isCallPermitted(AIProvider.ANTHROPIC)).thenReturn(false);
+
+        assertTrue(router(RoutingStrategy.BALANCED).canRouteAround(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+        assertFalse(router(RoutingStrategy.PINNED).canRouteAround(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+
+        when(mockCircuitBreaker.isCallPermitted(AIProvider.OPENAI)).thenReturn(false);
+
+        assertFalse(router(RoutingStrategy.BALANCED).canRouteAround(AgentType.QUALITY_CHECKER, AIProvider.ANTHROPIC));
+    }
+}
@@ -0,0 +1,71 @@
+package com.samjdtechnologies.answer42.service.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryBudgetTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void testTryAcquireRetry_DeniesOnceBudgetIsSpent() {
+        RetryBudget budget = new RetryBudget(0.2, 3, Duration.ofSeconds(10), clock::get);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        assertEquals(2, budget.getDeniedRetries());
+    }
+
+    @Test
+    void testRecordSuccess_EarnsRetriesAsAFractionOfSuccesses() {
+        RetryBudget budget = new RetryBudget(0.2, 3, Duration.ofSeconds(10), clock::get);
+        for (int i = 0; i < 3; i++) {
+            budget.tryAcquireRetry();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            budget.recordSuccess();
+        }
+        assertFalse(budget.tryAcquireRetry());
+
+        budget.recordSuccess();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void testBalance_CappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(0.5, 2, Duration.ofSeconds(10), clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordSuccess();
+        }
+
+        assertEquals(2.0, budget.getAvailableRetries(), 0.001);
+    }
+
+    @Test
+    void testFloor_RefillsSlowlyWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.2, 3, Duration.ofSeconds(10), clock::get);
+        for (int i = 0; i < 3; i++) {
+            budget.tryAcquireRetry();
+        }
+
+        clock.addAndGet(9 * SECOND);
+        assertFalse(budget.tryAcquireRetry());
+
+        clock.addAndGet(SECOND);
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+}
@@ -0,0 +1,172 @@
+package com.samjdtechnologies.answer42.service.retention;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.samjdtechnologies.answer42.repository.AgentMemoryStoreRepository;
+import com.samjdtechnologies.answer42.repository.AgentTaskRepository;
+import com.samjdtechnologies.answer42.repository.BatchJobMetadataRepository;
+import com.samjdtechnologies.answer42.repository.DiscoveredPaperRepository;
+
+public class RetentionServiceTest {
+
+    @Mock
+    private AgentTaskRepository agentTaskRepository;
+
+    @Mock
+    private DiscoveredPaperRepository discoveredPaperRepository;
+
+    @Mock
+    private AgentMemoryStoreRepository memoryRepository;
+
+    @Mock
+    private BatchJobMetadataRepository batchJobMetadataRepository;
+
+    @Mock
+    private TransactionTemplate writeTransactionTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private RetentionService service;
+    private int transactions;
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(writeTransactionTemplate.execute(any())).thenAnswer(invocation -> {
+            transactions++;
+            return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+        });
+        service = new RetentionService(agentTaskRepository, discoveredPaperRepository, memoryRepository,
+            batchJobMetadataRepository, writeTransactionTemplate, Runnable::run);
+        ReflectionTestUtils.setField(service, "chunkSize", 100);
+        ReflectionTestUtils.setField(service, "chunkPauseMs", 0L);
+        ReflectionTestUtils.setField(service, "maxChunksPerRun", 5);
+        ReflectionTestUtils.setField(service, "archiveDirectory", tempDir.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    private static List<String> rows(int count) {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add("{\"id\": " + i + "}");
+        }
+        return rows;
+    }
+
+    @Test
+    public void testApply_OneTransactionPerChunkUntilShortChunk() {
+        List<Integer> limits = new ArrayList<>();
+        List<List<String>> chunks = List.of(rows(100), rows(100), rows(30));
+        RetentionPolicy policy = new RetentionPolicy("test", Duration.ofDays(7), false, (cutoff, limit) -> {
+            limits.add(limit);
+            return chunks.get(limits.size() - 1);
+        });
+
+        RetentionReport report = service.apply(policy);
+
+        assertEquals(230, report.deleted());
+        assertEquals(3, report.chunks());
+        assertTrue(report.complete());
+        assertNull(report.archiveFile());
+        assertEquals(3, transactions, "Every chunk commits on its own");
+        assertEquals(List.of(100, 100, 100), limits);
+        assertSame(report, service.getLastReports().get("test"));
+    }
+
+    @Test
+    public void testApply_StopsAtChunkLimitAndReportsRemainder() {
+        RetentionPolicy policy = new RetentionPolicy("busy", Duration.ofDays(7), false, (cutoff, limit) -> rows(limit));
+
+        RetentionReport report = service.apply(policy);
+
+        assertEquals(500, report.deleted());
+        assertEquals(5, report.chunks());
+        assertFalse(report.complete());
+    }
+
+    @Test
+    public void testApply_ArchivesDeletedRowsAsGzippedJsonLines() throws Exception {
+        List<List<String>> chunks = List.of(rows(100), rows(2));
+        int[] call = {0};
+        RetentionPolicy policy = new RetentionPolicy("archived", Duration.ofDays(7), true,
+            (cutoff, limit) -> chunks.get(call[0]++));
+
+        RetentionReport report = service.apply(policy);
+
+        assertNotNull(report.archiveFile());
+        assertTrue(report.archiveFile().startsWith(tempDir.resolve("archived")));
+        List<String> archived = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(report.archiveFile())), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(archived::add);
+        }
+        assertEquals(102, archived.size());
+        assertEquals("{\"id\": 1}", archived.get(101));
+    }
+
+    @Test
+    public void testApply_ArchiveFailureStopsBeforeCommit() throws Exception {
+        // A file where the archive directory should be makes every write fail
+        Path blocked = Files.createFile(tempDir.resolve("blocked"));
+        ReflectionTestUtils.setField(service, "archiveDirectory", blocked.toString());
+        RetentionPolicy policy = new RetentionPolicy("archived", Duration.ofDays(7), true, (cutoff, limit) -> rows(limit));
+
+        RetentionReport report = service.apply(policy);
+
+        assertEquals(0, report.deleted(), "The failed chunk rolls back");
+        assertEquals(0, report.chunks());
+        assertFalse(report.complete());
+    }
+
+    @Test
+    public void testApplyAll_RunsConfiguredPoliciesWithTheirCutoffs() {
+        ReflectionTestUtils.setField(service, "duplicatePaperDays", 0);
+        ReflectionTestUtils.setField(service, "batchMetadataDays", 0);
+        when(agentTaskRepository.deleteCompletedTasksOlderThan(any(), anyInt())).thenReturn(rows(3));
+        when(memoryRepository.deleteByKeyPrefixUpdatedBefore(any(), any(), anyInt())).thenReturn(List.of());
+        Instant before = Instant.now();
+
+        List<RetentionReport> reports = service.applyAll();
+
+        assertEquals(List.of("agent-tasks", "http-response-cache", "discovery-cache", "agent-cache"),
+            reports.stream().map(RetentionReport::policy).toList());
+        assertEquals(3, reports.get(0).deleted());
+        assertFalse(reports.get(0).cutoff().isAfter(before.minus(Duration.ofDays(7)).plusSeconds(5)));
+        verify(memoryRepository).deleteByKeyPrefixUpdatedBefore(eq("http_cache_"), any(), eq(100));
+        verify(memoryRepository).deleteByKeyPrefixUpdatedBefore(eq("discovery_cache_"), any(), eq(100));
+        verifyNoInteractions(discoveredPaperRepository, batchJobMetadataRepository);
+        assertFalse(service.isRunning());
+    }
+}
@@ -0,0 +1,99 @@
+package com.samjdtechnologies.answer42.ui.helpers.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.samjdtechnologies.answer42.model.KeysetCursor;
+
+public class KeysetDataProviderTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    // Rows newest first, the way the repository returns them
+    private final List<KeysetCursor> rows = new ArrayList<>();
+    private final List<KeysetCursor> seeks = new ArrayList<>();
+    private final AtomicInteger counts = new AtomicInteger();
+    private KeysetDataProvider<KeysetCursor> provider;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 95; i++) {
+            // Pairs of rows share a timestamp so the id has to break the tie
+            rows.add(new KeysetCursor(BASE.minusSeconds(i / 2), new UUID(0, 1000 - i)));
+        }
+        provider = new KeysetDataProvider<>(this::fetchAfter, row -> row, () -> {
+            counts.incrementAndGet();
+            return rows.size();
+        });
+    }
+
+    private List<KeysetCursor> fetchAfter(KeysetCursor after, int limit) {
+        seeks.add(after);
+        return rows.stream()
+            .filter(row -> after == KeysetCursor.FIRST
+                || row.createdAt().isBefore(after.createdAt())
+                || (row.createdAt().isEqual(after.createdAt()) && row.id().compareTo(after.id()) < 0))
+            .limit(limit)
+            .toList();
+    }
+
+    @Test
+    public void testFetch_ScrollingSeeksPastLastRowShown() {
+        List<KeysetCursor> shown = new ArrayList<>();
+        for (int offset = 0; offset < 100; offset += 25) {
+            shown.addAll(provider.fetch(offset, 25).toList());
+        }
+
+        assertEquals(rows, shown);
+        assertEquals(4, seeks.size(), "One query per page, no skipped rows read");
+        assertSame(KeysetCursor.FIRST, seeks.get(0));
+        assertEquals(rows.get(24), seeks.get(1));
+        assertEquals(rows.get(74), seeks.get(3));
+    }
+
+    @Test
+    public void testFetch_JumpWalksFromNearestKnownCursor() {
+        provider.fetch(0, 25).toList();
+        seeks.clear();
+
+        List<KeysetCursor> page = provider.fetch(50, 25).toList();
+
+        assertEquals(rows.subList(50, 75), page);
+        assertEquals(List.of(rows.get(24), rows.get(49)), seeks);
+
+        // Going back reuses the cursors found on the way
+        seeks.clear();
+        assertEquals(rows.subList(25, 50), provider.fetch(25, 25).toList());
+        assertEquals(List.of(rows.get(24)), seeks);
+    }
+
+    @Test
+    public void testCount_CachedUntilRefresh() {
+        assertEquals(95, provider.getCount());
+        provider.fetch(0, 25).toList();
+        assertEquals(95, provider.getCount());
+        assertEquals(1, counts.get());
+
+        provider.refresh();
+        seeks.clear();
+        provider.fetch(0, 25).toList();
+
+        assertEquals(95, provider.getCount());
+        assertEquals(2, counts.get());
+        assertSame(KeysetCursor.FIRST, seeks.get(0));
+    }
+
+    @Test
+    public void testFetch_PastEndReturnsNothing() {
+        assertEquals(0, provider.fetch(200, 25).count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.samjdtechnologies.answer42.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Manual micro-benchmark for compressed text storage: stored size and read latency of
+ * plain UTF-8 text against deflate with and without the academic dictionary, at the sizes
+ * of a detailed summary, a paper and a thesis.
+ *
+ * Not a unit test; run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.samjdtechnologies.answer42.util.CompressedTextBenchmark
+ */
+public class CompressedTextBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    public static void main(String[] args) {
+        int[] paragraphs = { 20, 400, 6000 };
+        System.out.printf("%-10s %-14s %12s %8s %12s %12s%n",
+            "chars", "format", "bytes", "ratio", "write us", "read us");
+
+        for (int count : paragraphs) {
+            String text = CompressedTextTest.academicText(count);
+            String label = String.valueOf(text.length());
+            int plainBytes = text.getBytes(StandardCharsets.UTF_8).length;
+
+            report(label, "plain", plainBytes, plainBytes,
+                time(() -> text.getBytes(StandardCharsets.UTF_8)),
+                time(() -> new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8)));
+
+            for (int level : new int[] { 1, 6 }) {
+                byte[] plain = CompressedText.compress(text, CompressedText.DICTIONARY_NONE, level);
+                report(label, "deflate-" + level, plain.length, plainBytes,
+                    time(() -> CompressedText.compress(text, CompressedText.DICTIONARY_NONE, level)),
+                    time(() -> CompressedText.decompress(plain)));
+
+                byte[] dictionary = CompressedText.compress(text, CompressedText.DICTIONARY_ACADEMIC_V1, level);
+                report(label, "dict-" + level, dictionary.length, plainBytes,
+                    time(() -> CompressedText.compress(text, CompressedText.DICTIONARY_ACADEMIC_V1, level)),
+                    time(() -> CompressedText.decompress(dictionary)));
+            }
+        }
+    }
+
+    private static void report(String label, String format, int bytes, int plainBytes,
+                               double writeMicros, double readMicros) {
+        System.out.printf("%-10s %-14s %12d %7.1f%% %12.1f %12.1f%n",
+            label, format, bytes, 100.0 * bytes / plainBytes, writeMicros, readMicros);
+    }
+
+    private static double time(Operation operation) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException("Benchmark operation produced no result");
+        }
+        return elapsed / 1000.0 / MEASURED_ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Object run();
+    }
+}
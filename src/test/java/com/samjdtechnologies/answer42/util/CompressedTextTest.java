@@ -0,0 +1,107 @@
+package com.samjdtechnologies.answer42.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.samjdtechnologies.answer42.model.db.Paper;
+import com.samjdtechnologies.answer42.model.db.PaperContent;
+
+public class CompressedTextTest {
+
+    static String academicText(int paragraphs) {
+        StringBuilder text = new StringBuilder("Abstract\nIn this paper, we propose a novel approach to ");
+        for (int i = 0; i < paragraphs; i++) {
+            text.append("Section ").append(i + 1).append(". Previous studies have shown that the performance of ")
+                .append("the proposed method depends on the number of training samples (Smith et al., ")
+                .append(2000 + i % 24).append("). As shown in Table ").append(i % 7 + 1)
+                .append(", our results indicate that the model outperforms existing methods by ")
+                .append(i % 13 + 2).append(".").append(i % 10).append("% on benchmark datasets. ")
+                .append("Experiment ").append(i).append(" used a learning rate of 0.00").append(i % 9 + 1)
+                .append(" and a batch size of ").append(16 << (i % 4)).append(".\n");
+        }
+        return text.append("References\n[1] arXiv preprint arXiv:2101.00001\n").toString();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CompressedText.configure(false, 8192, 6);
+    }
+
+    @Test
+    public void testRoundTrip_WithAndWithoutDictionary() {
+        String text = academicText(200) + " Unicode: ∑ α β — naïve café";
+
+        assertEquals(text, CompressedText.decompress(CompressedText.compress(text)));
+        assertEquals(text, CompressedText.decompress(
+            CompressedText.compress(text, CompressedText.DICTIONARY_NONE, 6)));
+        assertEquals("", CompressedText.decompress(CompressedText.compress("")));
+    }
+
+    @Test
+    public void testCompress_DictionaryHelpsShortAcademicText() {
+        String text = academicText(3);
+
+        int withDictionary = CompressedText.compress(text).length;
+        int withoutDictionary = CompressedText.compress(text, CompressedText.DICTIONARY_NONE, 6).length;
+
+        assertTrue(withDictionary < withoutDictionary,
+            "Dictionary " + withDictionary + " bytes vs plain deflate " + withoutDictionary);
+    }
+
+    @Test
+    public void testDecompress_RejectsOtherBytes() {
+        assertThrows(IllegalArgumentException.class, () -> CompressedText.decompress(new byte[] { 'T' }));
+        assertThrows(IllegalArgumentException.class, () -> CompressedText.decompress("plain text".getBytes()));
+
+        byte[] truncated = CompressedText.compress(academicText(50));
+        byte[] cut = Arrays.copyOf(truncated, truncated.length / 2);
+        assertThrows(IllegalArgumentException.class, () -> CompressedText.decompress(cut));
+    }
+
+    @Test
+    public void testPaper_PlainWhileDisabled() {
+        Paper paper = new Paper();
+        String text = academicText(100);
+
+        paper.setTextContent(text);
+
+        assertFalse(paper.isTextContentCompressed());
+        assertEquals(text, paper.getTextContent());
+    }
+
+    @Test
+    public void testPaper_CompressesLongValuesOnly() {
+        CompressedText.configure(true, 1000, 6);
+        Paper paper = new Paper();
+        String text = academicText(100);
+
+        paper.setTextContent(text);
+        paper.setSummaryDetailed("Short summary.");
+
+        assertTrue(paper.isTextContentCompressed());
+        assertEquals(text, paper.getTextContent());
+        assertFalse(paper.isSummaryDetailedCompressed());
+        assertEquals("Short summary.", paper.getSummaryDetailed());
+
+        // Replacing a compressed value with a short one stores it plain again
+        paper.setTextContent("Short text.");
+        assertFalse(paper.isTextContentCompressed());
+        assertEquals("Short text.", paper.getTextContent());
+    }
+
+    @Test
+    public void testPaperContent_ReadableAfterCompressionDisabled() {
+        CompressedText.configure(true, 1000, 6);
+        String text = academicText(100);
+        PaperContent content = new PaperContent(UUID.randomUUID(), text);
+        assertTrue(content.isContentCompressed());
+
+        CompressedText.configure(false, 1000, 6);
+        assertEquals(text, content.getContent());
+    }
+}
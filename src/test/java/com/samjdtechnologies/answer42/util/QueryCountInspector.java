@@ -0,0 +1,143 @@
+package com.samjdtechnologies.answer42.util;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares, for asserting fetch plans in tests.
+ *
+ * Hibernate creates the inspector itself, so the counters are static and shared by every
+ * session of the test JVM. Enable it in the test's Spring properties:
+ * <pre>
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector=com.samjdtechnologies.answer42.util.QueryCountInspector
+ * </pre>
+ * then call {@link #reset()} before the code under test and one of the assert methods
+ * after it, e.g. loading the verifications of a paper must stay one SELECT however many
+ * rows come back.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+    private static final AtomicInteger UPDATES = new AtomicInteger();
+    private static final AtomicInteger DELETES = new AtomicInteger();
+    private static final AtomicInteger OTHER = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        count(sql);
+        return sql;
+    }
+
+    /**
+     * Record a statement. Exposed so tests without a database can drive the counters.
+     */
+    public static void count(String sql) {
+        switch (firstKeyword(sql)) {
+            case "select":
+            case "with":
+                SELECTS.incrementAndGet();
+                break;
+            case "insert":
+                INSERTS.incrementAndGet();
+                break;
+            case "update":
+                UPDATES.incrementAndGet();
+                break;
+            case "delete":
+                DELETES.incrementAndGet();
+                break;
+            default:
+                OTHER.incrementAndGet();
+                break;
+        }
+    }
+
+    public static void reset() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        DELETES.set(0);
+        OTHER.set(0);
+    }
+
+    public static int selects() {
+        return SELECTS.get();
+    }
+
+    public static int inserts() {
+        return INSERTS.get();
+    }
+
+    public static int updates() {
+        return UPDATES.get();
+    }
+
+    public static int deletes() {
+        return DELETES.get();
+    }
+
+    public static int total() {
+        return SELECTS.get() + INSERTS.get() + UPDATES.get() + DELETES.get() + OTHER.get();
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertCount("SELECT", expected, selects());
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertCount("INSERT", expected, inserts());
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertCount("UPDATE", expected, updates());
+    }
+
+    public static void assertDeleteCount(int expected) {
+        assertCount("DELETE", expected, deletes());
+    }
+
+    /**
+     * Fail if more statements than allowed ran since the last reset.
+     */
+    public static void assertMaxStatements(int max) {
+        if (total() > max) {
+            throw new AssertionError(String.format(
+                "Expected at most %d statements but %d ran (%s)", max, total(), summary()));
+        }
+    }
+
+    public static String summary() {
+        return String.format("select=%d, insert=%d, update=%d, delete=%d, other=%d",
+            selects(), inserts(), updates(), deletes(), OTHER.get());
+    }
+
+    private static void assertCount(String type, int expected, int actual) {
+        if (expected != actual) {
+            throw new AssertionError(String.format(
+                "Expected %d %s statements but %d ran (%s)", expected, type, actual, summary()));
+        }
+    }
+
+    private static String firstKeyword(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String trimmed = sql.stripLeading();
+        // Hibernate prefixes statements with /* comments */ when use_sql_comments is on
+        while (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            if (end < 0) {
+                return "";
+            }
+            trimmed = trimmed.substring(end + 2).stripLeading();
+        }
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.samjdtechnologies.answer42.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryCountInspectorTest {
+
+    @BeforeEach
+    void setUp() {
+        QueryCountInspector.reset();
+    }
+
+    @Test
+    void testCountsStatementsByType() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        String sql = "select cv1_0.id from answer42.citation_verifications cv1_0 where cv1_0.paper_id=?";
+
+        assertSame(sql, inspector.inspect(sql));
+        inspector.inspect("/* insert for PaperSection */ insert into answer42.paper_sections (id) values (?)");
+        inspector.inspect("  with recent as (select 1) select * from recent");
+        inspector.inspect("UPDATE answer42.papers set status=? where id=?");
+
+        assertEquals(2, QueryCountInspector.selects());
+        assertEquals(1, QueryCountInspector.inserts());
+        assertEquals(1, QueryCountInspector.updates());
+        assertEquals(4, QueryCountInspector.total());
+        QueryCountInspector.assertSelectCount(2);
+    }
+
+    @Test
+    void testAssertionsReportWhatRan() {
+        QueryCountInspector.count("select 1");
+        QueryCountInspector.count("select 2");
+
+        AssertionError error = assertThrows(AssertionError.class, () -> QueryCountInspector.assertSelectCount(1));
+        assertTrue(error.getMessage().contains("select=2"));
+        assertThrows(AssertionError.class, () -> QueryCountInspector.assertMaxStatements(1));
+
+        QueryCountInspector.reset();
+        QueryCountInspector.assertMaxStatements(0);
+    }
+}
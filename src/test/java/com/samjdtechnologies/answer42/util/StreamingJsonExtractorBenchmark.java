@@ -0,0 +1,104 @@
+package com.samjdtechnologies.answer42.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Manual micro-benchmark comparing the JSON extraction the response parsers used before
+ * (indexOf/lastIndexOf slicing, the flat-object regex of QualityResponseParser) with
+ * StreamingJsonExtractor on recorded response shapes. "ok" tells whether the strategy
+ * found the expected value at all.
+ *
+ * Not a unit test; run with:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.samjdtechnologies.answer42.util.StreamingJsonExtractorBenchmark
+ */
+public class StreamingJsonExtractorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Pattern FLAT_OBJECT_PATTERN = Pattern.compile("\\{[^{}]*\\}");
+
+    public static void main(String[] args) throws Exception {
+        String[][] responses = {
+            {"metadata", StreamingJsonExtractorTest.FENCED_METADATA, "title"},
+            {"quality", StreamingJsonExtractorTest.NESTED_QUALITY, "issues"},
+            {"large", largeResponse(200), "terms"},
+        };
+        System.out.printf("%-10s %-14s %6s %12s%n", "response", "strategy", "ok", "us/op");
+
+        for (String[] response : responses) {
+            String label = response[0];
+            String text = response[1];
+            String field = response[2];
+
+            report(label, "slice+readTree", field, () -> sliceAndParse(text));
+            report(label, "flat-regex", field, () -> flatRegex(text));
+            report(label, "extractor", field, () -> StreamingJsonExtractor.extractObject(text).orElse(null));
+        }
+    }
+
+    // What MetadataEnhancementAgent and ConceptResponseParser did
+    private static JsonNode sliceAndParse(String text) {
+        try {
+            int start = text.indexOf('{');
+            int end = text.lastIndexOf('}');
+            return start >= 0 && end > start ? OBJECT_MAPPER.readTree(text.substring(start, end + 1)) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // What QualityResponseParser did
+    private static JsonNode flatRegex(String text) {
+        try {
+            Matcher matcher = FLAT_OBJECT_PATTERN.matcher(text);
+            return matcher.find() ? OBJECT_MAPPER.readTree(matcher.group()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String largeResponse(int terms) {
+        StringBuilder json = new StringBuilder("Below are the extracted terms.\n```json\n{\"terms\": [");
+        for (int i = 0; i < terms; i++) {
+            json.append(i > 0 ? ",\n" : "\n")
+                .append("  {\"term\": \"term-").append(i)
+                .append("\", \"definition\": \"A definition with {braces} and [brackets] number ").append(i)
+                .append("\", \"importance\": 0.").append(i % 10).append('}');
+        }
+        return json.append("\n]}\n```\nThese cover the main concepts.").toString();
+    }
+
+    private static void report(String label, String strategy, String field, Operation operation) {
+        JsonNode sample = operation.run();
+        boolean ok = sample != null && sample.has(field);
+        System.out.printf("%-10s %-14s %6s %12.1f%n", label, strategy, ok, time(operation));
+    }
+
+    private static double time(Operation operation) {
+        int found = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            found += operation.run() != null ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            found += operation.run() != null ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found < 0) {
+            throw new IllegalStateException("unreachable");
+        }
+        return elapsed / 1000.0 / MEASURED_ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        JsonNode run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.samjdtechnologies.answer42.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class StreamingJsonExtractorTest {
+
+    // Responses in the shapes the agents actually get back from the providers
+    static final String FENCED_METADATA = "Here is the enhanced metadata for the paper:\n\n```json\n"
+        + "{\n  \"title\": \"Attention Is All You Need\",\n  \"doi\": \"10.48550/arXiv.1706.03762\",\n"
+        + "  \"year\": 2017,\n  \"authors\": [\"Ashish Vaswani\", \"Noam Shazeer\", \"Niki Parmar\"],\n"
+        + "  \"confidence\": {\"title\": 0.98, \"doi\": 0.95, \"year\": 0.99},\n  \"sources\": [\"crossref\", \"semantic_scholar\"]\n}\n"
+        + "```\n\nLet me know if you need anything else (e.g. {bibtex} output).";
+
+    static final String NESTED_QUALITY = "After reviewing the summary against the source {section 3}, my assessment:\n"
+        + "{\"score\": 0.72, \"summary\": \"Mostly accurate\", \"issues\": [\n"
+        + "  {\"type\": \"FACTUAL_ERROR\", \"severity\": \"HIGH\", \"description\": \"Sample size stated as 200, source says 120\"},\n"
+        + "  {\"type\": \"MISSING_CONTEXT\", \"severity\": \"LOW\", \"description\": \"Limitations not mentioned\"},\n"
+        + "]}\nOverall the summary is usable after corrections.";
+
+    static final String CITATION_ARRAY = "I parsed 2 citations [1-2]:\n"
+        + "[{\"authors\": [\"Smith, J.\", \"Doe, A.\"], \"title\": \"Deep learning for [protein] folding\", \"year\": 2020},\n"
+        + " {'authors': ['Lee, K.'], 'title': 'Graph networks', 'year': 2019}]";
+
+    @Test
+    void testExtract_SkipsProseAndCodeFences() {
+        JsonNode node = StreamingJsonExtractor.extractObject(FENCED_METADATA).orElseThrow();
+
+        assertEquals("Attention Is All You Need", node.get("title").asText());
+        assertEquals(3, node.get("authors").size());
+        assertEquals(0.95, node.get("confidence").get("doi").asDouble());
+    }
+
+    @Test
+    void testExtract_KeepsNestedObjectsAndSkipsNonJsonBraces() {
+        JsonNode node = StreamingJsonExtractor.extractObject(NESTED_QUALITY).orElseThrow();
+
+        assertEquals(0.72, node.get("score").asDouble());
+        assertEquals(2, node.get("issues").size());
+        assertEquals("FACTUAL_ERROR", node.get("issues").get(0).get("type").asText());
+    }
+
+    @Test
+    void testExtract_ArrayWithBracketsInStringsAndSingleQuotes() {
+        JsonNode node = StreamingJsonExtractor.extractArray(CITATION_ARRAY).orElseThrow();
+
+        assertTrue(node.isArray());
+        assertEquals(2, node.size());
+        assertEquals("Deep learning for [protein] folding", node.get(0).get("title").asText());
+        assertEquals("Lee, K.", node.get(1).get("authors").get(0).asText());
+    }
+
+    @Test
+    void testExtract_BracketsInsideSingleQuotedStrings() {
+        JsonNode node = StreamingJsonExtractor.extractObject(
+            "Result: {'title': 'Sets {A} and [B]', 'note': \"Smith's ] model\", 'tags': ['a}', 'b']} done").orElseThrow();
+
+        assertEquals("Sets {A} and [B]", node.get("title").asText());
+        assertEquals("Smith's ] model", node.get("note").asText());
+        assertEquals("a}", node.get("tags").get(0).asText());
+    }
+
+    @Test
+    void testExtract_RepairsTypographicQuotesAndTruncation() {
+        JsonNode smartQuoted = StreamingJsonExtractor.extractObject("{“title”: “Graph networks”, “year”: 2019}")
+            .orElseThrow();
+        assertEquals("Graph networks", smartQuoted.get("title").asText());
+
+        // Model ran out of tokens in the middle of the second author
+        JsonNode truncated = StreamingJsonExtractor.extractObject("{\"title\": \"Graph networks\", \"authors\": [\"Lee, K.\", \"Par")
+            .orElseThrow();
+        assertEquals("Graph networks", truncated.get("title").asText());
+        assertEquals("Par", truncated.get("authors").get(1).asText());
+    }
+
+    @Test
+    void testExtract_NoJson() {
+        assertTrue(StreamingJsonExtractor.extract("No structured data could be found.").isEmpty());
+        assertTrue(StreamingJsonExtractor.extract(null).isEmpty());
+        assertTrue(StreamingJsonExtractor.extractArray("{\"a\": 1}").isEmpty());
+    }
+
+    @Test
+    void testFeed_ReturnsValueAsSoonAsItCloses() {
+        StreamingJsonExtractor extractor = new StreamingJsonExtractor(StreamingJsonExtractor.Expect.OBJECT);
+        int consumed = 0;
+        Optional<JsonNode> result = Optional.empty();
+        while (result.isEmpty() && consumed < NESTED_QUALITY.length()) {
+            int end = Math.min(consumed + 7, NESTED_QUALITY.length()); // Token-sized chunks
+            result = extractor.feed(NESTED_QUALITY.substring(consumed, end));
+            consumed = end;
+        }
+
+        assertTrue(result.isPresent());
+        assertTrue(consumed < NESTED_QUALITY.length(), "Value should be available before the trailing prose arrives");
+        assertEquals(2, result.get().get("issues").size());
+    }
+}
@@ -0,0 +1,40 @@
+-- Migration: Full-text search index for papers
+-- Created: 2025-08-15
+--
+-- Replaces the LIKE '%term%' scans of title, abstract and text_content with a weighted
+-- tsvector per paper (title A, abstract B, body C) under a GIN index. The vector is kept
+-- up to date by PaperSearchService when PaperService changes the indexed fields.
+
+BEGIN;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Builds the search document for a paper. The body is capped: tsvector values are limited
+-- to 1MB and word positions past 16383 are clamped anyway, so the tail adds little.
+CREATE OR REPLACE FUNCTION answer42.paper_search_document(title TEXT, paper_abstract TEXT, text_content TEXT)
+RETURNS tsvector
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english'::regconfig, coalesce(paper_abstract, '')), 'B')
+        || setweight(to_tsvector('english'::regconfig, left(coalesce(text_content, ''), 200000)), 'C')
+$$;
+
+ALTER TABLE answer42.papers ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+UPDATE answer42.papers
+SET search_vector = answer42.paper_search_document(title, paper_abstract, text_content)
+WHERE search_vector IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_papers_search_vector ON answer42.papers USING gin (search_vector);
+
+-- Typo-tolerant fallback when the full-text query matches nothing
+CREATE INDEX IF NOT EXISTS idx_papers_title_trgm ON answer42.papers USING gin (title gin_trgm_ops);
+
+-- Superseded by idx_papers_search_vector
+DROP INDEX IF EXISTS answer42.idx_papers_title_search;
+DROP INDEX IF EXISTS answer42.idx_papers_abstract_search;
+
+COMMIT;
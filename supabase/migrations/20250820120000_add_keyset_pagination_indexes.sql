@@ -0,0 +1,16 @@
+-- Migration: Indexes for keyset pagination of the paper and project grids
+-- Created: 2025-08-20
+--
+-- The grids page through a user's papers and projects newest first by (created_at, id),
+-- seeking past the last row shown instead of using OFFSET. These indexes match that order,
+-- so each page is an index range scan however far the user has scrolled.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_papers_user_created_id
+    ON answer42.papers USING btree (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_projects_user_created_id
+    ON answer42.projects USING btree (user_id, created_at DESC, id DESC);
+
+COMMIT;
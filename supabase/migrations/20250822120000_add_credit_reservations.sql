@@ -0,0 +1,29 @@
+-- Migration: Credit reservations for two-phase credit debits
+-- Created: 2025-08-22
+--
+-- A reservation takes credits off the balance up front and holds them while a long
+-- operation such as the paper pipeline runs. Committing it records the debit; releasing it
+-- puts the credits back. Holds that are never settled, e.g. after a crash, are released
+-- once they expire.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS answer42.credit_reservations (
+    id uuid NOT NULL DEFAULT gen_random_uuid() PRIMARY KEY,
+    user_id uuid NOT NULL,
+    amount integer NOT NULL CHECK (amount > 0),
+    status character varying(20) NOT NULL DEFAULT 'HELD',
+    operation_type character varying(255),
+    description character varying(255) NOT NULL,
+    reference_id character varying(255),
+    created_at timestamp with time zone NOT NULL DEFAULT now(),
+    expires_at timestamp with time zone NOT NULL,
+    settled_at timestamp with time zone
+);
+
+-- Finds expired holds for the sweeper
+CREATE INDEX IF NOT EXISTS idx_credit_reservations_held_expiry
+    ON answer42.credit_reservations USING btree (expires_at)
+    WHERE status = 'HELD';
+
+COMMIT;
@@ -0,0 +1,49 @@
+-- Migration: Hourly and daily token usage rollups
+-- Created: 2025-08-24
+--
+-- Token statistics used to scan every token_metrics row, at startup and on each dashboard
+-- load. A scheduled compactor now sums the raw rows into one row per hour (and per day),
+-- user, provider and agent, and advances a watermark in the same transaction. Statistics
+-- read the rollups up to the watermark and only the raw rows after it.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS answer42.token_usage_hourly (
+    bucket_start timestamp without time zone NOT NULL,
+    user_id uuid NOT NULL,
+    provider character varying(50) NOT NULL,
+    agent_type character varying(100) NOT NULL,
+    request_count bigint NOT NULL DEFAULT 0,
+    input_tokens bigint NOT NULL DEFAULT 0,
+    output_tokens bigint NOT NULL DEFAULT 0,
+    estimated_cost numeric(18,6) NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, user_id, provider, agent_type)
+);
+
+CREATE TABLE IF NOT EXISTS answer42.token_usage_daily (
+    bucket_start timestamp without time zone NOT NULL,
+    user_id uuid NOT NULL,
+    provider character varying(50) NOT NULL,
+    agent_type character varying(100) NOT NULL,
+    request_count bigint NOT NULL DEFAULT 0,
+    input_tokens bigint NOT NULL DEFAULT 0,
+    output_tokens bigint NOT NULL DEFAULT 0,
+    estimated_cost numeric(18,6) NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, user_id, provider, agent_type)
+);
+
+-- Per-user statistics read a user's rollups across all buckets
+CREATE INDEX IF NOT EXISTS idx_token_usage_daily_user
+    ON answer42.token_usage_daily USING btree (user_id, bucket_start);
+
+-- Raw rows before rolled_up_to are counted in the rollups, rows from it on are not
+CREATE TABLE IF NOT EXISTS answer42.token_usage_rollup_state (
+    id smallint NOT NULL PRIMARY KEY CHECK (id = 1),
+    rolled_up_to timestamp without time zone NOT NULL
+);
+
+INSERT INTO answer42.token_usage_rollup_state (id, rolled_up_to)
+VALUES (1, '1970-01-01 00:00:00')
+ON CONFLICT (id) DO NOTHING;
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- Migration: Compressed storage for long paper text
+-- Created: 2025-08-26
+--
+-- With text.compression.enabled, papers.text_content, papers.summary_detailed and
+-- paper_content.content longer than the threshold are stored deflated (see CompressedText)
+-- in the new bytea columns and the text column is left NULL. Existing rows are converted by
+-- TextCompressionMigrationService. Compressed bytes gain nothing from TOAST compression, so
+-- the new columns are stored EXTERNAL.
+
+BEGIN;
+
+ALTER TABLE answer42.papers ADD COLUMN IF NOT EXISTS text_content_compressed bytea;
+ALTER TABLE answer42.papers ADD COLUMN IF NOT EXISTS summary_detailed_compressed bytea;
+ALTER TABLE answer42.papers ALTER COLUMN text_content_compressed SET STORAGE EXTERNAL;
+ALTER TABLE answer42.papers ALTER COLUMN summary_detailed_compressed SET STORAGE EXTERNAL;
+
+ALTER TABLE answer42.paper_content ADD COLUMN IF NOT EXISTS content_compressed bytea;
+ALTER TABLE answer42.paper_content ALTER COLUMN content_compressed SET STORAGE EXTERNAL;
+ALTER TABLE answer42.paper_content ALTER COLUMN content DROP NOT NULL;
+
+ALTER TABLE answer42.paper_content DROP CONSTRAINT IF EXISTS paper_content_text_present;
+ALTER TABLE answer42.paper_content ADD CONSTRAINT paper_content_text_present
+    CHECK (content IS NOT NULL OR content_compressed IS NOT NULL);
+
+COMMIT;
@@ -0,0 +1,32 @@
+-- Migration: Indexes for chunked retention deletes
+-- Created: 2025-08-28
+--
+-- The retention service deletes old rows a few hundred at a time. Each chunk has to find
+-- its rows through an index, or every chunk rescans the table. The partial indexes cover
+-- only the rows a policy can delete, and the bookmark index serves the check that keeps
+-- bookmarked discovered papers.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_finished_created_at
+    ON answer42.tasks (created_at)
+    WHERE status IN ('completed', 'failed');
+
+CREATE INDEX IF NOT EXISTS idx_discovered_papers_duplicate_discovered_at
+    ON answer42.discovered_papers (discovered_at)
+    WHERE is_duplicate = true;
+
+CREATE INDEX IF NOT EXISTS idx_discovered_papers_last_accessed_at
+    ON answer42.discovered_papers (last_accessed_at);
+
+CREATE INDEX IF NOT EXISTS idx_discovered_papers_never_accessed
+    ON answer42.discovered_papers (discovered_at)
+    WHERE last_accessed_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_paper_bookmarks_discovered_paper_id
+    ON answer42.paper_bookmarks (discovered_paper_id);
+
+CREATE INDEX IF NOT EXISTS idx_agent_memory_store_updated_at
+    ON answer42.agent_memory_store (updated_at);
+
+COMMIT;
@@ -0,0 +1,28 @@
+-- Migration: Compact token usage by insert time
+-- Created: 2025-08-29
+--
+-- The write-behind buffer can insert a row well after the usage it records, e.g. when a
+-- failed batch is retried. Compacting by the usage timestamp left such rows below the
+-- watermark but outside the rollups, so statistics missed them. Compaction and the live
+-- tail now split raw rows by created_at, which the database sets on insert; rows keep
+-- their usage hour and day as their bucket.
+
+BEGIN;
+
+-- Rows already rolled up by usage time must stay below the watermark by insert time, and
+-- rows without an insert time take their usage time
+UPDATE answer42.token_metrics tm
+SET created_at = tm.timestamp
+FROM answer42.token_usage_rollup_state s
+WHERE s.id = 1
+  AND (tm.created_at IS NULL
+       OR (tm.timestamp < s.rolled_up_to AND tm.created_at >= s.rolled_up_to));
+
+ALTER TABLE answer42.token_metrics
+    ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP,
+    ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_token_metrics_created_at
+    ON answer42.token_metrics USING btree (created_at);
+
+COMMIT;